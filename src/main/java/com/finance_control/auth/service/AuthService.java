@@ -11,6 +11,7 @@ import com.finance_control.shared.dto.AuthResponse;
 import com.finance_control.shared.dto.LoginRequest;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
+import com.finance_control.users.service.UserEmailLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,9 +54,8 @@ public class AuthService {
     public Long authenticate(String email, String password) {
         var sample = metricsService.startAuthenticationTimer();
         try {
-            // Use email hash for efficient lookup
-            String emailHash = encryptionService.hashEmail(email);
-            User user = userRepository.findByEmailHash(emailHash)
+            // Use email hash for efficient lookup; rows still on the legacy hash are re-indexed
+            User user = UserEmailLookup.findByEmail(userRepository, encryptionService, email)
                     .orElseThrow(() -> new AuthenticationException("Invalid email or password"));
 
             if (Boolean.FALSE.equals(user.getIsActive())) {
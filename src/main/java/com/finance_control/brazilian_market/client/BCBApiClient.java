@@ -15,6 +15,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Client for accessing Banco Central do Brasil (BCB) APIs.
@@ -94,6 +95,17 @@ public class BCBApiClient {
     }
 
     public List<Map<String, Object>> getDataInRange(String indicatorCode, LocalDate startDate, LocalDate endDate) {
+        return findDataInRange(indicatorCode, startDate, endDate).orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Fetches the observations of an indicator between two dates, telling an empty range apart
+     * from a failed request.
+     *
+     * @return the observations ({@code data} as dd/MM/yyyy, {@code valor}), or empty if the request failed
+     */
+    public Optional<List<Map<String, Object>>> findDataInRange(String indicatorCode, LocalDate startDate,
+                                                              LocalDate endDate) {
         try {
             log.debug("Fetching data for indicator {} from {} to {}", indicatorCode, startDate, endDate);
 
@@ -112,15 +124,15 @@ public class BCBApiClient {
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 @SuppressWarnings("unchecked")
                 List<Map<String, Object>> body = (List<Map<String, Object>>) response.getBody();
-                return body;
+                return Optional.of(body);
             }
 
             log.warn("No data found for indicator {} in the specified range (status: {}, body: {})",
                      indicatorCode, response.getStatusCode(), response.getBody() != null ? "present" : "null");
-            return new ArrayList<>();
+            return Optional.empty();
         } catch (Exception e) {
             log.error("Error fetching data in range for indicator {}", indicatorCode, e);
-            return new ArrayList<>();
+            return Optional.empty();
         }
     }
 
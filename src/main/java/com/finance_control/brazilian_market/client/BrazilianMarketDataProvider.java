@@ -2,15 +2,20 @@ package com.finance_control.brazilian_market.client;
 
 import com.finance_control.brazilian_market.model.InvestmentType;
 import com.finance_control.brazilian_market.util.MarketDataConversionUtils;
+import com.finance_control.shared.http.OutboundHttpClients;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,8 @@ import java.util.stream.Collectors;
 public class BrazilianMarketDataProvider implements MarketDataProvider {
 
     private final RestTemplate restTemplate;
+    private final OutboundHttpClients httpClients;
+    private static final String PROVIDER_KEY = "brapi";
     private static final String BASE_URL = "https://brapi.dev/api";
     private static final String QUOTE_ENDPOINT = "/quote";
     private static final String QUOTES_ENDPOINT = "/quotes";
@@ -60,16 +67,7 @@ public class BrazilianMarketDataProvider implements MarketDataProvider {
         try {
             log.debug("Fetching quotes for {} tickers from Brazilian market API", tickers.size());
 
-            String symbols = String.join(",", tickers);
-            String url = UriComponentsBuilder.fromUriString(BASE_URL + QUOTES_ENDPOINT)
-                    .queryParam("symbols", symbols)
-                    .queryParam("range", "1d")
-                    .queryParam("interval", "1d")
-                    .queryParam("fundamental", "true")
-                    .build()
-                    .toUriString();
-
-            ApiResponse response = restTemplate.getForObject(url, ApiResponse.class);
+            ApiResponse response = restTemplate.getForObject(quotesUrl(tickers), ApiResponse.class);
 
             if (response != null && response.getResults() != null) {
                 return response.getResults().stream()
@@ -84,12 +82,104 @@ public class BrazilianMarketDataProvider implements MarketDataProvider {
         }
     }
 
+    /**
+     * Fetches quotes through the shared outbound client, without holding a thread while Brapi answers.
+     * Failures, including an open circuit, resolve to an empty list like {@link #getQuotes(List)}.
+     */
+    @Override
+    public Mono<List<MarketQuote>> getQuotesAsync(List<String> tickers) {
+        log.debug("Fetching quotes for {} tickers from Brazilian market API (async)", tickers.size());
+        return httpClients.forProvider(PROVIDER_KEY, BASE_URL)
+                .get(quotesUrl(tickers), ApiResponse.class)
+                .map(this::toMarketQuotes)
+                .defaultIfEmpty(List.of())
+                .onErrorResume(e -> {
+                    log.error("Error fetching quotes for tickers: {} from Brazilian market API: {}", tickers, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private String quotesUrl(List<String> tickers) {
+        return UriComponentsBuilder.fromUriString(BASE_URL + QUOTES_ENDPOINT)
+                .queryParam("symbols", String.join(",", tickers))
+                .queryParam("range", "1d")
+                .queryParam("interval", "1d")
+                .queryParam("fundamental", "true")
+                .build()
+                .toUriString();
+    }
+
+    private List<MarketQuote> toMarketQuotes(ApiResponse response) {
+        if (response.getResults() == null) {
+            return List.of();
+        }
+        return response.getResults().stream()
+                .map(this::convertToMarketQuote)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetch daily (or other interval) bars from Brapi's {@code historicalDataPrice}.
+     * The period is a Brapi range such as {@code 1mo}, {@code 1y} or {@code max}, counted back from today.
+     */
     @Override
     public Optional<HistoricalData> getHistoricalData(String ticker, String period, String interval) {
-        // Brapi doesn't provide historical data in the same format
-        // This would need to be implemented if historical data is required
-        log.warn("Historical data not implemented for Brazilian market provider");
-        return Optional.empty();
+        try {
+            log.debug("Fetching historical data for ticker: {} (range {}, interval {}) from Brazilian market API",
+                    ticker, period, interval);
+
+            String url = UriComponentsBuilder.fromUriString(BASE_URL + QUOTE_ENDPOINT + "/" + ticker)
+                    .queryParam("range", period != null ? period : "1mo")
+                    .queryParam("interval", interval != null ? interval : "1d")
+                    .build()
+                    .toUriString();
+
+            ApiResponse response = restTemplate.getForObject(url, ApiResponse.class);
+            if (response == null || response.getResults() == null || response.getResults().isEmpty()) {
+                return Optional.empty();
+            }
+
+            QuoteResponse quote = response.getResults().get(0);
+            List<HistoricalPriceResponse> prices = quote.getHistoricalDataPrice();
+            if (prices == null) {
+                return Optional.empty();
+            }
+            ZoneId zone = quote.getExchangeTimezoneName() != null
+                    ? ZoneId.of(quote.getExchangeTimezoneName())
+                    : MarketHours.B3.getZone();
+            List<HistoricalPoint> points = prices.stream()
+                    .filter(price -> price.getDate() != null && price.getClose() != null)
+                    .map(price -> HistoricalPoint.builder()
+                            .timestamp(LocalDateTime.ofInstant(Instant.ofEpochSecond(price.getDate()), zone))
+                            .open(MarketDataConversionUtils.toBigDecimalSafe(price.getOpen()))
+                            .high(MarketDataConversionUtils.toBigDecimalSafe(price.getHigh()))
+                            .low(MarketDataConversionUtils.toBigDecimalSafe(price.getLow()))
+                            .close(MarketDataConversionUtils.toBigDecimalSafe(price.getClose()))
+                            .volume(price.getVolume())
+                            .build())
+                    .collect(Collectors.toList());
+
+            return Optional.of(HistoricalData.builder()
+                    .symbol(quote.getSymbol())
+                    .currency(quote.getCurrency())
+                    .exchange(quote.getExchange())
+                    .timezone(zone.getId())
+                    .data(points)
+                    .lastUpdated(LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Error fetching historical data for ticker: {} from Brazilian market API", ticker, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Brapi caps the symbols of a quote request on its public plans
+     */
+    @Override
+    public int getMaxBatchSize() {
+        return 10;
     }
 
     @Override
@@ -267,6 +357,7 @@ public class BrazilianMarketDataProvider implements MarketDataProvider {
         private Double beta;
         private Double impliedSharesOutstanding;
         private Double floatShares;
+        private List<HistoricalPriceResponse> historicalDataPrice;
 
         // Getters and setters
         public String getSymbol() { return symbol; }
@@ -377,6 +468,38 @@ public class BrazilianMarketDataProvider implements MarketDataProvider {
         public void setImpliedSharesOutstanding(Double impliedSharesOutstanding) { this.impliedSharesOutstanding = impliedSharesOutstanding; }
         public Double getFloatShares() { return floatShares; }
         public void setFloatShares(Double floatShares) { this.floatShares = floatShares; }
+        public List<HistoricalPriceResponse> getHistoricalDataPrice() {
+            return historicalDataPrice != null ? java.util.Collections.unmodifiableList(historicalDataPrice) : null;
+        }
+        public void setHistoricalDataPrice(List<HistoricalPriceResponse> historicalDataPrice) {
+            this.historicalDataPrice = historicalDataPrice;
+        }
+    }
+
+    /**
+     * Historical bar from API, dated in epoch seconds
+     */
+    public static class HistoricalPriceResponse {
+        private Long date;
+        private Double open;
+        private Double high;
+        private Double low;
+        private Double close;
+        private Long volume;
+
+        // Getters and setters
+        public Long getDate() { return date; }
+        public void setDate(Long date) { this.date = date; }
+        public Double getOpen() { return open; }
+        public void setOpen(Double open) { this.open = open; }
+        public Double getHigh() { return high; }
+        public void setHigh(Double high) { this.high = high; }
+        public Double getLow() { return low; }
+        public void setLow(Double low) { this.low = low; }
+        public Double getClose() { return close; }
+        public void setClose(Double close) { this.close = close; }
+        public Long getVolume() { return volume; }
+        public void setVolume(Long volume) { this.volume = volume; }
     }
 
     /**
@@ -3,7 +3,6 @@ package com.finance_control.brazilian_market.client;
 import lombok.Builder;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -29,17 +28,3 @@ public class HistoricalData {
         return data != null ? Collections.unmodifiableList(data) : null;
     }
 }
-
-/**
- * Individual historical data point
- */
-@Data
-@Builder
-class HistoricalPoint {
-    private LocalDateTime timestamp;
-    private BigDecimal open;
-    private BigDecimal high;
-    private BigDecimal low;
-    private BigDecimal close;
-    private Long volume;
-}
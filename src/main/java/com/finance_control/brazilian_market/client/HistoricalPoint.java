@@ -0,0 +1,21 @@
+package com.finance_control.brazilian_market.client;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Individual historical data point
+ */
+@Data
+@Builder
+public class HistoricalPoint {
+    private LocalDateTime timestamp;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private Long volume;
+}
@@ -1,6 +1,8 @@
 package com.finance_control.brazilian_market.client;
 
 import com.finance_control.brazilian_market.model.InvestmentType;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +23,14 @@ public interface MarketDataProvider {
      */
     List<MarketQuote> getQuotes(List<String> tickers);
 
+    /**
+     * Non-blocking variant of {@link #getQuotes(List)}. Providers without a non-blocking client
+     * run the blocking call on the bounded elastic scheduler so callers never block on it.
+     */
+    default Mono<List<MarketQuote>> getQuotesAsync(List<String> tickers) {
+        return Mono.fromCallable(() -> getQuotes(tickers)).subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Get historical data for an investment
      */
@@ -35,4 +45,18 @@ public interface MarketDataProvider {
      * Get the provider name for logging and identification
      */
     String getProviderName();
+
+    /**
+     * Maximum number of tickers accepted by a single {@link #getQuotes(List)} call
+     */
+    default int getMaxBatchSize() {
+        return 20;
+    }
+
+    /**
+     * Trading hours of the exchange this provider quotes, used to decide how long a quote stays fresh
+     */
+    default MarketHours getMarketHours() {
+        return MarketHours.B3;
+    }
 }
@@ -0,0 +1,66 @@
+package com.finance_control.brazilian_market.client;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Regular trading sessions of the exchanges served by the market data providers.
+ * Holidays are not modelled; on a holiday quotes are simply refreshed as if the market were open.
+ */
+public enum MarketHours {
+
+    B3(ZoneId.of("America/Sao_Paulo"), LocalTime.of(10, 0), LocalTime.of(18, 0)),
+    US(ZoneId.of("America/New_York"), LocalTime.of(9, 30), LocalTime.of(16, 0));
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+
+    MarketHours(ZoneId zone, LocalTime open, LocalTime close) {
+        this.zone = zone;
+        this.open = open;
+        this.close = close;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * Check if the regular session is open at the given instant
+     */
+    public boolean isOpen(Instant instant) {
+        ZonedDateTime local = instant.atZone(zone);
+        if (isWeekend(local.getDayOfWeek())) {
+            return false;
+        }
+        LocalTime time = local.toLocalTime();
+        return !time.isBefore(open) && time.isBefore(close);
+    }
+
+    /**
+     * Time from the given instant until the next session opens; zero while the market is open
+     */
+    public Duration untilNextOpen(Instant instant) {
+        if (isOpen(instant)) {
+            return Duration.ZERO;
+        }
+        ZonedDateTime local = instant.atZone(zone);
+        ZonedDateTime next = local.toLocalDate().atTime(open).atZone(zone);
+        if (!next.isAfter(local)) {
+            next = next.plusDays(1);
+        }
+        while (isWeekend(next.getDayOfWeek())) {
+            next = next.plusDays(1);
+        }
+        return Duration.between(local, next);
+    }
+
+    private static boolean isWeekend(DayOfWeek day) {
+        return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
+    }
+}
@@ -8,16 +8,19 @@ import com.finance_control.brazilian_market.client.model.Quote;
 import com.finance_control.brazilian_market.client.model.QuoteResponse;
 import com.finance_control.brazilian_market.model.InvestmentType;
 import com.finance_control.brazilian_market.util.MarketDataConversionUtils;
+import com.finance_control.shared.http.OutboundHttpClients;
 import com.finance_control.shared.monitoring.SentryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -33,6 +36,8 @@ public class UsMarketDataProvider implements MarketDataProvider {
 
     private final RestTemplate restTemplate;
     private final SentryService sentryService;
+    private final OutboundHttpClients httpClients;
+    private static final String PROVIDER_KEY = "yahoo-finance";
     private static final String CHART_BASE_URL = "https://query1.finance.yahoo.com/v8/finance/chart";
     private static final String QUOTE_BASE_URL = "https://query1.finance.yahoo.com/v7/finance/quote";
 
@@ -73,15 +78,7 @@ public class UsMarketDataProvider implements MarketDataProvider {
         try {
             log.debug("Fetching quotes for {} tickers from US market API", tickers.size());
 
-            String symbols = String.join(",", tickers);
-            String url = UriComponentsBuilder.fromUriString(QUOTE_BASE_URL)
-                    .queryParam("symbols", symbols)
-                    .queryParam("fields", "symbol,shortName,longName,regularMarketPrice,previousClose," +
-                            "regularMarketVolume,marketCap,dividendYield,pe,eps,exchange,timezone,regularMarketTime")
-                    .build()
-                    .toUriString();
-
-            ApiResponse response = restTemplate.getForObject(url, ApiResponse.class);
+            ApiResponse response = restTemplate.getForObject(quotesUrl(tickers), ApiResponse.class);
 
             if (response != null && response.getQuoteResponse() != null &&
                 response.getQuoteResponse().getResult() != null) {
@@ -97,6 +94,42 @@ public class UsMarketDataProvider implements MarketDataProvider {
         }
     }
 
+    /**
+     * Fetches quotes through the shared outbound client, without holding a thread while Yahoo answers.
+     * Failures, including an open circuit, resolve to an empty list like {@link #getQuotes(List)}.
+     */
+    @Override
+    public Mono<List<MarketQuote>> getQuotesAsync(List<String> tickers) {
+        log.debug("Fetching quotes for {} tickers from US market API (async)", tickers.size());
+        return httpClients.forProvider(PROVIDER_KEY, QUOTE_BASE_URL)
+                .get(quotesUrl(tickers), ApiResponse.class)
+                .map(this::toMarketQuotes)
+                .defaultIfEmpty(List.of())
+                .onErrorResume(e -> {
+                    log.error("Error fetching quotes for tickers: {} from US market API: {}", tickers, e.getMessage());
+                    return Mono.just(List.of());
+                });
+    }
+
+    private String quotesUrl(List<String> tickers) {
+        return UriComponentsBuilder.fromUriString(QUOTE_BASE_URL)
+                .queryParam("symbols", String.join(",", tickers))
+                .queryParam("fields", "symbol,shortName,longName,regularMarketPrice,previousClose," +
+                        "regularMarketVolume,marketCap,dividendYield,pe,eps,exchange,timezone,regularMarketTime")
+                .build()
+                .toUriString();
+    }
+
+    private List<MarketQuote> toMarketQuotes(ApiResponse response) {
+        if (response.getQuoteResponse() == null || response.getQuoteResponse().getResult() == null) {
+            return List.of();
+        }
+        return response.getQuoteResponse().getResult().stream()
+                .map(this::convertToMarketQuote)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<HistoricalData> getHistoricalData(String ticker, String period, String interval) {
         try {
@@ -131,6 +164,16 @@ public class UsMarketDataProvider implements MarketDataProvider {
             }
     }
 
+    @Override
+    public int getMaxBatchSize() {
+        return 50;
+    }
+
+    @Override
+    public MarketHours getMarketHours() {
+        return MarketHours.US;
+    }
+
     @Override
     public boolean supportsInvestmentType(InvestmentType investmentType) {
         return investmentType == InvestmentType.STOCK ||
@@ -124,7 +124,7 @@ public class InvestmentController {
             @RequestParam(required = false) String data,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        User user = userDetails.getUser();
+        User user = ownerOf(userDetails);
         log.debug("GET request to retrieve investments with filtering (user present: {})", user != null);
 
         // If data parameter is provided, return metadata
@@ -143,17 +143,17 @@ public class InvestmentController {
                 case "top-performers" -> {
                     Pageable pageable = PageRequest.of(page, size);
                     List<Investment> topPerformers = investmentService.getTopPerformers(user, pageable);
-                    yield ResponseEntity.ok(topPerformers.stream().map(investmentService::convertToResponseDTO).toList());
+                    yield ResponseEntity.ok(investmentService.convertToResponseDTOs(topPerformers));
                 }
                 case "worst-performers" -> {
                     Pageable pageable = PageRequest.of(page, size);
                     List<Investment> worstPerformers = investmentService.getWorstPerformers(user, pageable);
-                    yield ResponseEntity.ok(worstPerformers.stream().map(investmentService::convertToResponseDTO).toList());
+                    yield ResponseEntity.ok(investmentService.convertToResponseDTOs(worstPerformers));
                 }
                 case "top-dividend-yield" -> {
                     Pageable pageable = PageRequest.of(page, size);
                     List<Investment> topDividendYield = investmentService.getTopDividendYield(user, pageable);
-                    yield ResponseEntity.ok(topDividendYield.stream().map(investmentService::convertToResponseDTO).toList());
+                    yield ResponseEntity.ok(investmentService.convertToResponseDTOs(topDividendYield));
                 }
                 case "portfolio-summary" -> {
                     Map<String, Object> summary = Map.of(
@@ -178,9 +178,7 @@ public class InvestmentController {
         investments = filterHelper.applyPriceAndDividendFilters(investments, minPrice, maxPrice, minDividendYield, maxDividendYield);
 
         // Convert to DTOs and create pagination
-        List<InvestmentDTO> investmentDTOs = investments.stream()
-                .map(investmentService::convertToResponseDTO)
-                .toList();
+        List<InvestmentDTO> investmentDTOs = investmentService.convertToResponseDTOs(investments);
 
         // Apply pagination
         Page<InvestmentDTO> result = filterHelper.paginateList(investmentDTOs, pageable);
@@ -259,7 +257,7 @@ public class InvestmentController {
             @Valid @RequestBody InvestmentDTO investmentDTO,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        User user = userDetails.getUser();
+        User user = ownerOf(userDetails);
         log.debug("Updating investment (ID length: {}, user present: {})", String.valueOf(id).length(), user != null);
 
         try {
@@ -317,7 +315,7 @@ public class InvestmentController {
             @Parameter(description = "Investment ID") @PathVariable Long id,
             @AuthenticationPrincipal CustomUserDetails userDetails) {
 
-        User user = userDetails.getUser();
+        User user = ownerOf(userDetails);
         log.debug("Updating market data for investment (ID length: {}, user present: {})", String.valueOf(id).length(), user != null);
 
         Optional<Investment> investmentOpt = investmentService.getInvestmentById(id, user);
@@ -339,7 +337,7 @@ public class InvestmentController {
             @ApiResponse(responseCode = "200", description = "Market data update initiated")
     })
     public ResponseEntity<Map<String, String>> updateAllMarketData(@AuthenticationPrincipal CustomUserDetails userDetails) {
-        User user = userDetails.getUser();
+        User user = ownerOf(userDetails);
         log.debug("Updating all market data (user present: {})", user != null);
 
         // Run in background to avoid timeout
@@ -348,4 +346,12 @@ public class InvestmentController {
         return ResponseEntity.ok(Map.of("message", "Market data update initiated"));
     }
 
+    /**
+     * Builds the user reference the investment service scopes its queries by, from the authenticated principal.
+     */
+    private User ownerOf(CustomUserDetails userDetails) {
+        User user = new User();
+        user.setId(userDetails.getUserId());
+        return user;
+    }
 }
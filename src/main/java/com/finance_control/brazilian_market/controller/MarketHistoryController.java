@@ -0,0 +1,98 @@
+package com.finance_control.brazilian_market.controller;
+
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.model.SeriesPoint;
+import com.finance_control.brazilian_market.service.history.BcbIndicator;
+import com.finance_control.brazilian_market.service.history.MarketHistoryService;
+import com.finance_control.brazilian_market.service.history.SeriesAnalytics;
+import com.finance_control.shared.feature.Feature;
+import com.finance_control.shared.feature.FeatureFlagService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for historical quotes and economic indicators.
+ * Series are served from local storage; upstream providers are only called for dates not yet stored.
+ */
+@RestController
+@RequestMapping("/brazilian-market/history")
+@Tag(name = "Market History", description = "Endpoints for historical prices, BCB indicator series and their aggregates")
+@RequiredArgsConstructor
+@Slf4j
+public class MarketHistoryController {
+
+    private final MarketHistoryService marketHistoryService;
+    private final FeatureFlagService featureFlagService;
+
+    @GetMapping("/quotes/{ticker}")
+    @Operation(summary = "Get price history", description = "Retrieves the daily bars of a ticker; defaults to the last year")
+    public ResponseEntity<List<SeriesPoint>> getQuoteHistory(
+            @PathVariable String ticker,
+            @Parameter(description = "Investment type, which selects the data provider")
+            @RequestParam(defaultValue = "STOCK") InvestmentType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("GET request to retrieve price history for {}", ticker);
+        featureFlagService.requireEnabled(Feature.BRAZILIAN_MARKET);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(marketHistoryService.getQuoteHistory(ticker, type, startOrDefault(from, end), end));
+    }
+
+    @GetMapping("/quotes/{ticker}/monthly-returns")
+    @Operation(summary = "Get monthly returns", description = "Computes month-over-month returns of a ticker from stored closes")
+    public ResponseEntity<List<SeriesAnalytics.MonthlyReturn>> getMonthlyReturns(
+            @PathVariable String ticker,
+            @RequestParam(defaultValue = "STOCK") InvestmentType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("GET request to retrieve monthly returns for {}", ticker);
+        featureFlagService.requireEnabled(Feature.BRAZILIAN_MARKET);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(marketHistoryService.getQuoteMonthlyReturns(ticker, type, startOrDefault(from, end), end));
+    }
+
+    @GetMapping("/quotes/{ticker}/rolling-average")
+    @Operation(summary = "Get moving average", description = "Computes the simple moving average of a ticker's closes")
+    public ResponseEntity<List<SeriesAnalytics.AveragePoint>> getRollingAverage(
+            @PathVariable String ticker,
+            @RequestParam(defaultValue = "STOCK") InvestmentType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Number of observations averaged")
+            @RequestParam(defaultValue = "20") int window) {
+        log.debug("GET request to retrieve {}-day moving average for {}", window, ticker);
+        featureFlagService.requireEnabled(Feature.BRAZILIAN_MARKET);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(marketHistoryService.getQuoteRollingAverage(ticker, type, startOrDefault(from, end), end,
+                window));
+    }
+
+    @GetMapping("/indicators/{indicator}")
+    @Operation(summary = "Get indicator history", description = "Retrieves a BCB indicator series (SELIC, CDI, IPCA, IGP_M); defaults to the last year")
+    public ResponseEntity<List<SeriesPoint>> getIndicatorHistory(
+            @PathVariable BcbIndicator indicator,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("GET request to retrieve {} history", indicator);
+        featureFlagService.requireEnabled(Feature.BRAZILIAN_MARKET);
+        LocalDate end = to != null ? to : LocalDate.now();
+        return ResponseEntity.ok(marketHistoryService.getIndicatorHistory(indicator, startOrDefault(from, end), end));
+    }
+
+    private static LocalDate startOrDefault(LocalDate from, LocalDate end) {
+        return from != null ? from : end.minusYears(1);
+    }
+}
@@ -0,0 +1,23 @@
+package com.finance_control.brazilian_market.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One daily observation of a stored time series.
+ * Indicator observations only carry a close value.
+ *
+ * @param date the observation date
+ * @param open the opening price
+ * @param high the highest price of the day
+ * @param low the lowest price of the day
+ * @param close the closing price or indicator value
+ * @param volume the traded volume
+ */
+public record SeriesPoint(LocalDate date, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close,
+        Long volume) {
+
+    public static SeriesPoint of(LocalDate date, BigDecimal value) {
+        return new SeriesPoint(date, null, null, null, value, null);
+    }
+}
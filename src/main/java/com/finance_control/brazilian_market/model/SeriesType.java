@@ -0,0 +1,11 @@
+package com.finance_control.brazilian_market.model;
+
+/**
+ * Kind of locally stored time series.
+ */
+public enum SeriesType {
+    /** Daily bars of a traded ticker */
+    QUOTE,
+    /** Observations of a BCB economic indicator */
+    INDICATOR
+}
@@ -3,14 +3,20 @@ package com.finance_control.brazilian_market.repository;
 import com.finance_control.brazilian_market.model.Investment;
 import com.finance_control.brazilian_market.model.InvestmentSubtype;
 import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.repository.projection.HeldTicker;
+import com.finance_control.brazilian_market.repository.projection.StaleTicker;
 import com.finance_control.shared.repository.BaseRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,6 +78,51 @@ public interface InvestmentRepository extends BaseRepository<Investment, Long> {
            "(i.lastUpdated IS NULL OR i.lastUpdated < :cutoffTime)")
     List<Investment> findInvestmentsNeedingPriceUpdate(@Param("userId") Long userId, @Param("cutoffTime") LocalDateTime cutoffTime);
 
+    /**
+     * Find the distinct tickers of all users' active investments
+     */
+    @Query("SELECT DISTINCT new com.finance_control.brazilian_market.repository.projection.HeldTicker(" +
+           "i.ticker, i.investmentType) FROM Investment i WHERE i.isActive = true")
+    List<HeldTicker> findHeldTickers();
+
+    /**
+     * Find the distinct tickers of all users' active investments whose price is older than the cutoff
+     */
+    @Query("SELECT new com.finance_control.brazilian_market.repository.projection.StaleTicker(" +
+           "i.ticker, i.investmentType, MIN(i.lastUpdated)) FROM Investment i WHERE i.isActive = true AND " +
+           "(i.lastUpdated IS NULL OR i.lastUpdated < :cutoffTime) GROUP BY i.ticker, i.investmentType")
+    List<StaleTicker> findStaleTickers(@Param("cutoffTime") LocalDateTime cutoffTime);
+
+    /**
+     * Find the distinct tickers of a user's active investments whose price is older than the cutoff
+     */
+    @Query("SELECT new com.finance_control.brazilian_market.repository.projection.StaleTicker(" +
+           "i.ticker, i.investmentType, MIN(i.lastUpdated)) FROM Investment i WHERE i.user.id = :userId " +
+           "AND i.isActive = true AND (i.lastUpdated IS NULL OR i.lastUpdated < :cutoffTime) " +
+           "GROUP BY i.ticker, i.investmentType")
+    List<StaleTicker> findStaleTickersByUserId(@Param("userId") Long userId, @Param("cutoffTime") LocalDateTime cutoffTime);
+
+    /**
+     * Write a quote to every active holding of a ticker, across all users, in one statement
+     *
+     * @return the number of updated investments
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Investment i SET i.currentPrice = :currentPrice, i.previousClose = :previousClose, " +
+           "i.dayChange = :dayChange, i.dayChangePercent = :dayChangePercent, i.volume = :volume, " +
+           "i.lastUpdated = :lastUpdated, i.updatedAt = :now " +
+           "WHERE i.ticker = :ticker AND i.investmentType IN :investmentTypes AND i.isActive = true")
+    int updateMarketDataByTicker(@Param("ticker") String ticker,
+                                 @Param("investmentTypes") Collection<InvestmentType> investmentTypes,
+                                 @Param("currentPrice") BigDecimal currentPrice,
+                                 @Param("previousClose") BigDecimal previousClose,
+                                 @Param("dayChange") BigDecimal dayChange,
+                                 @Param("dayChangePercent") BigDecimal dayChangePercent,
+                                 @Param("volume") Long volume,
+                                 @Param("lastUpdated") LocalDateTime lastUpdated,
+                                 @Param("now") LocalDateTime now);
+
     /**
      * Find all unique sectors for a specific user
      */
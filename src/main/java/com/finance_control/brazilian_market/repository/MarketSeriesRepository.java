@@ -0,0 +1,138 @@
+package com.finance_control.brazilian_market.repository;
+
+import com.finance_control.brazilian_market.model.SeriesPoint;
+import com.finance_control.brazilian_market.model.SeriesType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads and writes the partitioned {@code market_series_points} table through JDBC.
+ * Points are narrow rows keyed by (series type, symbol, date) without a surrogate ID, which JPA
+ * entities in this codebase always carry, so the series is kept out of the persistence context.
+ */
+@Slf4j
+@Repository
+public class MarketSeriesRepository {
+
+    private static final String SELECT_RANGE = "SELECT observed_on, open_value, high_value, low_value, close_value, volume "
+            + "FROM market_series_points WHERE series_type = ? AND symbol = ? AND observed_on BETWEEN ? AND ? "
+            + "ORDER BY observed_on";
+
+    private static final String UPSERT_POINT = "INSERT INTO market_series_points ("
+            + "series_type, symbol, observed_on, open_value, high_value, low_value, close_value, volume) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (series_type, symbol, observed_on) DO UPDATE SET "
+            + "open_value = EXCLUDED.open_value, high_value = EXCLUDED.high_value, low_value = EXCLUDED.low_value, "
+            + "close_value = EXCLUDED.close_value, volume = EXCLUDED.volume";
+
+    private static final String SELECT_COVERAGE = "SELECT covered_from, covered_to FROM market_series_coverage "
+            + "WHERE series_type = ? AND symbol = ?";
+
+    private static final String UPSERT_COVERAGE = "INSERT INTO market_series_coverage ("
+            + "series_type, symbol, covered_from, covered_to, updated_at) VALUES (?, ?, ?, ?, ?) "
+            + "ON CONFLICT (series_type, symbol) DO UPDATE SET "
+            + "covered_from = LEAST(market_series_coverage.covered_from, EXCLUDED.covered_from), "
+            + "covered_to = GREATEST(market_series_coverage.covered_to, EXCLUDED.covered_to), "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public MarketSeriesRepository(JdbcTemplate jdbcTemplate,
+            @Value("${app.market-data.history.batch-insert-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Date range of a series already fetched from upstream.
+     *
+     * @param from the first covered date
+     * @param to the last covered date
+     */
+    public record Coverage(LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * Returns the points of a series between two dates, inclusive, oldest first.
+     */
+    public List<SeriesPoint> findRange(SeriesType seriesType, String symbol, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SELECT_RANGE, (rs, rowNum) -> mapPoint(rs),
+                seriesType.name(), symbol, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Inserts or overwrites points of a series in JDBC batches.
+     *
+     * @return the number of points written
+     */
+    public int upsertAll(SeriesType seriesType, String symbol, List<SeriesPoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_POINT, points, batchSize, (statement, point) -> {
+            statement.setString(1, seriesType.name());
+            statement.setString(2, symbol);
+            statement.setDate(3, Date.valueOf(point.date()));
+            bindDecimal(statement, 4, point.open());
+            bindDecimal(statement, 5, point.high());
+            bindDecimal(statement, 6, point.low());
+            statement.setBigDecimal(7, point.close());
+            if (point.volume() != null) {
+                statement.setLong(8, point.volume());
+            } else {
+                statement.setNull(8, Types.BIGINT);
+            }
+        });
+        log.debug("Stored {} {} points for {}", points.size(), seriesType, symbol);
+        return points.size();
+    }
+
+    public Optional<Coverage> findCoverage(SeriesType seriesType, String symbol) {
+        return jdbcTemplate.query(SELECT_COVERAGE,
+                (rs, rowNum) -> new Coverage(rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate()),
+                seriesType.name(), symbol).stream().findFirst();
+    }
+
+    /**
+     * Widens the covered range of a series to include the given dates.
+     */
+    public void extendCoverage(SeriesType seriesType, String symbol, LocalDate from, LocalDate to) {
+        jdbcTemplate.update(UPSERT_COVERAGE, seriesType.name(), symbol, Date.valueOf(from), Date.valueOf(to),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static SeriesPoint mapPoint(ResultSet rs) throws SQLException {
+        long volume = rs.getLong(6);
+        Long nullableVolume = rs.wasNull() ? null : volume;
+        return new SeriesPoint(rs.getDate(1).toLocalDate(),
+                rs.getBigDecimal(2),
+                rs.getBigDecimal(3),
+                rs.getBigDecimal(4),
+                rs.getBigDecimal(5),
+                nullableVolume);
+    }
+
+    private static void bindDecimal(PreparedStatement statement, int index, BigDecimal value)
+            throws SQLException {
+        if (value != null) {
+            statement.setBigDecimal(index, value);
+        } else {
+            statement.setNull(index, Types.NUMERIC);
+        }
+    }
+}
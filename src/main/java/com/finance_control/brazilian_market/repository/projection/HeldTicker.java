@@ -0,0 +1,12 @@
+package com.finance_control.brazilian_market.repository.projection;
+
+import com.finance_control.brazilian_market.model.InvestmentType;
+
+/**
+ * A ticker held in at least one active investment.
+ *
+ * @param ticker the ticker symbol
+ * @param investmentType the investment type, which selects the market data provider
+ */
+public record HeldTicker(String ticker, InvestmentType investmentType) {
+}
@@ -0,0 +1,15 @@
+package com.finance_control.brazilian_market.repository.projection;
+
+import com.finance_control.brazilian_market.model.InvestmentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticker held in at least one active investment whose price is due for a refresh.
+ *
+ * @param ticker the ticker symbol
+ * @param investmentType the investment type, which selects the market data provider
+ * @param oldestUpdate the oldest price update among the holdings, or null if none was ever priced
+ */
+public record StaleTicker(String ticker, InvestmentType investmentType, LocalDateTime oldestUpdate) {
+}
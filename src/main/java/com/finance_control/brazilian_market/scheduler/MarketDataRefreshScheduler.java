@@ -0,0 +1,34 @@
+package com.finance_control.brazilian_market.scheduler;
+
+import com.finance_control.brazilian_market.service.refresh.MarketRefreshService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that keeps investment prices fresh for all users.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.market-data.refresh.enabled", havingValue = "true", matchIfMissing = true)
+public class MarketDataRefreshScheduler {
+
+    private final MarketRefreshService marketRefreshService;
+
+    /**
+     * Refreshes every stale ticker.
+     * Runs every 5 minutes by default (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.market-data.refresh.interval-ms:300000}", initialDelay = 60000)
+    public void refreshStaleTickers() {
+        try {
+            log.debug("Starting scheduled market data refresh");
+            marketRefreshService.refreshStale();
+        } catch (Exception e) {
+            log.error("Error during scheduled market data refresh", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.finance_control.brazilian_market.scheduler;
+
+import com.finance_control.brazilian_market.service.history.MarketHistoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that appends the last trading day to the local price and indicator history.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.market-data.history.enabled", havingValue = "true", matchIfMissing = true)
+public class MarketHistoryScheduler {
+
+    private final MarketHistoryService marketHistoryService;
+
+    /**
+     * Backfills indicators and held tickers up to yesterday.
+     * Runs daily at 06:00 by default (configurable), before charts are first requested.
+     */
+    @Scheduled(cron = "${app.market-data.history.backfill-cron:0 0 6 * * ?}")
+    public void backfillHistory() {
+        try {
+            log.debug("Starting scheduled market history backfill");
+            marketHistoryService.backfillAll();
+        } catch (Exception e) {
+            log.error("Error during scheduled market history backfill", e);
+        }
+    }
+}
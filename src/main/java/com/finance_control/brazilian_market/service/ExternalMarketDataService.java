@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +15,8 @@ import java.util.Optional;
 /**
  * Service for fetching market data from external APIs.
  * Uses generic market data providers that can be easily swapped.
+ * Every provider call takes a token from the shared {@link MarketDataBudget} without waiting;
+ * when the budget is exhausted the fetch returns nothing and callers keep the data they have.
  */
 @Service
 @Slf4j
@@ -21,12 +24,15 @@ public class ExternalMarketDataService {
 
     private final MarketDataProvider brazilianMarketProvider;
     private final MarketDataProvider usMarketProvider;
+    private final MarketDataBudget marketDataBudget;
 
     public ExternalMarketDataService(
             @Qualifier("brazilianMarketDataProvider") MarketDataProvider brazilianMarketProvider,
-            @Qualifier("usMarketDataProvider") MarketDataProvider usMarketProvider) {
+            @Qualifier("usMarketDataProvider") MarketDataProvider usMarketProvider,
+            MarketDataBudget marketDataBudget) {
         this.brazilianMarketProvider = brazilianMarketProvider;
         this.usMarketProvider = usMarketProvider;
+        this.marketDataBudget = marketDataBudget;
     }
 
     /**
@@ -42,6 +48,10 @@ public class ExternalMarketDataService {
                 return Optional.empty();
             }
 
+            if (!hasBudget(provider)) {
+                return Optional.empty();
+            }
+
             log.debug("Using provider: {} for ticker: {}", provider.getProviderName(), ticker);
             return provider.getQuote(ticker);
         } catch (Exception e) {
@@ -63,6 +73,10 @@ public class ExternalMarketDataService {
                 return List.of();
             }
 
+            if (!hasBudget(provider)) {
+                return List.of();
+            }
+
             log.debug("Using provider: {} for {} tickers", provider.getProviderName(), tickers.size());
             return provider.getQuotes(tickers);
         } catch (Exception e) {
@@ -85,6 +99,10 @@ public class ExternalMarketDataService {
                 return Optional.empty();
             }
 
+            if (!hasBudget(provider)) {
+                return Optional.empty();
+            }
+
             log.debug("Using provider: {} for historical data of ticker: {}", provider.getProviderName(), ticker);
             return provider.getHistoricalData(ticker, period, interval);
         } catch (Exception e) {
@@ -95,8 +113,10 @@ public class ExternalMarketDataService {
 
     /**
      * Select the appropriate market data provider based on investment type
+     *
+     * @return the provider, or null when no provider supports the type
      */
-    private MarketDataProvider selectProvider(InvestmentType investmentType) {
+    public MarketDataProvider selectProvider(InvestmentType investmentType) {
         if (brazilianMarketProvider.supportsInvestmentType(investmentType)) {
             return brazilianMarketProvider;
         } else if (usMarketProvider.supportsInvestmentType(investmentType)) {
@@ -105,6 +125,14 @@ public class ExternalMarketDataService {
         return null;
     }
 
+    private boolean hasBudget(MarketDataProvider provider) {
+        if (marketDataBudget.tryAcquire(provider, Duration.ZERO)) {
+            return true;
+        }
+        log.warn("Market data budget for {} exhausted, skipping fetch", provider.getProviderName());
+        return false;
+    }
+
     /**
      * Check if market data needs to be updated
      */
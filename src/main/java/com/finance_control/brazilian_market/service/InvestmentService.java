@@ -5,16 +5,28 @@ import com.finance_control.brazilian_market.model.Investment;
 import com.finance_control.brazilian_market.model.InvestmentSubtype;
 import com.finance_control.brazilian_market.model.InvestmentType;
 import com.finance_control.brazilian_market.repository.InvestmentRepository;
+import com.finance_control.brazilian_market.service.quote.QuoteSnapshot;
+import com.finance_control.brazilian_market.service.quote.QuoteStore;
+import com.finance_control.brazilian_market.service.refresh.MarketRefreshService;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
 import com.finance_control.shared.service.BaseService;
 import com.finance_control.users.model.User;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,11 +40,18 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
 
     private final InvestmentRepository investmentRepository;
     private final ExternalMarketDataService externalMarketDataService;
+    private final UserDataChangePublisher changePublisher;
+    private final MarketRefreshService marketRefreshService;
+    private final QuoteStore quoteStore;
 
-    public InvestmentService(InvestmentRepository investmentRepository, ExternalMarketDataService externalMarketDataService) {
+    public InvestmentService(InvestmentRepository investmentRepository, ExternalMarketDataService externalMarketDataService,
+            UserDataChangePublisher changePublisher, MarketRefreshService marketRefreshService, QuoteStore quoteStore) {
         super(investmentRepository);
         this.investmentRepository = investmentRepository;
         this.externalMarketDataService = externalMarketDataService;
+        this.changePublisher = changePublisher;
+        this.marketRefreshService = marketRefreshService;
+        this.quoteStore = quoteStore;
     }
 
     @Override
@@ -91,8 +110,36 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
         return dto;
     }
 
+    /**
+     * Converts an investment to its response DTO, with the price taken from the shared quote store
+     * when a quote is available.
+     */
     public InvestmentDTO convertToResponseDTO(Investment entity) {
-        return mapToResponseDTO(entity);
+        InvestmentDTO dto = mapToResponseDTO(entity);
+        if (entity.getTicker() != null) {
+            quoteStore.getSnapshot(entity.getTicker(), entity.getInvestmentType())
+                    .ifPresent(snapshot -> applySnapshot(dto, snapshot));
+        }
+        return dto;
+    }
+
+    /**
+     * Converts investments to response DTOs, reading all their quotes from the shared quote store
+     * in one batch. The store never waits on a provider; holdings without a quote keep their
+     * persisted price.
+     */
+    public List<InvestmentDTO> convertToResponseDTOs(List<Investment> entities) {
+        Map<String, QuoteSnapshot> snapshots = quoteStore.getSnapshots(tickersOf(entities));
+        List<InvestmentDTO> dtos = new ArrayList<>(entities.size());
+        for (Investment entity : entities) {
+            InvestmentDTO dto = mapToResponseDTO(entity);
+            QuoteSnapshot snapshot = snapshotOf(entity, snapshots);
+            if (snapshot != null) {
+                applySnapshot(dto, snapshot);
+            }
+            dtos.add(dto);
+        }
+        return dtos;
     }
 
     /**
@@ -109,6 +156,7 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
 
         Investment savedInvestment = investmentRepository.save(investment);
         log.info("Created investment: {} for user: {}", savedInvestment.getTicker(), user.getId());
+        changePublisher.publish(user.getId(), UserDataChangedEvent.Source.INVESTMENT);
 
         return savedInvestment;
     }
@@ -132,6 +180,7 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
 
         Investment savedInvestment = investmentRepository.save(existingInvestment);
         log.info("Updated investment: {} for user: {}", savedInvestment.getTicker(), user.getId());
+        changePublisher.publish(user.getId(), UserDataChangedEvent.Source.INVESTMENT);
 
         return savedInvestment;
     }
@@ -259,6 +308,7 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
                         investment.setVolume(marketData.getVolume());
                         investment.setLastUpdated(marketData.getLastUpdated());
                         investment.setUpdatedAt(LocalDateTime.now());
+                        quoteStore.put(marketData, investment.getInvestmentType());
 
                         log.debug("Updated market data for investment: {}", investment.getTicker());
                     });
@@ -268,31 +318,17 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
     }
 
     /**
-     * Update market data for all investments of a user
+     * Update market data for all investments of a user.
+     * Stale tickers are fetched in provider batches and written with one update per ticker.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void updateAllMarketData(User user) {
         log.debug("Updating market data for all investments of user: {}", user.getId());
 
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(15);
-        List<Investment> investmentsToUpdate = investmentRepository.findInvestmentsNeedingPriceUpdate(user.getId(), cutoffTime);
-
-        log.info("Found {} investments needing market data update for user: {}", investmentsToUpdate.size(), user.getId());
-
-        for (Investment investment : investmentsToUpdate) {
-            try {
-                updateMarketData(investment);
-                // Add small delay to avoid rate limiting
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Market data update interrupted for user: {}", user.getId());
-                break;
-            } catch (Exception e) {
-                log.error("Error updating market data for investment: {}", investment.getTicker(), e);
-            }
-        }
+        MarketRefreshService.RefreshResult result = marketRefreshService.refreshUser(user.getId());
 
-        log.info("Completed market data update for user: {}", user.getId());
+        log.info("Completed market data update for user: {} ({} of {} tickers refreshed)",
+                user.getId(), result.refreshed(), result.tickers());
     }
 
     /**
@@ -315,6 +351,7 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
         investmentRepository.save(investment);
 
         log.info("Deleted investment: {} for user: {}", investment.getTicker(), user.getId());
+        changePublisher.publish(user.getId(), UserDataChangedEvent.Source.INVESTMENT);
     }
 
     /**
@@ -350,18 +387,64 @@ public class InvestmentService extends BaseService<Investment, Long, InvestmentD
     }
 
     /**
-     * Get total market value for a user
+     * Get total market value for a user.
+     * Holdings are valued at the shared quote store's price, falling back to the persisted price.
      */
     @Transactional(readOnly = true)
     public Optional<Double> getTotalMarketValue(User user) {
-        return investmentRepository.getTotalMarketValue(user.getId());
+        Map<InvestmentType, BigDecimal> byType = valueByType(user);
+        return byType.isEmpty()
+                ? Optional.empty()
+                : Optional.of(byType.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue());
     }
 
     /**
-     * Get market value by investment type for a user
+     * Get market value by investment type for a user, as {@code [InvestmentType, Double]} rows.
+     * Holdings are valued at the shared quote store's price, falling back to the persisted price.
      */
     @Transactional(readOnly = true)
     public List<Object[]> getMarketValueByType(User user) {
-        return investmentRepository.getTotalMarketValueByType(user.getId());
+        return valueByType(user).entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue().doubleValue()})
+                .toList();
+    }
+
+    private Map<InvestmentType, BigDecimal> valueByType(User user) {
+        List<Investment> holdings = investmentRepository.findByUser_IdAndIsActiveTrue(user.getId());
+        Map<String, QuoteSnapshot> snapshots = quoteStore.getSnapshots(tickersOf(holdings));
+        Map<InvestmentType, BigDecimal> byType = new EnumMap<>(InvestmentType.class);
+        for (Investment holding : holdings) {
+            QuoteSnapshot snapshot = snapshotOf(holding, snapshots);
+            BigDecimal price = snapshot != null ? snapshot.currentPrice() : holding.getCurrentPrice();
+            if (price == null || holding.getVolume() == null || holding.getInvestmentType() == null) {
+                continue;
+            }
+            byType.merge(holding.getInvestmentType(), price.multiply(BigDecimal.valueOf(holding.getVolume())),
+                    BigDecimal::add);
+        }
+        return byType;
+    }
+
+    private static Map<String, InvestmentType> tickersOf(List<Investment> investments) {
+        Map<String, InvestmentType> tickers = new HashMap<>();
+        for (Investment investment : investments) {
+            if (investment.getTicker() != null && !investment.getTicker().isBlank()) {
+                tickers.putIfAbsent(investment.getTicker(), investment.getInvestmentType());
+            }
+        }
+        return tickers;
+    }
+
+    private static QuoteSnapshot snapshotOf(Investment investment, Map<String, QuoteSnapshot> snapshots) {
+        return investment.getTicker() != null
+                ? snapshots.get(investment.getTicker().trim().toUpperCase(Locale.ROOT))
+                : null;
+    }
+
+    private static void applySnapshot(InvestmentDTO dto, QuoteSnapshot snapshot) {
+        dto.setCurrentPrice(snapshot.currentPrice());
+        if (snapshot.dayChangePercent() != null) {
+            dto.setDayChangePercent(snapshot.dayChangePercent());
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.finance_control.brazilian_market.service;
+
+import com.finance_control.brazilian_market.client.MarketDataProvider;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-provider request budget shared by every caller of a market data provider: the scheduled
+ * refresh, quote store loads, single-investment updates and history backfills all take a token
+ * before calling out, so together they stay within the provider's rate limit.
+ */
+@Component
+public class MarketDataBudget {
+
+    private final int requestsPerMinute;
+    private final Map<String, Bucket> providerBudgets = new ConcurrentHashMap<>();
+
+    public MarketDataBudget(@Value("${app.market-data.refresh.requests-per-minute:30}") int requestsPerMinute) {
+        this.requestsPerMinute = Math.max(1, requestsPerMinute);
+    }
+
+    /**
+     * Takes one request token of the provider, waiting up to the given time for one to be refilled.
+     *
+     * @param provider the provider about to be called
+     * @param maxWait how long to wait for a token; zero to fail immediately
+     * @return true if a token was taken and the provider may be called
+     */
+    public boolean tryAcquire(MarketDataProvider provider, Duration maxWait) {
+        Bucket budget = providerBudgets.computeIfAbsent(provider.getProviderName(), name -> Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(requestsPerMinute)
+                        .refillGreedy(requestsPerMinute, Duration.ofMinutes(1))
+                        .build())
+                .build());
+        if (maxWait.isZero() || maxWait.isNegative()) {
+            return budget.tryConsume(1);
+        }
+        try {
+            return budget.asBlocking().tryConsume(1, maxWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
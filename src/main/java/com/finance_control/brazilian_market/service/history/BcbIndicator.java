@@ -0,0 +1,24 @@
+package com.finance_control.brazilian_market.service.history;
+
+import com.finance_control.brazilian_market.client.BCBApiClient;
+
+/**
+ * BCB SGS series kept in the local time-series store.
+ */
+public enum BcbIndicator {
+
+    SELIC(BCBApiClient.SELIC_CODE),
+    CDI(BCBApiClient.CDI_CODE),
+    IPCA(BCBApiClient.IPCA_CODE),
+    IGP_M(BCBApiClient.IGP_M_CODE);
+
+    private final String sgsCode;
+
+    BcbIndicator(String sgsCode) {
+        this.sgsCode = sgsCode;
+    }
+
+    public String getSgsCode() {
+        return sgsCode;
+    }
+}
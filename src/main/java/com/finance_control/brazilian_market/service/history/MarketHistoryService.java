@@ -0,0 +1,321 @@
+package com.finance_control.brazilian_market.service.history;
+
+import com.finance_control.brazilian_market.client.BCBApiClient;
+import com.finance_control.brazilian_market.client.HistoricalData;
+import com.finance_control.brazilian_market.client.HistoricalPoint;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.model.SeriesPoint;
+import com.finance_control.brazilian_market.model.SeriesType;
+import com.finance_control.brazilian_market.repository.InvestmentRepository;
+import com.finance_control.brazilian_market.repository.MarketSeriesRepository;
+import com.finance_control.brazilian_market.repository.projection.HeldTicker;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves historical quotes and BCB indicators from the local time-series tables.
+ * A read first backfills the part of the requested range not yet fetched from upstream; ranges
+ * already covered are answered from the database without any upstream call. Only completed days
+ * are stored: today's price comes from the live quote path.
+ * The recent end of a series is re-fetched with some overlap so late or revised observations
+ * (IPCA is published weeks after its reference month) are picked up.
+ */
+@Slf4j
+@Service
+public class MarketHistoryService {
+
+    private static final DateTimeFormatter BCB_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    /** BCB SGS rejects daily series requests spanning more than ten years. */
+    private static final int BCB_MAX_SPAN_YEARS = 10;
+
+    private final MarketSeriesRepository seriesRepository;
+    private final InvestmentRepository investmentRepository;
+    private final ExternalMarketDataService externalMarketDataService;
+    private final BCBApiClient bcbApiClient;
+    private final int quoteOverlapDays;
+    private final int indicatorOverlapDays;
+    private final int backfillLookbackDays;
+    private final Map<String, Object> seriesLocks = new ConcurrentHashMap<>();
+
+    public MarketHistoryService(MarketSeriesRepository seriesRepository,
+            InvestmentRepository investmentRepository,
+            ExternalMarketDataService externalMarketDataService,
+            BCBApiClient bcbApiClient,
+            @Value("${app.market-data.history.quote-overlap-days:5}") int quoteOverlapDays,
+            @Value("${app.market-data.history.indicator-overlap-days:45}") int indicatorOverlapDays,
+            @Value("${app.market-data.history.backfill-lookback-days:1825}") int backfillLookbackDays) {
+        this.seriesRepository = seriesRepository;
+        this.investmentRepository = investmentRepository;
+        this.externalMarketDataService = externalMarketDataService;
+        this.bcbApiClient = bcbApiClient;
+        this.quoteOverlapDays = Math.max(0, quoteOverlapDays);
+        this.indicatorOverlapDays = Math.max(0, indicatorOverlapDays);
+        this.backfillLookbackDays = Math.max(1, backfillLookbackDays);
+    }
+
+    /**
+     * Returns the daily bars of a ticker between two dates, inclusive, oldest first.
+     */
+    public List<SeriesPoint> getQuoteHistory(String ticker, InvestmentType investmentType, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        String symbol = ticker.trim().toUpperCase(Locale.ROOT);
+        backfillQuote(symbol, investmentType, from, to);
+        return seriesRepository.findRange(SeriesType.QUOTE, symbol, from, to);
+    }
+
+    /**
+     * Returns the observations of a BCB indicator between two dates, inclusive, oldest first.
+     */
+    public List<SeriesPoint> getIndicatorHistory(BcbIndicator indicator, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        backfillIndicator(indicator, from, to);
+        return seriesRepository.findRange(SeriesType.INDICATOR, indicator.name(), from, to);
+    }
+
+    public List<SeriesAnalytics.MonthlyReturn> getQuoteMonthlyReturns(String ticker, InvestmentType investmentType,
+            LocalDate from, LocalDate to) {
+        return SeriesAnalytics.monthlyReturns(getQuoteHistory(ticker, investmentType, from, to));
+    }
+
+    public List<SeriesAnalytics.AveragePoint> getQuoteRollingAverage(String ticker, InvestmentType investmentType,
+            LocalDate from, LocalDate to, int window) {
+        return SeriesAnalytics.rollingAverage(getQuoteHistory(ticker, investmentType, from, to), window);
+    }
+
+    /**
+     * Extends every indicator and every held ticker up to yesterday.
+     *
+     * @return the number of points written
+     */
+    public int backfillAll() {
+        LocalDate to = LocalDate.now().minusDays(1);
+        LocalDate from = to.minusDays(backfillLookbackDays);
+        int written = 0;
+        for (BcbIndicator indicator : BcbIndicator.values()) {
+            written += backfillIndicator(indicator, from, to);
+        }
+        for (HeldTicker held : investmentRepository.findHeldTickers()) {
+            if (held.ticker() != null && !held.ticker().isBlank()) {
+                written += backfillQuote(held.ticker().trim().toUpperCase(Locale.ROOT), held.investmentType(), from, to);
+            }
+        }
+        log.info("Market history backfill wrote {} points", written);
+        return written;
+    }
+
+    private int backfillQuote(String symbol, InvestmentType investmentType, LocalDate from, LocalDate to) {
+        return backfill(SeriesType.QUOTE, symbol, from, to, quoteOverlapDays,
+                missing -> fetchQuotes(symbol, investmentType, missing));
+    }
+
+    private int backfillIndicator(BcbIndicator indicator, LocalDate from, LocalDate to) {
+        return backfill(SeriesType.INDICATOR, indicator.name(), from, to, indicatorOverlapDays,
+                missing -> fetchIndicator(indicator, missing));
+    }
+
+    private int backfill(SeriesType seriesType, String symbol, LocalDate from, LocalDate to, int overlapDays,
+            RangeFetcher fetcher) {
+        LocalDate end = min(to, LocalDate.now().minusDays(1));
+        if (end.isBefore(from)) {
+            return 0;
+        }
+        synchronized (seriesLocks.computeIfAbsent(seriesType + ":" + symbol, key -> new Object())) {
+            List<DateRange> missing = missingRanges(seriesRepository.findCoverage(seriesType, symbol), from, end,
+                    overlapDays);
+            if (missing.isEmpty()) {
+                return 0;
+            }
+            Optional<List<SeriesPoint>> fetched = fetcher.fetch(missing);
+            if (fetched.isEmpty()) {
+                log.warn("Could not backfill {} {} for {}", seriesType, symbol, missing);
+                return 0;
+            }
+            if (fetched.get().isEmpty()) {
+                log.warn("Upstream returned no {} points for {} over {}", seriesType, symbol, missing);
+                return 0;
+            }
+            int written = seriesRepository.upsertAll(seriesType, symbol, fetched.get());
+            DateRange covered = coveredBy(fetched.get(), missing.get(0).from(), missing.get(missing.size() - 1).to(),
+                    overlapDays);
+            seriesRepository.extendCoverage(seriesType, symbol, covered.from(), covered.to());
+            log.debug("Backfilled {} {} points for {} over {}, covering {}", written, seriesType, symbol, missing,
+                    covered);
+            return written;
+        }
+    }
+
+    /**
+     * The part of [from, to] the fetched points vouch for. Upstream may cut a range short (a provider
+     * returning less history than asked for, a ticker listed after {@code from}), so the coverage
+     * only reaches as far as the points do. A gap at either end no longer than {@code overlapDays}
+     * (weekends, holidays, publication lag) still counts as covered: the tail is re-fetched with
+     * that overlap anyway.
+     */
+    private static DateRange coveredBy(List<SeriesPoint> points, LocalDate from, LocalDate to, int overlapDays) {
+        LocalDate first = points.get(0).date();
+        LocalDate last = first;
+        for (SeriesPoint point : points) {
+            first = min(first, point.date());
+            last = max(last, point.date());
+        }
+        return new DateRange(first.isAfter(from.plusDays(overlapDays)) ? first : from,
+                last.isBefore(to.minusDays(overlapDays)) ? last : to);
+    }
+
+    /**
+     * Ranges to fetch so that the coverage grows to include [from, to], oldest first.
+     * Ranges always touch the existing coverage, so the coverage stays one contiguous range. The
+     * tail range starts {@code overlapDays} before the end of the coverage so recent observations
+     * are refreshed.
+     */
+    private static List<DateRange> missingRanges(Optional<MarketSeriesRepository.Coverage> coverage, LocalDate from,
+            LocalDate to, int overlapDays) {
+        if (coverage.isEmpty()) {
+            return List.of(new DateRange(from, to));
+        }
+        LocalDate coveredFrom = coverage.get().from();
+        LocalDate coveredTo = coverage.get().to();
+        List<DateRange> missing = new ArrayList<>(2);
+        if (from.isBefore(coveredFrom)) {
+            missing.add(new DateRange(from, coveredFrom.minusDays(1)));
+        }
+        if (to.isAfter(coveredTo)) {
+            LocalDate tailFrom = max(coveredFrom, coveredTo.plusDays(1).minusDays(overlapDays));
+            if (!missing.isEmpty() && !tailFrom.isAfter(missing.get(0).to().plusDays(1))) {
+                return List.of(new DateRange(from, to));
+            }
+            missing.add(new DateRange(tailFrom, to));
+        }
+        return missing;
+    }
+
+    private Optional<List<SeriesPoint>> fetchQuotes(String symbol, InvestmentType investmentType,
+            List<DateRange> missing) {
+        LocalDate earliest = missing.get(0).from();
+        Optional<HistoricalData> history = externalMarketDataService.fetchHistoricalData(symbol, investmentType,
+                rangeCovering(earliest), "1d");
+        if (history.isEmpty() || history.get().getData() == null) {
+            return Optional.empty();
+        }
+        List<SeriesPoint> points = new ArrayList<>();
+        for (HistoricalPoint bar : history.get().getData()) {
+            if (bar.getTimestamp() == null || bar.getClose() == null) {
+                continue;
+            }
+            LocalDate date = bar.getTimestamp().toLocalDate();
+            if (isInAny(missing, date)) {
+                points.add(new SeriesPoint(date, bar.getOpen(), bar.getHigh(), bar.getLow(), bar.getClose(),
+                        bar.getVolume()));
+            }
+        }
+        return Optional.of(points);
+    }
+
+    private Optional<List<SeriesPoint>> fetchIndicator(BcbIndicator indicator, List<DateRange> missing) {
+        List<SeriesPoint> points = new ArrayList<>();
+        for (DateRange range : missing) {
+            for (LocalDate chunkFrom = range.from(); !chunkFrom.isAfter(range.to());
+                    chunkFrom = chunkFrom.plusYears(BCB_MAX_SPAN_YEARS)) {
+                LocalDate chunkTo = min(range.to(), chunkFrom.plusYears(BCB_MAX_SPAN_YEARS).minusDays(1));
+                Optional<List<Map<String, Object>>> rows = bcbApiClient.findDataInRange(indicator.getSgsCode(),
+                        chunkFrom, chunkTo);
+                if (rows.isEmpty()) {
+                    return Optional.empty();
+                }
+                rows.get().forEach(row -> parseIndicatorRow(row).ifPresent(points::add));
+            }
+        }
+        return Optional.of(points);
+    }
+
+    private static Optional<SeriesPoint> parseIndicatorRow(Map<String, Object> row) {
+        Object date = row.get("data");
+        Object value = row.get("valor");
+        if (date == null || value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(SeriesPoint.of(LocalDate.parse(date.toString(), BCB_DATE),
+                    new BigDecimal(value.toString())));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            log.debug("Skipping malformed BCB observation {}", row);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Smallest provider range, counted back from today, that reaches the given date.
+     */
+    private static String rangeCovering(LocalDate earliest) {
+        long days = ChronoUnit.DAYS.between(earliest, LocalDate.now());
+        if (days <= 5) {
+            return "5d";
+        } else if (days <= 31) {
+            return "1mo";
+        } else if (days <= 92) {
+            return "3mo";
+        } else if (days <= 183) {
+            return "6mo";
+        } else if (days <= 366) {
+            return "1y";
+        } else if (days <= 731) {
+            return "2y";
+        } else if (days <= 1827) {
+            return "5y";
+        } else if (days <= 3653) {
+            return "10y";
+        }
+        return "max";
+    }
+
+    private static boolean isInAny(List<DateRange> ranges, LocalDate date) {
+        for (DateRange range : ranges) {
+            if (!date.isBefore(range.from()) && !date.isAfter(range.to())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Inclusive date range.
+     */
+    private record DateRange(LocalDate from, LocalDate to) {
+    }
+
+    @FunctionalInterface
+    private interface RangeFetcher {
+        Optional<List<SeriesPoint>> fetch(List<DateRange> missing);
+    }
+}
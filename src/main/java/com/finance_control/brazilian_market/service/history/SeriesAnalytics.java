@@ -0,0 +1,98 @@
+package com.finance_control.brazilian_market.service.history;
+
+import com.finance_control.brazilian_market.model.SeriesPoint;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aggregates over a date-ordered series, computed in one pass over the stored points.
+ */
+public final class SeriesAnalytics {
+
+    private static final int SCALE = 6;
+
+    private SeriesAnalytics() {
+    }
+
+    /**
+     * Return of one calendar month, from the previous month's last close to this month's last close.
+     *
+     * @param month the month
+     * @param close the last close of the month
+     * @param returnPercent the return in percent; the first month is measured from the first close
+     */
+    public record MonthlyReturn(YearMonth month, BigDecimal close, BigDecimal returnPercent) {
+    }
+
+    /**
+     * Simple moving average ending at a date.
+     *
+     * @param date the date of the last observation in the window
+     * @param average the mean close over the window
+     */
+    public record AveragePoint(LocalDate date, BigDecimal average) {
+    }
+
+    /**
+     * Computes month-over-month returns of a series ordered by date.
+     */
+    public static List<MonthlyReturn> monthlyReturns(List<SeriesPoint> points) {
+        List<MonthlyReturn> returns = new ArrayList<>();
+        if (points.isEmpty()) {
+            return returns;
+        }
+        BigDecimal base = points.get(0).close();
+        YearMonth month = YearMonth.from(points.get(0).date());
+        BigDecimal monthClose = base;
+        for (SeriesPoint point : points) {
+            YearMonth pointMonth = YearMonth.from(point.date());
+            if (!pointMonth.equals(month)) {
+                returns.add(new MonthlyReturn(month, monthClose, percentChange(base, monthClose)));
+                base = monthClose;
+                month = pointMonth;
+            }
+            monthClose = point.close();
+        }
+        returns.add(new MonthlyReturn(month, monthClose, percentChange(base, monthClose)));
+        return returns;
+    }
+
+    /**
+     * Computes the simple moving average of the closes over {@code window} observations.
+     * Emits one point per observation once the window is full.
+     */
+    public static List<AveragePoint> rollingAverage(List<SeriesPoint> points, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window must be at least 1");
+        }
+        List<AveragePoint> averages = new ArrayList<>(Math.max(0, points.size() - window + 1));
+        BigDecimal divisor = BigDecimal.valueOf(window);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int i = 0; i < points.size(); i++) {
+            sum = sum.add(points.get(i).close());
+            if (i >= window) {
+                sum = sum.subtract(points.get(i - window).close());
+            }
+            if (i >= window - 1) {
+                averages.add(new AveragePoint(points.get(i).date(), sum.divide(divisor, SCALE, RoundingMode.HALF_UP)));
+            }
+        }
+        return averages;
+    }
+
+    private static BigDecimal percentChange(BigDecimal from, BigDecimal to) {
+        if (from == null || to == null || from.signum() == 0) {
+            return null;
+        }
+        return to.subtract(from)
+                .divide(from, MathContext.DECIMAL64)
+                .multiply(BigDecimal.valueOf(100))
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+}
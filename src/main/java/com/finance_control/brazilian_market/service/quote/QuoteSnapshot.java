@@ -0,0 +1,44 @@
+package com.finance_control.brazilian_market.service.quote;
+
+import com.finance_control.brazilian_market.client.MarketQuote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable view of the latest known quote of a symbol.
+ *
+ * @param symbol the normalized ticker symbol
+ * @param currentPrice the last traded price
+ * @param previousClose the previous session's closing price
+ * @param dayChange the price change since the previous close
+ * @param dayChangePercent the percentage change since the previous close
+ * @param volume the traded volume
+ * @param lastUpdated when the provider last updated the quote
+ * @param fetchedAt when the quote was fetched from the provider
+ * @param stale whether the quote is past its TTL and being revalidated
+ */
+public record QuoteSnapshot(
+        String symbol,
+        BigDecimal currentPrice,
+        BigDecimal previousClose,
+        BigDecimal dayChange,
+        BigDecimal dayChangePercent,
+        Long volume,
+        LocalDateTime lastUpdated,
+        Instant fetchedAt,
+        boolean stale) {
+
+    static QuoteSnapshot of(String symbol, MarketQuote quote, Instant fetchedAt, boolean stale) {
+        return new QuoteSnapshot(symbol,
+                quote.getCurrentPrice(),
+                quote.getPreviousClose(),
+                quote.getDayChange(),
+                quote.getDayChangePercent(),
+                quote.getVolume(),
+                quote.getLastUpdated(),
+                fetchedAt,
+                stale);
+    }
+}
@@ -0,0 +1,298 @@
+package com.finance_control.brazilian_market.service.quote;
+
+import com.finance_control.brazilian_market.client.MarketDataProvider;
+import com.finance_control.brazilian_market.client.MarketHours;
+import com.finance_control.brazilian_market.client.MarketQuote;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.MarketDataBudget;
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide store of the latest quote per symbol, shared by all users holding it.
+ * <ul>
+ *   <li>Non-blocking: reads only serve what the store holds. Symbols without a usable quote are
+ *       loaded in the background and the caller falls back to the prices persisted on the
+ *       investment, so a read inside a transaction never waits on a provider.</li>
+ *   <li>Single-flight: a symbol is loaded by at most one provider call at a time, however many
+ *       reads miss it.</li>
+ *   <li>Stale-while-revalidate: a quote past its TTL is still served for a grace period while a
+ *       background fetch refreshes it.</li>
+ *   <li>TTLs follow exchange hours: short while the exchange is open, until the next session
+ *       (capped) while it is closed.</li>
+ * </ul>
+ * Background loads take a token from the shared {@link MarketDataBudget} and are skipped when it
+ * is exhausted. They call {@link MarketDataProvider#getQuotesAsync(List)} and give up after
+ * {@code app.market-data.fetch-timeout-ms}, so a hung provider cannot pin the loader threads. The store is bounded: quotes are dropped once past their grace period, and the
+ * least used ones beyond {@code max-entries}.
+ */
+@Slf4j
+@Component
+public class QuoteStore implements MonitoredCaches {
+
+    private final ExternalMarketDataService externalMarketDataService;
+    private final MarketDataBudget marketDataBudget;
+    private final Duration openTtl;
+    private final Duration closedTtlMax;
+    private final Duration staleWhileRevalidate;
+    private final Duration fetchTimeout;
+    private final ExecutorService loader;
+    private final Cache<String, Entry> entries;
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    public QuoteStore(ExternalMarketDataService externalMarketDataService,
+            MarketDataBudget marketDataBudget,
+            @Value("${app.market-data.quotes.open-ttl-seconds:60}") long openTtlSeconds,
+            @Value("${app.market-data.quotes.closed-ttl-max-seconds:21600}") long closedTtlMaxSeconds,
+            @Value("${app.market-data.quotes.stale-while-revalidate-seconds:300}") long staleWhileRevalidateSeconds,
+            @Value("${app.market-data.quotes.max-entries:10000}") long maxEntries,
+            @Value("${app.market-data.quotes.loader-threads:4}") int loaderThreads,
+            @Value("${app.market-data.fetch-timeout-ms:30000}") long fetchTimeoutMs) {
+        this.externalMarketDataService = externalMarketDataService;
+        this.marketDataBudget = marketDataBudget;
+        this.openTtl = Duration.ofSeconds(Math.max(1, openTtlSeconds));
+        this.closedTtlMax = Duration.ofSeconds(Math.max(1, closedTtlMaxSeconds));
+        this.staleWhileRevalidate = Duration.ofSeconds(Math.max(0, staleWhileRevalidateSeconds));
+        this.fetchTimeout = Duration.ofMillis(Math.max(1, fetchTimeoutMs));
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, maxEntries))
+                .expireAfter(new UntilStale())
+                .recordStats()
+                .build();
+        int threads = Math.max(1, loaderThreads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.loader = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "quote-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> monitoredCaches() {
+        return Map.of("quotes", entries);
+    }
+
+    /**
+     * Returns the quote of a symbol if the store holds a usable copy, loading it in the background
+     * otherwise.
+     *
+     * @param ticker the ticker symbol
+     * @param investmentType the investment type, which selects the provider on a miss
+     * @return the snapshot, or empty if the store has no usable quote yet
+     */
+    public Optional<QuoteSnapshot> getSnapshot(String ticker, InvestmentType investmentType) {
+        if (ticker == null || ticker.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getSnapshots(Map.of(ticker, investmentType)).get(normalize(ticker)));
+    }
+
+    /**
+     * Returns the quotes the store holds for several symbols without waiting on any provider.
+     * Missing and expired symbols are loaded in the background with one batched call per provider.
+     *
+     * @param tickers the ticker symbols with their investment types
+     * @return the snapshots by normalized symbol; symbols without a usable quote are absent
+     */
+    @Timed(value = "finance.market.quotes", description = "Quote snapshot lookup time", histogram = true)
+    public Map<String, QuoteSnapshot> getSnapshots(Map<String, InvestmentType> tickers) {
+        Instant now = Instant.now();
+        Map<String, QuoteSnapshot> snapshots = new HashMap<>();
+        Map<String, InvestmentType> toLoad = new LinkedHashMap<>();
+
+        for (Map.Entry<String, InvestmentType> ticker : tickers.entrySet()) {
+            if (ticker.getKey() == null || ticker.getKey().isBlank()) {
+                continue;
+            }
+            String symbol = normalize(ticker.getKey());
+            Entry entry = entries.getIfPresent(symbol);
+            if (entry != null && entry.isFresh(now)) {
+                snapshots.put(symbol, entry.snapshot(false));
+                continue;
+            }
+            if (entry != null && entry.isServable(now)) {
+                snapshots.put(symbol, entry.snapshot(true));
+            }
+            toLoad.putIfAbsent(symbol, ticker.getValue());
+        }
+
+        if (!toLoad.isEmpty()) {
+            load(toLoad);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Stores a quote fetched elsewhere, e.g. by the scheduled market refresh.
+     *
+     * @param quote the quote
+     * @param marketHours the trading hours of the quote's exchange
+     */
+    public void put(MarketQuote quote, MarketHours marketHours) {
+        if (quote == null || quote.getSymbol() == null || quote.getCurrentPrice() == null) {
+            return;
+        }
+        store(normalize(quote.getSymbol()), quote, marketHours);
+    }
+
+    /**
+     * Stores a quote fetched elsewhere, taking the trading hours from the provider of the type.
+     *
+     * @param quote the quote
+     * @param investmentType the investment type the quote was fetched for
+     */
+    public void put(MarketQuote quote, InvestmentType investmentType) {
+        MarketDataProvider provider = externalMarketDataService.selectProvider(investmentType);
+        put(quote, provider != null ? provider.getMarketHours() : MarketHours.B3);
+    }
+
+    /**
+     * How long a quote fetched at the given instant stays fresh.
+     * While the exchange is open this is the open TTL; while it is closed the quote cannot change
+     * until the next session, so it stays fresh until then, capped at the closed maximum.
+     *
+     * @param marketHours the trading hours of the quote's exchange
+     * @param fetchedAt when the quote was fetched
+     * @return the time to live
+     */
+    public Duration ttl(MarketHours marketHours, Instant fetchedAt) {
+        Duration untilOpen = marketHours.untilNextOpen(fetchedAt);
+        if (untilOpen.isZero()) {
+            return openTtl;
+        }
+        Duration closedTtl = untilOpen.compareTo(closedTtlMax) > 0 ? closedTtlMax : untilOpen;
+        return closedTtl.compareTo(openTtl) < 0 ? openTtl : closedTtl;
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    /**
+     * Starts loading the given symbols in provider-sized batches, skipping symbols already loading.
+     */
+    private void load(Map<String, InvestmentType> symbols) {
+        Map<MarketDataProvider, List<String>> owned = new LinkedHashMap<>();
+        for (Map.Entry<String, InvestmentType> symbol : symbols.entrySet()) {
+            MarketDataProvider provider = externalMarketDataService.selectProvider(symbol.getValue());
+            if (provider != null && loading.add(symbol.getKey())) {
+                owned.computeIfAbsent(provider, p -> new ArrayList<>()).add(symbol.getKey());
+            }
+        }
+
+        for (Map.Entry<MarketDataProvider, List<String>> batch : owned.entrySet()) {
+            MarketDataProvider provider = batch.getKey();
+            List<String> providerSymbols = batch.getValue();
+            int batchSize = Math.max(1, provider.getMaxBatchSize());
+            for (int from = 0; from < providerSymbols.size(); from += batchSize) {
+                List<String> chunk = providerSymbols.subList(from, Math.min(from + batchSize, providerSymbols.size()));
+                try {
+                    loader.execute(() -> fetch(provider, chunk));
+                } catch (RuntimeException e) {
+                    log.warn("Quote loader rejected {} symbols: {}", chunk.size(), e.getMessage());
+                    chunk.forEach(loading::remove);
+                }
+            }
+        }
+    }
+
+    private void fetch(MarketDataProvider provider, List<String> symbols) {
+        try {
+            if (!marketDataBudget.tryAcquire(provider, Duration.ZERO)) {
+                log.debug("Market data budget for {} exhausted, not loading {} quotes",
+                        provider.getProviderName(), symbols.size());
+                return;
+            }
+            List<MarketQuote> quotes = Objects.requireNonNullElse(
+                    provider.getQuotesAsync(symbols).block(fetchTimeout), List.of());
+            for (MarketQuote quote : quotes) {
+                if (quote.getSymbol() != null && quote.getCurrentPrice() != null) {
+                    store(normalize(quote.getSymbol()), quote, provider.getMarketHours());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Error loading {} quotes from {}: {}", symbols.size(), provider.getProviderName(), e.getMessage());
+        } finally {
+            symbols.forEach(loading::remove);
+        }
+    }
+
+    private void store(String symbol, MarketQuote quote, MarketHours marketHours) {
+        Instant fetchedAt = Instant.now();
+        Instant freshUntil = fetchedAt.plus(ttl(marketHours, fetchedAt));
+        entries.put(symbol, new Entry(symbol, quote, fetchedAt, freshUntil, freshUntil.plus(staleWhileRevalidate)));
+    }
+
+    private static String normalize(String ticker) {
+        return ticker.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Entry(String symbol, MarketQuote quote, Instant fetchedAt, Instant freshUntil, Instant staleUntil) {
+
+        boolean isFresh(Instant now) {
+            return now.isBefore(freshUntil);
+        }
+
+        boolean isServable(Instant now) {
+            return now.isBefore(staleUntil);
+        }
+
+        QuoteSnapshot snapshot(boolean stale) {
+            return QuoteSnapshot.of(symbol, quote, fetchedAt, stale);
+        }
+    }
+
+    private static final class UntilStale implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.staleUntil());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
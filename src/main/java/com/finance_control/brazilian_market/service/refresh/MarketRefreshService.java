@@ -0,0 +1,288 @@
+package com.finance_control.brazilian_market.service.refresh;
+
+import com.finance_control.brazilian_market.client.MarketDataProvider;
+import com.finance_control.brazilian_market.client.MarketQuote;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.repository.InvestmentRepository;
+import com.finance_control.brazilian_market.repository.projection.StaleTicker;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.MarketDataBudget;
+import com.finance_control.brazilian_market.service.quote.QuoteStore;
+import com.finance_control.shared.monitoring.MetricsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Refreshes investment prices per distinct ticker rather than per holding.
+ * Stale tickers are deduplicated across users, grouped by market data provider and split into
+ * provider-sized batches. Batches run concurrently, each taking a token from its provider's
+ * request budget ({@link MarketDataBudget}) first, and every quote is written to all holdings of its ticker with one
+ * bulk update. Refresh time therefore grows with the number of distinct tickers, not holdings.
+ * Quotes are fetched with {@link MarketDataProvider#getQuotesAsync(List)}, waiting at most
+ * {@code app.market-data.fetch-timeout-ms} per batch. Fetched quotes also warm the shared {@link QuoteStore}.
+ */
+@Slf4j
+@Service
+public class MarketRefreshService {
+
+    private final InvestmentRepository investmentRepository;
+    private final ExternalMarketDataService externalMarketDataService;
+    private final MetricsService metricsService;
+    private final QuoteStore quoteStore;
+    private final MarketDataBudget marketDataBudget;
+    private final ExecutorService batchExecutor;
+    private final int staleAfterMinutes;
+    private final Duration budgetWait;
+    private final Duration fetchTimeout;
+
+    public MarketRefreshService(InvestmentRepository investmentRepository,
+            ExternalMarketDataService externalMarketDataService,
+            MetricsService metricsService,
+            QuoteStore quoteStore,
+            MarketDataBudget marketDataBudget,
+            @Value("${app.market-data.update-interval-minutes:15}") int staleAfterMinutes,
+            @Value("${app.market-data.refresh.threads:4}") int threads,
+            @Value("${app.market-data.refresh.budget-wait-ms:30000}") long budgetWaitMs,
+            @Value("${app.market-data.fetch-timeout-ms:30000}") long fetchTimeoutMs) {
+        this.investmentRepository = investmentRepository;
+        this.externalMarketDataService = externalMarketDataService;
+        this.metricsService = metricsService;
+        this.quoteStore = quoteStore;
+        this.marketDataBudget = marketDataBudget;
+        this.staleAfterMinutes = staleAfterMinutes;
+        this.budgetWait = Duration.ofMillis(Math.max(0, budgetWaitMs));
+        this.fetchTimeout = Duration.ofMillis(Math.max(1, fetchTimeoutMs));
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.batchExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "market-refresh-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Outcome of a refresh run.
+     *
+     * @param tickers the distinct stale tickers found
+     * @param batches the provider requests issued or attempted
+     * @param refreshed the tickers that received a quote
+     * @param investmentsUpdated the holdings updated across all users
+     * @param duration the wall-clock time of the run
+     */
+    public record RefreshResult(int tickers, int batches, int refreshed, int investmentsUpdated, Duration duration) {
+
+        public int failed() {
+            return tickers - refreshed;
+        }
+    }
+
+    /**
+     * Refreshes every stale ticker held by any user.
+     *
+     * @return the outcome of the run
+     */
+    public RefreshResult refreshStale() {
+        return refresh(investmentRepository.findStaleTickers(cutoff()));
+    }
+
+    /**
+     * Refreshes the stale tickers held by one user. Other users holding the same tickers
+     * receive the new prices as well.
+     *
+     * @param userId the user ID
+     * @return the outcome of the run
+     */
+    public RefreshResult refreshUser(Long userId) {
+        return refresh(investmentRepository.findStaleTickersByUserId(userId, cutoff()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
+    private RefreshResult refresh(List<StaleTicker> staleTickers) {
+        Instant start = Instant.now();
+        Map<MarketDataProvider, Map<String, TickerRefresh>> byProvider = groupByProvider(staleTickers);
+
+        List<CompletableFuture<BatchOutcome>> batches = new ArrayList<>();
+        int tickers = 0;
+        for (Map.Entry<MarketDataProvider, Map<String, TickerRefresh>> entry : byProvider.entrySet()) {
+            MarketDataProvider provider = entry.getKey();
+            List<TickerRefresh> stalestFirst = entry.getValue().values().stream()
+                    .sorted(Comparator.comparing(TickerRefresh::oldestUpdate,
+                            Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList();
+            tickers += stalestFirst.size();
+            int batchSize = Math.max(1, provider.getMaxBatchSize());
+            for (int from = 0; from < stalestFirst.size(); from += batchSize) {
+                List<TickerRefresh> batch = stalestFirst.subList(from, Math.min(from + batchSize, stalestFirst.size()));
+                batches.add(CompletableFuture.supplyAsync(() -> refreshBatch(provider, batch), batchExecutor));
+            }
+        }
+
+        int refreshed = 0;
+        int investmentsUpdated = 0;
+        for (CompletableFuture<BatchOutcome> batch : batches) {
+            BatchOutcome outcome = batch.join();
+            refreshed += outcome.refreshed();
+            investmentsUpdated += outcome.investmentsUpdated();
+        }
+
+        Duration duration = Duration.between(start, Instant.now());
+        RefreshResult result = new RefreshResult(tickers, batches.size(), refreshed, investmentsUpdated, duration);
+        metricsService.recordMarketDataRefresh(result.tickers(), result.failed(), duration);
+        metricsService.setMarketDataRefreshLag(oldestUpdate(staleTickers)
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()))
+                .orElse(Duration.ZERO));
+        log.info("Market data refresh: {} tickers in {} batches, {} refreshed, {} investments updated in {}ms",
+                result.tickers(), result.batches(), result.refreshed(), result.investmentsUpdated(), duration.toMillis());
+        return result;
+    }
+
+    private Map<MarketDataProvider, Map<String, TickerRefresh>> groupByProvider(List<StaleTicker> staleTickers) {
+        Map<MarketDataProvider, Map<String, TickerRefresh>> byProvider = new LinkedHashMap<>();
+        for (StaleTicker stale : staleTickers) {
+            if (stale.ticker() == null || stale.ticker().isBlank()) {
+                continue;
+            }
+            MarketDataProvider provider = externalMarketDataService.selectProvider(stale.investmentType());
+            if (provider == null) {
+                log.debug("No market data provider for investment type {}", stale.investmentType());
+                continue;
+            }
+            byProvider.computeIfAbsent(provider, p -> new LinkedHashMap<>())
+                    .computeIfAbsent(stale.ticker(), TickerRefresh::new)
+                    .add(stale);
+        }
+        return byProvider;
+    }
+
+    private BatchOutcome refreshBatch(MarketDataProvider provider, List<TickerRefresh> batch) {
+        if (!marketDataBudget.tryAcquire(provider, budgetWait)) {
+            log.warn("Market data budget for {} exhausted, deferring {} tickers to the next refresh",
+                    provider.getProviderName(), batch.size());
+            return BatchOutcome.NONE;
+        }
+
+        List<String> symbols = batch.stream().map(TickerRefresh::ticker).toList();
+        Instant fetchStart = metricsService.startMarketDataFetchTimer();
+        List<MarketQuote> quotes;
+        try {
+            // Goes through the provider's outbound client (timeouts, retries, circuit breaker); the
+            // batch thread waits at most fetchTimeout on it
+            quotes = Objects.requireNonNullElse(provider.getQuotesAsync(symbols).block(fetchTimeout), List.of());
+        } catch (Exception e) {
+            log.error("Error fetching quotes for {} tickers from {}", symbols.size(), provider.getProviderName(), e);
+            return BatchOutcome.NONE;
+        } finally {
+            metricsService.recordMarketDataFetchTime(fetchStart, provider.getProviderName());
+        }
+
+        Map<String, MarketQuote> quotesBySymbol = quotes.stream()
+                .filter(quote -> quote.getSymbol() != null)
+                .collect(Collectors.toMap(quote -> quote.getSymbol().toUpperCase(Locale.ROOT), Function.identity(),
+                        (first, second) -> first));
+        int refreshed = 0;
+        int investmentsUpdated = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (TickerRefresh ticker : batch) {
+            MarketQuote quote = quotesBySymbol.get(ticker.ticker().toUpperCase(Locale.ROOT));
+            if (quote == null) {
+                continue;
+            }
+            quoteStore.put(quote, provider.getMarketHours());
+            try {
+                investmentsUpdated += investmentRepository.updateMarketDataByTicker(ticker.ticker(),
+                        ticker.investmentTypes(),
+                        quote.getCurrentPrice(),
+                        quote.getPreviousClose(),
+                        quote.getDayChange(),
+                        quote.getDayChangePercent(),
+                        quote.getVolume(),
+                        quote.getLastUpdated() != null ? quote.getLastUpdated() : now,
+                        now);
+                refreshed++;
+            } catch (Exception e) {
+                log.error("Error writing market data for ticker: {}", ticker.ticker(), e);
+            }
+        }
+        return new BatchOutcome(refreshed, investmentsUpdated);
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minusMinutes(staleAfterMinutes);
+    }
+
+    private static Optional<LocalDateTime> oldestUpdate(List<StaleTicker> staleTickers) {
+        return staleTickers.stream()
+                .map(StaleTicker::oldestUpdate)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+    }
+
+    /**
+     * A distinct ticker of one provider, with the investment types it is held under.
+     */
+    private static final class TickerRefresh {
+
+        private final String ticker;
+        private final Set<InvestmentType> investmentTypes = EnumSet.noneOf(InvestmentType.class);
+        private LocalDateTime oldestUpdate;
+
+        private TickerRefresh(String ticker) {
+            this.ticker = ticker;
+        }
+
+        private void add(StaleTicker stale) {
+            investmentTypes.add(stale.investmentType());
+            if (stale.oldestUpdate() != null && (oldestUpdate == null || stale.oldestUpdate().isBefore(oldestUpdate))) {
+                oldestUpdate = stale.oldestUpdate();
+            }
+        }
+
+        private String ticker() {
+            return ticker;
+        }
+
+        private Set<InvestmentType> investmentTypes() {
+            return investmentTypes;
+        }
+
+        private LocalDateTime oldestUpdate() {
+            return oldestUpdate;
+        }
+    }
+
+    private record BatchOutcome(int refreshed, int investmentsUpdated) {
+
+        private static final BatchOutcome NONE = new BatchOutcome(0, 0);
+    }
+}
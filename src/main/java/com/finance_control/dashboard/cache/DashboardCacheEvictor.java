@@ -0,0 +1,15 @@
+package com.finance_control.dashboard.cache;
+
+/**
+ * A shared dashboard cache tier (persistent store, Redis) that can drop every entry of a user.
+ * Shared tiers are evicted once by the node that observed the change.
+ */
+public interface DashboardCacheEvictor {
+
+    /**
+     * Removes every dashboard cache entry owned by a user.
+     *
+     * @param userId the user ID
+     */
+    void evictUser(Long userId);
+}
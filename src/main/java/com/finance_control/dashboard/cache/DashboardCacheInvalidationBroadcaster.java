@@ -0,0 +1,137 @@
+package com.finance_control.dashboard.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Propagates dashboard cache invalidations to the other application nodes through PostgreSQL
+ * {@code LISTEN/NOTIFY}, so each node can drop its in-memory entries for the affected user.
+ * Shared tiers are evicted by the originating node and are not touched here.
+ *
+ * <p>The listener holds one dedicated connection from the pool and reconnects after failures.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.dashboard.cache.invalidation.broadcast.enabled", havingValue = "true", matchIfMissing = false)
+public class DashboardCacheInvalidationBroadcaster {
+
+    static final String CHANNEL = "dashboard_cache_invalidation";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<DashboardCacheInvalidator> invalidator;
+    private final int pollTimeoutMs;
+    private final long reconnectDelayMs;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public DashboardCacheInvalidationBroadcaster(DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<DashboardCacheInvalidator> invalidator,
+            @Value("${app.dashboard.cache.invalidation.broadcast.poll-timeout-ms:5000}") int pollTimeoutMs,
+            @Value("${app.dashboard.cache.invalidation.broadcast.reconnect-delay-ms:10000}") long reconnectDelayMs) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.invalidator = invalidator;
+        this.pollTimeoutMs = pollTimeoutMs;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Notifies the other nodes that a user's dashboard entries are stale.
+     *
+     * @param userId the user ID
+     */
+    public void broadcast(Long userId) {
+        try {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, nodeId + ":" + userId);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast dashboard cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "dashboard-cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for dashboard cache invalidations");
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Dashboard cache invalidation listener disconnected, retrying in {}ms: {}",
+                            reconnectDelayMs, e.getMessage());
+                    sleepBeforeReconnect();
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload != null ? payload.lastIndexOf(':') : -1;
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        try {
+            Long userId = Long.valueOf(payload.substring(separator + 1));
+            DashboardCacheInvalidator localInvalidator = invalidator.getIfAvailable();
+            if (localInvalidator != null) {
+                localInvalidator.evictLocal(userId);
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed dashboard cache invalidation payload");
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.finance_control.dashboard.cache;
+
+import com.finance_control.shared.event.UserDataChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+/**
+ * Evicts a user's dashboard cache entries (summary, metrics, categories, monthly trends)
+ * once a change to their data has been committed.
+ *
+ * <p>The in-memory tier of this node is evicted directly; shared tiers are evicted through the
+ * registered {@link DashboardCacheEvictor}s, and other nodes are told to drop their in-memory
+ * entries through the {@link DashboardCacheInvalidationBroadcaster} when it is enabled.</p>
+ */
+@Slf4j
+@Component
+public class DashboardCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final ObjectProvider<DashboardCacheEvictor> sharedEvictors;
+    private final ObjectProvider<DashboardCacheInvalidationBroadcaster> broadcaster;
+
+    public DashboardCacheInvalidator(CacheManager cacheManager,
+            ObjectProvider<DashboardCacheEvictor> sharedEvictors,
+            ObjectProvider<DashboardCacheInvalidationBroadcaster> broadcaster) {
+        this.cacheManager = cacheManager;
+        this.sharedEvictors = sharedEvictors;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Evicts every tier for the user after the originating transaction commits, shared tiers
+     * before the in-memory one and other nodes last.
+     * Runs immediately when the event is published outside a transaction.
+     *
+     * @param event the change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        Long userId = event.userId();
+        // Shared tiers first, so an in-memory miss after the local eviction cannot reload old entries
+        sharedEvictors.orderedStream().forEach(evictor -> {
+            try {
+                evictor.evictUser(userId);
+            } catch (Exception e) {
+                log.warn("Failed to evict shared dashboard cache tier {}: {}",
+                        evictor.getClass().getSimpleName(), e.getMessage());
+            }
+        });
+
+        int evicted = evictLocal(userId);
+        log.debug("Evicted {} local dashboard cache entries after {} change", evicted, event.source());
+
+        broadcaster.ifAvailable(b -> b.broadcast(userId));
+    }
+
+    /**
+     * Removes the user's entries from this node's in-memory dashboard cache.
+     *
+     * @param userId the user ID
+     * @return the number of entries removed, or -1 if the cache does not expose its keys
+     */
+    public int evictLocal(Long userId) {
+        Cache cache = cacheManager.getCache(TieredDashboardCacheManager.DASHBOARD_CACHE);
+        if (cache == null) {
+            return 0;
+        }
+
+        Map<Object, Object> entries = nativeEntries(cache.getNativeCache());
+        if (entries == null) {
+            return -1;
+        }
+
+        int before = entries.size();
+        entries.keySet().removeIf(key -> DashboardCacheKeys.belongsTo(key, userId));
+        return before - entries.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> nativeEntries(Object nativeCache) {
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            return (Map<Object, Object>) caffeine.asMap();
+        }
+        if (nativeCache instanceof Map<?, ?> map) {
+            return (Map<Object, Object>) map;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.finance_control.dashboard.cache;
+
+/**
+ * Helpers for the dashboard cache key convention {@code <method>_<userId>[_<args>]}.
+ */
+public final class DashboardCacheKeys {
+
+    private DashboardCacheKeys() {
+    }
+
+    /**
+     * Extracts the owning user from a dashboard cache key.
+     *
+     * @param key the cache key
+     * @return the user ID, or null if the key does not follow the convention
+     */
+    public static Long userIdOf(Object key) {
+        if (key == null) {
+            return null;
+        }
+        String[] parts = key.toString().split("_", 3);
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a dashboard cache key belongs to a user.
+     *
+     * @param key the cache key
+     * @param userId the user ID
+     * @return true if the key is owned by the user
+     */
+    public static boolean belongsTo(Object key, Long userId) {
+        return userId != null && userId.equals(userIdOf(key));
+    }
+}
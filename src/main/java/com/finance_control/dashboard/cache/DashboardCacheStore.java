@@ -0,0 +1,233 @@
+package com.finance_control.dashboard.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.finance_control.dashboard.repository.DashboardCacheRepository;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.monitoring.MetricsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistent (L2) store for the dashboard cache backed by the {@code dashboard_cache} table.
+ * Reads are synchronous; writes are queued to a single write-behind thread so request threads
+ * never wait on the database. When the queue is full new writes are dropped, which only costs a
+ * future L2 miss.
+ *
+ * <p>Evictions and clears run on the calling thread and are never dropped, so a read after them
+ * cannot reload the old entry from L2; a failed delete is thrown to the caller rather than
+ * leaving the old entry readable. Writes queued before an eviction of their user, or before
+ * a clear, are discarded when they run.</p>
+ *
+ * <p>Dashboard cache keys follow the {@code <method>_<userId>[_<args>]} convention, which is used
+ * to attribute entries to their owning user.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.dashboard.cache.persistent.enabled", havingValue = "true", matchIfMissing = false)
+public class DashboardCacheStore implements DashboardCacheEvictor {
+
+    private final DashboardCacheRepository repository;
+    private final MetricsService metricsService;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final ThreadPoolExecutor writeBehindExecutor;
+    private final AtomicLong writeSequence = new AtomicLong();
+    /** Sequence at which each user was last evicted; writes queued before it are stale */
+    private final Map<Long, Long> userEvictions = new ConcurrentHashMap<>();
+    private volatile long clearedAt = -1;
+    private volatile long sweptSequence;
+
+    public DashboardCacheStore(DashboardCacheRepository repository,
+            MetricsService metricsService,
+            ObjectMapper objectMapper,
+            @Value("${app.dashboard.cache.persistent.ttl-ms:14400000}") long ttlMs,
+            @Value("${app.dashboard.cache.persistent.write-queue-capacity:1000}") int writeQueueCapacity) {
+        this.repository = repository;
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper.copy().activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder()
+                        .allowIfSubType("com.finance_control.")
+                        .allowIfSubType("java.util.")
+                        .allowIfSubType("java.math.")
+                        .allowIfSubType("java.time.")
+                        .build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.writeBehindExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(writeQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-cache-write-behind");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    log.debug("Dashboard cache write-behind queue full, dropping write");
+                    metricsService.incrementPersistentCacheWriteDropped();
+                });
+    }
+
+    /**
+     * Loads a non-expired entry.
+     *
+     * @param key the cache key
+     * @return the cached value, or null on a miss or when the entry cannot be read
+     */
+    public Object load(Object key) {
+        Long userId = resolveUserId(key);
+        if (userId == null) {
+            return null;
+        }
+
+        try {
+            Optional<String> cacheData = repository.findCacheData(userId, key.toString(), LocalDateTime.now());
+            if (cacheData.isEmpty()) {
+                metricsService.incrementPersistentCacheMiss();
+                return null;
+            }
+            Object value = objectMapper.readValue(cacheData.get(), Object.class);
+            metricsService.incrementPersistentCacheHit();
+            return value;
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable dashboard cache entry: {}", e.getOriginalMessage());
+            metricsService.incrementPersistentCacheMiss();
+            runQuietly("evict", () -> evict(key));
+            return null;
+        } catch (DataAccessException e) {
+            log.warn("Dashboard cache store unavailable, treating as miss: {}", e.getMessage());
+            metricsService.incrementPersistentCacheMiss();
+            return null;
+        }
+    }
+
+    /**
+     * Queues a value to be written to the store.
+     * The value is serialized on the calling thread so later mutations are not persisted.
+     *
+     * @param key the cache key
+     * @param value the value to store
+     */
+    public void storeAsync(Object key, Object value) {
+        Long userId = resolveUserId(key);
+        if (userId == null || value == null) {
+            return;
+        }
+
+        String cacheData;
+        try {
+            cacheData = objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Dashboard cache value is not serializable, keeping it in memory only: {}", e.getOriginalMessage());
+            return;
+        }
+
+        String cacheKey = key.toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        long queuedAt = writeSequence.get();
+        writeBehindExecutor.execute(() -> runQuietly("write", () -> {
+            if (clearedAt >= queuedAt || userEvictions.getOrDefault(userId, -1L) >= queuedAt) {
+                return;
+            }
+            repository.upsert(userId, cacheKey, cacheData, expiresAt);
+        }));
+    }
+
+    /**
+     * Removes a single entry before returning. Writes still queued for the entry's user are discarded.
+     *
+     * @param key the cache key
+     * @throws DataAccessException if the entry could not be deleted
+     */
+    public void evict(Object key) {
+        Long userId = resolveUserId(key);
+        if (userId == null) {
+            return;
+        }
+        userEvictions.put(userId, writeSequence.getAndIncrement());
+        repository.deleteByUserIdAndCacheKey(userId, key.toString());
+    }
+
+    /**
+     * Removes every entry of a user before returning, and discards writes for the user that
+     * are still queued.
+     *
+     * @param userId the user ID
+     */
+    @Override
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userEvictions.put(userId, writeSequence.getAndIncrement());
+        repository.deleteByUserId(userId);
+    }
+
+    /**
+     * Removes every entry before returning. Writes still queued are discarded.
+     *
+     * @throws DataAccessException if the entries could not be deleted
+     */
+    public void clear() {
+        clearedAt = writeSequence.getAndIncrement();
+        repository.deleteAllEntries();
+    }
+
+    /**
+     * Removes expired entries periodically.
+     * Runs every 10 minutes by default (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.cache.persistent.sweep-interval-ms:600000}",
+               initialDelay = 60000)
+    public void sweepExpired() {
+        // Writes queued before the previous sweep have long run; forget the evictions that fenced them
+        long horizon = sweptSequence;
+        sweptSequence = writeSequence.get();
+        userEvictions.values().removeIf(sequence -> sequence < horizon);
+        try {
+            int removed = repository.deleteExpired(LocalDateTime.now());
+            log.debug("Removed {} expired dashboard cache entries", removed);
+        } catch (Exception e) {
+            log.error("Error sweeping expired dashboard cache entries", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writeBehindExecutor.shutdown();
+        if (!writeBehindExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Dashboard cache write-behind queue not drained before shutdown");
+            writeBehindExecutor.shutdownNow();
+        }
+    }
+
+    private void runQuietly(String operation, Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("Dashboard cache {} failed: {}", operation, e.getMessage());
+        }
+    }
+
+    private Long resolveUserId(Object key) {
+        Long userId = DashboardCacheKeys.userIdOf(key);
+        return userId != null ? userId : UserContext.getCurrentUserId();
+    }
+}
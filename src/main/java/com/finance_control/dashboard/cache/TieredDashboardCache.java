@@ -0,0 +1,94 @@
+package com.finance_control.dashboard.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Two-tier dashboard cache: an in-memory L1 (Caffeine) in front of the persistent
+ * {@link DashboardCacheStore} L2. L1 misses fall through to L2 and re-populate L1;
+ * writes go to L1 immediately and to L2 asynchronously, evictions go to both tiers immediately.
+ */
+public class TieredDashboardCache implements Cache {
+
+    private final Cache local;
+    private final DashboardCacheStore store;
+
+    public TieredDashboardCache(Cache local, DashboardCacheStore store) {
+        this.local = local;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Object value = store.load(key);
+        if (value == null) {
+            return null;
+        }
+        local.put(key, value);
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        store.storeAsync(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        store.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        store.clear();
+    }
+}
@@ -0,0 +1,40 @@
+package com.finance_control.dashboard.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager decorator that puts the {@value #DASHBOARD_CACHE} cache of the delegate
+ * in front of the persistent {@link DashboardCacheStore}. All other caches are returned as-is.
+ */
+public class TieredDashboardCacheManager implements CacheManager {
+
+    public static final String DASHBOARD_CACHE = "dashboard";
+
+    private final CacheManager delegate;
+    private final DashboardCacheStore store;
+    private final ConcurrentMap<String, Cache> tieredCaches = new ConcurrentHashMap<>();
+
+    public TieredDashboardCacheManager(CacheManager delegate, DashboardCacheStore store) {
+        this.delegate = delegate;
+        this.store = store;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null || !DASHBOARD_CACHE.equals(name)) {
+            return cache;
+        }
+        return tieredCaches.computeIfAbsent(name, key -> new TieredDashboardCache(cache, store));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
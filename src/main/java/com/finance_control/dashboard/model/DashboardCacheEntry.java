@@ -0,0 +1,41 @@
+package com.finance_control.dashboard.model;
+
+import com.finance_control.shared.model.BaseModel;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persistent (L2) dashboard cache entry stored in the {@code dashboard_cache} table.
+ * The cached value is kept as JSON so entries survive restarts and are shared across instances.
+ */
+@Entity
+@Table(name = "dashboard_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_dashboard_cache_user_key", columnNames = {"user_id", "cache_key"}))
+@Getter
+@Setter
+@ToString(exclude = "cacheData")
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class DashboardCacheEntry extends BaseModel<Long> {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    @Column(name = "cache_data", nullable = false, columnDefinition = "jsonb")
+    private String cacheData;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
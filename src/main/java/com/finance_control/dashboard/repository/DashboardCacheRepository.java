@@ -0,0 +1,57 @@
+package com.finance_control.dashboard.repository;
+
+import com.finance_control.dashboard.model.DashboardCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface DashboardCacheRepository extends JpaRepository<DashboardCacheEntry, Long> {
+
+    @Query(value = "SELECT CAST(cache_data AS TEXT) FROM dashboard_cache " +
+            "WHERE user_id = :userId AND cache_key = :cacheKey AND expires_at > :now",
+            nativeQuery = true)
+    Optional<String> findCacheData(@Param("userId") Long userId,
+            @Param("cacheKey") String cacheKey,
+            @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_cache (user_id, cache_key, cache_data, expires_at, created_at, updated_at) " +
+            "VALUES (:userId, :cacheKey, CAST(:cacheData AS jsonb), :expiresAt, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, cache_key) DO UPDATE SET " +
+            "cache_data = EXCLUDED.cache_data, expires_at = EXCLUDED.expires_at, updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    void upsert(@Param("userId") Long userId,
+            @Param("cacheKey") String cacheKey,
+            @Param("cacheData") String cacheData,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DashboardCacheEntry e WHERE e.userId = :userId AND e.cacheKey = :cacheKey")
+    int deleteByUserIdAndCacheKey(@Param("userId") Long userId, @Param("cacheKey") String cacheKey);
+
+    // Called from after-commit listeners, where joining the finished transaction would never commit
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("DELETE FROM DashboardCacheEntry e WHERE e.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DashboardCacheEntry e WHERE e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DashboardCacheEntry e")
+    int deleteAllEntries();
+}
@@ -0,0 +1,120 @@
+package com.finance_control.dashboard.service;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory view over the grouped monthly totals of a single user's transactions.
+ * Built in one pass from {@link TransactionMonthlyAggregate} rows so every dashboard figure
+ * (totals, counts, unreconciled count, category totals and monthly buckets) can be derived
+ * without reloading the transaction history.
+ */
+public final class DashboardAggregate {
+
+    private static final String UNCATEGORIZED = "Uncategorized";
+
+    private final Map<YearMonth, Map<TransactionType, BigDecimal>> totalsByMonth = new HashMap<>();
+    private final Map<YearMonth, Integer> countsByMonth = new HashMap<>();
+    private final Map<YearMonth, Map<String, CategoryTotal>> expensesByMonthAndCategory = new HashMap<>();
+    private int totalTransactions;
+    private int unreconciledTransactions;
+
+    private DashboardAggregate() {
+    }
+
+    /**
+     * Folds the grouped projection rows into a dashboard aggregate.
+     *
+     * @param rows the grouped rows returned by the repository
+     * @return the aggregate view
+     */
+    public static DashboardAggregate from(List<TransactionMonthlyAggregate> rows) {
+        DashboardAggregate aggregate = new DashboardAggregate();
+        if (rows != null) {
+            rows.forEach(aggregate::accumulate);
+        }
+        return aggregate;
+    }
+
+    private void accumulate(TransactionMonthlyAggregate row) {
+        int count = row.transactionCount() != null ? row.transactionCount().intValue() : 0;
+        BigDecimal amount = row.totalAmount() != null ? row.totalAmount() : BigDecimal.ZERO;
+
+        totalTransactions += count;
+        unreconciledTransactions += row.unreconciledCount() != null ? row.unreconciledCount().intValue() : 0;
+
+        if (row.year() == null || row.month() == null) {
+            return;
+        }
+
+        YearMonth month = YearMonth.of(row.year(), row.month());
+        countsByMonth.merge(month, count, Integer::sum);
+        if (row.type() != null) {
+            totalsByMonth.computeIfAbsent(month, key -> new EnumMap<>(TransactionType.class))
+                    .merge(row.type(), amount, BigDecimal::add);
+        }
+        if (row.type() == TransactionType.EXPENSE) {
+            String category = row.categoryName() != null ? row.categoryName() : UNCATEGORIZED;
+            expensesByMonthAndCategory.computeIfAbsent(month, key -> new HashMap<>())
+                    .merge(category, new CategoryTotal(amount, count), CategoryTotal::plus);
+        }
+    }
+
+    /**
+     * Sum of amounts of the given type within a single month.
+     */
+    public BigDecimal sum(TransactionType type, YearMonth month) {
+        return totalsByMonth.getOrDefault(month, Map.of()).getOrDefault(type, BigDecimal.ZERO);
+    }
+
+    /**
+     * Sum of amounts of the given type within an inclusive month range.
+     */
+    public BigDecimal sum(TransactionType type, YearMonth from, YearMonth to) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            total = total.add(sum(type, month));
+        }
+        return total;
+    }
+
+    /**
+     * Number of transactions dated within the given month.
+     */
+    public int count(YearMonth month) {
+        return countsByMonth.getOrDefault(month, 0);
+    }
+
+    /**
+     * Expense totals per category name within the given month.
+     */
+    public Map<String, CategoryTotal> getExpensesByCategory(YearMonth month) {
+        return Collections.unmodifiableMap(expensesByMonthAndCategory.getOrDefault(month, Map.of()));
+    }
+
+    public int getTotalTransactions() {
+        return totalTransactions;
+    }
+
+    public int getUnreconciledTransactions() {
+        return unreconciledTransactions;
+    }
+
+    /**
+     * Amount and transaction count accumulated for a single category.
+     */
+    public record CategoryTotal(BigDecimal amount, int transactionCount) {
+
+        CategoryTotal plus(CategoryTotal other) {
+            return new CategoryTotal(amount.add(other.amount), transactionCount + other.transactionCount);
+        }
+    }
+}
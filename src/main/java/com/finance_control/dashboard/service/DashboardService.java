@@ -10,6 +10,7 @@ import com.finance_control.shared.service.SupabaseRealtimeService;
 import com.finance_control.shared.util.StreamUtils;
 import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,15 +37,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DashboardService {
 
+    private static final String[] CATEGORY_COLORS = {"#FF6384", "#36A2EB", "#FFCE56", "#4BC0C0", "#9966FF", "#FF9F40"};
+
     private final TransactionRepository transactionRepository;
     private final FinancialGoalRepository financialGoalRepository;
     private final MetricsService metricsService;
+    private final UserMonthlyRollupService userMonthlyRollupService;
 
     @Autowired(required = false)
     private SupabaseRealtimeService realtimeService;
 
     /**
      * Get comprehensive dashboard summary for the current user.
+     * All transaction figures are derived from the user's monthly rollup.
      */
     @Cacheable(value = "dashboard", key = "#root.methodName + '_' + T(com.finance_control.shared.context.UserContext).getCurrentUserId()")
     public DashboardSummaryDTO getDashboardSummary() {
@@ -53,38 +58,35 @@ public class DashboardService {
             Long userId = UserContext.getCurrentUserId();
             log.debug("Generating dashboard summary (user present: {})", userId != null);
 
-        LocalDate startOfMonth = YearMonth.now().atDay(1);
-        LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
-
-        BigDecimal totalIncome = getTotalIncome(userId, startOfMonth, endOfMonth);
-        BigDecimal totalExpenses = getTotalExpenses(userId, startOfMonth, endOfMonth);
-        BigDecimal monthlyBalance = totalIncome.subtract(totalExpenses);
-        BigDecimal savingsRate = calculateSavingsRate(totalIncome, totalExpenses);
-
-        List<FinancialGoal> activeGoals = financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
-        List<FinancialGoal> completedGoals = financialGoalRepository.findCompletedGoals(userId);
-
-        BigDecimal totalGoalProgress = calculateTotalGoalProgress(activeGoals);
-
-        int totalTransactions = getTotalTransactionCount(userId);
-        int pendingReconciliations = getPendingReconciliationsCount(userId);
-
-        return DashboardSummaryDTO.builder()
-                .totalIncome(totalIncome)
-                .totalExpenses(totalExpenses)
-                .netWorth(calculateNetWorth(userId))
-                .monthlyBalance(monthlyBalance)
-                .savingsRate(savingsRate)
-                .activeGoals(activeGoals.size())
-                .completedGoals(completedGoals.size())
-                .totalGoalProgress(totalGoalProgress)
-                .totalTransactions(totalTransactions)
-                .pendingReconciliations(pendingReconciliations)
-                .lastUpdated(LocalDate.now())
-                .topSpendingCategories(getTopSpendingCategories(userId, 5))
-                .monthlyTrends(getMonthlyTrends(userId, 12))
-                .goalProgress(mapGoalProgress(activeGoals))
-                .build();
+            DashboardAggregate aggregate = loadAggregate(userId);
+            YearMonth currentMonth = YearMonth.now();
+
+            BigDecimal totalIncome = aggregate.sum(TransactionType.INCOME, currentMonth);
+            BigDecimal totalExpenses = aggregate.sum(TransactionType.EXPENSE, currentMonth);
+            BigDecimal monthlyBalance = totalIncome.subtract(totalExpenses);
+            BigDecimal savingsRate = calculateSavingsRate(totalIncome, totalExpenses);
+
+            List<FinancialGoal> activeGoals = financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(userId);
+            List<FinancialGoal> completedGoals = financialGoalRepository.findCompletedGoals(userId);
+
+            BigDecimal totalGoalProgress = calculateTotalGoalProgress(activeGoals);
+
+            return DashboardSummaryDTO.builder()
+                    .totalIncome(totalIncome)
+                    .totalExpenses(totalExpenses)
+                    .netWorth(calculateNetWorth(aggregate, currentMonth))
+                    .monthlyBalance(monthlyBalance)
+                    .savingsRate(savingsRate)
+                    .activeGoals(activeGoals.size())
+                    .completedGoals(completedGoals.size())
+                    .totalGoalProgress(totalGoalProgress)
+                    .totalTransactions(aggregate.getTotalTransactions())
+                    .pendingReconciliations(aggregate.getUnreconciledTransactions())
+                    .lastUpdated(LocalDate.now())
+                    .topSpendingCategories(buildTopSpendingCategories(aggregate, currentMonth, 5))
+                    .monthlyTrends(buildMonthlyTrends(aggregate, currentMonth, 12))
+                    .goalProgress(mapGoalProgress(activeGoals))
+                    .build();
         } finally {
             metricsService.recordDashboardGenerationTime(sample);
         }
@@ -146,20 +148,34 @@ public class DashboardService {
     @Cacheable(value = "dashboard", key = "#root.methodName + '_' + #userId + '_' + #limit")
     public List<CategorySpendingDTO> getTopSpendingCategories(Long userId, int limit) {
         log.debug("Getting top {} spending categories (user present: {})", limit, userId != null);
+        return buildTopSpendingCategories(loadAggregate(userId), YearMonth.now(), limit);
+    }
 
-        LocalDate startOfMonth = YearMonth.now().atDay(1);
-        LocalDate endOfMonth = YearMonth.now().atEndOfMonth();
+    /**
+     * Get monthly trends for the last N months.
+     */
+    @Cacheable(value = "dashboard", key = "#root.methodName + '_' + #userId + '_' + #months")
+    public List<MonthlyTrendDTO> getMonthlyTrends(Long userId, int months) {
+        log.debug("Getting monthly trends (user present: {}) for last {} months", userId != null, months);
+        if (months <= 0) {
+            return new ArrayList<>();
+        }
+        return buildMonthlyTrends(loadAggregate(userId), YearMonth.now(), months);
+    }
 
-        List<Transaction> expenseTransactions = getExpenseTransactionsInDateRange(userId, startOfMonth, endOfMonth);
-        Map<String, BigDecimal> categoryTotals = calculateCategoryTotals(expenseTransactions);
-        BigDecimal totalExpenses = calculateTotalFromCategoryTotals(categoryTotals);
+    private DashboardAggregate loadAggregate(Long userId) {
+        return DashboardAggregate.from(userMonthlyRollupService.getMonthlyAggregates(userId));
+    }
 
-        List<CategorySpendingDTO> categories = new ArrayList<>();
-        String[] colors = {"#FF6384", "#36A2EB", "#FFCE56", "#4BC0C0", "#9966FF", "#FF9F40"};
+    private List<CategorySpendingDTO> buildTopSpendingCategories(DashboardAggregate aggregate, YearMonth month, int limit) {
+        Map<String, DashboardAggregate.CategoryTotal> categoryTotals = aggregate.getExpensesByCategory(month);
+        BigDecimal totalExpenses = categoryTotals.values().stream()
+                .map(DashboardAggregate.CategoryTotal::amount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        int colorIndex = 0;
-        for (Map.Entry<String, BigDecimal> entry : categoryTotals.entrySet()) {
-            BigDecimal amount = entry.getValue();
+        List<CategorySpendingDTO> categories = new ArrayList<>();
+        for (Map.Entry<String, DashboardAggregate.CategoryTotal> entry : categoryTotals.entrySet()) {
+            BigDecimal amount = entry.getValue().amount();
             BigDecimal percentage;
             if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
                 percentage = amount.divide(totalExpenses, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100));
@@ -167,52 +183,38 @@ public class DashboardService {
                 percentage = BigDecimal.ZERO;
             }
 
-            int transactionCount = countTransactionsByCategory(expenseTransactions, entry.getKey());
-
             categories.add(CategorySpendingDTO.builder()
                     .categoryName(entry.getKey())
                     .amount(amount)
                     .percentage(percentage)
-                    .transactionCount(transactionCount)
-                    .color(colors[colorIndex % colors.length])
+                    .transactionCount(entry.getValue().transactionCount())
                     .build());
-
-            colorIndex++;
         }
 
-        List<CategorySpendingDTO> sortedCategories = sortCategoriesByAmount(categories);
-        return sortedCategories.stream().limit(limit).collect(Collectors.toList());
+        List<CategorySpendingDTO> sortedCategories = sortCategoriesByAmount(categories).stream()
+                .limit(limit)
+                .collect(Collectors.toList());
+        for (int i = 0; i < sortedCategories.size(); i++) {
+            sortedCategories.get(i).setColor(CATEGORY_COLORS[i % CATEGORY_COLORS.length]);
+        }
+        return sortedCategories;
     }
 
-    /**
-     * Get monthly trends for the last N months.
-     */
-    @Cacheable(value = "dashboard", key = "#root.methodName + '_' + #userId + '_' + #months")
-    public List<MonthlyTrendDTO> getMonthlyTrends(Long userId, int months) {
-        log.debug("Getting monthly trends (user present: {}) for last {} months", userId != null, months);
-
+    private List<MonthlyTrendDTO> buildMonthlyTrends(DashboardAggregate aggregate, YearMonth currentMonth, int months) {
         List<MonthlyTrendDTO> trends = new ArrayList<>();
-        LocalDate currentMonth = YearMonth.now().atDay(1);
-
         for (int i = months - 1; i >= 0; i--) {
-            LocalDate monthStart = currentMonth.minusMonths(i);
-            LocalDate monthEnd = YearMonth.from(monthStart).atEndOfMonth();
-
-            BigDecimal income = getTotalIncome(userId, monthStart, monthEnd);
-            BigDecimal expenses = getTotalExpenses(userId, monthStart, monthEnd);
-            BigDecimal balance = income.subtract(expenses);
-
-            int transactionCount = getTransactionCountForPeriod(userId, monthStart, monthEnd);
+            YearMonth month = currentMonth.minusMonths(i);
+            BigDecimal income = aggregate.sum(TransactionType.INCOME, month);
+            BigDecimal expenses = aggregate.sum(TransactionType.EXPENSE, month);
 
             trends.add(MonthlyTrendDTO.builder()
-                    .month(monthStart)
+                    .month(month.atDay(1))
                     .income(income)
                     .expenses(expenses)
-                    .balance(balance)
-                    .transactionCount(transactionCount)
+                    .balance(income.subtract(expenses))
+                    .transactionCount(aggregate.count(month))
                     .build());
         }
-
         return trends;
     }
 
@@ -244,15 +246,6 @@ public class DashboardService {
                 .divide(BigDecimal.valueOf(goals.size()), 2, RoundingMode.HALF_UP);
     }
 
-    private int getTotalTransactionCount(Long userId) {
-        return transactionRepository.findByUserIdWithResponsibilities(userId).size();
-    }
-
-    private int getPendingReconciliationsCount(Long userId) {
-        List<Transaction> transactions = transactionRepository.findByUserIdWithResponsibilities(userId);
-        return countUnreconciledTransactions(transactions);
-    }
-
     private BigDecimal calculateNetWorth(Long userId) {
         // Simplified calculation - in a real app, this would consider assets and liabilities
         LocalDate startOfYear = YearMonth.now().atDay(1).withDayOfYear(1);
@@ -264,6 +257,15 @@ public class DashboardService {
         return totalIncome.subtract(totalExpenses);
     }
 
+    private BigDecimal calculateNetWorth(DashboardAggregate aggregate, YearMonth currentMonth) {
+        // Same simplified year-to-date calculation, served from the pre-aggregated monthly buckets
+        YearMonth startOfYear = YearMonth.of(currentMonth.getYear(), 1);
+        YearMonth endOfYear = YearMonth.of(currentMonth.getYear(), 12);
+
+        return aggregate.sum(TransactionType.INCOME, startOfYear, endOfYear)
+                .subtract(aggregate.sum(TransactionType.EXPENSE, startOfYear, endOfYear));
+    }
+
     private BigDecimal calculateTotalAssets(Long userId) {
         // Placeholder - would integrate with asset tracking
         return BigDecimal.ZERO;
@@ -290,11 +292,6 @@ public class DashboardService {
         return StreamUtils.min(transactions, Transaction::getAmount);
     }
 
-    private int getTransactionCountForPeriod(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> transactions = transactionRepository.findByUserIdWithResponsibilities(userId);
-        return countTransactionsInDateRange(transactions, startDate, endDate);
-    }
-
     private List<GoalProgressDTO> mapGoalProgress(List<FinancialGoal> goals) {
         return goals.stream()
                 .map(goal -> GoalProgressDTO.builder()
@@ -326,37 +323,6 @@ public class DashboardService {
         return (int) StreamUtils.count(transactions, t -> t.getType() == type);
     }
 
-    /**
-     * Gets expense transactions within a date range.
-     */
-    private List<Transaction> getExpenseTransactionsInDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        List<Transaction> allTransactions = transactionRepository.findByUserIdWithResponsibilities(userId);
-        List<Transaction> expenseTransactions = StreamUtils.filter(allTransactions, t -> t.getType() == TransactionType.EXPENSE);
-        return StreamUtils.filterByLocalDateRange(expenseTransactions, t -> t.getDate().toLocalDate(), startDate, endDate);
-    }
-
-    /**
-     * Calculates category totals from transactions.
-     */
-    private Map<String, BigDecimal> calculateCategoryTotals(List<Transaction> transactions) {
-        return StreamUtils.groupAndSum(transactions, t -> t.getCategory().getName(), Transaction::getAmount);
-    }
-
-    /**
-     * Calculates total from category totals map.
-     */
-    private BigDecimal calculateTotalFromCategoryTotals(Map<String, BigDecimal> categoryTotals) {
-        return categoryTotals.values().stream()
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    /**
-     * Counts transactions by category name.
-     */
-    private int countTransactionsByCategory(List<Transaction> transactions, String categoryName) {
-        return (int) StreamUtils.count(transactions, t -> t.getCategory().getName().equals(categoryName));
-    }
-
     /**
      * Sorts categories by amount in descending order.
      */
@@ -366,20 +332,6 @@ public class DashboardService {
                 .collect(Collectors.toList());
     }
 
-    /**
-     * Counts unreconciled transactions.
-     */
-    private int countUnreconciledTransactions(List<Transaction> transactions) {
-        return (int) StreamUtils.count(transactions, t -> !Boolean.TRUE.equals(t.getReconciled()));
-    }
-
-    /**
-     * Counts transactions within a date range.
-     */
-    private int countTransactionsInDateRange(List<Transaction> transactions, LocalDate startDate, LocalDate endDate) {
-        return (int) StreamUtils.countByLocalDateRange(transactions, t -> t.getDate().toLocalDate(), startDate, endDate);
-    }
-
     /**
      * Notify subscribers about dashboard updates for a user.
      * This method can be called when transaction or goal data changes.
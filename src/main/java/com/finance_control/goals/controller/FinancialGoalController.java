@@ -5,6 +5,7 @@ import com.finance_control.goals.dto.GoalCompletionRequest;
 import com.finance_control.goals.model.FinancialGoal;
 import com.finance_control.goals.service.FinancialGoalService;
 import com.finance_control.shared.controller.BaseController;
+import com.finance_control.shared.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -120,6 +121,17 @@ public class FinancialGoalController extends BaseController<FinancialGoal, Long,
         }
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get financial goals by cursor",
+               description = "Retrieve financial goals newest first with keyset pagination. Pass the returned nextCursor to get the next page; the total is only counted when includeTotal is true")
+    public ResponseEntity<CursorPage<FinancialGoalDTO>> findByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        log.debug("GET request to retrieve financial goals by cursor");
+        return ResponseEntity.ok(financialGoalService.findByCursor(cursor, size, includeTotal));
+    }
+
     @GetMapping("/filtered")
     @Operation(summary = "Get financial goals with filtering",
                description = "Retrieve financial goals with flexible filtering, sorting, and pagination options")
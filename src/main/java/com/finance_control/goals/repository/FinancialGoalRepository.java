@@ -1,6 +1,7 @@
 package com.finance_control.goals.repository;
 
 import com.finance_control.goals.model.FinancialGoal;
+import com.finance_control.goals.repository.projection.GoalReportAggregate;
 import com.finance_control.shared.enums.GoalType;
 import com.finance_control.shared.repository.BaseRepository;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +25,25 @@ public interface FinancialGoalRepository extends BaseRepository<FinancialGoal, L
 
        Page<FinancialGoal> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
+    /**
+     * First page of a user's goals in keyset order (newest first, ties by ID).
+     * Served by the {@code (user_id, created_at DESC, id DESC)} index from V27; no count query is issued.
+     */
+    @Query("SELECT g FROM FinancialGoal g WHERE g.user.id = :userId ORDER BY g.createdAt DESC, g.id DESC")
+    List<FinancialGoal> findKeysetFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    /**
+     * Next page of a user's goals in keyset order, starting strictly after {@code (createdAt, id)}.
+     */
+    @Query("SELECT g FROM FinancialGoal g WHERE g.user.id = :userId AND (g.createdAt, g.id) < (:createdAt, :id) " +
+            "ORDER BY g.createdAt DESC, g.id DESC")
+    List<FinancialGoal> findKeysetPageAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    long countByUserId(Long userId);
+
        List<FinancialGoal> findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(Long userId);
 
        List<FinancialGoal> findByUserIdAndGoalTypeOrderByCreatedAtDesc(Long userId, GoalType goalType);
@@ -72,4 +93,27 @@ public interface FinancialGoalRepository extends BaseRepository<FinancialGoal, L
            "AVG(TIMESTAMPDIFF(DAY, g.createdAt, g.updatedAt)) as avgCompletionDays " +
            "FROM FinancialGoal g WHERE g.user.id = :userId AND g.isActive = false")
     Map<String, Object> getAverageCompletionTime(@Param("userId") Long userId);
+
+    /**
+     * Aggregates a user's goals for the goal report.
+     * Status values: {@code all}, {@code active}, {@code completed} (inactive and target reached)
+     * and {@code paused} (inactive and target not reached).
+     *
+     * @param userId the user ID
+     * @param status the normalized status filter
+     * @return the aggregate of the matching goals
+     */
+    @Query("SELECT new com.finance_control.goals.repository.projection.GoalReportAggregate(" +
+           "COUNT(g), " +
+           "COALESCE(SUM(CASE WHEN g.isActive = true THEN 1L ELSE 0L END), 0L), " +
+           "COALESCE(SUM(g.targetAmount), 0), " +
+           "COALESCE(SUM(g.currentAmount), 0), " +
+           "COALESCE(SUM(CASE WHEN g.targetAmount <> 0 AND g.currentAmount IS NOT NULL " +
+           "THEN ROUND(g.currentAmount / g.targetAmount, 4) * 100 ELSE 0 END), 0)) " +
+           "FROM FinancialGoal g WHERE g.user.id = :userId " +
+           "AND (:status = 'all' " +
+           "OR (:status = 'active' AND g.isActive = true) " +
+           "OR (:status = 'completed' AND g.isActive = false AND g.currentAmount >= g.targetAmount) " +
+           "OR (:status = 'paused' AND g.isActive = false AND g.currentAmount < g.targetAmount))")
+    GoalReportAggregate aggregateForReport(@Param("userId") Long userId, @Param("status") String status);
 }
@@ -0,0 +1,30 @@
+package com.finance_control.goals.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregate of a user's goals matching a report status filter.
+ *
+ * @param totalGoals the number of matching goals
+ * @param activeGoals the number of matching goals that are active
+ * @param totalTarget the sum of their target amounts
+ * @param totalCurrent the sum of their current amounts
+ * @param progressSum the sum of their progress percentages, each rounded like
+ *        {@code FinancialGoal.getProgressPercentage()}
+ */
+public record GoalReportAggregate(
+        Long totalGoals,
+        Long activeGoals,
+        BigDecimal totalTarget,
+        BigDecimal totalCurrent,
+        BigDecimal progressSum) {
+
+    /**
+     * Returns the aggregate of an empty goal set.
+     *
+     * @return an aggregate with zero counts and amounts
+     */
+    public static GoalReportAggregate empty() {
+        return new GoalReportAggregate(0L, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
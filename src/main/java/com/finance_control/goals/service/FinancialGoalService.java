@@ -6,9 +6,13 @@ import com.finance_control.goals.dto.GoalCompletionRequest;
 import com.finance_control.goals.model.FinancialGoal;
 import com.finance_control.goals.repository.FinancialGoalRepository;
 import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.dto.CursorPage;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
 import com.finance_control.shared.service.BaseService;
 import com.finance_control.shared.service.SupabaseRealtimeService;
 import com.finance_control.shared.util.EntityMapper;
+import com.finance_control.shared.util.KeysetPagination;
 import com.finance_control.transactions.model.source.TransactionSourceEntity;
 import com.finance_control.transactions.repository.source.TransactionSourceRepository;
 import com.finance_control.users.model.User;
@@ -38,6 +42,7 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
 
     private SupabaseRealtimeService realtimeService;
     private DashboardService dashboardService;
+    private UserDataChangePublisher changePublisher;
 
     // Setter for optional SupabaseRealtimeService injection
     @Autowired(required = false)
@@ -51,6 +56,12 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         this.dashboardService = dashboardService;
     }
 
+    // Setter for optional UserDataChangePublisher injection
+    @Autowired(required = false)
+    public void setChangePublisher(UserDataChangePublisher changePublisher) {
+        this.changePublisher = changePublisher;
+    }
+
     public FinancialGoalService(FinancialGoalRepository financialGoalRepository,
             UserRepository userRepository,
             TransactionSourceRepository transactionSourceRepository) {
@@ -75,6 +86,34 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         return findAll(null, filters, "deadline", "asc", Pageable.unpaged()).getContent();
     }
 
+    /**
+     * Find the current user's goals with keyset pagination, newest first.
+     *
+     * @param cursor       the {@code nextCursor} of the previous page, or null for the first page
+     * @param size         the page size, clamped to {@link KeysetPagination#MAX_SIZE}
+     * @param includeTotal whether to also count the user's goals
+     * @return the page of financial goals
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<FinancialGoalDTO> findByCursor(String cursor, Integer size, boolean includeTotal) {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            throw new SecurityException("User context not available");
+        }
+
+        KeysetPagination.Cursor after = KeysetPagination.Cursor.decode(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<FinancialGoal> rows = after == null
+                ? financialGoalRepository.findKeysetFirstPage(userId, KeysetPagination.limit(pageSize))
+                : financialGoalRepository.findKeysetPageAfter(userId, after.timestamp(), after.id(),
+                        KeysetPagination.limit(pageSize));
+        Long total = includeTotal ? financialGoalRepository.countByUserId(userId) : null;
+
+        return KeysetPagination.toPage(rows, pageSize,
+                goal -> new KeysetPagination.Cursor(goal.getCreatedAt(), goal.getId()),
+                this::mapToResponseDTO, total);
+    }
+
     /**
      * Find completed goals for the current user.
      *
@@ -103,6 +142,7 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         }
 
         FinancialGoal savedGoal = financialGoalRepository.save(goal);
+        publishChange(savedGoal);
         return mapToResponseDTO(savedGoal);
     }
 
@@ -116,6 +156,7 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         FinancialGoal goal = getEntityById(id);
         goal.setIsActive(false);
         FinancialGoal savedGoal = financialGoalRepository.save(goal);
+        publishChange(savedGoal);
         return mapToResponseDTO(savedGoal);
     }
 
@@ -129,6 +170,7 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         FinancialGoal goal = getEntityById(id);
         goal.setIsActive(true);
         FinancialGoal savedGoal = financialGoalRepository.save(goal);
+        publishChange(savedGoal);
         return mapToResponseDTO(savedGoal);
     }
 
@@ -162,6 +204,23 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         updateAmountFields(entity, updateDTO);
         updateDateFields(entity, updateDTO);
         updateAccountField(entity, updateDTO);
+        publishChange(entity);
+    }
+
+    @Override
+    protected void afterCreate(FinancialGoal savedEntity) {
+        publishChange(savedEntity);
+    }
+
+    @Override
+    protected void beforeDelete(FinancialGoal entity) {
+        publishChange(entity);
+    }
+
+    private void publishChange(FinancialGoal goal) {
+        if (changePublisher != null && goal != null && goal.getUser() != null) {
+            changePublisher.publish(goal.getUser().getId(), UserDataChangedEvent.Source.GOAL);
+        }
     }
 
     private void updateBasicFields(FinancialGoal entity, FinancialGoalDTO updateDTO) {
@@ -366,6 +425,7 @@ public class FinancialGoalService extends BaseService<FinancialGoal, Long, Finan
         goal.setActualInvestment(request.getActualInvestment());
 
         FinancialGoal savedGoal = financialGoalRepository.save(goal);
+        publishChange(savedGoal);
         return mapToResponseDTO(savedGoal);
     }
 
@@ -0,0 +1,88 @@
+package com.finance_control.jobs.controller;
+
+import com.finance_control.jobs.dto.JobDTO;
+import com.finance_control.jobs.dto.JobSubmitRequest;
+import com.finance_control.jobs.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST controller for background report and export jobs.
+ * Long-running reports and exports are submitted here, tracked by polling (or realtime push)
+ * and downloaded once completed.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Background Jobs", description = "Endpoints for asynchronous reports and exports")
+public class JobController {
+
+    private final JobService jobService;
+
+    @PostMapping
+    @Operation(summary = "Submit a job", description = "Queues a report or export job and returns its ID immediately")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued"),
+            @ApiResponse(responseCode = "429", description = "Too many pending jobs")
+    })
+    public ResponseEntity<JobDTO> submit(@Valid @RequestBody JobSubmitRequest request) {
+        log.debug("POST request to submit {} job", request.getType());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submit(request));
+    }
+
+    @GetMapping
+    @Operation(summary = "List jobs", description = "Lists the jobs of the current user, most recent first")
+    public ResponseEntity<Page<JobDTO>> list(
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(jobService.list(PageRequest.of(page, size)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get job status", description = "Returns the status and progress of a job")
+    public ResponseEntity<JobDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.get(id));
+    }
+
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Download job result", description = "Downloads the result of a completed job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Result downloaded"),
+            @ApiResponse(responseCode = "409", description = "Job has not completed"),
+            @ApiResponse(responseCode = "410", description = "Job result has expired")
+    })
+    public ResponseEntity<InputStreamResource> downloadResult(@PathVariable Long id) throws IOException {
+        JobService.JobResult result = jobService.openResult(id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(result.contentType()));
+        headers.setContentDispositionFormData("attachment", result.fileName());
+        return new ResponseEntity<>(new InputStreamResource(result.content()), headers, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Cancel a job", description = "Cancels a queued or running job")
+    public ResponseEntity<JobDTO> cancel(@PathVariable Long id) {
+        log.debug("DELETE request to cancel job {}", id);
+        return ResponseEntity.ok(jobService.cancel(id));
+    }
+}
@@ -0,0 +1,31 @@
+package com.finance_control.jobs.dto;
+
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.shared.dto.BaseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class JobDTO extends BaseDTO<Long> {
+
+    private JobType type;
+    private JobStatus status;
+    private Integer progress;
+    private String resultFileName;
+    private String resultContentType;
+    private Long resultSize;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,26 @@
+package com.finance_control.jobs.dto;
+
+import com.finance_control.jobs.enums.JobType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DTO for submitting a background report or export job.
+ * Parameters use the same names as the request parameters of the synchronous endpoints
+ * ({@code dateFrom}, {@code dateTo}, {@code type}, {@code category}, {@code status}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSubmitRequest {
+
+    @NotNull(message = "Job type is required")
+    private JobType type;
+
+    private Map<String, String> parameters = new HashMap<>();
+}
@@ -0,0 +1,22 @@
+package com.finance_control.jobs.enums;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle states of a background job.
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    /** States in which a job still occupies a slot of its user's quota. */
+    public static final Set<JobStatus> PENDING = EnumSet.of(QUEUED, RUNNING);
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.finance_control.jobs.enums;
+
+import com.finance_control.shared.feature.Feature;
+
+/**
+ * Kinds of background jobs, with the feature that must be enabled to submit them.
+ */
+public enum JobType {
+    TRANSACTION_REPORT(Feature.REPORTS),
+    GOAL_REPORT(Feature.REPORTS),
+    SUMMARY_REPORT(Feature.REPORTS),
+    USER_DATA_CSV_EXPORT(Feature.DATA_EXPORT),
+    USER_DATA_JSON_EXPORT(Feature.DATA_EXPORT),
+    TRANSACTIONS_CSV_EXPORT(Feature.DATA_EXPORT);
+
+    private final Feature feature;
+
+    JobType(Feature feature) {
+        this.feature = feature;
+    }
+
+    public Feature getFeature() {
+        return feature;
+    }
+}
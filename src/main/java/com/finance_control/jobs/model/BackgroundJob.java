@@ -0,0 +1,82 @@
+package com.finance_control.jobs.model;
+
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.shared.model.BaseModel;
+import com.finance_control.users.model.User;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A report or export computed outside the request thread.
+ * The row is the persistent queue entry: it survives restarts, is claimed by one worker at a
+ * time and, once completed, points to the compressed result in job result storage.
+ */
+@Entity
+@Table(name = "background_jobs")
+@Getter
+@Setter
+@ToString(exclude = {"user", "parameters"})
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BackgroundJob extends BaseModel<Long> {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @NotNull
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    @NotNull
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @NotNull
+    private JobStatus status = JobStatus.QUEUED;
+
+    /** Job parameters as a JSON object of strings. */
+    @Column(columnDefinition = "TEXT")
+    private String parameters;
+
+    @Column(nullable = false)
+    private Integer progress = 0;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "result_location", length = 500)
+    private String resultLocation;
+
+    @Column(name = "result_file_name", length = 255)
+    private String resultFileName;
+
+    @Column(name = "result_content_type", length = 100)
+    private String resultContentType;
+
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,126 @@
+package com.finance_control.jobs.repository;
+
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.model.BackgroundJob;
+import com.finance_control.shared.repository.BaseRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BackgroundJobRepository extends BaseRepository<BackgroundJob, Long> {
+
+    Optional<BackgroundJob> findByIdAndUserId(Long id, Long userId);
+
+    Page<BackgroundJob> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+
+    long countByUserIdAndStatusIn(Long userId, Collection<JobStatus> statuses);
+
+    /**
+     * Locks the oldest queued job whose user is below the running-job limit and not excluded.
+     * Rows locked by other workers are skipped, so concurrent instances never claim the same job.
+     *
+     * @param perUserLimit the maximum number of running jobs per user
+     * @param excludedUserIds users whose jobs are passed over; must not be empty
+     * @return the ID of the locked job, if any
+     */
+    @Query(value = "SELECT j.id FROM background_jobs j WHERE j.status = 'QUEUED' " +
+            "AND j.user_id NOT IN (:excludedUserIds) " +
+            "AND (SELECT COUNT(*) FROM background_jobs r " +
+            "     WHERE r.user_id = j.user_id AND r.status = 'RUNNING') < :perUserLimit " +
+            "ORDER BY j.created_at, j.id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> lockNextClaimable(@Param("perUserLimit") int perUserLimit,
+            @Param("excludedUserIds") Collection<Long> excludedUserIds);
+
+    /**
+     * Takes a transaction-scoped advisory lock on the claims of a user without waiting.
+     * Instances claiming jobs of the same user are serialized by it, so each sees the other's claim
+     * when it counts the user's running jobs.
+     *
+     * @param userId the user ID
+     * @return true if the lock was taken, false if another transaction holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('background_jobs:' || CAST(:userId AS TEXT)))",
+            nativeQuery = true)
+    boolean tryLockUserClaims(@Param("userId") Long userId);
+
+    /**
+     * Takes the same lock as {@link #tryLockUserClaims(Long)}, waiting for it if another
+     * transaction holds it. Submissions take it so the pending-job count they check cannot
+     * change before their insert commits.
+     *
+     * @param userId the user ID
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('background_jobs:' || CAST(:userId AS TEXT)))",
+            nativeQuery = true)
+    int lockUserClaims(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.progress = :progress " +
+            "WHERE j.id = :id AND j.attempts = :attempt AND j.status = :status")
+    int updateProgress(@Param("id") Long id, @Param("attempt") int attempt, @Param("status") JobStatus status,
+            @Param("progress") int progress);
+
+    /**
+     * Completes a job if it is still running the given attempt.
+     *
+     * @return the number of updated rows; 0 if the job was cancelled or claimed again meanwhile
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :completed, j.progress = 100, j.resultLocation = :location, " +
+            "j.resultFileName = :fileName, j.resultContentType = :contentType, j.resultSize = :size, " +
+            "j.completedAt = :now, j.expiresAt = :expiresAt, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.attempts = :attempt AND j.status = :running")
+    int completeAttempt(@Param("id") Long id, @Param("attempt") int attempt,
+            @Param("running") JobStatus running, @Param("completed") JobStatus completed,
+            @Param("location") String location, @Param("fileName") String fileName,
+            @Param("contentType") String contentType, @Param("size") long size,
+            @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Fails a job if it is still running the given attempt.
+     *
+     * @return the number of updated rows; 0 if the job was cancelled or claimed again meanwhile
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :failed, j.errorMessage = :errorMessage, " +
+            "j.completedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.attempts = :attempt AND j.status = :running")
+    int failAttempt(@Param("id") Long id, @Param("attempt") int attempt,
+            @Param("running") JobStatus running, @Param("failed") JobStatus failed,
+            @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.status = :status")
+    int touchHeartbeat(@Param("ids") Collection<Long> ids, @Param("status") JobStatus status,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Puts a job back in the queue if it is still running the given attempt.
+     *
+     * @return the number of updated rows; 0 if the job finished or was claimed again meanwhile
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.status = :queued, j.progress = 0, j.startedAt = NULL, " +
+            "j.heartbeatAt = NULL, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.attempts = :attempt AND j.status = :running")
+    int requeueAttempt(@Param("id") Long id, @Param("attempt") int attempt,
+            @Param("running") JobStatus running, @Param("queued") JobStatus queued,
+            @Param("now") LocalDateTime now);
+
+    @Query("SELECT j FROM BackgroundJob j WHERE j.status = :status AND j.heartbeatAt < :staleBefore")
+    List<BackgroundJob> findStale(@Param("status") JobStatus status, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Query("SELECT j FROM BackgroundJob j WHERE j.status = :status AND j.expiresAt < :now " +
+            "AND j.resultLocation IS NOT NULL")
+    List<BackgroundJob> findExpired(@Param("status") JobStatus status, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,52 @@
+package com.finance_control.jobs.service;
+
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.shared.service.DataExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Runs data export jobs through the streaming export methods, so memory use does not
+ * depend on the size of the user's history.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportJobHandler implements JobHandler {
+
+    private static final String CSV_CONTENT_TYPE = "text/csv";
+
+    private final DataExportService dataExportService;
+
+    @Override
+    public boolean supports(JobType type) {
+        return type == JobType.USER_DATA_CSV_EXPORT || type == JobType.USER_DATA_JSON_EXPORT
+                || type == JobType.TRANSACTIONS_CSV_EXPORT;
+    }
+
+    @Override
+    public JobOutput run(JobExecution execution, OutputStream output) throws IOException {
+        Long userId = execution.userId();
+        return switch (execution.type()) {
+            case USER_DATA_CSV_EXPORT -> {
+                dataExportService.streamUserDataAsCsv(userId, output);
+                yield new JobOutput("finance-control-export-" + execution.jobId() + ".csv", CSV_CONTENT_TYPE);
+            }
+            case USER_DATA_JSON_EXPORT -> {
+                dataExportService.streamUserDataAsJson(userId, output);
+                yield new JobOutput("finance-control-export-" + execution.jobId() + ".json",
+                        MediaType.APPLICATION_JSON_VALUE);
+            }
+            case TRANSACTIONS_CSV_EXPORT -> {
+                dataExportService.streamTransactionsAsCsv(userId,
+                        execution.dateParameter("dateFrom"), execution.dateParameter("dateTo"),
+                        execution.parameter("type"), execution.parameter("category"), output);
+                yield new JobOutput("transactions-export-" + execution.jobId() + ".csv", CSV_CONTENT_TYPE);
+            }
+            default -> throw new IllegalArgumentException("Unsupported job type: " + execution.type());
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.finance_control.jobs.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feeds queued jobs to a bounded worker pool.
+ * A job is only claimed when a worker is free, so queued jobs stay in the database (and
+ * visible to other instances) rather than in local memory. Running jobs send heartbeats;
+ * jobs whose heartbeat stops, e.g. because an instance died, are requeued.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobDispatcher {
+
+    private final JobRunner runner;
+    private final Semaphore workerSlots;
+    private final ExecutorService workers;
+    private final int perUserConcurrency;
+    private final Duration staleAfter;
+    private final int maxAttempts;
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public JobDispatcher(JobRunner runner,
+            @Value("${app.jobs.worker-threads:4}") int workerThreads,
+            @Value("${app.jobs.per-user-concurrency:1}") int perUserConcurrency,
+            @Value("${app.jobs.stale-after-ms:300000}") long staleAfterMs,
+            @Value("${app.jobs.max-attempts:3}") int maxAttempts) {
+        int threads = Math.max(1, workerThreads);
+        this.runner = runner;
+        this.workerSlots = new Semaphore(threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "background-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.perUserConcurrency = Math.max(1, perUserConcurrency);
+        this.staleAfter = Duration.ofMillis(staleAfterMs);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * Claims queued jobs while workers are free.
+     * Runs every second by default (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:1000}", initialDelay = 10000)
+    public void dispatch() {
+        while (workerSlots.tryAcquire()) {
+            Optional<JobRunner.ClaimedJob> claimed;
+            try {
+                claimed = runner.claimNext(perUserConcurrency);
+            } catch (Exception e) {
+                workerSlots.release();
+                log.warn("Failed to claim background job: {}", e.getMessage());
+                return;
+            }
+            if (claimed.isEmpty()) {
+                workerSlots.release();
+                return;
+            }
+
+            JobRunner.ClaimedJob job = claimed.get();
+            runningJobs.add(job.id());
+            workers.execute(() -> {
+                try {
+                    runner.run(job);
+                } finally {
+                    runningJobs.remove(job.id());
+                    workerSlots.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Refreshes the heartbeat of jobs running on this instance.
+     * Runs every 30 seconds by default (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval-ms:30000}", initialDelay = 30000)
+    public void heartbeat() {
+        if (runningJobs.isEmpty()) {
+            return;
+        }
+        try {
+            runner.heartbeat(Set.copyOf(runningJobs));
+        } catch (Exception e) {
+            log.warn("Failed to refresh background job heartbeats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Requeues stale jobs and purges expired results.
+     * Runs every minute by default (configurable).
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.maintenance-interval-ms:60000}", initialDelay = 60000)
+    public void maintain() {
+        try {
+            int recovered = runner.recoverStale(LocalDateTime.now().minus(staleAfter), maxAttempts);
+            int purged = runner.purgeExpired();
+            log.debug("Background job maintenance: {} stale jobs recovered, {} expired results purged",
+                    recovered, purged);
+        } catch (Exception e) {
+            log.error("Error during background job maintenance", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Background jobs still running at shutdown will be requeued once their heartbeat expires");
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.finance_control.jobs.service;
+
+import com.finance_control.jobs.enums.JobType;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * What a {@link JobHandler} needs to run a claimed job.
+ *
+ * @param jobId the job ID
+ * @param userId the owner of the job
+ * @param type the job type
+ * @param parameters the submitted parameters
+ * @param progress receives progress updates as a percentage
+ */
+public record JobExecution(Long jobId, Long userId, JobType type, Map<String, String> parameters,
+        IntConsumer progress) {
+
+    public String parameter(String name) {
+        String value = parameters.get(name);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    public LocalDate dateParameter(String name) {
+        String value = parameter(name);
+        return value != null ? LocalDate.parse(value) : null;
+    }
+}
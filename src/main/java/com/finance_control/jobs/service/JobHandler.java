@@ -0,0 +1,34 @@
+package com.finance_control.jobs.service;
+
+import com.finance_control.jobs.enums.JobType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Computes the result of one or more job types.
+ */
+public interface JobHandler {
+
+    boolean supports(JobType type);
+
+    /**
+     * Writes the result of a job.
+     * The stream is owned by the caller and must not be closed.
+     *
+     * @param execution the job being run
+     * @param output the stream receiving the uncompressed result
+     * @return how the result should be presented on download
+     * @throws IOException if writing the result fails
+     */
+    JobOutput run(JobExecution execution, OutputStream output) throws IOException;
+
+    /**
+     * Download metadata of a job result.
+     *
+     * @param fileName the suggested file name
+     * @param contentType the MIME type of the uncompressed result
+     */
+    record JobOutput(String fileName, String contentType) {
+    }
+}
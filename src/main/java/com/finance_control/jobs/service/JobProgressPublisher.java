@@ -0,0 +1,32 @@
+package com.finance_control.jobs.service;
+
+import com.finance_control.jobs.dto.JobDTO;
+import com.finance_control.shared.service.SupabaseRealtimeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes job state changes to the owner over the realtime channel when realtime is enabled.
+ * Clients without realtime poll {@code GET /api/jobs/{id}} instead.
+ */
+@Slf4j
+@Component
+public class JobProgressPublisher {
+
+    static final String CHANNEL = "jobs";
+
+    @Autowired(required = false)
+    private SupabaseRealtimeService realtimeService;
+
+    public void publish(Long userId, JobDTO job) {
+        if (realtimeService == null) {
+            return;
+        }
+        try {
+            realtimeService.broadcastToUser(CHANNEL, userId, job);
+        } catch (Exception e) {
+            log.warn("Failed to publish progress of job {}: {}", job.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.finance_control.jobs.service;
+
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.jobs.model.BackgroundJob;
+import com.finance_control.jobs.repository.BackgroundJobRepository;
+import com.finance_control.jobs.storage.JobResultStorage;
+import com.finance_control.shared.service.FileCompressionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Claims and executes background jobs.
+ * Every state transition runs in its own short transaction; the job itself runs outside any
+ * transaction and writes its compressed result to a temporary file before it is stored.
+ *
+ * <p>A claim is identified by the job's attempt number. Progress, completion and failure only
+ * apply while the job is still on that attempt, and every attempt stores its result under its
+ * own key, so a worker that lost its claim to stale recovery cannot overwrite or delete the
+ * result of the attempt that replaced it.</p>
+ */
+@Slf4j
+@Component
+public class JobRunner {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Long NO_USER = 0L;
+
+    private final BackgroundJobRepository jobRepository;
+    private final List<JobHandler> handlers;
+    private final JobResultStorage resultStorage;
+    private final FileCompressionService compressionService;
+    private final JobService jobService;
+    private final JobProgressPublisher progressPublisher;
+    private final TransactionTemplate transaction;
+    private final Duration resultTtl;
+
+    public JobRunner(BackgroundJobRepository jobRepository,
+            List<JobHandler> handlers,
+            JobResultStorage resultStorage,
+            FileCompressionService compressionService,
+            JobService jobService,
+            JobProgressPublisher progressPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.jobs.result-ttl-hours:24}") long resultTtlHours) {
+        this.jobRepository = jobRepository;
+        this.handlers = handlers;
+        this.resultStorage = resultStorage;
+        this.compressionService = compressionService;
+        this.jobService = jobService;
+        this.progressPublisher = progressPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.resultTtl = Duration.ofHours(resultTtlHours);
+    }
+
+    /**
+     * Claims the oldest queued job whose owner has fewer than {@code perUserLimit} running jobs.
+     * Claims for the same user are serialized across instances, and the user's running jobs are
+     * counted again once that is done, so concurrent instances cannot exceed the limit together.
+     * A user whose claims another instance is holding, or who reached the limit meanwhile, is
+     * skipped for this call and the next user's job is tried instead.
+     *
+     * @param perUserLimit the maximum number of running jobs per user
+     * @return the claimed job, or empty if nothing is claimable
+     */
+    public Optional<ClaimedJob> claimNext(int perUserLimit) {
+        ClaimedJob claimed = transaction.execute(status -> {
+            // Seeded with an ID no user has, as the exclusion list must not be empty
+            List<Long> skippedUsers = new ArrayList<>(List.of(NO_USER));
+            Optional<BackgroundJob> next;
+            while ((next = jobRepository.lockNextClaimable(perUserLimit, List.copyOf(skippedUsers))
+                    .flatMap(jobRepository::findById)).isPresent()) {
+                BackgroundJob job = next.get();
+                if (isBelowUserLimit(job.getUser().getId(), perUserLimit)) {
+                    return claim(job);
+                }
+                skippedUsers.add(job.getUser().getId());
+            }
+            return null;
+        });
+        return Optional.ofNullable(claimed);
+    }
+
+    /**
+     * Executes a claimed job and records its outcome. Never throws.
+     *
+     * @param job the claimed job
+     */
+    public void run(ClaimedJob job) {
+        Path tempFile = null;
+        try {
+            JobHandler handler = handlerFor(job.type());
+            JobExecution execution = new JobExecution(job.id(), job.userId(), job.type(), job.parameters(),
+                    progress -> updateProgress(job, progress));
+
+            tempFile = Files.createTempFile("job-" + job.id() + "-", ".deflate");
+            JobHandler.JobOutput output;
+            try (OutputStream out = compressionService.compressingStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output = handler.run(execution, out);
+            }
+            long size = Files.size(tempFile);
+            String location = resultStorage.store(
+                    "jobs/" + job.userId() + "/" + job.id() + "-" + job.attempt() + ".deflate", tempFile);
+            complete(job, location, output, size);
+        } catch (Exception e) {
+            log.error("Job {} ({}) failed", job.id(), job.type(), e);
+            fail(job, e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Refreshes the heartbeat of jobs running on this instance.
+     *
+     * @param jobIds the running job IDs
+     */
+    public void heartbeat(Collection<Long> jobIds) {
+        transaction.executeWithoutResult(status ->
+                jobRepository.touchHeartbeat(jobIds, JobStatus.RUNNING, LocalDateTime.now()));
+    }
+
+    /**
+     * Requeues running jobs whose worker stopped sending heartbeats, for example after a crash.
+     * Jobs that already used every attempt are failed instead.
+     *
+     * @param staleBefore heartbeats older than this are considered stale
+     * @param maxAttempts the maximum number of attempts per job
+     * @return the number of recovered jobs
+     */
+    public int recoverStale(LocalDateTime staleBefore, int maxAttempts) {
+        Integer recovered = transaction.execute(status -> {
+            int count = 0;
+            LocalDateTime now = LocalDateTime.now();
+            // Conditional updates, so a job that completes meanwhile is not put back in the queue
+            for (BackgroundJob job : jobRepository.findStale(JobStatus.RUNNING, staleBefore)) {
+                if (job.getAttempts() >= maxAttempts) {
+                    if (jobRepository.failAttempt(job.getId(), job.getAttempts(), JobStatus.RUNNING, JobStatus.FAILED,
+                            "Job worker stopped responding", now) > 0) {
+                        log.warn("Job {} failed after {} attempts", job.getId(), job.getAttempts());
+                        count++;
+                    }
+                } else if (jobRepository.requeueAttempt(job.getId(), job.getAttempts(), JobStatus.RUNNING,
+                        JobStatus.QUEUED, now) > 0) {
+                    log.info("Requeued stale job {}", job.getId());
+                    count++;
+                }
+            }
+            return count;
+        });
+        return recovered != null ? recovered : 0;
+    }
+
+    /**
+     * Deletes stored results whose retention period has passed.
+     *
+     * @return the number of purged results
+     */
+    public int purgeExpired() {
+        Integer purged = transaction.execute(status -> {
+            List<BackgroundJob> expired = jobRepository.findExpired(JobStatus.COMPLETED, LocalDateTime.now());
+            for (BackgroundJob job : expired) {
+                resultStorage.delete(job.getResultLocation());
+                job.setResultLocation(null);
+            }
+            return expired.size();
+        });
+        return purged != null ? purged : 0;
+    }
+
+    private ClaimedJob claim(BackgroundJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        job.setStatus(JobStatus.RUNNING);
+        job.setStartedAt(now);
+        job.setHeartbeatAt(now);
+        job.setProgress(0);
+        job.setAttempts(job.getAttempts() + 1);
+        progressPublisher.publish(job.getUser().getId(), jobService.toDTO(job));
+        return new ClaimedJob(job.getId(), job.getUser().getId(), job.getType(),
+                jobService.readParameters(job.getParameters()), job.getAttempts());
+    }
+
+    private boolean isBelowUserLimit(Long userId, int perUserLimit) {
+        if (!jobRepository.tryLockUserClaims(userId)) {
+            return false;
+        }
+        return jobRepository.countByUserIdAndStatusIn(userId, List.of(JobStatus.RUNNING)) < perUserLimit;
+    }
+
+    private void updateProgress(ClaimedJob job, int progress) {
+        int bounded = Math.max(0, Math.min(99, progress));
+        transaction.executeWithoutResult(status -> {
+            if (jobRepository.updateProgress(job.id(), job.attempt(), JobStatus.RUNNING, bounded) > 0) {
+                jobRepository.findById(job.id())
+                        .ifPresent(updated -> progressPublisher.publish(job.userId(), jobService.toDTO(updated)));
+            }
+        });
+    }
+
+    private void complete(ClaimedJob claimed, String location, JobHandler.JobOutput output, long size) {
+        boolean kept = Boolean.TRUE.equals(transaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (jobRepository.completeAttempt(claimed.id(), claimed.attempt(), JobStatus.RUNNING, JobStatus.COMPLETED,
+                    location, output.fileName(), output.contentType(), size, now, now.plus(resultTtl)) == 0) {
+                return false;
+            }
+            publishCurrent(claimed);
+            return true;
+        }));
+        if (kept) {
+            log.info("Job {} ({}) completed, {} compressed bytes", claimed.id(), claimed.type(), size);
+        } else {
+            // Only this attempt's own object: the attempt that replaced it stores under another key
+            log.info("Job {} was cancelled or reassigned while running, discarding its result", claimed.id());
+            resultStorage.delete(location);
+        }
+    }
+
+    private void fail(ClaimedJob claimed, Exception error) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                String message = truncate(error.getMessage() != null
+                        ? error.getMessage() : error.getClass().getSimpleName());
+                if (jobRepository.failAttempt(claimed.id(), claimed.attempt(), JobStatus.RUNNING, JobStatus.FAILED,
+                        message, LocalDateTime.now()) > 0) {
+                    publishCurrent(claimed);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to record failure of job {}", claimed.id(), e);
+        }
+    }
+
+    private void publishCurrent(ClaimedJob claimed) {
+        jobRepository.findById(claimed.id())
+                .ifPresent(job -> progressPublisher.publish(claimed.userId(), jobService.toDTO(job)));
+    }
+
+    private JobHandler handlerFor(JobType type) {
+        return handlers.stream()
+                .filter(handler -> handler.supports(type))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No handler for job type " + type));
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * A job claimed by this instance, detached from the persistence context.
+     *
+     * @param id the job ID
+     * @param userId the owner of the job
+     * @param type the job type
+     * @param parameters the submitted parameters
+     * @param attempt the attempt number of this claim, which fences its later updates
+     */
+    public record ClaimedJob(Long id, Long userId, JobType type, Map<String, String> parameters, int attempt) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.finance_control.jobs.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance_control.jobs.dto.JobDTO;
+import com.finance_control.jobs.dto.JobSubmitRequest;
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.model.BackgroundJob;
+import com.finance_control.jobs.repository.BackgroundJobRepository;
+import com.finance_control.jobs.storage.JobResultStorage;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.exception.EntityNotFoundException;
+import com.finance_control.shared.feature.FeatureFlagService;
+import com.finance_control.shared.service.FileCompressionService;
+import com.finance_control.users.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Submission and retrieval of background report and export jobs.
+ * Jobs are queued here and picked up by {@link JobDispatcher}; all operations are scoped to
+ * the current user.
+ */
+@Slf4j
+@Service
+@Transactional
+public class JobService {
+
+    private static final TypeReference<Map<String, String>> PARAMETERS_TYPE = new TypeReference<>() { };
+
+    private final BackgroundJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final FeatureFlagService featureFlagService;
+    private final JobResultStorage resultStorage;
+    private final FileCompressionService compressionService;
+    private final ObjectMapper objectMapper;
+    private final int maxPendingPerUser;
+
+    public JobService(BackgroundJobRepository jobRepository,
+            UserRepository userRepository,
+            FeatureFlagService featureFlagService,
+            JobResultStorage resultStorage,
+            FileCompressionService compressionService,
+            ObjectMapper objectMapper,
+            @Value("${app.jobs.max-pending-per-user:10}") int maxPendingPerUser) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.featureFlagService = featureFlagService;
+        this.resultStorage = resultStorage;
+        this.compressionService = compressionService;
+        this.objectMapper = objectMapper;
+        this.maxPendingPerUser = Math.max(1, maxPendingPerUser);
+    }
+
+    /**
+     * Queues a job for the current user.
+     *
+     * @param request the job type and parameters
+     * @return the queued job
+     * @throws ResponseStatusException with 429 if the user already has too many pending jobs
+     */
+    public JobDTO submit(JobSubmitRequest request) {
+        Long userId = requireCurrentUserId();
+        featureFlagService.requireEnabled(request.getType().getFeature());
+
+        // Held until commit, so concurrent submissions of the user count each other's jobs
+        jobRepository.lockUserClaims(userId);
+        if (jobRepository.countByUserIdAndStatusIn(userId, JobStatus.PENDING) >= maxPendingPerUser) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many pending jobs; wait for a running job to finish");
+        }
+
+        BackgroundJob job = new BackgroundJob();
+        job.setUser(userRepository.getReferenceById(userId));
+        job.setType(request.getType());
+        job.setParameters(writeParameters(request.getParameters()));
+        BackgroundJob saved = jobRepository.save(job);
+        log.info("Queued {} job {}", saved.getType(), saved.getId());
+        return toDTO(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public JobDTO get(Long id) {
+        return toDTO(findOwned(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<JobDTO> list(Pageable pageable) {
+        return jobRepository.findByUserIdOrderByCreatedAtDesc(requireCurrentUserId(), pageable).map(this::toDTO);
+    }
+
+    /**
+     * Cancels a job that has not finished. A running job stops being tracked immediately and
+     * its result is discarded when the worker completes.
+     *
+     * @param id the job ID
+     * @return the job after cancellation
+     */
+    public JobDTO cancel(Long id) {
+        BackgroundJob job = findOwned(id);
+        if (!job.getStatus().isFinished()) {
+            job.setStatus(JobStatus.CANCELLED);
+            job.setCompletedAt(LocalDateTime.now());
+        }
+        return toDTO(job);
+    }
+
+    /**
+     * Opens the result of a completed job. The returned stream is decompressed on the fly.
+     *
+     * @param id the job ID
+     * @return the result content and its download metadata
+     * @throws IOException if the stored result cannot be read
+     */
+    @Transactional(readOnly = true)
+    public JobResult openResult(Long id) throws IOException {
+        BackgroundJob job = findOwned(id);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Job result is not available");
+        }
+        if (job.getResultLocation() == null
+                || (job.getExpiresAt() != null && job.getExpiresAt().isBefore(LocalDateTime.now()))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Job result has expired");
+        }
+        InputStream content = compressionService.decompressingStream(resultStorage.open(job.getResultLocation()));
+        return new JobResult(job.getResultFileName(), job.getResultContentType(), content);
+    }
+
+    public JobDTO toDTO(BackgroundJob job) {
+        JobDTO dto = JobDTO.builder()
+                .type(job.getType())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .resultFileName(job.getResultFileName())
+                .resultContentType(job.getResultContentType())
+                .resultSize(job.getResultSize())
+                .errorMessage(job.getErrorMessage())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+        dto.setId(job.getId());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        return dto;
+    }
+
+    Map<String, String> readParameters(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, PARAMETERS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid job parameters", e);
+        }
+    }
+
+    private String writeParameters(Map<String, String> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid job parameters", e);
+        }
+    }
+
+    private BackgroundJob findOwned(Long id) {
+        return jobRepository.findByIdAndUserId(id, requireCurrentUserId())
+                .orElseThrow(() -> new EntityNotFoundException("BackgroundJob", id));
+    }
+
+    private Long requireCurrentUserId() {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            throw new SecurityException("User context not available");
+        }
+        return userId;
+    }
+
+    /**
+     * An opened job result.
+     *
+     * @param fileName the suggested file name
+     * @param contentType the MIME type of the content
+     * @param content the decompressed content; the caller must close it
+     */
+    public record JobResult(String fileName, String contentType, InputStream content) {
+    }
+}
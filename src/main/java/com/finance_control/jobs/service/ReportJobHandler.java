@@ -0,0 +1,56 @@
+package com.finance_control.jobs.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.reports.service.ReportService;
+import com.finance_control.shared.context.UserContext;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Runs report jobs and writes the report as JSON.
+ * Reports resolve the user from {@link UserContext}, so it is set for the duration of the job.
+ */
+@Component
+public class ReportJobHandler implements JobHandler {
+
+    private final ReportService reportService;
+    private final ObjectWriter writer;
+
+    public ReportJobHandler(ReportService reportService, ObjectMapper objectMapper) {
+        this.reportService = reportService;
+        this.writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public boolean supports(JobType type) {
+        return type == JobType.TRANSACTION_REPORT || type == JobType.GOAL_REPORT || type == JobType.SUMMARY_REPORT;
+    }
+
+    @Override
+    public JobOutput run(JobExecution execution, OutputStream output) throws IOException {
+        UserContext.setCurrentUserId(execution.userId());
+        try {
+            Object report = switch (execution.type()) {
+                case TRANSACTION_REPORT -> reportService.generateTransactionReport(
+                        execution.dateParameter("dateFrom"), execution.dateParameter("dateTo"),
+                        execution.parameter("type"), execution.parameter("category"));
+                case GOAL_REPORT -> reportService.generateGoalReport(execution.parameter("status"));
+                case SUMMARY_REPORT -> reportService.generateSummaryReport(
+                        execution.dateParameter("dateFrom"), execution.dateParameter("dateTo"));
+                default -> throw new IllegalArgumentException("Unsupported job type: " + execution.type());
+            };
+            execution.progress().accept(90);
+            writer.writeValue(output, report);
+        } finally {
+            UserContext.clear();
+        }
+        String name = execution.type().name().toLowerCase().replace('_', '-');
+        return new JobOutput(name + "-" + execution.jobId() + ".json", MediaType.APPLICATION_JSON_VALUE);
+    }
+}
@@ -0,0 +1,38 @@
+package com.finance_control.jobs.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Stores the compressed results of background jobs.
+ * Implementations receive already-compressed bytes and return them unchanged.
+ */
+public interface JobResultStorage {
+
+    /**
+     * Stores a result file.
+     *
+     * @param key the storage key, unique per job attempt
+     * @param file the compressed result file; it may be moved or deleted by the implementation
+     * @return the location to persist on the job and pass to {@link #open(String)}
+     * @throws IOException if the result cannot be stored
+     */
+    String store(String key, Path file) throws IOException;
+
+    /**
+     * Opens a stored result.
+     *
+     * @param location the location returned by {@link #store(String, Path)}
+     * @return the compressed content
+     * @throws IOException if the result cannot be read
+     */
+    InputStream open(String location) throws IOException;
+
+    /**
+     * Deletes a stored result. Missing results are ignored.
+     *
+     * @param location the location returned by {@link #store(String, Path)}
+     */
+    void delete(String location);
+}
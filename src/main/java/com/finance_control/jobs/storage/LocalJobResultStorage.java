@@ -0,0 +1,58 @@
+package com.finance_control.jobs.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps job results on the local filesystem.
+ * Suitable for single-instance deployments; multi-instance deployments should use Supabase storage.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.jobs.storage", havingValue = "local", matchIfMissing = true)
+public class LocalJobResultStorage implements JobResultStorage {
+
+    private final Path root;
+
+    public LocalJobResultStorage(@Value("${app.jobs.local-directory:${java.io.tmpdir}/finance-control-jobs}") String directory) {
+        this.root = Path.of(directory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(String key, Path file) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        return key;
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return Files.newInputStream(resolve(location));
+    }
+
+    @Override
+    public void delete(String location) {
+        try {
+            Files.deleteIfExists(resolve(location));
+        } catch (IOException e) {
+            log.warn("Failed to delete job result {}: {}", location, e.getMessage());
+        }
+    }
+
+    private Path resolve(String location) {
+        Path path = root.resolve(location).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid job result location");
+        }
+        return path;
+    }
+}
@@ -0,0 +1,51 @@
+package com.finance_control.jobs.storage;
+
+import com.finance_control.shared.service.SupabaseStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Keeps job results in a Supabase Storage bucket so any instance can serve them.
+ * Results are streamed in both directions, never held in memory as a whole.
+ */
+@Component
+@ConditionalOnProperty(value = "app.jobs.storage", havingValue = "supabase")
+public class SupabaseJobResultStorage implements JobResultStorage {
+
+    private static final String CONTENT_TYPE = "application/octet-stream";
+
+    private final SupabaseStorageService storageService;
+    private final String bucket;
+
+    public SupabaseJobResultStorage(SupabaseStorageService storageService,
+            @Value("${app.jobs.supabase-bucket:exports}") String bucket) {
+        this.storageService = storageService;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public String store(String key, Path file) throws IOException {
+        try {
+            storageService.uploadFile(bucket, key, file, CONTENT_TYPE);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return key;
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        return storageService.openStream(bucket, location);
+    }
+
+    @Override
+    public void delete(String location) {
+        storageService.deleteFile(bucket, location);
+    }
+}
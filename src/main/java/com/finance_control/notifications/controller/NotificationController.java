@@ -6,6 +6,7 @@ import com.finance_control.notifications.enums.NotificationType;
 import com.finance_control.notifications.model.Notification;
 import com.finance_control.notifications.service.NotificationService;
 import com.finance_control.shared.controller.BaseController;
+import com.finance_control.shared.dto.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -47,6 +48,19 @@ public class NotificationController extends BaseController<Notification, Long, N
             "Use POST /notifications with CreateNotificationDTO instead of NotificationDTO");
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get notifications by cursor",
+               description = "Retrieve notifications for the current user newest first with keyset pagination")
+    public ResponseEntity<CursorPage<NotificationDTO>> getNotificationsByCursor(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Whether to count all notifications of the user")
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        log.debug("GET request to retrieve notifications by cursor");
+        return ResponseEntity.ok(notificationService.findByUserWithCursor(cursor, size, includeTotal));
+    }
+
     @GetMapping("/unread")
     @Operation(summary = "Get unread notifications", description = "Retrieve all unread notifications for the current user")
     public ResponseEntity<Page<NotificationDTO>> getUnreadNotifications(Pageable pageable) {
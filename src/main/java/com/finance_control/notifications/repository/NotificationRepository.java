@@ -33,5 +33,24 @@ public interface NotificationRepository extends BaseRepository<Notification, Lon
     @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.createdAt >= :since ORDER BY n.createdAt DESC")
     List<Notification> findByUserIdAndCreatedAtAfter(@Param("userId") Long userId, @Param("since") LocalDateTime since);
 
+    /**
+     * First page of a user's notifications in keyset order (newest first, ties by ID).
+     * Served by the {@code (user_id, created_at DESC, id DESC)} index from V27; no count query is issued.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    /**
+     * Next page of a user's notifications in keyset order, starting strictly after {@code (createdAt, id)}.
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND (n.createdAt, n.id) < (:createdAt, :id) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findKeysetPageAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    long countByUserId(Long userId);
+
     void deleteByUserIdAndIsReadTrue(Long userId);
 }
@@ -6,8 +6,10 @@ import com.finance_control.notifications.enums.NotificationType;
 import com.finance_control.notifications.model.Notification;
 import com.finance_control.notifications.repository.NotificationRepository;
 import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.dto.CursorPage;
 import com.finance_control.shared.exception.EntityNotFoundException;
 import com.finance_control.shared.service.BaseService;
+import com.finance_control.shared.util.KeysetPagination;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -131,6 +133,33 @@ public class NotificationService extends BaseService<Notification, Long, Notific
         return notifications.map(this::mapToResponseDTO);
     }
 
+    /**
+     * Finds the current user's notifications with keyset pagination, newest first.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size the page size, clamped to {@link KeysetPagination#MAX_SIZE}
+     * @param includeTotal whether to also count the user's notifications
+     * @return the page of notifications
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationDTO> findByUserWithCursor(String cursor, Integer size, boolean includeTotal) {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            throw new SecurityException("User context not available");
+        }
+        log.debug("Finding notifications for user {} by cursor", userId);
+        KeysetPagination.Cursor after = KeysetPagination.Cursor.decode(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<Notification> rows = after == null
+                ? notificationRepository.findKeysetFirstPage(userId, KeysetPagination.limit(pageSize))
+                : notificationRepository.findKeysetPageAfter(userId, after.timestamp(), after.id(),
+                        KeysetPagination.limit(pageSize));
+        Long total = includeTotal ? notificationRepository.countByUserId(userId) : null;
+        return KeysetPagination.toPage(rows, pageSize,
+                notification -> new KeysetPagination.Cursor(notification.getCreatedAt(), notification.getId()),
+                this::mapToResponseDTO, total);
+    }
+
     public Page<NotificationDTO> findByUserAndType(NotificationType type, Pageable pageable) {
         Long userId = UserContext.getCurrentUserId();
         if (userId == null) {
@@ -1,19 +1,24 @@
 package com.finance_control.open_finance.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.finance_control.shared.http.OutboundHttpClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -32,6 +37,9 @@ public class AccountInformationClient {
     @Qualifier("openFinanceRestClient")
     private final RestClient restClient;
 
+    @Qualifier("openFinanceHttpClient")
+    private final OutboundHttpClient httpClient;
+
     private static final String ACCOUNTS_ENDPOINT = "/open-banking/accounts/v1/accounts";
     private static final String BALANCES_ENDPOINT = "/open-banking/accounts/v1/balances";
     private static final String TRANSACTIONS_ENDPOINT = "/open-banking/accounts/v1/transactions";
@@ -101,18 +109,7 @@ public class AccountInformationClient {
 
         return executeWithRetry(() -> {
             JsonNode response = restClient.get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path(TRANSACTIONS_ENDPOINT + "/{accountId}")
-                                .queryParam("page", page != null ? page : 1)
-                                .queryParam("page-size", pageSize != null ? pageSize : 100);
-                        if (fromDate != null) {
-                            builder.queryParam("fromBookingDateTime", fromDate.format(DateTimeFormatter.ISO_DATE_TIME));
-                        }
-                        if (toDate != null) {
-                            builder.queryParam("toBookingDateTime", toDate.format(DateTimeFormatter.ISO_DATE_TIME));
-                        }
-                        return builder.build(accountId);
-                    })
+                    .uri(uriBuilder -> transactionsUri(uriBuilder, accountId, fromDate, toDate, page, pageSize))
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
                     .retrieve()
                     .body(JsonNode.class);
@@ -123,6 +120,36 @@ public class AccountInformationClient {
         }, "Failed to fetch transactions for account " + accountId);
     }
 
+    /**
+     * Non-blocking variant of {@link #getAccountTransactions}. The request goes through the shared
+     * outbound HTTP layer, which retries server errors and timeouts and stops calling the
+     * institution while the Open Finance circuit is open.
+     *
+     * @return the page of transactions; fails with a {@link RuntimeException} if it cannot be fetched
+     */
+    public Mono<TransactionListResponse> getAccountTransactionsAsync(String accessToken, String accountId,
+                                                                     LocalDateTime fromDate, LocalDateTime toDate,
+                                                                     Integer page, Integer pageSize) {
+        log.debug("Fetching transactions for account: {} (async)", accountId);
+        String errorMessage = "Failed to fetch transactions for account " + accountId;
+
+        return httpClient.get(
+                        uriBuilder -> transactionsUri(uriBuilder, accountId, fromDate, toDate, page, pageSize),
+                        headers -> {
+                            headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+                            headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+                        },
+                        JsonNode.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty response body")))
+                .map(response -> parseTransactionsResponse(response, accountId))
+                .doOnNext(result -> log.info("Successfully fetched {} transactions for account: {}",
+                        result.getTransactions().size(), accountId))
+                .onErrorMap(e -> {
+                    log.error("{}: {}", errorMessage, e.getMessage());
+                    return new RuntimeException(errorMessage, e);
+                });
+    }
+
     /**
      * Retrieves account details for a specific account.
      *
@@ -146,6 +173,20 @@ public class AccountInformationClient {
         }, "Failed to fetch account details for " + accountId);
     }
 
+    private URI transactionsUri(UriBuilder uriBuilder, String accountId, LocalDateTime fromDate,
+                                LocalDateTime toDate, Integer page, Integer pageSize) {
+        uriBuilder.path(TRANSACTIONS_ENDPOINT + "/{accountId}")
+                .queryParam("page", page != null ? page : 1)
+                .queryParam("page-size", pageSize != null ? pageSize : 100);
+        if (fromDate != null) {
+            uriBuilder.queryParam("fromBookingDateTime", fromDate.format(DateTimeFormatter.ISO_DATE_TIME));
+        }
+        if (toDate != null) {
+            uriBuilder.queryParam("toBookingDateTime", toDate.format(DateTimeFormatter.ISO_DATE_TIME));
+        }
+        return uriBuilder.build(accountId);
+    }
+
     /**
      * Executes a request with retry logic for 5xx server errors.
      */
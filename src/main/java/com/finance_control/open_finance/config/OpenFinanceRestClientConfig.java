@@ -1,6 +1,9 @@
 package com.finance_control.open_finance.config;
 
 import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.http.OutboundHttpClient;
+import com.finance_control.shared.http.OutboundHttpClients;
+import io.netty.handler.ssl.SslContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
@@ -23,7 +26,8 @@ import org.apache.hc.core5.util.TimeValue;
 
 /**
  * Configuration for Open Finance RestClient.
- * Creates RestClient instances configured with mTLS for Open Finance API calls.
+ * Creates RestClient instances configured with mTLS for Open Finance API calls, and the
+ * non-blocking client used for paged transaction fetches.
  */
 @Slf4j
 @Configuration
@@ -43,9 +47,7 @@ public class OpenFinanceRestClientConfig {
         @Qualifier("openFinanceRestClient")
         @ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
         public RestClient openFinanceRestClient() {
-                String baseUrl = appProperties.openFinance().useProduction()
-                                ? appProperties.openFinance().productionBaseUrl()
-                                : appProperties.openFinance().sandboxBaseUrl();
+                String baseUrl = baseUrl();
 
                 if (!StringUtils.hasText(baseUrl)) {
                         log.warn("Open Finance base URL not configured");
@@ -95,4 +97,23 @@ public class OpenFinanceRestClientConfig {
                                         .build();
                 }
         }
+
+        /**
+         * Creates the non-blocking Open Finance client on the shared outbound HTTP layer, using the
+         * netty mTLS context and its own circuit breaker.
+         *
+         * @return configured OutboundHttpClient
+         */
+        @Bean
+        @Qualifier("openFinanceHttpClient")
+        @ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
+        public OutboundHttpClient openFinanceHttpClient(OutboundHttpClients httpClients, SslContext openFinanceSslContext) {
+                return httpClients.forProvider("open-finance", baseUrl(), openFinanceSslContext);
+        }
+
+        private String baseUrl() {
+                return appProperties.openFinance().useProduction()
+                                ? appProperties.openFinance().productionBaseUrl()
+                                : appProperties.openFinance().sandboxBaseUrl();
+        }
 }
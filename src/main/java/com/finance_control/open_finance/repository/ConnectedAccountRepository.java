@@ -3,6 +3,7 @@ package com.finance_control.open_finance.repository;
 import com.finance_control.open_finance.model.ConnectedAccount;
 import com.finance_control.open_finance.model.OpenFinanceConsent;
 import com.finance_control.open_finance.model.OpenFinanceInstitution;
+import com.finance_control.open_finance.repository.projection.AccountSyncCandidate;
 import com.finance_control.shared.repository.BaseRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -39,6 +40,14 @@ public interface ConnectedAccountRepository extends BaseRepository<ConnectedAcco
            "AND a.consent.status = 'AUTHORIZED'")
     List<ConnectedAccount> findAccountsNeedingSync();
 
+    /**
+     * Same selection as {@link #findAccountsNeedingSync()}, without loading the accounts.
+     */
+    @Query("SELECT new com.finance_control.open_finance.repository.projection.AccountSyncCandidate(" +
+           "a.id, a.institution.id, a.user.id, a.lastSyncedAt) FROM ConnectedAccount a " +
+           "WHERE a.syncStatus IN ('PENDING', 'FAILED') AND a.consent.status = 'AUTHORIZED'")
+    List<AccountSyncCandidate> findSyncCandidates();
+
     @Query("SELECT a FROM ConnectedAccount a WHERE a.user.id = :userId " +
            "AND (:search IS NULL OR :search = '' OR " +
            "LOWER(a.accountNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -0,0 +1,110 @@
+package com.finance_control.open_finance.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads and writes per-account incremental sync state through JDBC.
+ * The state is a cursor over the institution's paged API rather than a domain entity, and the
+ * imported-ID ledger needs {@code INSERT ... ON CONFLICT DO NOTHING RETURNING}.
+ */
+@Repository
+public class OpenFinanceSyncStateRepository {
+
+    private static final String SELECT_STATE = "SELECT high_water_mark, window_from, window_to, next_page "
+            + "FROM open_finance_sync_state WHERE account_id = ?";
+
+    private static final String START_WINDOW = "INSERT INTO open_finance_sync_state ("
+            + "account_id, window_from, window_to, next_page, updated_at) VALUES (?, ?, ?, 1, ?) "
+            + "ON CONFLICT (account_id) DO UPDATE SET window_from = EXCLUDED.window_from, "
+            + "window_to = EXCLUDED.window_to, next_page = 1, updated_at = EXCLUDED.updated_at";
+
+    private static final String ADVANCE_PAGE = "UPDATE open_finance_sync_state SET next_page = ?, updated_at = ? "
+            + "WHERE account_id = ?";
+
+    private static final String COMPLETE_WINDOW = "UPDATE open_finance_sync_state SET high_water_mark = window_to, "
+            + "window_from = NULL, window_to = NULL, next_page = 1, updated_at = ? WHERE account_id = ?";
+
+    private static final String CLAIM_IDS = "INSERT INTO open_finance_imported_transactions ("
+            + "account_id, external_transaction_id) SELECT ?, UNNEST(?::varchar[]) "
+            + "ON CONFLICT (account_id, external_transaction_id) DO NOTHING RETURNING external_transaction_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OpenFinanceSyncStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sync state of a connected account.
+     *
+     * @param highWaterMark the end of the last completed window, or null if none completed
+     * @param windowFrom the start of the window in progress, or null if no sync is in progress
+     * @param windowTo the end of the window in progress
+     * @param nextPage the first page of the window in progress not yet imported
+     */
+    public record SyncState(LocalDateTime highWaterMark, LocalDateTime windowFrom, LocalDateTime windowTo,
+            int nextPage) {
+
+        public boolean inProgress() {
+            return windowFrom != null && windowTo != null;
+        }
+    }
+
+    public Optional<SyncState> findState(Long accountId) {
+        return jdbcTemplate.query(SELECT_STATE, (rs, rowNum) -> new SyncState(
+                        toLocalDateTime(rs.getTimestamp(1)),
+                        toLocalDateTime(rs.getTimestamp(2)),
+                        toLocalDateTime(rs.getTimestamp(3)),
+                        rs.getInt(4)),
+                accountId).stream().findFirst();
+    }
+
+    /**
+     * Records a new sync window starting at page 1, keeping the high-water mark.
+     */
+    public void startWindow(Long accountId, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update(START_WINDOW, accountId, Timestamp.valueOf(from), Timestamp.valueOf(to), now());
+    }
+
+    public void advancePage(Long accountId, int nextPage) {
+        jdbcTemplate.update(ADVANCE_PAGE, nextPage, now(), accountId);
+    }
+
+    /**
+     * Moves the high-water mark to the end of the window in progress and clears the window.
+     */
+    public void completeWindow(Long accountId) {
+        jdbcTemplate.update(COMPLETE_WINDOW, now(), accountId);
+    }
+
+    /**
+     * Records external transaction IDs as imported for an account.
+     *
+     * @return the IDs that were not recorded before
+     */
+    public Set<String> claimTransactionIds(Long accountId, Collection<String> externalIds) {
+        if (externalIds.isEmpty()) {
+            return Set.of();
+        }
+        List<String> claimed = jdbcTemplate.queryForList(CLAIM_IDS, String.class, accountId,
+                externalIds.toArray(new String[0]));
+        return new HashSet<>(claimed);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
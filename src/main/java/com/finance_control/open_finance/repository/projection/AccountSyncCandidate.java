@@ -0,0 +1,14 @@
+package com.finance_control.open_finance.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * A connected account due for synchronization.
+ *
+ * @param accountId the connected account ID
+ * @param institutionId the institution the account is held at, which bounds sync concurrency
+ * @param userId the owner of the account
+ * @param lastSyncedAt the last successful sync, or null if the account was never synced
+ */
+public record AccountSyncCandidate(Long accountId, Long institutionId, Long userId, LocalDateTime lastSyncedAt) {
+}
@@ -1,8 +1,7 @@
 package com.finance_control.open_finance.scheduler;
 
-import com.finance_control.open_finance.service.OpenFinanceAccountService;
 import com.finance_control.open_finance.service.OpenFinanceConsentService;
-import com.finance_control.open_finance.service.OpenFinanceTransactionSyncService;
+import com.finance_control.open_finance.service.sync.OpenFinanceSyncOrchestrator;
 import com.finance_control.shared.config.AppProperties;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +19,7 @@ import org.springframework.stereotype.Component;
 @ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
 public class OpenFinanceSyncScheduler {
 
-    private final OpenFinanceAccountService accountService;
-    private final OpenFinanceTransactionSyncService transactionSyncService;
+    private final OpenFinanceSyncOrchestrator syncOrchestrator;
     private final OpenFinanceConsentService consentService;
     private final AppProperties appProperties;
 
@@ -39,7 +37,7 @@ public class OpenFinanceSyncScheduler {
 
         try {
             log.info("Starting scheduled balance synchronization");
-            accountService.syncAllBalances();
+            syncOrchestrator.syncAllBalances();
             log.info("Completed scheduled balance synchronization");
         } catch (Exception e) {
             log.error("Error during scheduled balance synchronization", e);
@@ -59,7 +57,7 @@ public class OpenFinanceSyncScheduler {
 
         try {
             log.info("Starting scheduled transaction synchronization");
-            transactionSyncService.syncAllTransactions();
+            syncOrchestrator.syncAllTransactions();
             log.info("Completed scheduled transaction synchronization");
         } catch (Exception e) {
             log.error("Error during scheduled transaction synchronization", e);
@@ -213,23 +213,6 @@ public class OpenFinanceAccountService {
         log.info("Successfully disconnected account {}", accountId);
     }
 
-    /**
-     * Synchronizes balances for all syncable accounts.
-     * Called by scheduler.
-     */
-    @Transactional
-    public void syncAllBalances() {
-        List<ConnectedAccount> accounts = accountRepository.findAccountsNeedingSync();
-
-        for (ConnectedAccount account : accounts) {
-            try {
-                syncBalance(account.getId());
-            } catch (Exception e) {
-                log.error("Failed to sync balance for account {}: {}", account.getId(), e.getMessage());
-            }
-        }
-    }
-
     private void broadcastAccountUpdate(ConnectedAccount account) {
         if (realtimeService != null) {
             try {
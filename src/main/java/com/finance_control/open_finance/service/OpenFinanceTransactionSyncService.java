@@ -11,20 +11,33 @@ import com.finance_control.shared.service.SupabaseRealtimeService;
 import com.finance_control.transactions.dto.TransactionDTO;
 import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.model.source.TransactionSourceEntity;
-import com.finance_control.transactions.repository.TransactionRepository;
 import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
 import com.finance_control.transactions.repository.source.TransactionSourceRepository;
 import com.finance_control.transactions.service.TransactionService;
+import com.finance_control.transactions.service.duplicate.DuplicateMatch;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateDetector;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateIndex;
 import com.finance_control.open_finance.service.mapper.OpenFinanceTransactionMapper;
+import com.finance_control.open_finance.service.helper.OpenFinancePagePrefetcher;
+import com.finance_control.open_finance.service.helper.OpenFinanceSyncCursorHelper;
 import com.finance_control.open_finance.service.helper.OpenFinanceSyncLogHelper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * Service for synchronizing transactions from Open Finance accounts.
@@ -38,7 +51,7 @@ public class OpenFinanceTransactionSyncService {
 
     private final ConnectedAccountRepository accountRepository;
     private final AccountSyncLogRepository syncLogRepository;
-    private final TransactionRepository transactionRepository;
+    private final TransactionDuplicateDetector duplicateDetector;
     private final TransactionService transactionService;
     private final TransactionCategoryRepository categoryRepository;
     private final TransactionSourceRepository sourceRepository;
@@ -47,30 +60,36 @@ public class OpenFinanceTransactionSyncService {
     private final MetricsService metricsService;
     private final OpenFinanceTransactionMapper transactionMapper;
     private final OpenFinanceSyncLogHelper syncLogHelper;
+    private final OpenFinancePagePrefetcher pagePrefetcher;
+    private final OpenFinanceSyncCursorHelper cursorHelper;
+    private final PlatformTransactionManager transactionManager;
 
     @org.springframework.beans.factory.annotation.Autowired(required = false)
     private SupabaseRealtimeService realtimeService;
 
     /**
      * Synchronizes transactions for a specific account.
+     * Without explicit dates the sync is incremental: it resumes an interrupted sync at its next
+     * unimported page, or fetches from the account's high-water mark. Each page is imported and
+     * recorded in the account's cursor in its own transaction.
      *
      * @param accountId the account ID
-     * @param fromDate optional start date (defaults to last sync date or 30 days ago)
+     * @param fromDate optional start date (defaults to the account's high-water mark or 30 days ago)
      * @param toDate optional end date (defaults to now)
      * @return sync status DTO
      */
-    @Transactional
     public SyncStatusDTO syncTransactions(Long accountId, LocalDateTime fromDate, LocalDateTime toDate) {
-        ConnectedAccount account = validateAndGetAccount(accountId);
-        DateRange dateRange = calculateDateRange(account, fromDate, toDate);
+        SyncContext context = inNewTransaction(() -> prepareSync(accountId, fromDate, toDate));
+        ConnectedAccount account = context.account();
         AccountSyncLog syncLog = syncLogHelper.createSyncLog(account);
 
         int recordsImported = 0;
         String errorMessage = null;
 
         try {
-            String accessToken = consentService.getAccessToken(account.getConsent().getId());
-            recordsImported = processTransactions(account, dateRange, accessToken);
+            String accessToken = consentService.getAccessToken(context.consentId());
+            recordsImported = processTransactions(context, accessToken);
+            cursorHelper.windowCompleted(context.window());
             updateAccountSyncStatus(account, "SUCCESS");
             syncLogHelper.updateSyncLogSuccess(syncLog, recordsImported);
             metricsService.incrementOpenFinanceAccountSyncSuccess();
@@ -85,6 +104,15 @@ public class OpenFinanceTransactionSyncService {
         return syncLogHelper.buildSyncStatusDTO(accountId, syncLog, recordsImported, errorMessage);
     }
 
+    private SyncContext prepareSync(Long accountId, LocalDateTime fromDate, LocalDateTime toDate) {
+        ConnectedAccount account = validateAndGetAccount(accountId);
+        return new SyncContext(account,
+                account.getConsent().getId(),
+                getOrCreateDefaultCategory(),
+                getOrCreateSourceEntity(account),
+                cursorHelper.openWindow(account, fromDate, toDate));
+    }
+
     private ConnectedAccount validateAndGetAccount(Long accountId) {
         ConnectedAccount account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found: " + accountId));
@@ -94,102 +122,174 @@ public class OpenFinanceTransactionSyncService {
         return account;
     }
 
-    private DateRange calculateDateRange(ConnectedAccount account, LocalDateTime fromDate, LocalDateTime toDate) {
-        LocalDateTime syncFromDate = fromDate != null ? fromDate :
-                (account.getLastSyncedAt() != null ? account.getLastSyncedAt() :
-                        LocalDateTime.now().minusDays(30));
-        LocalDateTime syncToDate = toDate != null ? toDate : LocalDateTime.now();
-        return new DateRange(syncFromDate, syncToDate);
-    }
-
-
-    private int processTransactions(ConnectedAccount account, DateRange dateRange, String accessToken) {
-        AccountInformationClient.TransactionListResponse transactionResponse = fetchFirstPage(account, dateRange, accessToken);
-        if (transactionResponse == null || transactionResponse.getTransactions() == null) {
+    private int processTransactions(SyncContext context, String accessToken) {
+        OpenFinanceSyncCursorHelper.SyncWindow window = context.window();
+        AccountInformationClient.TransactionListResponse firstPage =
+                fetchPage(context.account(), window, accessToken, window.startPage()).block();
+        if (firstPage == null || firstPage.getTransactions() == null) {
             return 0;
         }
 
-        TransactionCategory defaultCategory = getOrCreateDefaultCategory();
-        TransactionSourceEntity sourceEntity = getOrCreateSourceEntity(account);
-
-        int recordsImported = processTransactionList(
-                transactionResponse.getTransactions(), account, defaultCategory, sourceEntity);
-
-        if (transactionResponse.getTotalPages() > 1) {
-            recordsImported += processAdditionalPages(
-                    account, dateRange, accessToken, transactionResponse.getTotalPages(),
-                    defaultCategory, sourceEntity);
-        }
-
-        return recordsImported;
+        // Page n + 1 is fetched from the institution while page n is imported
+        int lastPage = Math.max(window.startPage(), firstPage.getTotalPages());
+        return pagePrefetcher.<Page>processPages(window.startPage(), lastPage,
+                page -> page == window.startPage()
+                        ? CompletableFuture.completedFuture(new Page(page, firstPage))
+                        : fetchPage(context.account(), window, accessToken, page)
+                                .map(response -> new Page(page, response))
+                                .toFuture(),
+                page -> page.response() != null ? importPage(context, page) : 0);
     }
 
-    private AccountInformationClient.TransactionListResponse fetchFirstPage(ConnectedAccount account, DateRange dateRange, String accessToken) {
-        return accountClient.getAccountTransactions(
+    private Mono<AccountInformationClient.TransactionListResponse> fetchPage(ConnectedAccount account,
+                                                                             OpenFinanceSyncCursorHelper.SyncWindow window,
+                                                                             String accessToken, int page) {
+        return accountClient.getAccountTransactionsAsync(
                 accessToken,
                 account.getExternalAccountId(),
-                dateRange.from(),
-                dateRange.to(),
-                1,
+                window.from(),
+                window.to(),
+                page,
                 100
         );
     }
 
-    private int processTransactionList(List<AccountInformationClient.Transaction> transactions, ConnectedAccount account,
-                                      TransactionCategory defaultCategory,
-                                      TransactionSourceEntity sourceEntity) {
-        int recordsImported = 0;
+    /**
+     * Imports a page with one {@link TransactionService#createAll} batch in its own transaction.
+     * When the batch fails the page is rolled back, cursor included, and imported again row by row:
+     * each row claims its external ID and is created in its own transaction, and the cursor is
+     * advanced last, so one bad transaction only costs itself.
+     */
+    private int importPage(SyncContext context, Page page) {
+        List<AccountInformationClient.Transaction> transactions = page.response().getTransactions();
+        List<TransactionDTO> candidates = transactions != null ? mapTransactions(transactions, context) : List.of();
+        try {
+            List<TransactionDTO> imported = inNewTransaction(() -> {
+                List<TransactionDTO> accepted = claimNew(candidates, context);
+                if (!accepted.isEmpty()) {
+                    transactionService.createAll(accepted);
+                }
+                cursorHelper.pageImported(context.window(), page.number());
+                return accepted;
+            });
+            // Only reported once committed; a page retried row by row must not announce rolled back rows
+            imported.forEach(transactionDTO -> recordImported(context, transactionDTO));
+            return imported.size();
+        } catch (RuntimeException e) {
+            log.debug("Open Finance page {} failed as a batch, retrying transactions individually: {}",
+                    page.number(), e.getMessage());
+            int imported = importRowByRow(candidates, context);
+            inNewTransaction(() -> {
+                cursorHelper.pageImported(context.window(), page.number());
+                return null;
+            });
+            return imported;
+        }
+    }
+
+    private List<TransactionDTO> mapTransactions(List<AccountInformationClient.Transaction> transactions,
+                                                 SyncContext context) {
+        List<TransactionDTO> candidates = new ArrayList<>(transactions.size());
         for (AccountInformationClient.Transaction ofTransaction : transactions) {
-            if (importTransaction(ofTransaction, account, defaultCategory, sourceEntity)) {
-                recordsImported++;
+            try {
+                candidates.add(transactionMapper.mapToTransactionDTO(
+                        ofTransaction, context.account(), context.defaultCategory(), context.sourceEntity()));
+            } catch (Exception e) {
+                log.error("Failed to import transaction {}: {}",
+                         ofTransaction.getTransactionId(), e.getMessage());
             }
         }
-        return recordsImported;
+        return candidates;
+    }
+
+    /**
+     * Claims the external IDs of a page's transactions and drops the ones already imported or
+     * duplicated. Must run in the transaction that imports the returned transactions.
+     */
+    private List<TransactionDTO> claimNew(List<TransactionDTO> candidates, SyncContext context) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Overlapping and resumed pages repeat transactions already imported for this account
+        Set<String> unseen = cursorHelper.claimUnseen(context.account().getId(), candidates.stream()
+                .map(TransactionDTO::getExternalReference)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<TransactionDTO> fresh = candidates.stream()
+                .filter(candidate -> candidate.getExternalReference() == null
+                        || unseen.contains(candidate.getExternalReference()))
+                .toList();
+        if (fresh.isEmpty()) {
+            return List.of();
+        }
+
+        TransactionDuplicateIndex duplicates = duplicateDetector.load(
+                context.account().getUser().getId(), fresh, DuplicateMatch.EXTERNAL_REFERENCE);
+        List<TransactionDTO> accepted = new ArrayList<>(fresh.size());
+        for (TransactionDTO transactionDTO : fresh) {
+            if (duplicates.isDuplicate(transactionDTO)) {
+                log.debug("Skipping duplicate transaction: {}", transactionDTO.getExternalReference());
+                continue;
+            }
+            duplicates.register(transactionDTO);
+            accepted.add(transactionDTO);
+        }
+        return accepted;
     }
 
-    private int processAdditionalPages(ConnectedAccount account, DateRange dateRange,
-                                      String accessToken, int totalPages,
-                                      TransactionCategory defaultCategory,
-                                      TransactionSourceEntity sourceEntity) {
+    private int importRowByRow(List<TransactionDTO> candidates, SyncContext context) {
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        TransactionDuplicateIndex duplicates = duplicateDetector.load(
+                context.account().getUser().getId(), candidates, DuplicateMatch.EXTERNAL_REFERENCE);
+
         int recordsImported = 0;
-        for (int page = 2; page <= totalPages; page++) {
-            AccountInformationClient.TransactionListResponse pageResponse = accountClient.getAccountTransactions(
-                    accessToken,
-                    account.getExternalAccountId(),
-                    dateRange.from(),
-                    dateRange.to(),
-                    page,
-                    100
-            );
-
-            if (pageResponse != null && pageResponse.getTransactions() != null) {
-                recordsImported += processTransactionList(
-                        pageResponse.getTransactions(), account, defaultCategory, sourceEntity);
+        for (TransactionDTO transactionDTO : candidates) {
+            if (duplicates.isDuplicate(transactionDTO)) {
+                log.debug("Skipping duplicate transaction: {}", transactionDTO.getExternalReference());
+                continue;
+            }
+            if (importTransaction(transactionDTO, context)) {
+                duplicates.register(transactionDTO);
+                recordsImported++;
             }
         }
         return recordsImported;
     }
 
-    private boolean importTransaction(AccountInformationClient.Transaction ofTransaction, ConnectedAccount account,
-                                     TransactionCategory defaultCategory,
-                                     TransactionSourceEntity sourceEntity) {
+    /**
+     * Imports one transaction in its own transaction, claiming its external ID with it, so a failed
+     * row neither poisons the rest of the page nor stays claimed.
+     */
+    private boolean importTransaction(TransactionDTO transactionDTO, SyncContext context) {
+        boolean imported;
         try {
-            if (isDuplicate(account.getUser().getId(), ofTransaction.getTransactionId())) {
-                log.debug("Skipping duplicate transaction: {}", ofTransaction.getTransactionId());
-                return false;
-            }
-
-            TransactionDTO transactionDTO = transactionMapper.mapToTransactionDTO(
-                    ofTransaction, account, defaultCategory, sourceEntity);
-            transactionService.create(transactionDTO);
-            metricsService.incrementOpenFinanceTransactionImported();
-            notifyRealtimeTransaction(account.getUser().getId(), transactionDTO);
-            return true;
+            imported = inNewTransaction(() -> {
+                String externalReference = transactionDTO.getExternalReference();
+                if (externalReference != null
+                        && cursorHelper.claimUnseen(context.account().getId(), Set.of(externalReference)).isEmpty()) {
+                    log.debug("Skipping already imported transaction: {}", externalReference);
+                    return false;
+                }
+                transactionService.create(transactionDTO);
+                return true;
+            });
         } catch (Exception e) {
             log.error("Failed to import transaction {}: {}",
-                     ofTransaction.getTransactionId(), e.getMessage());
+                     transactionDTO.getExternalReference(), e.getMessage());
             return false;
         }
+        if (imported) {
+            recordImported(context, transactionDTO);
+        }
+        return imported;
+    }
+
+    private void recordImported(SyncContext context, TransactionDTO transactionDTO) {
+        metricsService.incrementOpenFinanceTransactionImported();
+        notifyRealtimeTransaction(context.account().getUser().getId(), transactionDTO);
     }
 
     private void notifyRealtimeTransaction(Long userId, TransactionDTO transactionDTO) {
@@ -216,32 +316,16 @@ public class OpenFinanceTransactionSyncService {
         log.error("Failed to sync transactions for account {}: {}", accountId, errorMessage);
     }
 
-    private record DateRange(LocalDateTime from, LocalDateTime to) {}
-
-    /**
-     * Synchronizes transactions for all syncable accounts.
-     * Called by scheduler.
-     */
-    @Transactional
-    public void syncAllTransactions() {
-        List<ConnectedAccount> accounts = accountRepository.findAccountsNeedingSync();
-
-        for (ConnectedAccount account : accounts) {
-            try {
-                syncTransactions(account.getId(), null, null);
-            } catch (Exception e) {
-                log.error("Failed to sync transactions for account {}: {}", account.getId(), e.getMessage());
-            }
-        }
+    private <T> T inNewTransaction(TransactionCallback<T> callback) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(callback);
     }
 
-    private boolean isDuplicate(Long userId, String externalTransactionId) {
-        if (externalTransactionId == null) {
-            return false;
-        }
-        return transactionRepository.existsByUserIdAndExternalReference(userId, externalTransactionId);
-    }
+    private record SyncContext(ConnectedAccount account, Long consentId, TransactionCategory defaultCategory,
+                               TransactionSourceEntity sourceEntity, OpenFinanceSyncCursorHelper.SyncWindow window) {}
 
+    private record Page(int number, AccountInformationClient.TransactionListResponse response) {}
 
     private TransactionCategory getOrCreateDefaultCategory() {
         return categoryRepository.findByNameIgnoreCase("Open Finance")
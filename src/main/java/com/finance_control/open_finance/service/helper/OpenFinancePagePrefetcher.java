@@ -0,0 +1,63 @@
+package com.finance_control.open_finance.service.helper;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Walks paged Open Finance responses with the next page fetched while the current one is processed.
+ * Fetches are non-blocking calls to the institution's API, so no thread waits on them; processing
+ * stays on the calling thread and inside its transaction.
+ */
+@Component
+@ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
+public class OpenFinancePagePrefetcher {
+
+    /**
+     * Processes pages {@code firstPage..lastPage} in order, keeping one page fetch ahead.
+     * A failed fetch or processor call stops the walk and is rethrown as is.
+     *
+     * @param firstPage the first page number
+     * @param lastPage the last page number, inclusive
+     * @param fetcher starts loading a page by number; may complete with null for an empty page
+     * @param processor handles a page and returns the number of records it imported
+     * @return the sum of the processor results
+     */
+    public <T> int processPages(int firstPage, int lastPage, IntFunction<CompletableFuture<T>> fetcher,
+            ToIntFunction<T> processor) {
+        if (firstPage > lastPage) {
+            return 0;
+        }
+        CompletableFuture<T> next = fetcher.apply(firstPage);
+        int processed = 0;
+        try {
+            for (int page = firstPage; page <= lastPage; page++) {
+                T current = await(next);
+                next = page < lastPage ? fetcher.apply(page + 1) : null;
+                if (current != null) {
+                    processed += processor.applyAsInt(current);
+                }
+            }
+        } finally {
+            if (next != null) {
+                next.cancel(true);
+            }
+        }
+        return processed;
+    }
+
+    private static <T> T await(CompletableFuture<T> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
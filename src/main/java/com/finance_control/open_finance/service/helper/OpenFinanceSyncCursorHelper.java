@@ -0,0 +1,109 @@
+package com.finance_control.open_finance.service.helper;
+
+import com.finance_control.open_finance.model.ConnectedAccount;
+import com.finance_control.open_finance.repository.OpenFinanceSyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tracks incremental transaction sync progress per connected account.
+ * A scheduled or unbounded sync opens a window from the account's high-water mark (minus an
+ * overlap for transactions booked late) to now, or resumes the window an earlier sync left
+ * unfinished at its next unimported page. Explicit date ranges are one-off windows that leave
+ * the cursor untouched.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
+public class OpenFinanceSyncCursorHelper {
+
+    private static final int INITIAL_WINDOW_DAYS = 30;
+
+    private final OpenFinanceSyncStateRepository stateRepository;
+    private final Duration overlap;
+
+    public OpenFinanceSyncCursorHelper(OpenFinanceSyncStateRepository stateRepository,
+            @Value("${app.open-finance.sync.overlap-hours:72}") long overlapHours) {
+        this.stateRepository = stateRepository;
+        this.overlap = Duration.ofHours(Math.max(0, overlapHours));
+    }
+
+    /**
+     * Date window and first page of a transaction sync.
+     *
+     * @param accountId the connected account ID
+     * @param from the start of the window
+     * @param to the end of the window
+     * @param startPage the first page to fetch
+     * @param incremental whether progress is persisted to the account's cursor
+     */
+    public record SyncWindow(Long accountId, LocalDateTime from, LocalDateTime to, int startPage,
+            boolean incremental) {
+    }
+
+    /**
+     * Opens the window of the next sync of an account.
+     *
+     * @param account the connected account
+     * @param fromDate optional explicit start date
+     * @param toDate optional explicit end date
+     * @return the window to fetch
+     */
+    public SyncWindow openWindow(ConnectedAccount account, LocalDateTime fromDate, LocalDateTime toDate) {
+        LocalDateTime now = LocalDateTime.now();
+        if (fromDate != null || toDate != null) {
+            LocalDateTime from = fromDate != null ? fromDate : now.minusDays(INITIAL_WINDOW_DAYS);
+            return new SyncWindow(account.getId(), from, toDate != null ? toDate : now, 1, false);
+        }
+
+        Optional<OpenFinanceSyncStateRepository.SyncState> state = stateRepository.findState(account.getId());
+        if (state.isPresent() && state.get().inProgress()) {
+            OpenFinanceSyncStateRepository.SyncState resumed = state.get();
+            log.info("Resuming transaction sync of account {} at page {}", account.getId(), resumed.nextPage());
+            return new SyncWindow(account.getId(), resumed.windowFrom(), resumed.windowTo(),
+                    Math.max(1, resumed.nextPage()), true);
+        }
+
+        LocalDateTime mark = state.map(OpenFinanceSyncStateRepository.SyncState::highWaterMark)
+                .orElse(account.getLastSyncedAt());
+        LocalDateTime from = mark != null ? mark.minus(overlap) : now.minusDays(INITIAL_WINDOW_DAYS);
+        stateRepository.startWindow(account.getId(), from, now);
+        return new SyncWindow(account.getId(), from, now, 1, true);
+    }
+
+    /**
+     * Records a page as imported. Must run in the transaction that imported the page.
+     */
+    public void pageImported(SyncWindow window, int page) {
+        if (window.incremental()) {
+            stateRepository.advancePage(window.accountId(), page + 1);
+        }
+    }
+
+    /**
+     * Moves the account's high-water mark to the end of a fully imported window.
+     */
+    public void windowCompleted(SyncWindow window) {
+        if (window.incremental()) {
+            stateRepository.completeWindow(window.accountId());
+        }
+    }
+
+    /**
+     * Records external transaction IDs as imported for an account. Must run in the transaction
+     * that imports them, so a rolled back page releases its IDs.
+     *
+     * @return the IDs not imported before
+     */
+    public Set<String> claimUnseen(Long accountId, Collection<String> externalIds) {
+        return stateRepository.claimTransactionIds(accountId, externalIds);
+    }
+}
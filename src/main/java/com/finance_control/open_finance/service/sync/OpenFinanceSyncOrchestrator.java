@@ -0,0 +1,199 @@
+package com.finance_control.open_finance.service.sync;
+
+import com.finance_control.open_finance.repository.ConnectedAccountRepository;
+import com.finance_control.open_finance.repository.projection.AccountSyncCandidate;
+import com.finance_control.open_finance.service.OpenFinanceAccountService;
+import com.finance_control.open_finance.service.OpenFinanceTransactionSyncService;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.monitoring.MetricsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Runs scheduled Open Finance synchronization across all accounts due for sync.
+ * Accounts are fanned out over a bounded pool, with at most {@code per-institution-concurrency}
+ * accounts of the same institution in flight so no single institution's API is flooded. Each
+ * account still syncs in its own transaction through the account and transaction services,
+ * on behalf of the account's owner.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "app.open-finance.enabled", havingValue = "true", matchIfMissing = false)
+public class OpenFinanceSyncOrchestrator {
+
+    static final String TRANSACTIONS = "TRANSACTIONS";
+    static final String BALANCE = "BALANCE";
+
+    private final ConnectedAccountRepository accountRepository;
+    private final OpenFinanceTransactionSyncService transactionSyncService;
+    private final OpenFinanceAccountService accountService;
+    private final MetricsService metricsService;
+    private final ExecutorService syncExecutor;
+    private final int perInstitutionConcurrency;
+
+    public OpenFinanceSyncOrchestrator(ConnectedAccountRepository accountRepository,
+            OpenFinanceTransactionSyncService transactionSyncService,
+            OpenFinanceAccountService accountService,
+            MetricsService metricsService,
+            @Value("${app.open-finance.sync.threads:8}") int threads,
+            @Value("${app.open-finance.sync.per-institution-concurrency:2}") int perInstitutionConcurrency) {
+        this.accountRepository = accountRepository;
+        this.transactionSyncService = transactionSyncService;
+        this.accountService = accountService;
+        this.metricsService = metricsService;
+        this.perInstitutionConcurrency = Math.max(1, perInstitutionConcurrency);
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.syncExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "open-finance-sync-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Outcome of a sync run.
+     *
+     * @param syncType the kind of sync, {@code TRANSACTIONS} or {@code BALANCE}
+     * @param accounts the accounts due for sync
+     * @param succeeded the accounts synced successfully
+     * @param duration the wall-clock time of the run
+     */
+    public record SyncRunResult(String syncType, int accounts, int succeeded, Duration duration) {
+
+        public int failed() {
+            return accounts - succeeded;
+        }
+    }
+
+    /**
+     * Imports new transactions for every account due for sync.
+     *
+     * @return the outcome of the run
+     */
+    public SyncRunResult syncAllTransactions() {
+        return run(TRANSACTIONS, candidate ->
+                transactionSyncService.syncTransactions(candidate.accountId(), null, null).isSuccess());
+    }
+
+    /**
+     * Refreshes the balance of every account due for sync.
+     *
+     * @return the outcome of the run
+     */
+    public SyncRunResult syncAllBalances() {
+        return run(BALANCE, candidate -> {
+            accountService.syncBalance(candidate.accountId());
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    private SyncRunResult run(String syncType, Predicate<AccountSyncCandidate> syncAccount) {
+        Instant start = Instant.now();
+        List<AccountSyncCandidate> candidates = accountRepository.findSyncCandidates();
+
+        // Largest institutions start first so they do not form the tail of the run
+        List<Queue<AccountSyncCandidate>> byInstitution = groupByInstitution(candidates).values().stream()
+                .sorted(Comparator.<Queue<AccountSyncCandidate>>comparingInt(Queue::size).reversed())
+                .toList();
+        List<CompletableFuture<Integer>> lanes = new ArrayList<>();
+        for (Queue<AccountSyncCandidate> institutionQueue : byInstitution) {
+            int laneCount = Math.min(perInstitutionConcurrency, institutionQueue.size());
+            for (int lane = 0; lane < laneCount; lane++) {
+                lanes.add(CompletableFuture.supplyAsync(
+                        () -> drain(syncType, institutionQueue, syncAccount), syncExecutor));
+            }
+        }
+
+        int succeeded = 0;
+        for (CompletableFuture<Integer> lane : lanes) {
+            succeeded += lane.join();
+        }
+
+        Duration duration = Duration.between(start, Instant.now());
+        SyncRunResult result = new SyncRunResult(syncType, candidates.size(), succeeded, duration);
+        metricsService.recordOpenFinanceSyncRun(syncType, result.accounts(), result.failed(), duration);
+        metricsService.setOpenFinanceSyncLag(candidates.stream()
+                .map(AccountSyncCandidate::lastSyncedAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()))
+                .orElse(Duration.ZERO));
+        log.info("Open Finance {} sync: {} accounts across {} institutions, {} succeeded, {} failed in {}ms",
+                syncType, result.accounts(), byInstitution.size(), result.succeeded(), result.failed(),
+                duration.toMillis());
+        return result;
+    }
+
+    private static Map<Long, Queue<AccountSyncCandidate>> groupByInstitution(List<AccountSyncCandidate> candidates) {
+        Map<Long, Queue<AccountSyncCandidate>> byInstitution = new LinkedHashMap<>();
+        for (AccountSyncCandidate candidate : candidates) {
+            byInstitution.computeIfAbsent(candidate.institutionId(), id -> new ConcurrentLinkedQueue<>())
+                    .add(candidate);
+        }
+        return byInstitution;
+    }
+
+    /**
+     * Syncs accounts of one institution until its queue is empty. Several lanes may drain the
+     * same queue, which is what bounds the institution's concurrency.
+     */
+    private int drain(String syncType, Queue<AccountSyncCandidate> institutionQueue,
+            Predicate<AccountSyncCandidate> syncAccount) {
+        int succeeded = 0;
+        AccountSyncCandidate candidate;
+        while ((candidate = institutionQueue.poll()) != null) {
+            if (syncOne(syncType, candidate, syncAccount)) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private boolean syncOne(String syncType, AccountSyncCandidate candidate,
+            Predicate<AccountSyncCandidate> syncAccount) {
+        UserContext.setCurrentUserId(candidate.userId());
+        Instant start = Instant.now();
+        boolean succeeded = false;
+        try {
+            succeeded = syncAccount.test(candidate);
+            return succeeded;
+        } catch (Exception e) {
+            log.error("Failed {} sync for account {}: {}", syncType, candidate.accountId(), e.getMessage());
+            return false;
+        } finally {
+            metricsService.recordOpenFinanceAccountSync(syncType, candidate.institutionId(), succeeded,
+                    Duration.between(start, Instant.now()));
+            UserContext.clear();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.finance_control.shared.service.EncryptionService;
 import com.finance_control.shared.service.SupabaseStorageService;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
+import com.finance_control.users.service.UserEmailLookup;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -117,8 +118,7 @@ public class ProfileService extends BaseService<Profile, Long, ProfileDTO> {
         // Update user email if changed
         if (!user.getEmail().equals(request.getEmail())) {
             // Check if email is already taken by another user
-            String emailHash = encryptionService.hashEmail(request.getEmail());
-            userRepository.findByEmailHash(emailHash)
+            UserEmailLookup.findByEmail(userRepository, encryptionService, request.getEmail())
                     .filter(existingUser -> !existingUser.getId().equals(currentUserId))
                     .ifPresent(existingUser -> {
                         throw new RuntimeException("Email already in use");
@@ -1,28 +1,36 @@
 package com.finance_control.reports.service;
 
-import com.finance_control.goals.model.FinancialGoal;
 import com.finance_control.goals.repository.FinancialGoalRepository;
+import com.finance_control.goals.repository.projection.GoalReportAggregate;
 import com.finance_control.reports.dto.CategorySummaryDTO;
 import com.finance_control.reports.dto.GoalReportDTO;
 import com.finance_control.reports.dto.SummaryReportDTO;
 import com.finance_control.reports.dto.TransactionReportDTO;
 import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.enums.TransactionType;
-import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.repository.projection.TransactionTypeTotal;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -35,12 +43,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ReportService {
 
+    private static final int TOP_CATEGORY_LIMIT = 10;
+    private static final LocalDateTime REPORT_START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime REPORT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final TransactionRepository transactionRepository;
     private final FinancialGoalRepository financialGoalRepository;
+    private final UserMonthlyRollupService userMonthlyRollupService;
 
     /**
      * Generate transaction report with filters.
      */
+    @Timed(value = "finance.reports.generation", description = "Report generation time",
+            extraTags = {"report", "transactions"}, histogram = true)
     public TransactionReportDTO generateTransactionReport(
             LocalDate dateFrom,
             LocalDate dateTo,
@@ -50,29 +65,48 @@ public class ReportService {
         Long userId = UserContext.getCurrentUserId();
         log.debug("Generating transaction report for user: {}", userId);
 
-        // Get all transactions for the user
-        List<Transaction> allTransactions = transactionRepository.findByUserIdWithResponsibilities(userId);
-
-        // Filter transactions
-        List<Transaction> filteredTransactions = filterTransactions(allTransactions, dateFrom, dateTo, type, category);
-
-        // Calculate totals
-        BigDecimal totalIncome = calculateTotalByType(filteredTransactions, TransactionType.INCOME);
-        BigDecimal totalExpense = calculateTotalByType(filteredTransactions, TransactionType.EXPENSE);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
+        // Whole-month periods are served from the monthly rollup
+        if (coversWholeMonths(dateFrom, dateTo)) {
+            return generateTransactionReportFromRollup(userId, dateFrom, dateTo, type, category);
+        }
 
-        // Get top categories
-        List<CategorySummaryDTO> topCategories = calculateTopCategories(filteredTransactions);
+        LocalDateTime start = dateFrom != null ? dateFrom.atStartOfDay() : REPORT_START;
+        LocalDateTime end = dateTo != null ? dateTo.plusDays(1).atStartOfDay() : REPORT_END;
+        TransactionType typeFilter = resolveType(type);
+        Collection<TransactionType> types = typeFilter != null ? EnumSet.of(typeFilter) : EnumSet.allOf(TransactionType.class);
+        boolean anyCategory = category == null || category.isEmpty();
+        String categoryName = anyCategory ? "" : category.toLowerCase(Locale.ROOT);
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        long transactionCount = 0;
+        for (TransactionTypeTotal total : transactionRepository.sumByTypeForReport(
+                userId, start, end, types, anyCategory, categoryName)) {
+            transactionCount += total.transactionCount();
+            if (total.type() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(total.totalAmount());
+            } else if (total.type() == TransactionType.EXPENSE) {
+                totalExpense = totalExpense.add(total.totalAmount());
+            }
+        }
 
-        // Format period string
-        String period = formatPeriod(dateFrom, dateTo);
+        // Every transaction has a category, so category shares are relative to the total expense
+        BigDecimal expenseTotal = totalExpense;
+        List<CategorySummaryDTO> topCategories = !types.contains(TransactionType.EXPENSE)
+                ? new ArrayList<>()
+                : transactionRepository.findTopCategoriesForReport(userId, start, end, TransactionType.EXPENSE,
+                                anyCategory, categoryName, PageRequest.of(0, TOP_CATEGORY_LIMIT))
+                        .stream()
+                        .map(total -> toCategorySummary(total.categoryName(), total.totalAmount(),
+                                total.transactionCount(), expenseTotal))
+                        .collect(Collectors.toList());
 
         return TransactionReportDTO.builder()
-                .period(period)
+                .period(formatPeriod(dateFrom, dateTo))
                 .totalIncome(totalIncome)
                 .totalExpense(totalExpense)
-                .balance(balance)
-                .transactionCount(filteredTransactions.size())
+                .balance(totalIncome.subtract(totalExpense))
+                .transactionCount((int) transactionCount)
                 .topCategories(topCategories)
                 .build();
     }
@@ -80,50 +114,37 @@ public class ReportService {
     /**
      * Generate goal report with filters.
      */
+    @Timed(value = "finance.reports.generation", description = "Report generation time",
+            extraTags = {"report", "goals"}, histogram = true)
     public GoalReportDTO generateGoalReport(String status) {
         Long userId = UserContext.getCurrentUserId();
         log.debug("Generating goal report for user: {}", userId);
 
-        Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE);
-        List<FinancialGoal> allGoals = financialGoalRepository
-                .findByUserIdOrderByCreatedAtDesc(userId, pageable)
-                .getContent();
-
-        // Filter by status if provided
-        List<FinancialGoal> filteredGoals = filterGoalsByStatus(allGoals, status);
+        String statusFilter = normalizeGoalStatus(status);
+        // Cancelled goals are not tracked separately, so that filter never matches
+        GoalReportAggregate aggregate = "cancelled".equals(statusFilter)
+                ? GoalReportAggregate.empty()
+                : financialGoalRepository.aggregateForReport(userId, statusFilter);
 
-        // Calculate metrics
-        int totalGoals = filteredGoals.size();
-        int activeGoals = (int) filteredGoals.stream()
-                .filter(FinancialGoal::getIsActive)
-                .count();
-        int completedGoals = totalGoals - activeGoals;
-
-        BigDecimal totalTarget = filteredGoals.stream()
-                .map(FinancialGoal::getTargetAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalCurrent = filteredGoals.stream()
-                .map(FinancialGoal::getCurrentAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        int totalGoals = aggregate.totalGoals().intValue();
+        int activeGoals = aggregate.activeGoals().intValue();
+        BigDecimal totalTarget = aggregate.totalTarget();
+        BigDecimal totalCurrent = aggregate.totalCurrent();
 
         BigDecimal completionRate = totalTarget.compareTo(BigDecimal.ZERO) > 0
                 ? totalCurrent.divide(totalTarget, 4, RoundingMode.HALF_UP)
                 .multiply(BigDecimal.valueOf(100))
                 : BigDecimal.ZERO;
 
-        BigDecimal averageProgress = filteredGoals.isEmpty()
+        BigDecimal averageProgress = totalGoals == 0
                 ? BigDecimal.ZERO
-                : filteredGoals.stream()
-                        .map(FinancialGoal::getProgressPercentage)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add)
-                        .divide(BigDecimal.valueOf(filteredGoals.size()), 2, RoundingMode.HALF_UP);
+                : aggregate.progressSum().divide(BigDecimal.valueOf(totalGoals), 2, RoundingMode.HALF_UP);
 
         return GoalReportDTO.builder()
                 .period("All Time")
                 .totalGoals(totalGoals)
                 .activeGoals(activeGoals)
-                .completedGoals(completedGoals)
+                .completedGoals(totalGoals - activeGoals)
                 .totalTarget(totalTarget)
                 .totalCurrent(totalCurrent)
                 .completionRate(completionRate)
@@ -134,6 +155,8 @@ public class ReportService {
     /**
      * Generate summary report combining transactions and goals.
      */
+    @Timed(value = "finance.reports.generation", description = "Report generation time",
+            extraTags = {"report", "summary"}, histogram = true)
     public SummaryReportDTO generateSummaryReport(LocalDate dateFrom, LocalDate dateTo) {
         Long userId = UserContext.getCurrentUserId();
         log.debug("Generating summary report for user: {}", userId);
@@ -144,8 +167,8 @@ public class ReportService {
         // Generate goal report
         GoalReportDTO goalReport = generateGoalReport(null);
 
-        // Calculate net worth and savings rate
-        BigDecimal netWorth = calculateNetWorth(userId, dateFrom, dateTo);
+        // Calculate net worth and savings rate (simplified: income minus expenses over the period)
+        BigDecimal netWorth = transactionReport.getBalance();
         BigDecimal savingsRate = calculateSavingsRate(transactionReport.getTotalIncome(), transactionReport.getTotalExpense());
 
         String period = formatPeriod(dateFrom, dateTo);
@@ -159,124 +182,98 @@ public class ReportService {
                 .build();
     }
 
-    private List<Transaction> filterTransactions(
-            List<Transaction> transactions,
-            LocalDate dateFrom,
-            LocalDate dateTo,
-            String type,
-            String category) {
-
-        return transactions.stream()
-                .filter(t -> {
-                    // Date filter
-                    if (dateFrom != null && t.getDate().toLocalDate().isBefore(dateFrom)) {
-                        return false;
-                    }
-                    if (dateTo != null && t.getDate().toLocalDate().isAfter(dateTo)) {
-                        return false;
-                    }
-
-                    // Type filter
-                    if (type != null && !type.isEmpty()) {
-                        TransactionType transactionType = type.equalsIgnoreCase("income")
-                                ? TransactionType.INCOME
-                                : TransactionType.EXPENSE;
-                        if (t.getType() != transactionType) {
-                            return false;
-                        }
-                    }
-
-                    // Category filter
-                    if (category != null && !category.isEmpty()) {
-                        if (t.getCategory() == null || !t.getCategory().getName().equalsIgnoreCase(category)) {
-                            return false;
-                        }
-                    }
-
-                    return true;
-                })
-                .collect(Collectors.toList());
+    private TransactionType resolveType(String type) {
+        if (type == null || type.isEmpty()) {
+            return null;
+        }
+        return type.equalsIgnoreCase("income") ? TransactionType.INCOME : TransactionType.EXPENSE;
     }
 
-    private List<FinancialGoal> filterGoalsByStatus(List<FinancialGoal> goals, String status) {
-        if (status == null || status.isEmpty()) {
-            return goals;
+    private String normalizeGoalStatus(String status) {
+        if (status == null) {
+            return "all";
         }
+        String normalized = status.toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "active", "completed", "paused", "cancelled" -> normalized;
+            default -> "all";
+        };
+    }
 
-        return goals.stream()
-                .filter(g -> {
-                    switch (status.toLowerCase()) {
-                        case "active":
-                            return g.getIsActive();
-                        case "completed":
-                            return !g.getIsActive() && g.getCurrentAmount().compareTo(g.getTargetAmount()) >= 0;
-                        case "paused":
-                            return !g.getIsActive() && g.getCurrentAmount().compareTo(g.getTargetAmount()) < 0;
-                        case "cancelled":
-                            return false; // Assuming cancelled goals are marked differently
-                        default:
-                            return true;
-                    }
-                })
-                .collect(Collectors.toList());
+    private CategorySummaryDTO toCategorySummary(String name, BigDecimal amount, long count, BigDecimal total) {
+        return CategorySummaryDTO.builder()
+                .name(name)
+                .amount(amount)
+                .count((int) count)
+                .percentage(total.compareTo(BigDecimal.ZERO) > 0
+                        ? amount.divide(total, 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+                        : BigDecimal.ZERO)
+                .build();
     }
 
-    private BigDecimal calculateTotalByType(List<Transaction> transactions, TransactionType type) {
-        return transactions.stream()
-                .filter(t -> t.getType() == type)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private boolean coversWholeMonths(LocalDate dateFrom, LocalDate dateTo) {
+        return (dateFrom == null || dateFrom.getDayOfMonth() == 1)
+                && (dateTo == null || dateTo.equals(YearMonth.from(dateTo).atEndOfMonth()));
     }
 
-    private List<CategorySummaryDTO> calculateTopCategories(List<Transaction> transactions) {
-        // Filter expense transactions only
-        List<Transaction> expenseTransactions = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.toList());
+    private TransactionReportDTO generateTransactionReportFromRollup(
+            Long userId,
+            LocalDate dateFrom,
+            LocalDate dateTo,
+            String type,
+            String category) {
 
-        if (expenseTransactions.isEmpty()) {
-            return new ArrayList<>();
+        List<TransactionMonthlyAggregate> rows = dateFrom != null && dateTo != null
+                ? userMonthlyRollupService.getMonthlyAggregates(userId, YearMonth.from(dateFrom), YearMonth.from(dateTo))
+                : userMonthlyRollupService.getMonthlyAggregates(userId);
+
+        TransactionType typeFilter = resolveType(type);
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        long transactionCount = 0;
+        Map<String, BigDecimal> expenseByCategory = new HashMap<>();
+        Map<String, Long> expenseCountByCategory = new HashMap<>();
+
+        for (TransactionMonthlyAggregate row : rows) {
+            YearMonth month = YearMonth.of(row.year(), row.month());
+            if ((dateFrom != null && month.isBefore(YearMonth.from(dateFrom)))
+                    || (dateTo != null && month.isAfter(YearMonth.from(dateTo)))
+                    || (typeFilter != null && row.type() != typeFilter)
+                    || (category != null && !category.isEmpty() && !category.equalsIgnoreCase(row.categoryName()))) {
+                continue;
+            }
+
+            transactionCount += row.transactionCount();
+            if (row.type() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(row.totalAmount());
+            } else if (row.type() == TransactionType.EXPENSE) {
+                totalExpense = totalExpense.add(row.totalAmount());
+                if (row.categoryName() != null) {
+                    expenseByCategory.merge(row.categoryName(), row.totalAmount(), BigDecimal::add);
+                    expenseCountByCategory.merge(row.categoryName(), row.transactionCount(), Long::sum);
+                }
+            }
         }
 
-        // Group by category and sum amounts
-        Map<String, BigDecimal> categoryTotals = expenseTransactions.stream()
-                .filter(t -> t.getCategory() != null)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-
-        // Calculate total expenses
-        BigDecimal totalExpenses = categoryTotals.values().stream()
+        BigDecimal totalCategorized = expenseByCategory.values().stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        // Convert to DTOs
-        List<CategorySummaryDTO> categories = new ArrayList<>();
-        for (Map.Entry<String, BigDecimal> entry : categoryTotals.entrySet()) {
-            String categoryName = entry.getKey();
-            BigDecimal amount = entry.getValue();
-            int count = (int) expenseTransactions.stream()
-                    .filter(t -> t.getCategory() != null && t.getCategory().getName().equals(categoryName))
-                    .count();
-
-            BigDecimal percentage = totalExpenses.compareTo(BigDecimal.ZERO) > 0
-                    ? amount.divide(totalExpenses, 4, RoundingMode.HALF_UP)
-                    .multiply(BigDecimal.valueOf(100))
-                    : BigDecimal.ZERO;
-
-            categories.add(CategorySummaryDTO.builder()
-                    .name(categoryName)
-                    .amount(amount)
-                    .count(count)
-                    .percentage(percentage)
-                    .build());
-        }
-
-        // Sort by amount descending and limit to top 10
-        return categories.stream()
+        List<CategorySummaryDTO> topCategories = expenseByCategory.entrySet().stream()
+                .map(entry -> toCategorySummary(entry.getKey(), entry.getValue(),
+                        expenseCountByCategory.get(entry.getKey()), totalCategorized))
                 .sorted((a, b) -> b.getAmount().compareTo(a.getAmount()))
-                .limit(10)
+                .limit(TOP_CATEGORY_LIMIT)
                 .collect(Collectors.toList());
+
+        return TransactionReportDTO.builder()
+                .period(formatPeriod(dateFrom, dateTo))
+                .totalIncome(totalIncome)
+                .totalExpense(totalExpense)
+                .balance(totalIncome.subtract(totalExpense))
+                .transactionCount((int) transactionCount)
+                .topCategories(topCategories)
+                .build();
     }
 
     private String formatPeriod(LocalDate dateFrom, LocalDate dateTo) {
@@ -289,17 +286,6 @@ public class ReportService {
         return from + " to " + to;
     }
 
-    private BigDecimal calculateNetWorth(Long userId, LocalDate dateFrom, LocalDate dateTo) {
-        // Simplified calculation - in a real app, this would consider assets and liabilities
-        List<Transaction> allTransactions = transactionRepository.findByUserIdWithResponsibilities(userId);
-        List<Transaction> filteredTransactions = filterTransactions(allTransactions, dateFrom, dateTo, null, null);
-
-        BigDecimal totalIncome = calculateTotalByType(filteredTransactions, TransactionType.INCOME);
-        BigDecimal totalExpense = calculateTotalByType(filteredTransactions, TransactionType.EXPENSE);
-
-        return totalIncome.subtract(totalExpense);
-    }
-
     private BigDecimal calculateSavingsRate(BigDecimal income, BigDecimal expenses) {
         if (income.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
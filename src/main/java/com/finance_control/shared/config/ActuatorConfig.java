@@ -1,18 +1,30 @@
 package com.finance_control.shared.config;
 
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.Customizer;
 
+import java.util.Map;
+
 /**
  * Actuator configuration that uses environment variables through AppProperties.
- * Configures Spring Boot Actuator endpoints and security from environment variables.
+ * Configures Spring Boot Actuator endpoints and security from environment variables, and the
+ * instrumentation published through them: the {@code @Timed} aspect and Caffeine cache metrics.
  */
 @Slf4j
 @Configuration
@@ -41,4 +53,39 @@ public class ActuatorConfig {
 
         return http.build();
     }
+
+    /**
+     * Records {@code @Timed} service methods as Micrometer timers.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Binds Caffeine statistics of caches Spring Boot does not instrument itself: caches owned by
+     * {@link MonitoredCaches} beans, and cache manager caches wrapped around a Caffeine cache
+     * (such as the tiered dashboard cache). Plain {@link CaffeineCache}s are bound by Spring Boot.
+     * Every cache carries the same {@code cache} and {@code cache.manager} tags as Boot's, with the
+     * owning bean's name as the manager, since Prometheus drops meters whose tag keys differ.
+     */
+    @Bean
+    public MeterBinder caffeineCacheMetrics(Map<String, MonitoredCaches> monitoredCaches,
+            Map<String, CacheManager> cacheManagers) {
+        return registry -> {
+            monitoredCaches.forEach((ownerName, owner) -> owner.monitoredCaches()
+                    .forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name,
+                            Tags.of("cache.manager", ownerName))));
+            cacheManagers.forEach((managerName, cacheManager) -> {
+                for (String cacheName : cacheManager.getCacheNames()) {
+                    org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+                    if (cache != null && !(cache instanceof CaffeineCache)
+                            && cache.getNativeCache() instanceof Cache<?, ?> nativeCache) {
+                        CaffeineCacheMetrics.monitor(registry, nativeCache, cacheName,
+                                Tags.of("cache.manager", managerName));
+                    }
+                }
+            });
+        };
+    }
 }
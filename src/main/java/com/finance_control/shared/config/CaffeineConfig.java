@@ -1,8 +1,11 @@
 package com.finance_control.shared.config;
 
+import com.finance_control.dashboard.cache.DashboardCacheStore;
+import com.finance_control.dashboard.cache.TieredDashboardCacheManager;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
@@ -32,11 +35,12 @@ public class CaffeineConfig {
     /**
      * Configures Caffeine cache manager with different TTL for different cache names.
      * This bean is primary and will be used unless RedisConfig is active (production profile).
+     * When the persistent dashboard cache store is enabled, the dashboard cache is backed by it as L2.
      */
     @Bean
     @Primary
     @ConditionalOnMissingBean(name = "cacheManager")
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(ObjectProvider<DashboardCacheStore> dashboardCacheStore) {
         com.finance_control.shared.config.properties.CacheProperties cache = appProperties.cache();
 
         log.info("Configuring Caffeine cache manager - Dashboard TTL: {}ms, Market Data TTL: {}ms, User Data TTL: {}ms",
@@ -44,7 +48,7 @@ public class CaffeineConfig {
 
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
 
-        // Default cache configuration (dashboard - 15 minutes)
+        // Default cache configuration (dashboard TTL)
         Caffeine<Object, Object> defaultCache = Caffeine.newBuilder()
                 .maximumSize(1000)
                 .expireAfterWrite(cache.ttlDashboard(), TimeUnit.MILLISECONDS)
@@ -53,7 +57,7 @@ public class CaffeineConfig {
         cacheManager.setCaffeine(defaultCache);
 
         // Cache-specific configurations
-        // Dashboard cache - 15 minutes
+        // Dashboard cache - hours, entries are evicted per user when their data changes
         cacheManager.registerCustomCache("dashboard", Caffeine.newBuilder()
                 .maximumSize(1000)
                 .expireAfterWrite(cache.ttlDashboard(), TimeUnit.MILLISECONDS)
@@ -88,6 +92,12 @@ public class CaffeineConfig {
                 .recordStats()
                 .build());
 
+        DashboardCacheStore store = dashboardCacheStore.getIfAvailable();
+        if (store != null) {
+            log.info("Dashboard cache backed by persistent dashboard_cache store (L2)");
+            return new TieredDashboardCacheManager(cacheManager, store);
+        }
+
         return cacheManager;
     }
 }
@@ -1,5 +1,6 @@
 package com.finance_control.shared.config;
 
+import com.finance_control.shared.config.properties.JpaProperties;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import lombok.RequiredArgsConstructor;
@@ -135,6 +136,8 @@ public class DatabaseConfig {
         if (isSupabase || (!isH2 && !isSupabase)) {
             jpaProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
             jpaProperties.setProperty("hibernate.hbm2ddl.auto", "validate");
+            // transactions is range-partitioned (V30); schema validation must see partitioned tables
+            jpaProperties.setProperty("hibernate.hbm2ddl.extra_physical_table_types", "PARTITIONED TABLE");
         } else {
             jpaProperties.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
             jpaProperties.setProperty("hibernate.hbm2ddl.auto", "create-drop");
@@ -142,6 +145,7 @@ public class DatabaseConfig {
 
         jpaProperties.setProperty("hibernate.show_sql", "false");
         jpaProperties.setProperty("hibernate.format_sql", "false");
+        applyBatchingProperties(jpaProperties);
 
         factory.setJpaProperties(jpaProperties);
         log.info("Created EntityManagerFactory for {} database",
@@ -149,6 +153,30 @@ public class DatabaseConfig {
         return factory;
     }
 
+    /**
+     * Applies JDBC batching and fetch settings from {@code app.jpa.properties}.
+     * Inserts of IDENTITY-keyed entities are still sent one by one by Hibernate; bulk paths use JDBC batches directly.
+     */
+    private void applyBatchingProperties(Properties jpaProperties) {
+        JpaProperties jpa = appProperties.jpa();
+        if (jpa == null || jpa.properties() == null) {
+            return;
+        }
+        JpaProperties.HibernateProperties hibernate = jpa.properties();
+        setIfPresent(jpaProperties, "hibernate.jdbc.batch_size", hibernate.hibernateJdbcBatchSize());
+        setIfPresent(jpaProperties, "hibernate.order_inserts", hibernate.hibernateOrderInserts());
+        setIfPresent(jpaProperties, "hibernate.order_updates", hibernate.hibernateOrderUpdates());
+        setIfPresent(jpaProperties, "hibernate.jdbc.batch_versioned_data", hibernate.hibernateBatchVersionedData());
+        setIfPresent(jpaProperties, "hibernate.jdbc.fetch_size", hibernate.hibernateJdbcFetchSize());
+        setIfPresent(jpaProperties, "hibernate.default_batch_fetch_size", hibernate.hibernateDefaultBatchFetchSize());
+    }
+
+    private static void setIfPresent(Properties properties, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            properties.setProperty(key, value);
+        }
+    }
+
     /**
      * Unified TransactionManager for both local and Supabase databases.
      */
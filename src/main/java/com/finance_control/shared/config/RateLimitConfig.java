@@ -1,9 +1,8 @@
 package com.finance_control.shared.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import lombok.RequiredArgsConstructor;
+import com.finance_control.shared.ratelimit.LocalRateLimitBucketStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,35 +10,25 @@ import org.springframework.context.annotation.Configuration;
 import java.time.Duration;
 
 /**
- * Rate limiting configuration using Bucket4j and Redis.
- * Provides rate limiting capabilities for API endpoints.
+ * Rate limiting configuration using Bucket4j.
+ * Provides the in-memory per-client bucket store; when Redis is configured, {@link RedisConfig}
+ * registers a primary Redis-backed store so limits are shared across instances.
  */
 @Slf4j
 @Configuration
-@RequiredArgsConstructor
 @EnableConfigurationProperties(AppProperties.class)
 public class RateLimitConfig {
 
-    private final AppProperties appProperties;
-
     /**
-     * Creates a rate limiting bucket with configured limits.
-     * For now, using in-memory rate limiting. Distributed rate limiting can be added later.
+     * Creates the in-memory bucket store holding one bucket per user or client IP.
+     * Declared with its concrete type so its cache is picked up for cache metrics.
      */
     @Bean
-    public Bucket rateLimitBucket() {
-        com.finance_control.shared.config.properties.RateLimitProperties rateLimit = appProperties.rateLimit();
-
-        log.info("Configuring rate limiting - Requests per minute: {}, Burst capacity: {}, Refresh period: {}s",
-                rateLimit.requestsPerMinute(), rateLimit.burstCapacity(), rateLimit.refreshPeriod());
-
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(rateLimit.burstCapacity())
-                .refillIntervally(rateLimit.requestsPerMinute(), Duration.ofSeconds(rateLimit.refreshPeriod()))
-                .build();
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    public LocalRateLimitBucketStore localRateLimitBucketStore(
+            @Value("${app.rate-limit.max-buckets:100000}") long maxBuckets,
+            @Value("${app.rate-limit.bucket-idle-timeout-ms:600000}") long idleTimeoutMs) {
+        log.info("Configuring in-memory rate limit buckets - Max buckets: {}, Idle timeout: {}ms",
+                maxBuckets, idleTimeoutMs);
+        return new LocalRateLimitBucketStore(maxBuckets, Duration.ofMillis(idleTimeoutMs));
     }
 }
@@ -0,0 +1,32 @@
+package com.finance_control.shared.config;
+
+import com.finance_control.shared.service.realtime.RealtimeClientWebSocketHandler;
+import com.finance_control.shared.service.realtime.RealtimeHandshakeInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Exposes the client realtime endpoint. The handshake goes through the security filter chain,
+ * so clients authenticate with the same bearer token as the REST API.
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class RealtimeWebSocketConfig implements WebSocketConfigurer {
+
+    public static final String ENDPOINT = "/ws/realtime";
+
+    private final RealtimeClientWebSocketHandler clientHandler;
+    private final RealtimeHandshakeInterceptor handshakeInterceptor;
+    private final AppProperties appProperties;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(clientHandler, ENDPOINT)
+                .addInterceptors(handshakeInterceptor)
+                .setAllowedOriginPatterns(appProperties.security().cors().allowedOrigins().toArray(new String[0]));
+    }
+}
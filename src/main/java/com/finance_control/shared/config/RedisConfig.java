@@ -1,7 +1,17 @@
 package com.finance_control.shared.config;
 
+import com.finance_control.dashboard.cache.DashboardCacheEvictor;
+import com.finance_control.dashboard.cache.DashboardCacheKeys;
+import com.finance_control.dashboard.cache.TieredDashboardCacheManager;
+import com.finance_control.shared.ratelimit.RateLimitBucketStore;
+import com.finance_control.shared.ratelimit.RedisRateLimitBucketStore;
+import com.finance_control.shared.security.PrincipalCache;
+import com.finance_control.shared.security.PrincipalInvalidationBroadcaster;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
@@ -16,18 +26,26 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Redis configuration for caching and rate limiting.
- * Provides Redis connection, cache manager, and Redis template configuration.
+ * Provides Redis connection, cache manager, Redis template and distributed rate limit buckets.
  * This configuration is only active in production profile when Redis host is configured.
  * For development/single-user deployments, CaffeineConfig is used instead.
  */
@@ -40,6 +58,8 @@ import java.util.Map;
 @EnableConfigurationProperties(AppProperties.class)
 public class RedisConfig {
 
+    static final String PRINCIPAL_INVALIDATION_CHANNEL = "principal-cache-invalidation";
+
     private final AppProperties appProperties;
 
     /**
@@ -111,7 +131,7 @@ public class RedisConfig {
         // Cache-specific configurations
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
 
-        // Dashboard cache - 15 minutes
+        // Dashboard cache - hours, entries are evicted per user when their data changes
         cacheConfigurations.put("dashboard", defaultConfig.entryTtl(Duration.ofMillis(cache.ttlDashboard())));
 
         // Market data cache - 5 minutes
@@ -131,4 +151,79 @@ public class RedisConfig {
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
     }
+
+    /**
+     * Evicts a user's dashboard entries from Redis when their data changes.
+     * Keys are stored as {@code dashboard::<method>_<userId>[_<args>]} and located with SCAN.
+     */
+    @Bean
+    public DashboardCacheEvictor redisDashboardCacheEvictor(RedisTemplate<String, Object> redisTemplate) {
+        String prefix = TieredDashboardCacheManager.DASHBOARD_CACHE + "::";
+        return userId -> {
+            ScanOptions options = ScanOptions.scanOptions()
+                    .match(prefix + "*_" + userId + "*")
+                    .count(500)
+                    .build();
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(key -> {
+                    if (DashboardCacheKeys.belongsTo(key.substring(prefix.length()), userId)) {
+                        keys.add(key);
+                    }
+                });
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        };
+    }
+
+    /**
+     * Publishes principal cache invalidations so every node evicts a changed user.
+     */
+    @Bean
+    public PrincipalInvalidationBroadcaster principalInvalidationBroadcaster(RedisConnectionFactory connectionFactory) {
+        StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
+        return userId -> template.convertAndSend(PRINCIPAL_INVALIDATION_CHANNEL, userId.toString());
+    }
+
+    /**
+     * Evicts users from the local principal cache when another node reports a change.
+     */
+    @Bean
+    public RedisMessageListenerContainer principalInvalidationListener(RedisConnectionFactory connectionFactory,
+            PrincipalCache principalCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            try {
+                principalCache.evictLocal(Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8)));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed principal invalidation message");
+            }
+        }, new ChannelTopic(PRINCIPAL_INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * Shares rate limit buckets across instances. Takes precedence over the in-memory store.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public RateLimitBucketStore redisRateLimitBucketStore(
+            @Value("${app.rate-limit.bucket-idle-timeout-ms:600000}") long idleTimeoutMs) {
+        com.finance_control.shared.config.properties.RedisProperties redis = appProperties.redis();
+
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(redis.host())
+                .withPort(redis.port())
+                .withDatabase(redis.database())
+                .withTimeout(Duration.ofMillis(redis.timeout()));
+        if (redis.password() != null && !redis.password().isEmpty()) {
+            uri.withPassword(redis.password().toCharArray());
+        }
+
+        log.info("Configuring distributed rate limit buckets in Redis");
+        return new RedisRateLimitBucketStore(RedisClient.create(uri.build()), Duration.ofMillis(idleTimeoutMs));
+    }
 }
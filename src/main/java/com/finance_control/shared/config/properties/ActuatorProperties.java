@@ -15,7 +15,7 @@ public record ActuatorProperties(
 ) {
     public ActuatorProperties() {
         this(true,
-             List.of("health", "info", "metrics", "env"),
+             List.of("health", "info", "metrics", "prometheus", "env"),
              "/actuator",
              true,
              true,
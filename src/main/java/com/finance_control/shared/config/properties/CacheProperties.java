@@ -10,7 +10,7 @@ public record CacheProperties(
     long ttlUserData
 ) {
     public CacheProperties() {
-        this(true, 900000, 300000, 1800000);
+        this(true, 14400000, 300000, 1800000);
     }
 }
 
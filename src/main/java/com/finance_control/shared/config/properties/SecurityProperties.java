@@ -53,10 +53,11 @@ public record SecurityProperties(
     public record EncryptionProperties(
         boolean enabled,
         String key,
-        String algorithm
+        String algorithm,
+        String blindIndexKey
     ) {
         public EncryptionProperties() {
-            this(true, "", "AES/GCM/NoPadding");
+            this(true, "", "AES/GCM/NoPadding", "");
         }
     }
 }
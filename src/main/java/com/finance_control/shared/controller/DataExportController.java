@@ -1,5 +1,6 @@
 package com.finance_control.shared.controller;
 
+import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.feature.Feature;
 import com.finance_control.shared.feature.FeatureFlagService;
 import com.finance_control.shared.service.DataExportService;
@@ -16,10 +17,14 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for data export operations.
@@ -35,6 +40,8 @@ public class DataExportController {
     private final DataExportService dataExportService;
     private final FeatureFlagService featureFlagService;
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     @GetMapping("/all/csv")
     @Operation(
             summary = "Export all user data as CSV",
@@ -238,4 +245,113 @@ public class DataExportController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @GetMapping("/stream/all/csv")
+    @Operation(
+            summary = "Stream all user data as CSV",
+            description = "Streams all user data as a CSV download without buffering it in memory, optionally gzip-compressed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Data streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllDataAsCsv(
+            @Parameter(description = "Compress the download with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Streaming all user data as CSV (gzip: {})", gzip);
+
+        featureFlagService.requireEnabled(Feature.DATA_EXPORT);
+
+        Long userId = UserContext.getCurrentUserId();
+        return streamingAttachment("finance-control-export-", ".csv", MediaType.APPLICATION_OCTET_STREAM, gzip,
+                outputStream -> dataExportService.streamUserDataAsCsv(userId, outputStream));
+    }
+
+    @GetMapping("/stream/all/json")
+    @Operation(
+            summary = "Stream all user data as JSON",
+            description = "Streams all user data as a JSON download without buffering it in memory, optionally gzip-compressed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Data streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllDataAsJson(
+            @Parameter(description = "Compress the download with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Streaming all user data as JSON (gzip: {})", gzip);
+
+        featureFlagService.requireEnabled(Feature.DATA_EXPORT);
+
+        Long userId = UserContext.getCurrentUserId();
+        return streamingAttachment("finance-control-export-", ".json", MediaType.APPLICATION_JSON, gzip,
+                outputStream -> dataExportService.streamUserDataAsJson(userId, outputStream));
+    }
+
+    @GetMapping("/stream/transactions/csv")
+    @Operation(
+            summary = "Stream transactions as CSV",
+            description = "Streams user transactions as a CSV download with optional filters, optionally gzip-compressed"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transactions streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<StreamingResponseBody> streamTransactionsAsCsv(
+            @Parameter(description = "Start date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @Parameter(description = "End date (yyyy-MM-dd)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @Parameter(description = "Transaction type (income or expense)")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "Category name")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Compress the download with gzip")
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Streaming transactions as CSV (dateFrom: {}, dateTo: {}, type: {}, category: {}, gzip: {})",
+                dateFrom, dateTo, type, category, gzip);
+
+        featureFlagService.requireEnabled(Feature.DATA_EXPORT);
+
+        Long userId = UserContext.getCurrentUserId();
+        return streamingAttachment("transactions-export-", ".csv", MediaType.APPLICATION_OCTET_STREAM, gzip,
+                outputStream -> dataExportService.streamTransactionsAsCsv(userId, dateFrom, dateTo, type, category,
+                        outputStream));
+    }
+
+    /**
+     * Builds a download whose body is written by the export service on the async request thread.
+     * The current user is resolved up front because the request context is not available there.
+     */
+    private ResponseEntity<StreamingResponseBody> streamingAttachment(String filePrefix, String extension,
+            MediaType contentType, boolean gzip, ExportWriter exportWriter) {
+        String filename = filePrefix +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss")) + extension +
+                (gzip ? ".gz" : "");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(gzip ? MediaType.parseMediaType("application/gzip") : contentType);
+        headers.setContentDispositionFormData("attachment", filename);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                if (gzip) {
+                    GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                    exportWriter.write(gzipStream);
+                    gzipStream.finish();
+                } else {
+                    exportWriter.write(outputStream);
+                }
+            } catch (IOException e) {
+                log.warn("Streaming export {} aborted: {}", filename, e.getMessage());
+                throw e;
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
 }
@@ -1,5 +1,6 @@
 package com.finance_control.shared.controller;
 
+import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.service.SupabaseRealtimeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -19,6 +21,8 @@ import java.util.Map;
 /**
  * REST controller for Supabase Realtime operations.
  * Provides endpoints for managing realtime subscriptions and broadcasting messages.
+ * Users only subscribe themselves; broadcasts and notifications carry caller-chosen payloads and
+ * are restricted to administrators, since the application sends its own through the realtime service.
  */
 @RestController
 @RequestMapping("/api/realtime")
@@ -28,6 +32,8 @@ import java.util.Map;
 @ConditionalOnProperty(value = "app.supabase.realtime.enabled", havingValue = "true", matchIfMissing = true)
 public class RealtimeController {
 
+    private static final String INTERNAL_ONLY = "hasAuthority('ADMIN')";
+
     private final SupabaseRealtimeService realtimeService;
 
     @GetMapping("/status")
@@ -65,11 +71,9 @@ public class RealtimeController {
     })
     public ResponseEntity<Map<String, Object>> subscribeToChannel(
             @Parameter(description = "Name of the realtime channel", required = true)
-            @PathVariable String channelName,
-
-            @Parameter(description = "User ID subscribing to the channel", required = true)
-            @RequestParam Long userId
+            @PathVariable String channelName
     ) {
+        Long userId = getCurrentUserId();
         log.info("Subscribing user {} to channel {}", userId, channelName);
 
         if (!realtimeService.isConnected()) {
@@ -113,11 +117,9 @@ public class RealtimeController {
     })
     public ResponseEntity<Map<String, Object>> unsubscribeFromChannel(
             @Parameter(description = "Name of the realtime channel", required = true)
-            @PathVariable String channelName,
-
-            @Parameter(description = "User ID unsubscribing from the channel", required = true)
-            @RequestParam Long userId
+            @PathVariable String channelName
     ) {
+        Long userId = getCurrentUserId();
         log.info("Unsubscribing user {} from channel {}", userId, channelName);
 
         if (!realtimeService.isConnected()) {
@@ -145,14 +147,16 @@ public class RealtimeController {
     }
 
     @PostMapping("/broadcast/{channelName}")
+    @PreAuthorize(INTERNAL_ONLY)
     @Operation(
             summary = "Broadcast message to channel",
-            description = "Broadcasts a message to all subscribers of the specified realtime channel"
+            description = "Broadcasts a message to all subscribers of the specified realtime channel; restricted to administrators"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Message broadcasted successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid channel name or message"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "503", description = "Realtime service unavailable")
     })
     public ResponseEntity<Map<String, Object>> broadcastToChannel(
@@ -188,22 +192,22 @@ public class RealtimeController {
     }
 
     @PostMapping("/notify/transaction")
+    @PreAuthorize(INTERNAL_ONLY)
     @Operation(
             summary = "Notify transaction update",
-            description = "Sends a notification about transaction updates to subscribed users"
+            description = "Sends a notification about the current user's transaction updates; restricted to administrators"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Notification sent successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "503", description = "Realtime service unavailable")
     })
     public ResponseEntity<Map<String, Object>> notifyTransactionUpdate(
-            @Parameter(description = "User ID who owns the transaction", required = true)
-            @RequestParam Long userId,
-
             @Parameter(description = "Transaction data", required = true)
             @RequestBody Map<String, Object> transactionData
     ) {
+        Long userId = getCurrentUserId();
         log.info("Notifying transaction update for user {}", userId);
 
         if (!realtimeService.isConnected()) {
@@ -231,22 +235,22 @@ public class RealtimeController {
     }
 
     @PostMapping("/notify/dashboard")
+    @PreAuthorize(INTERNAL_ONLY)
     @Operation(
             summary = "Notify dashboard update",
-            description = "Sends a notification about dashboard updates to subscribed users"
+            description = "Sends a notification about the current user's dashboard updates; restricted to administrators"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Notification sent successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "503", description = "Realtime service unavailable")
     })
     public ResponseEntity<Map<String, Object>> notifyDashboardUpdate(
-            @Parameter(description = "User ID whose dashboard was updated", required = true)
-            @RequestParam Long userId,
-
             @Parameter(description = "Dashboard data", required = true)
             @RequestBody Map<String, Object> dashboardData
     ) {
+        Long userId = getCurrentUserId();
         log.info("Notifying dashboard update for user {}", userId);
 
         if (!realtimeService.isConnected()) {
@@ -274,22 +278,22 @@ public class RealtimeController {
     }
 
     @PostMapping("/notify/goal")
+    @PreAuthorize(INTERNAL_ONLY)
     @Operation(
             summary = "Notify goal update",
-            description = "Sends a notification about goal updates to subscribed users"
+            description = "Sends a notification about the current user's goal updates; restricted to administrators"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Notification sent successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "403", description = "Forbidden"),
             @ApiResponse(responseCode = "503", description = "Realtime service unavailable")
     })
     public ResponseEntity<Map<String, Object>> notifyGoalUpdate(
-            @Parameter(description = "User ID who owns the goal", required = true)
-            @RequestParam Long userId,
-
             @Parameter(description = "Goal data", required = true)
             @RequestBody Map<String, Object> goalData
     ) {
+        Long userId = getCurrentUserId();
         log.info("Notifying goal update for user {}", userId);
 
         if (!realtimeService.isConnected()) {
@@ -315,4 +319,18 @@ public class RealtimeController {
                     .body(Map.of("error", "Failed to send notification"));
         }
     }
+
+    /**
+     * Gets the current authenticated user ID from UserContext.
+     *
+     * @return the current user ID
+     * @throws IllegalStateException if user ID is not available in context
+     */
+    private Long getCurrentUserId() {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            throw new IllegalStateException("User ID not available in context. User must be authenticated.");
+        }
+        return userId;
+    }
 }
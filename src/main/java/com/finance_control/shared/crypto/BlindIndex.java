@@ -0,0 +1,93 @@
+package com.finance_control.shared.crypto;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * Deterministic index of a sensitive value, used to look rows up without decrypting them.
+ * The keyed variant is HMAC-SHA256, so the index cannot be reversed by hashing candidate values
+ * without the key; the unkeyed variant is plain SHA-256 and is kept for rows written before the
+ * key was configured. {@link Mac} and {@link MessageDigest} instances are reused per thread.
+ */
+public final class BlindIndex {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final ThreadLocal<IndexFunction> functions;
+    private final boolean keyed;
+
+    private BlindIndex(ThreadLocal<IndexFunction> functions, boolean keyed) {
+        this.functions = functions;
+        this.keyed = keyed;
+    }
+
+    /**
+     * Creates a keyed (HMAC-SHA256) index.
+     *
+     * @param key the index key, at least 32 bytes
+     * @return the blind index
+     */
+    public static BlindIndex keyed(byte[] key) {
+        if (key == null || key.length < 32) {
+            throw new IllegalArgumentException("Blind index key must be at least 32 bytes");
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key.clone(), HMAC_ALGORITHM);
+        return new BlindIndex(perThread(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(keySpec);
+                return mac::doFinal;
+            } catch (GeneralSecurityException e) {
+                throw new CryptoException("HMAC " + HMAC_ALGORITHM + " is not available", e);
+            }
+        }), true);
+    }
+
+    /**
+     * Creates an unkeyed (SHA-256) index.
+     *
+     * @return the blind index
+     */
+    public static BlindIndex unkeyed() {
+        return new BlindIndex(perThread(() -> {
+            try {
+                MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+                return digest::digest;
+            } catch (GeneralSecurityException e) {
+                throw new CryptoException("Digest " + DIGEST_ALGORITHM + " is not available", e);
+            }
+        }), false);
+    }
+
+    /**
+     * Computes the index of an already normalised value.
+     *
+     * @param value the value, may be null
+     * @return the Base64-encoded index, or null for a null value
+     */
+    public String compute(String value) {
+        if (value == null) {
+            return null;
+        }
+        return Base64.getEncoder().encodeToString(functions.get().apply(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public boolean isKeyed() {
+        return keyed;
+    }
+
+    private static ThreadLocal<IndexFunction> perThread(Supplier<IndexFunction> factory) {
+        return ThreadLocal.withInitial(factory);
+    }
+
+    @FunctionalInterface
+    private interface IndexFunction {
+        byte[] apply(byte[] input);
+    }
+}
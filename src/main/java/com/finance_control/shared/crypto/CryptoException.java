@@ -0,0 +1,11 @@
+package com.finance_control.shared.crypto;
+
+/**
+ * Thrown when a field cannot be encrypted, decrypted or indexed.
+ */
+public class CryptoException extends RuntimeException {
+
+    public CryptoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
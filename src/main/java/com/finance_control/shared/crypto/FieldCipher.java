@@ -0,0 +1,131 @@
+package com.finance_control.shared.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * AES-256-GCM field cipher that reuses one {@link Cipher} per thread.
+ * {@code Cipher.getInstance} walks the provider list on every call; re-initialising an existing
+ * instance with a fresh IV is much cheaper and is safe as long as the instance never leaves its thread.
+ * Output is Base64 of {@code IV || ciphertext || tag}, the format already stored in the database.
+ */
+public class FieldCipher {
+
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final int GCM_IV_LENGTH = 12; // 96 bits for GCM
+    private static final int GCM_TAG_LENGTH = 16; // 128 bits for authentication tag
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(FieldCipher::newCipher);
+
+    public FieldCipher(SecretKey key) {
+        this.key = key;
+    }
+
+    /**
+     * Encrypts a value with a random IV.
+     *
+     * @param plaintext the value to encrypt, may be null
+     * @return Base64-encoded IV and ciphertext, or null for a null value
+     * @throws CryptoException if encryption fails
+     */
+    public String encrypt(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv));
+            byte[] plaintextBytes = plaintext.getBytes(StandardCharsets.UTF_8);
+
+            // Prepend IV to ciphertext
+            ByteBuffer output = ByteBuffer.allocate(GCM_IV_LENGTH + cipher.getOutputSize(plaintextBytes.length));
+            output.put(iv);
+            cipher.doFinal(ByteBuffer.wrap(plaintextBytes), output);
+            return Base64.getEncoder().encodeToString(output.array());
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("Encryption failed", e);
+        }
+    }
+
+    /**
+     * Decrypts a value produced by {@link #encrypt(String)}.
+     *
+     * @param ciphertext the Base64-encoded IV and ciphertext, may be null
+     * @return the plaintext, or null for a null value
+     * @throws CryptoException if the value is malformed or fails authentication
+     */
+    public String decrypt(String ciphertext) {
+        if (ciphertext == null) {
+            return null;
+        }
+
+        byte[] input;
+        try {
+            input = Base64.getDecoder().decode(ciphertext);
+        } catch (IllegalArgumentException e) {
+            throw new CryptoException("Ciphertext is not Base64", e);
+        }
+        if (input.length < GCM_IV_LENGTH + GCM_TAG_LENGTH) {
+            throw new CryptoException("Ciphertext too short", null);
+        }
+
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * 8, input, 0, GCM_IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(input, GCM_IV_LENGTH, input.length - GCM_IV_LENGTH);
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("Decryption failed", e);
+        }
+    }
+
+    /**
+     * Encrypts several values on the calling thread, reusing the same cipher.
+     *
+     * @param plaintexts the values to encrypt; null elements stay null
+     * @return the encrypted values in the same order
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        List<String> result = new ArrayList<>(plaintexts.size());
+        for (String plaintext : plaintexts) {
+            result.add(encrypt(plaintext));
+        }
+        return result;
+    }
+
+    /**
+     * Decrypts several values on the calling thread, reusing the same cipher.
+     *
+     * @param ciphertexts the values to decrypt; null elements stay null
+     * @return the decrypted values in the same order
+     * @throws CryptoException if any value cannot be decrypted
+     */
+    public List<String> decryptAll(List<String> ciphertexts) {
+        List<String> result = new ArrayList<>(ciphertexts.size());
+        for (String ciphertext : ciphertexts) {
+            result.add(decrypt(ciphertext));
+        }
+        return result;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("Cipher " + ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.finance_control.shared.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of results from a keyset (cursor) listing.
+ * Unlike {@link org.springframework.data.domain.Page}, it carries an opaque cursor to the next page
+ * instead of a page number, and only reports the total when the client asks for it.
+ *
+ * @param <T> the type of the page items
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    /** Cursor to pass back to fetch the next page; null on the last page. */
+    private String nextCursor;
+
+    private boolean hasNext;
+
+    private int size;
+
+    /** Total number of items in the listing; only set when requested. */
+    private Long totalElements;
+}
@@ -0,0 +1,11 @@
+package com.finance_control.shared.event;
+
+/**
+ * Domain event raised when a user's account state (active flag, email, Supabase link) has
+ * changed, so cached authentication principals for that user must be discarded.
+ * Listeners receive it after the originating transaction commits.
+ *
+ * @param userId the ID of the user whose account changed
+ */
+public record UserAccountChangedEvent(Long userId) {
+}
@@ -0,0 +1,65 @@
+package com.finance_control.shared.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Publishes {@link UserDataChangedEvent}s from write paths.
+ * Bulk operations can wrap their work in {@link #coalesce(UserDataChangedEvent.Source, Supplier)}
+ * so that a single event per affected user is published once the work is done.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDataChangePublisher {
+
+    private static final ThreadLocal<Set<Long>> COALESCED_USERS = new ThreadLocal<>();
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Publishes a change for a user, or records it when inside a coalesced block.
+     *
+     * @param userId the ID of the user whose data changed
+     * @param source the kind of write that caused the change
+     */
+    public void publish(Long userId, UserDataChangedEvent.Source source) {
+        if (userId == null) {
+            return;
+        }
+        Set<Long> coalesced = COALESCED_USERS.get();
+        if (coalesced != null) {
+            coalesced.add(userId);
+            return;
+        }
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId, source));
+    }
+
+    /**
+     * Runs a bulk operation, publishing one event per affected user when it finishes.
+     * Nested calls join the outermost block.
+     *
+     * @param source the source reported for the coalesced events
+     * @param work the bulk operation
+     * @param <T> the result type
+     * @return the result of the operation
+     */
+    public <T> T coalesce(UserDataChangedEvent.Source source, Supplier<T> work) {
+        if (COALESCED_USERS.get() != null) {
+            return work.get();
+        }
+
+        Set<Long> coalesced = new LinkedHashSet<>();
+        COALESCED_USERS.set(coalesced);
+        try {
+            return work.get();
+        } finally {
+            COALESCED_USERS.remove();
+            coalesced.forEach(userId -> eventPublisher.publishEvent(new UserDataChangedEvent(userId, source)));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.finance_control.shared.event;
+
+/**
+ * Domain event raised when data that feeds a user's derived views (dashboard, reports,
+ * monthly trends) has changed. Listeners receive it after the originating transaction commits.
+ *
+ * @param userId the ID of the user whose data changed
+ * @param source the kind of write that caused the change
+ */
+public record UserDataChangedEvent(Long userId, Source source) {
+
+    public enum Source {
+        TRANSACTION,
+        GOAL,
+        INVESTMENT,
+        IMPORT
+    }
+}
@@ -0,0 +1,78 @@
+package com.finance_control.shared.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Consecutive-failure circuit breaker for one upstream provider.
+ * After {@code failureThreshold} failed calls in a row the circuit opens and calls are rejected
+ * without reaching the upstream. Once {@code openDuration} has passed a single trial call is let
+ * through: its success closes the circuit, its failure keeps it open for another period.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Decides whether a call may reach the upstream.
+     * In the open state the first caller after {@code openDuration} becomes the trial call;
+     * a trial that never reports back is replaced after another {@code openDuration}.
+     *
+     * @return true if the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            openedAt = now;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Circuit {} closed", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            log.warn("Circuit {} opened after {} consecutive failures", name, consecutiveFailures);
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
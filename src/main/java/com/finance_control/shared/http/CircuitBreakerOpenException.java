@@ -0,0 +1,11 @@
+package com.finance_control.shared.http;
+
+/**
+ * Thrown when a call is rejected because the provider's circuit is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String provider) {
+        super(String.format("Circuit for %s is open, call rejected", provider));
+    }
+}
@@ -0,0 +1,117 @@
+package com.finance_control.shared.http;
+
+import com.finance_control.shared.monitoring.MetricsService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking GET client for one upstream provider.
+ * Every attempt is bounded by the request timeout; connection errors, timeouts, 5xx and 429
+ * responses are retried with exponential backoff, and the final outcome of each call feeds the
+ * provider's circuit breaker. Other 4xx responses mean the upstream is healthy and are returned
+ * to the caller without retry. Each call's latency is recorded per provider and outcome.
+ */
+public class OutboundHttpClient {
+
+    private final String provider;
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final MetricsService metricsService;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    public OutboundHttpClient(String provider, WebClient webClient, CircuitBreaker circuitBreaker,
+            MetricsService metricsService, Duration requestTimeout, int maxRetries, Duration retryBackoff) {
+        this.provider = provider;
+        this.webClient = webClient;
+        this.circuitBreaker = circuitBreaker;
+        this.metricsService = metricsService;
+        this.requestTimeout = requestTimeout;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * GETs an absolute or base-relative URI and decodes the body.
+     *
+     * @return the body, or empty if the upstream returned none
+     */
+    public <T> Mono<T> get(String uri, Class<T> responseType) {
+        return execute(() -> webClient.get().uri(uri), responseType);
+    }
+
+    /**
+     * GETs a URI built on the client's base URL, with extra request headers.
+     *
+     * @return the body, or empty if the upstream returned none
+     */
+    public <T> Mono<T> get(Function<UriBuilder, URI> uri, Consumer<HttpHeaders> headers, Class<T> responseType) {
+        return execute(() -> webClient.get().uri(uri).headers(headers), responseType);
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private <T> Mono<T> execute(Supplier<WebClient.RequestHeadersSpec<?>> request,
+            Class<T> responseType) {
+        Mono<T> attempt = Mono.defer(() -> request.get().retrieve().bodyToMono(responseType))
+                .timeout(requestTimeout);
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                metricsService.recordOutboundRequest(provider, "circuit_open", Duration.ZERO);
+                return Mono.<T>error(new CircuitBreakerOpenException(provider));
+            }
+            long start = System.nanoTime();
+            return attempt
+                    .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                            .filter(OutboundHttpClient::isTransient)
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                    .doOnSuccess(body -> {
+                        circuitBreaker.recordSuccess();
+                        recordOutcome("success", start);
+                    })
+                    .doOnError(error -> {
+                        if (isTransient(error)) {
+                            circuitBreaker.recordFailure();
+                            recordOutcome("failure", start);
+                        } else {
+                            circuitBreaker.recordSuccess();
+                            recordOutcome("client_error", start);
+                        }
+                    });
+        });
+    }
+
+    private void recordOutcome(String outcome, long startNanos) {
+        metricsService.recordOutboundRequest(provider, outcome, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Whether a failure says the upstream is unavailable rather than that the request was wrong.
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,113 @@
+package com.finance_control.shared.http;
+
+import com.finance_control.shared.monitoring.MetricsService;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.SslContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared outbound HTTP layer for external providers.
+ * All clients run on one Reactor Netty connection provider, which keeps a separate pool of up to
+ * {@code max-connections-per-host} connections for each remote host, so a slow upstream cannot
+ * exhaust connections other providers need. Clients are created once per provider name and share
+ * that provider's circuit breaker.
+ */
+@Slf4j
+@Component
+public class OutboundHttpClients {
+
+    private static final int MAX_RESPONSE_BYTES = 4 * 1024 * 1024;
+
+    private final MetricsService metricsService;
+    private final ConnectionProvider connectionProvider;
+    private final Map<String, OutboundHttpClient> clients = new ConcurrentHashMap<>();
+    private final int connectTimeoutMs;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    public OutboundHttpClients(MetricsService metricsService,
+            @Value("${app.http.max-connections-per-host:50}") int maxConnectionsPerHost,
+            @Value("${app.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMs,
+            @Value("${app.http.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${app.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${app.http.request-timeout-ms:10000}") long requestTimeoutMs,
+            @Value("${app.http.max-retries:2}") int maxRetries,
+            @Value("${app.http.retry-backoff-ms:200}") long retryBackoffMs,
+            @Value("${app.http.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.http.circuit-breaker.open-duration-ms:30000}") long openDurationMs) {
+        this.metricsService = metricsService;
+        this.connectionProvider = ConnectionProvider.builder("outbound-http")
+                .maxConnections(Math.max(1, maxConnectionsPerHost))
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(maxIdleTimeMs))
+                .build();
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofMillis(openDurationMs);
+    }
+
+    /**
+     * Returns the client of a provider, creating it on first use.
+     *
+     * @param provider the provider name, which also names its circuit breaker
+     * @param baseUrl the base URL relative request URIs resolve against
+     * @return the provider's client
+     */
+    public OutboundHttpClient forProvider(String provider, String baseUrl) {
+        return forProvider(provider, baseUrl, null);
+    }
+
+    /**
+     * Returns the client of a provider that needs its own TLS setup, such as mutual TLS.
+     *
+     * @param provider the provider name, which also names its circuit breaker
+     * @param baseUrl the base URL relative request URIs resolve against
+     * @param sslContext the TLS context, or null for the default
+     * @return the provider's client
+     */
+    public OutboundHttpClient forProvider(String provider, String baseUrl, SslContext sslContext) {
+        return clients.computeIfAbsent(provider, name -> create(name, baseUrl, sslContext));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
+    }
+
+    private OutboundHttpClient create(String provider, String baseUrl, SslContext sslContext) {
+        log.info("Creating outbound HTTP client for {} with base URL: {}", provider, baseUrl);
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs);
+        if (sslContext != null) {
+            httpClient = httpClient.secure(spec -> spec.sslContext(sslContext));
+        }
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES))
+                .build();
+
+        return new OutboundHttpClient(provider, webClient,
+                new CircuitBreaker(provider, failureThreshold, openDuration), metricsService,
+                requestTimeout, maxRetries, retryBackoff);
+    }
+}
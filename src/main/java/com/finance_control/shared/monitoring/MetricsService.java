@@ -1,7 +1,11 @@
 package com.finance_control.shared.monitoring;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import io.sentry.SentryLevel;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -11,53 +15,138 @@ import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Simplified service for managing application metrics and monitoring.
- * Uses Sentry for error tracking and performance monitoring.
+ * Service for managing application metrics and monitoring.
+ * Counters, gauges and latency timers are Micrometer meters exported through the actuator
+ * ({@code /actuator/metrics}, {@code /actuator/prometheus}); timers publish percentile histograms
+ * and SLO buckets so p95/p99 can be computed across instances. Sentry is used for error tracking
+ * and breadcrumbs on slow operations.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MetricsService {
 
-    private final SentryService sentryService;
+    private static final String PREFIX = "finance.";
 
-    private final AtomicLong transactionCreatedCounter = new AtomicLong(0);
-    private final AtomicLong transactionUpdatedCounter = new AtomicLong(0);
-    private final AtomicLong transactionDeletedCounter = new AtomicLong(0);
-    private final AtomicLong userLoginCounter = new AtomicLong(0);
-    private final AtomicLong userRegistrationCounter = new AtomicLong(0);
-    private final AtomicLong goalCreatedCounter = new AtomicLong(0);
-    private final AtomicLong goalCompletedCounter = new AtomicLong(0);
-    private final AtomicLong cacheHitCounter = new AtomicLong(0);
-    private final AtomicLong cacheMissCounter = new AtomicLong(0);
-    private final AtomicLong rateLimitExceededCounter = new AtomicLong(0);
-    private final AtomicLong apiErrorCounter = new AtomicLong(0);
-
-    private final AtomicLong activeUsersGauge = new AtomicLong(0);
-    private final AtomicLong totalTransactionsGauge = new AtomicLong(0);
-    private final AtomicLong activeGoalsGauge = new AtomicLong(0);
-    private final AtomicLong pendingReconciliationsGauge = new AtomicLong(0);
+    private final SentryService sentryService;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter transactionCreatedCounter;
+    private final Counter transactionUpdatedCounter;
+    private final Counter transactionDeletedCounter;
+    private final Counter userLoginCounter;
+    private final Counter userRegistrationCounter;
+    private final Counter goalCreatedCounter;
+    private final Counter goalCompletedCounter;
+    private final Counter cacheHitCounter;
+    private final Counter cacheMissCounter;
+    private final Counter persistentCacheHitCounter;
+    private final Counter persistentCacheMissCounter;
+    private final Counter persistentCacheWriteDroppedCounter;
+    private final Counter rateLimitExceededCounter;
+    private final Counter transactionBulkInsertedCounter;
+    private final Counter marketRefreshTickersCounter;
+    private final Counter marketRefreshFailedTickersCounter;
+
+    private final Timer transactionProcessingTimer;
+    private final Timer authenticationTimer;
+    private final Timer dashboardGenerationTimer;
+    private final Timer marketRefreshTimer;
+    private final Timer transactionBulkInsertTimer;
+    private final Timer realtimeSendTimer;
+
+    private final AtomicLong realtimeQueueDepthGauge;
+    private final AtomicLong marketDataLagSecondsGauge;
+    private final AtomicLong activeUsersGauge;
+    private final AtomicLong totalTransactionsGauge;
+    private final AtomicLong activeGoalsGauge;
+    private final AtomicLong pendingReconciliationsGauge;
 
     // Open Finance metrics
-    private final AtomicLong openFinanceConsentCreatedCounter = new AtomicLong(0);
-    private final AtomicLong openFinanceConsentRevokedCounter = new AtomicLong(0);
-    private final AtomicLong openFinanceAccountSyncSuccessCounter = new AtomicLong(0);
-    private final AtomicLong openFinanceAccountSyncFailureCounter = new AtomicLong(0);
-    private final AtomicLong openFinanceTransactionImportedCounter = new AtomicLong(0);
-    private final AtomicLong openFinancePaymentInitiatedCounter = new AtomicLong(0);
+    private final Counter openFinanceConsentCreatedCounter;
+    private final Counter openFinanceConsentRevokedCounter;
+    private final Counter openFinanceAccountSyncSuccessCounter;
+    private final Counter openFinanceAccountSyncFailureCounter;
+    private final Counter openFinanceTransactionImportedCounter;
+    private final Counter openFinancePaymentInitiatedCounter;
+    private final AtomicLong openFinanceSyncLagSecondsGauge;
+
+    public MetricsService(SentryService sentryService, MeterRegistry meterRegistry) {
+        this.sentryService = sentryService;
+        this.meterRegistry = meterRegistry;
+
+        this.transactionCreatedCounter = counter("transactions.created", "Transactions created");
+        this.transactionUpdatedCounter = counter("transactions.updated", "Transactions updated");
+        this.transactionDeletedCounter = counter("transactions.deleted", "Transactions deleted");
+        this.userLoginCounter = counter("users.logins", "Successful user logins");
+        this.userRegistrationCounter = counter("users.registrations", "User registrations");
+        this.goalCreatedCounter = counter("goals.created", "Financial goals created");
+        this.goalCompletedCounter = counter("goals.completed", "Financial goals completed");
+        this.cacheHitCounter = counter("cache.hits", "Application cache hits");
+        this.cacheMissCounter = counter("cache.misses", "Application cache misses");
+        this.persistentCacheHitCounter = counter("dashboard.persistent_cache.hits", "Persistent dashboard cache hits");
+        this.persistentCacheMissCounter = counter("dashboard.persistent_cache.misses",
+                "Persistent dashboard cache misses");
+        this.persistentCacheWriteDroppedCounter = counter("dashboard.persistent_cache.writes.dropped",
+                "Persistent dashboard cache writes dropped because the write queue was full");
+        this.rateLimitExceededCounter = counter("rate_limit.exceeded", "Requests rejected by rate limiting");
+        this.transactionBulkInsertedCounter = counter("transactions.bulk_inserted", "Transactions bulk inserted");
+        this.marketRefreshTickersCounter = counter("market.refresh.tickers",
+                "Tickers refreshed by market refresh runs");
+        this.marketRefreshFailedTickersCounter = counter("market.refresh.tickers.failed",
+                "Tickers that failed to refresh");
+
+        this.transactionProcessingTimer = latencyTimer("transactions.processing", "Transaction create/update time",
+                Tags.empty(), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+                Duration.ofMillis(500), Duration.ofSeconds(1));
+        this.authenticationTimer = latencyTimer("auth.duration", "Authentication time", Tags.empty(),
+                Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1));
+        this.dashboardGenerationTimer = latencyTimer("dashboard.generation", "Dashboard summary generation time",
+                Tags.empty(), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(2), Duration.ofSeconds(5));
+        this.marketRefreshTimer = latencyTimer("market.refresh", "Market data refresh run time", Tags.empty(),
+                Duration.ofSeconds(5), Duration.ofSeconds(15), Duration.ofSeconds(30), Duration.ofSeconds(60));
+        this.transactionBulkInsertTimer = latencyTimer("transactions.bulk_insert", "Transaction bulk insert time",
+                Tags.empty(), Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(5));
+        this.realtimeSendTimer = latencyTimer("realtime.send", "Realtime message delivery time", Tags.empty(),
+                Duration.ofMillis(50), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(2));
+
+        this.realtimeQueueDepthGauge = gauge("realtime.queue.depth", "Realtime messages waiting for delivery");
+        this.marketDataLagSecondsGauge = gauge("market.refresh.lag.seconds", "Age of the stalest refreshed quote");
+        this.activeUsersGauge = gauge("users.active", "Active users");
+        this.totalTransactionsGauge = gauge("transactions.count", "Total transactions");
+        this.activeGoalsGauge = gauge("goals.active", "Active financial goals");
+        this.pendingReconciliationsGauge = gauge("transactions.pending_reconciliations",
+                "Transactions pending reconciliation");
+
+        this.openFinanceConsentCreatedCounter = counter("open_finance.consents.created",
+                "Open Finance consents created");
+        this.openFinanceConsentRevokedCounter = counter("open_finance.consents.revoked",
+                "Open Finance consents revoked");
+        this.openFinanceAccountSyncSuccessCounter = counter("open_finance.account_syncs.succeeded",
+                "Successful Open Finance account syncs");
+        this.openFinanceAccountSyncFailureCounter = counter("open_finance.account_syncs.failed",
+                "Failed Open Finance account syncs");
+        this.openFinanceTransactionImportedCounter = counter("open_finance.transactions.imported",
+                "Open Finance transactions imported");
+        this.openFinancePaymentInitiatedCounter = counter("open_finance.payments.initiated",
+                "Open Finance payments initiated");
+        this.openFinanceSyncLagSecondsGauge = gauge("open_finance.sync.lag.seconds",
+                "Time since the least recently synced Open Finance account was synced");
+    }
 
     public void incrementTransactionCreated() {
-        transactionCreatedCounter.incrementAndGet();
+        transactionCreatedCounter.increment();
         log.debug("Transaction created counter incremented");
     }
 
     public void incrementTransactionUpdated() {
-        transactionUpdatedCounter.incrementAndGet();
+        transactionUpdatedCounter.increment();
         log.debug("Transaction updated counter incremented");
     }
 
     public void incrementTransactionDeleted() {
-        transactionDeletedCounter.incrementAndGet();
+        transactionDeletedCounter.increment();
         log.debug("Transaction deleted counter incremented");
     }
 
@@ -67,6 +156,7 @@ public class MetricsService {
 
     public void recordTransactionProcessingTime(Instant startTime) {
         Duration duration = Duration.between(startTime, Instant.now());
+        transactionProcessingTimer.record(duration);
         if (duration.toMillis() > 1000) {
             sentryService.addBreadcrumb("Slow transaction processing: " + duration.toMillis() + "ms",
                     "performance", SentryLevel.WARNING);
@@ -75,12 +165,12 @@ public class MetricsService {
     }
 
     public void incrementUserLogin() {
-        userLoginCounter.incrementAndGet();
+        userLoginCounter.increment();
         log.debug("User login counter incremented");
     }
 
     public void incrementUserRegistration() {
-        userRegistrationCounter.incrementAndGet();
+        userRegistrationCounter.increment();
         log.debug("User registration counter incremented");
     }
 
@@ -95,6 +185,7 @@ public class MetricsService {
 
     public void recordAuthenticationTime(Instant startTime) {
         Duration duration = Duration.between(startTime, Instant.now());
+        authenticationTimer.record(duration);
         if (duration.toMillis() > 500) {
             sentryService.addBreadcrumb("Slow authentication: " + duration.toMillis() + "ms", "performance");
         }
@@ -102,12 +193,12 @@ public class MetricsService {
     }
 
     public void incrementGoalCreated() {
-        goalCreatedCounter.incrementAndGet();
+        goalCreatedCounter.increment();
         log.debug("Goal created counter incremented");
     }
 
     public void incrementGoalCompleted() {
-        goalCompletedCounter.incrementAndGet();
+        goalCompletedCounter.increment();
         log.debug("Goal completed counter incremented");
     }
 
@@ -117,22 +208,64 @@ public class MetricsService {
     }
 
     public void incrementCacheHit() {
-        cacheHitCounter.incrementAndGet();
+        cacheHitCounter.increment();
         log.debug("Cache hit counter incremented");
     }
 
     public void incrementCacheMiss() {
-        cacheMissCounter.incrementAndGet();
+        cacheMissCounter.increment();
         log.debug("Cache miss counter incremented");
     }
 
+    public void incrementPersistentCacheHit() {
+        persistentCacheHitCounter.increment();
+        log.debug("Persistent cache hit counter incremented");
+    }
+
+    public void incrementPersistentCacheMiss() {
+        persistentCacheMissCounter.increment();
+        log.debug("Persistent cache miss counter incremented");
+    }
+
+    public void incrementPersistentCacheWriteDropped() {
+        persistentCacheWriteDroppedCounter.increment();
+        log.debug("Persistent cache write dropped counter incremented");
+    }
+
     public void incrementRateLimitExceeded() {
-        rateLimitExceededCounter.incrementAndGet();
+        rateLimitExceededCounter.increment();
         log.warn("Rate limit exceeded counter incremented");
     }
 
+    public void recordRateLimitDecision(String tier, boolean allowed, long tokens) {
+        meterRegistry.counter(PREFIX + "rate_limit.decisions",
+                "tier", tier, "decision", allowed ? "allowed" : "rejected").increment();
+        if (allowed) {
+            meterRegistry.counter(PREFIX + "rate_limit.tokens", "tier", tier).increment(tokens);
+        } else {
+            incrementRateLimitExceeded();
+        }
+    }
+
+    public void setRealtimeQueueDepth(long depth) {
+        realtimeQueueDepthGauge.set(depth);
+    }
+
+    public void recordRealtimeSendLatency(Duration latency) {
+        realtimeSendTimer.record(latency);
+        long millis = latency.toMillis();
+        if (millis > 2000) {
+            sentryService.addBreadcrumb("Slow realtime delivery: " + millis + "ms", "performance", SentryLevel.WARNING);
+        }
+    }
+
+    public void incrementRealtimeMessageDropped(String reason) {
+        meterRegistry.counter(PREFIX + "realtime.dropped", "reason", reason).increment();
+        log.debug("Realtime message dropped ({})", reason);
+    }
+
     public void incrementApiError(String errorType) {
-        apiErrorCounter.incrementAndGet();
+        meterRegistry.counter(PREFIX + "api.errors", "type", errorType).increment();
         sentryService.addBreadcrumb("API error: " + errorType, "error", SentryLevel.ERROR);
         log.warn("API error counter incremented for type: {}", errorType);
     }
@@ -143,6 +276,7 @@ public class MetricsService {
 
     public void recordDashboardGenerationTime(Instant startTime) {
         Duration duration = Duration.between(startTime, Instant.now());
+        dashboardGenerationTimer.record(duration);
         if (duration.toMillis() > 2000) {
             sentryService.addBreadcrumb("Slow dashboard generation: " + duration.toMillis() + "ms",
                     "performance", SentryLevel.WARNING);
@@ -155,7 +289,20 @@ public class MetricsService {
     }
 
     public void recordMarketDataFetchTime(Instant startTime) {
+        recordMarketDataFetchTime(startTime, "aggregate");
+    }
+
+    /**
+     * Records a market data fetch against one provider.
+     *
+     * @param startTime when the fetch started
+     * @param provider the provider name, used as the {@code provider} tag
+     */
+    public void recordMarketDataFetchTime(Instant startTime, String provider) {
         Duration duration = Duration.between(startTime, Instant.now());
+        latencyTimer("market.fetch", "Market data fetch time", Tags.of("provider", provider),
+                Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(3))
+                .record(duration);
         if (duration.toMillis() > 3000) {
             sentryService.addBreadcrumb("Slow market data fetch: " + duration.toMillis() + "ms",
                     "performance", SentryLevel.WARNING);
@@ -163,6 +310,49 @@ public class MetricsService {
         log.debug("Market data fetch time: {}ms", duration.toMillis());
     }
 
+    public void recordMarketDataRefresh(int tickers, int failed, Duration duration) {
+        marketRefreshTickersCounter.increment(tickers);
+        marketRefreshFailedTickersCounter.increment(failed);
+        marketRefreshTimer.record(duration);
+        long millis = duration.toMillis();
+        if (millis > 60000) {
+            sentryService.addBreadcrumb("Slow market data refresh: " + tickers + " tickers in " + millis + "ms",
+                    "performance", SentryLevel.WARNING);
+        }
+        log.debug("Market data refresh: {} tickers ({} failed) in {}ms", tickers, failed, millis);
+    }
+
+    public void setMarketDataRefreshLag(Duration lag) {
+        marketDataLagSecondsGauge.set(lag.toSeconds());
+        log.debug("Market data refresh lag gauge updated to: {}s", lag.toSeconds());
+    }
+
+    public void recordImportStage(String stage, long items, Duration duration) {
+        meterRegistry.counter(PREFIX + "import.items", "stage", stage).increment(items);
+        latencyTimer("import.stage", "Transaction import stage time", Tags.of("stage", stage),
+                Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofSeconds(10)).record(duration);
+        long millis = duration.toMillis();
+        long itemsPerSecond = millis > 0 ? items * 1000 / millis : items;
+        if (millis > 10000) {
+            sentryService.addBreadcrumb("Slow import stage " + stage + ": " + items + " items in " + millis + "ms",
+                    "performance", SentryLevel.WARNING);
+        }
+        log.debug("Import stage {} processed {} items in {}ms ({} items/s)", stage, items, millis, itemsPerSecond);
+    }
+
+    public void recordTransactionBulkInsert(long rows, Duration duration) {
+        transactionBulkInsertedCounter.increment(rows);
+        transactionBulkInsertTimer.record(duration);
+        long millis = duration.toMillis();
+        long rowsPerSecond = millis > 0 ? rows * 1000 / millis : rows;
+        if (millis > 5000) {
+            sentryService.addBreadcrumb("Slow transaction bulk insert: " + rows + " rows in " + millis + "ms",
+                    "performance", SentryLevel.WARNING);
+        }
+        log.debug("Bulk inserted {} transactions in {}ms ({} rows/s)", rows, millis, rowsPerSecond);
+    }
+
     public void setTotalTransactions(long count) {
         totalTransactionsGauge.set(count);
         log.debug("Total transactions gauge updated to: {}", count);
@@ -222,35 +412,86 @@ public class MetricsService {
     }
 
     public void incrementOpenFinanceConsentCreated() {
-        openFinanceConsentCreatedCounter.incrementAndGet();
+        openFinanceConsentCreatedCounter.increment();
         log.debug("Open Finance consent created counter incremented");
     }
 
     public void incrementOpenFinanceConsentRevoked() {
-        openFinanceConsentRevokedCounter.incrementAndGet();
+        openFinanceConsentRevokedCounter.increment();
         log.debug("Open Finance consent revoked counter incremented");
     }
 
     public void incrementOpenFinanceAccountSyncSuccess() {
-        openFinanceAccountSyncSuccessCounter.incrementAndGet();
+        openFinanceAccountSyncSuccessCounter.increment();
         log.debug("Open Finance account sync success counter incremented");
     }
 
     public void incrementOpenFinanceAccountSyncFailure() {
-        openFinanceAccountSyncFailureCounter.incrementAndGet();
+        openFinanceAccountSyncFailureCounter.increment();
         log.debug("Open Finance account sync failure counter incremented");
     }
 
     public void incrementOpenFinanceTransactionImported() {
-        openFinanceTransactionImportedCounter.incrementAndGet();
+        openFinanceTransactionImportedCounter.increment();
         log.debug("Open Finance transaction imported counter incremented");
     }
 
     public void incrementOpenFinancePaymentInitiated() {
-        openFinancePaymentInitiatedCounter.incrementAndGet();
+        openFinancePaymentInitiatedCounter.increment();
         log.debug("Open Finance payment initiated counter incremented");
     }
 
+    public void recordOpenFinanceSyncRun(String syncType, int accounts, int failed, Duration duration) {
+        meterRegistry.counter(PREFIX + "open_finance.sync.accounts", "sync_type", syncType).increment(accounts);
+        meterRegistry.counter(PREFIX + "open_finance.sync.failures", "sync_type", syncType).increment(failed);
+        latencyTimer("open_finance.sync.run", "Open Finance sync run time", Tags.of("sync_type", syncType),
+                Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15), Duration.ofMinutes(30))
+                .record(duration);
+        long millis = duration.toMillis();
+        long accountsPerMinute = millis > 0 ? accounts * 60000L / millis : accounts;
+        if (millis > 1800000) {
+            sentryService.addBreadcrumb("Slow Open Finance " + syncType + " sync: " + accounts + " accounts in "
+                    + millis + "ms", "performance", SentryLevel.WARNING);
+        }
+        log.debug("Open Finance {} sync: {} accounts ({} failed) in {}ms ({} accounts/min)",
+                syncType, accounts, failed, millis, accountsPerMinute);
+    }
+
+    public void setOpenFinanceSyncLag(Duration lag) {
+        openFinanceSyncLagSecondsGauge.set(lag.toSeconds());
+        log.debug("Open Finance sync lag gauge updated to: {}s", lag.toSeconds());
+    }
+
+    /**
+     * Records the sync of one Open Finance account, tagged by sync type, institution and outcome.
+     *
+     * @param syncType the kind of sync, such as {@code TRANSACTIONS} or {@code BALANCE}
+     * @param institutionId the account's institution
+     * @param success whether the account synced successfully
+     * @param duration the time the account's sync took
+     */
+    public void recordOpenFinanceAccountSync(String syncType, Long institutionId, boolean success, Duration duration) {
+        latencyTimer("open_finance.account.sync", "Open Finance single account sync time",
+                Tags.of("sync_type", syncType, "institution", String.valueOf(institutionId),
+                        "outcome", success ? "success" : "failure"),
+                Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(15))
+                .record(duration);
+    }
+
+    /**
+     * Records a call to an external provider through the shared outbound HTTP layer.
+     *
+     * @param provider the provider name
+     * @param outcome {@code success}, {@code client_error}, {@code failure} or {@code circuit_open}
+     * @param duration the time the call took, retries included
+     */
+    public void recordOutboundRequest(String provider, String outcome, Duration duration) {
+        latencyTimer("outbound.requests", "Outbound calls to external providers",
+                Tags.of("provider", provider, "outcome", outcome),
+                Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+                Duration.ofSeconds(3)).record(duration);
+    }
+
     public void incrementOpenFinanceSyncCount(String syncType) {
         if ("BALANCE".equals(syncType)) {
             incrementOpenFinanceAccountSyncSuccess();
@@ -258,4 +499,31 @@ public class MetricsService {
             incrementOpenFinanceTransactionImported();
         }
     }
+
+    private Counter counter(String name, String description) {
+        return Counter.builder(PREFIX + name)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private AtomicLong gauge(String name, String description) {
+        AtomicLong value = new AtomicLong(0);
+        Gauge.builder(PREFIX + name, value, AtomicLong::get)
+                .description(description)
+                .register(meterRegistry);
+        return value;
+    }
+
+    /**
+     * Latency timer with a percentile histogram and SLO buckets. Registering an existing name and
+     * tag set returns the registered timer, so tagged timers are looked up on every call.
+     */
+    private Timer latencyTimer(String name, String description, Tags tags, Duration... serviceLevelObjectives) {
+        return Timer.builder(PREFIX + name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,20 @@
+package com.finance_control.shared.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Map;
+
+/**
+ * Implemented by beans that own Caffeine caches outside the Spring cache manager, so their
+ * hit, miss, eviction and size statistics are published as cache metrics alongside the managed caches.
+ */
+public interface MonitoredCaches {
+
+    /**
+     * The caches to monitor, keyed by the name they are published under.
+     * The caches must be built with {@code recordStats()}.
+     *
+     * @return the caches by metric name
+     */
+    Map<String, Cache<?, ?>> monitoredCaches();
+}
@@ -144,11 +144,10 @@ public class SentryRequestFilter extends OncePerRequestFilter {
 
                 if (principal instanceof CustomUserDetails) {
                     CustomUserDetails userDetails = (CustomUserDetails) principal;
-                    com.finance_control.users.model.User user = userDetails.getUser();
                     sentryService.setUserContext(
-                        user.getId(),
-                        user.getEmail(),
-                        user.getEmail() // Using email as username
+                        userDetails.getUserId(),
+                        userDetails.getEmail(),
+                        userDetails.getEmail() // Using email as username
                     );
                 } else if (principal instanceof UserDetails) {
                     UserDetails userDetails = (UserDetails) principal;
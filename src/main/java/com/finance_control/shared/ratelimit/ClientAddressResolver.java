@@ -0,0 +1,84 @@
+package com.finance_control.shared.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the address anonymous requests are rate limited by.
+ * Forwarding headers are only honoured when the connection comes from a configured trusted proxy
+ * ({@code app.rate-limit.trusted-proxies}, IPs or CIDR ranges); otherwise any client could pick
+ * a fresh bucket per request by sending its own {@code X-Forwarded-For}. Behind trusted proxies,
+ * {@code X-Forwarded-For} is read from the right and the first hop that is not a trusted proxy
+ * is the client.
+ */
+@Component
+public class ClientAddressResolver {
+
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientAddressResolver(@Value("${app.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Returns the client address of a request.
+     *
+     * @param request the HTTP request
+     * @return the connecting address, or the forwarded client address when the connection
+     *         comes from a trusted proxy
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            String client = remoteAddr;
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (hop.isEmpty()) {
+                    continue;
+                }
+                client = hop;
+                if (!isTrustedProxy(hop)) {
+                    break;
+                }
+            }
+            return client;
+        }
+
+        String realIp = request.getHeader("X-Real-IP");
+        return realIp != null && !realIp.isBlank() ? realIp.trim() : remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        // Only IP literals are matched so a forged hop never triggers a DNS lookup
+        if (address == null || (!address.contains(":") && !IPV4.matcher(address).matches())) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            try {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
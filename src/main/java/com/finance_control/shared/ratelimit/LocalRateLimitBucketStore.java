@@ -0,0 +1,59 @@
+package com.finance_control.shared.ratelimit;
+
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * In-memory bucket store backed by a bounded Caffeine map.
+ * Buckets of idle clients expire, and the size bound keeps a flood of distinct keys (for example
+ * spoofed IPs) from growing the map without limit. An evicted bucket restarts full, which only
+ * errs on the side of letting a request through.
+ */
+public class LocalRateLimitBucketStore implements RateLimitBucketStore, MonitoredCaches {
+
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimitBucketStore(long maximumSize, Duration idleTimeout) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> monitoredCaches() {
+        return Map.of("rate-limit-buckets", buckets);
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration, long tokens) {
+        return buckets.get(key, k -> newBucket(configuration)).tryConsumeAndReturnRemaining(tokens);
+    }
+
+    /**
+     * Returns the number of buckets currently held.
+     *
+     * @return the estimated bucket count
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private Bucket newBucket(BucketConfiguration configuration) {
+        LocalBucketBuilder builder = Bucket.builder();
+        for (Bandwidth bandwidth : configuration.getBandwidths()) {
+            builder.addLimit(bandwidth);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.finance_control.shared.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Holds one token bucket per client key.
+ * The in-memory {@link LocalRateLimitBucketStore} limits each node on its own; when Redis is
+ * configured a Redis-backed store shares the buckets across every node.
+ */
+public interface RateLimitBucketStore {
+
+    /**
+     * Tries to take tokens from the bucket of a key, creating the bucket on first use.
+     *
+     * @param key the bucket key
+     * @param configuration the limits applied when the bucket is created
+     * @param tokens the number of tokens to consume
+     * @return the consumption result with the remaining tokens and wait time
+     */
+    ConsumptionProbe tryConsume(String key, BucketConfiguration configuration, long tokens);
+}
@@ -0,0 +1,123 @@
+package com.finance_control.shared.ratelimit;
+
+import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.config.properties.RateLimitProperties;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Decides which requests are rate limited, what each one costs and how large each tier's bucket is.
+ * Public endpoint patterns and cost rules are parsed once at startup. Expensive endpoints (imports,
+ * exports, predictions and Open Finance syncs) consume several tokens so a client cannot spend its
+ * whole allowance on them as if they were cheap reads.
+ */
+@Slf4j
+@Component
+public class RateLimitPolicy {
+
+    private static final long DEFAULT_COST = 1;
+
+    private final List<PathPattern> publicEndpoints;
+    private final List<CostRule> costRules;
+    private final BucketConfiguration userConfiguration;
+    private final BucketConfiguration anonymousConfiguration;
+
+    public RateLimitPolicy(AppProperties appProperties,
+            @Value("${app.rate-limit.anonymous.requests-per-minute:30}") int anonymousRequestsPerMinute,
+            @Value("${app.rate-limit.anonymous.burst-capacity:60}") int anonymousBurstCapacity,
+            @Value("${app.rate-limit.cost.import:10}") long importCost,
+            @Value("${app.rate-limit.cost.export:10}") long exportCost,
+            @Value("${app.rate-limit.cost.prediction:20}") long predictionCost,
+            @Value("${app.rate-limit.cost.open-finance-sync:25}") long openFinanceSyncCost) {
+        List<String> endpoints = appProperties.security().publicEndpoints();
+        this.publicEndpoints = endpoints != null ? endpoints.stream().map(RateLimitPolicy::parse).toList() : List.of();
+        this.costRules = List.of(
+                new CostRule("POST", parse("/transactions/import"), importCost),
+                new CostRule(null, parse("/export/**"), exportCost),
+                new CostRule("POST", parse("/api/jobs"), exportCost),
+                new CostRule("POST", parse("/dashboard/predictions"), predictionCost),
+                new CostRule("POST", parse("/api/open-finance/accounts/*/sync-balance"), openFinanceSyncCost));
+
+        RateLimitProperties rateLimit = appProperties.rateLimit();
+        Duration refreshPeriod = Duration.ofSeconds(rateLimit.refreshPeriod());
+        this.userConfiguration = configuration(rateLimit.burstCapacity(), rateLimit.requestsPerMinute(), refreshPeriod);
+        this.anonymousConfiguration = configuration(anonymousBurstCapacity, anonymousRequestsPerMinute, refreshPeriod);
+
+        log.info("Configuring rate limiting - User: {} per {}s (burst {}), Anonymous: {} per {}s (burst {})",
+                rateLimit.requestsPerMinute(), rateLimit.refreshPeriod(), rateLimit.burstCapacity(),
+                anonymousRequestsPerMinute, rateLimit.refreshPeriod(), anonymousBurstCapacity);
+    }
+
+    /**
+     * Checks whether a path is a public endpoint that is not rate limited.
+     *
+     * @param path the request path, without the context path
+     * @return true if the path matches a public endpoint
+     */
+    public boolean isExempt(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : publicEndpoints) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of tokens a request consumes.
+     *
+     * @param method the HTTP method
+     * @param path the request path, without the context path
+     * @return the token cost, at least 1
+     */
+    public long costOf(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (CostRule rule : costRules) {
+            if (rule.matches(method, container)) {
+                return rule.cost();
+            }
+        }
+        return DEFAULT_COST;
+    }
+
+    /**
+     * Returns the bucket limits of a tier.
+     *
+     * @param tier the client tier
+     * @return the bucket configuration
+     */
+    public BucketConfiguration configurationFor(RateLimitTier tier) {
+        return tier == RateLimitTier.USER ? userConfiguration : anonymousConfiguration;
+    }
+
+    private static BucketConfiguration configuration(int capacity, int refillTokens, Duration refreshPeriod) {
+        return BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(capacity)
+                        .refillIntervally(refillTokens, refreshPeriod)
+                        .build())
+                .build();
+    }
+
+    private static PathPattern parse(String pattern) {
+        return PathPatternParser.defaultInstance.parse(pattern);
+    }
+
+    private record CostRule(@Nullable String method, PathPattern pattern, long cost) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+}
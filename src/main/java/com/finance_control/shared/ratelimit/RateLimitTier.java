@@ -0,0 +1,30 @@
+package com.finance_control.shared.ratelimit;
+
+/**
+ * Class of client a rate limit bucket belongs to.
+ * Authenticated requests are limited per user; anonymous requests are limited per client IP.
+ */
+public enum RateLimitTier {
+    USER("user"),
+    ANONYMOUS("ip");
+
+    private final String keyPrefix;
+
+    RateLimitTier(String keyPrefix) {
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Builds the bucket key of a client in this tier.
+     *
+     * @param clientId the user ID or client IP address
+     * @return the bucket key
+     */
+    public String keyFor(String clientId) {
+        return keyPrefix + ":" + clientId;
+    }
+
+    public String metricTag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,48 @@
+package com.finance_control.shared.ratelimit;
+
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Redis-backed bucket store shared by every instance, using Bucket4j's Lettuce proxy manager.
+ * Bucket state is updated with compare-and-swap, and keys expire once a bucket would have refilled
+ * completely, so idle clients do not accumulate in Redis.
+ */
+public class RedisRateLimitBucketStore implements RateLimitBucketStore, AutoCloseable {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    private final RedisClient redisClient;
+    private final StatefulRedisConnection<byte[], byte[]> connection;
+    private final ProxyManager<byte[]> proxyManager;
+
+    public RedisRateLimitBucketStore(RedisClient redisClient, Duration keyTtl) {
+        this.redisClient = redisClient;
+        this.connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+        this.proxyManager = LettuceBasedProxyManager.builderFor(connection)
+                .withExpirationStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(keyTtl))
+                .build();
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, BucketConfiguration configuration, long tokens) {
+        return proxyManager.builder()
+                .build((KEY_PREFIX + key).getBytes(StandardCharsets.UTF_8), () -> configuration)
+                .tryConsumeAndReturnRemaining(tokens);
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        redisClient.shutdown();
+    }
+}
@@ -9,26 +9,39 @@ import java.util.Collection;
 import java.util.Collections;
 
 /**
- * Custom UserDetails implementation that wraps the actual User entity.
- * This allows @AuthenticationPrincipal to inject the actual User object.
+ * Immutable snapshot of the authenticated user.
+ * Only the fields needed for authentication are kept, so instances can be cached across
+ * requests without holding on to a persistence context. Callers that need the {@link User}
+ * entity load it by {@link #getUserId()}.
  */
 public class CustomUserDetails implements UserDetails {
 
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
 
-    private final transient User user;
+    private static final Collection<? extends GrantedAuthority> AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("USER"));
+
+    private final Long userId;
+    private final String email;
+    private final boolean active;
 
     public CustomUserDetails(User user) {
-        this.user = user;
+        this.userId = user.getId();
+        this.email = user.getEmail();
+        this.active = Boolean.TRUE.equals(user.getIsActive());
+    }
+
+    public Long getUserId() {
+        return userId;
     }
 
-    public User getUser() {
-        return user;
+    public String getEmail() {
+        return email;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("USER"));
+        return AUTHORITIES;
     }
 
     @Override
@@ -38,7 +51,7 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public String getUsername() {
-        return user.getId().toString();
+        return userId.toString();
     }
 
     @Override
@@ -58,6 +71,6 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getIsActive();
+        return active;
     }
 }
@@ -1,5 +1,6 @@
 package com.finance_control.shared.security;
 
+import com.finance_control.shared.config.RealtimeWebSocketConfig;
 import com.finance_control.shared.context.UserContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,14 +25,17 @@ import com.finance_control.shared.service.SupabaseAuthService;
 /**
  * JWT authentication filter that processes JWT tokens from requests
  * and sets up the security context and user context.
+ * Each token is verified at most once while it stays in the {@link VerifiedTokenCache}, and
+ * resolved principals are served from the {@link PrincipalCache} instead of the database.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     // Optional services for Supabase integration
     @org.springframework.beans.factory.annotation.Autowired(required = false)
@@ -78,38 +82,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = extractJwtFromRequest(request);
         log.debug("Extracted JWT from request: {}", jwt != null ? "YES" : "NO");
 
-        if (!StringUtils.hasText(jwt) || !jwtUtils.validateTokenUniversal(jwt)) {
-            log.debug("JWT validation failed or no JWT found");
+        if (!StringUtils.hasText(jwt)) {
             return;
         }
 
-        Object userIdObj = jwtUtils.getUserIdFromTokenUniversal(jwt);
-        log.debug("Extracted user ID from JWT: {}", userIdObj);
-
-        if (userIdObj == null) {
+        VerifiedPrincipal principal = verifiedTokenCache.resolve(jwt);
+        if (principal == null) {
+            log.debug("JWT validation failed");
             return;
         }
+        log.debug("Verified JWT for subject {} ({})", principal.subject(), principal.issuer());
 
-        Long userId = extractUserIdFromToken(jwt, userIdObj);
+        Long userId = principal.isSupabase()
+                ? mapSupabaseUserToApplicationUser(principal.subject())
+                : principal.applicationUserId();
         if (userId != null) {
-            setAuthenticationForUser(request, userId, jwtUtils.isSupabaseToken(jwt));
-        }
-    }
-
-    private Long extractUserIdFromToken(String jwt, Object userIdObj) {
-        boolean isSupabaseToken = jwtUtils.isSupabaseToken(jwt);
-        if (isSupabaseToken) {
-            String supabaseUserId = (String) userIdObj;
-            log.debug("Processing Supabase JWT for user: {}", supabaseUserId);
-            return mapSupabaseUserToApplicationUser(supabaseUserId);
-        } else {
-            return (Long) userIdObj;
+            setAuthenticationForUser(request, userId, principal.isSupabase());
         }
     }
 
     private void setAuthenticationForUser(HttpServletRequest request, Long userId, boolean isSupabaseToken) {
         UserContext.setCurrentUserId(userId);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userId.toString());
+        UserDetails userDetails = principalCache.getUserDetails(userId,
+                id -> userDetailsService.loadUserByUsername(id.toString()));
         log.debug("Loaded user details for ID {}: {}", userId, userDetails != null ? "SUCCESS" : "FAILED");
 
         if (userDetails != null) {
@@ -138,7 +133,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            Long userId = userMappingService.findUserIdBySupabaseId(supabaseUserId);
+            Long userId = principalCache.getUserIdBySupabaseId(supabaseUserId,
+                    userMappingService::findUserIdBySupabaseId);
             if (userId == null) {
                 log.warn("No local user found for Supabase user ID: {}. User must authenticate via Supabase auth endpoints first.", supabaseUserId);
             } else {
@@ -162,6 +158,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // Browsers cannot set headers on a WebSocket handshake, so the realtime endpoint also accepts a query parameter
+        if (RealtimeWebSocketConfig.ENDPOINT.equals(request.getRequestURI())) {
+            return request.getParameter("access_token");
+        }
         return null;
     }
 }
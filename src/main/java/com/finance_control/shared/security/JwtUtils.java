@@ -10,12 +10,17 @@ import org.springframework.util.StringUtils;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
 /**
  * Utility class for JWT token operations including generation, validation, and parsing.
  * Uses environment variables through AppProperties for configuration.
+ *
+ * <p>Signing keys and parsers are built once per configured secret and reused; they are only
+ * rebuilt when the secret changes. {@link #verifyPrincipal(String)} is the single-parse entry
+ * point used on the authentication hot path.</p>
  */
 @Slf4j
 @Component
@@ -24,6 +29,9 @@ public class JwtUtils {
 
     private final AppProperties appProperties;
 
+    private volatile SigningKey applicationKey;
+    private volatile SigningKey supabaseKey;
+
     /**
      * Generates a JWT token for the given user ID.
      *
@@ -34,7 +42,7 @@ public class JwtUtils {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + appProperties.security().jwt().expirationMs());
 
-        SecretKey key = Keys.hmacShaKeyFor(appProperties.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
+        SecretKey key = applicationKey().key();
 
         return Jwts.builder()
                 .subject(userId.toString())
@@ -56,7 +64,7 @@ public class JwtUtils {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + appProperties.security().jwt().refreshExpirationMs());
 
-        SecretKey key = Keys.hmacShaKeyFor(appProperties.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
+        SecretKey key = applicationKey().key();
 
         return Jwts.builder()
                 .subject(userId.toString())
@@ -76,10 +84,7 @@ public class JwtUtils {
      */
     public Long getUserIdFromToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(appProperties.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            Claims claims = applicationKey().parser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -98,11 +103,7 @@ public class JwtUtils {
      */
     public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(appProperties.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            applicationKey().parser().parseSignedClaims(token);
             return true;
         } catch (JwtException e) {
             log.warn("Invalid JWT token: {}", e.getMessage());
@@ -118,10 +119,7 @@ public class JwtUtils {
      */
     public Date getExpirationFromToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(appProperties.security().jwt().secret().getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            Claims claims = applicationKey().parser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -173,17 +171,14 @@ public class JwtUtils {
     }
 
     private Claims parseSupabaseToken(String token) {
-        String jwtSigner = appProperties.supabase().jwtSigner();
-        if (!StringUtils.hasText(jwtSigner)) {
+        SigningKey signingKey = supabaseKey();
+        if (signingKey == null) {
             log.warn("Supabase JWT signer not configured");
             return null;
         }
 
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSigner.getBytes(StandardCharsets.UTF_8));
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            return signingKey.parser()
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (JwtException e) {
@@ -281,16 +276,13 @@ public class JwtUtils {
         }
 
         try {
-            String jwtSigner = appProperties.supabase().jwtSigner();
-            if (!StringUtils.hasText(jwtSigner)) {
+            SigningKey signingKey = supabaseKey();
+            if (signingKey == null) {
                 log.warn("Supabase JWT signer not configured");
                 return null;
             }
 
-            SecretKey key = Keys.hmacShaKeyFor(jwtSigner.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            Claims claims = signingKey.parser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -330,15 +322,12 @@ public class JwtUtils {
         }
 
         try {
-            String jwtSigner = appProperties.supabase().jwtSigner();
-            if (!StringUtils.hasText(jwtSigner)) {
+            SigningKey signingKey = supabaseKey();
+            if (signingKey == null) {
                 return null;
             }
 
-            SecretKey key = Keys.hmacShaKeyFor(jwtSigner.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            Claims claims = signingKey.parser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -394,4 +383,80 @@ public class JwtUtils {
         // Fall back to application JWT extraction
         return getUserIdFromToken(token);
     }
+
+    /**
+     * Verifies a token once and returns everything the authentication filter needs.
+     * Supabase tokens are tried first (when a signer is configured), then application tokens,
+     * matching {@link #validateTokenUniversal(String)} and {@link #getUserIdFromTokenUniversal(String)}.
+     *
+     * @param token the JWT token
+     * @return the verified principal, or null if the token is invalid for both issuers
+     */
+    public VerifiedPrincipal verifyPrincipal(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        SigningKey supabase = supabaseKey();
+        if (supabase != null) {
+            try {
+                Claims claims = supabase.parser().parseSignedClaims(token).getPayload();
+                if (validateSupabaseClaims(claims)) {
+                    return new VerifiedPrincipal(claims.getSubject(), VerifiedPrincipal.Issuer.SUPABASE,
+                            claims.get("role", String.class), toInstant(claims.getExpiration()));
+                }
+                return null;
+            } catch (JwtException e) {
+                log.debug("Token is not a valid Supabase JWT: {}", e.getMessage());
+            }
+        }
+
+        try {
+            Claims claims = applicationKey().parser().parseSignedClaims(token).getPayload();
+            Long.parseLong(claims.getSubject());
+            return new VerifiedPrincipal(claims.getSubject(), VerifiedPrincipal.Issuer.APPLICATION, null,
+                    toInstant(claims.getExpiration()));
+        } catch (JwtException | NumberFormatException e) {
+            log.warn("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private SigningKey applicationKey() {
+        String secret = appProperties.security().jwt().secret();
+        SigningKey current = applicationKey;
+        if (current == null || !current.secret().equals(secret)) {
+            current = SigningKey.of(secret);
+            applicationKey = current;
+        }
+        return current;
+    }
+
+    private SigningKey supabaseKey() {
+        String signer = appProperties.supabase().jwtSigner();
+        if (!StringUtils.hasText(signer)) {
+            return null;
+        }
+        SigningKey current = supabaseKey;
+        if (current == null || !current.secret().equals(signer)) {
+            current = SigningKey.of(signer);
+            supabaseKey = current;
+        }
+        return current;
+    }
+
+    /**
+     * An HMAC key and the immutable, thread-safe parser verifying with it.
+     */
+    private record SigningKey(String secret, SecretKey key, JwtParser parser) {
+
+        static SigningKey of(String secret) {
+            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new SigningKey(secret, key, Jwts.parser().verifyWith(key).build());
+        }
+    }
 }
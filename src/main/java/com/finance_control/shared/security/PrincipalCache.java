@@ -0,0 +1,112 @@
+package com.finance_control.shared.security;
+
+import com.finance_control.shared.event.UserAccountChangedEvent;
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of the principals resolved on every authenticated request: Supabase user
+ * UUID to local user ID, and local user ID to an immutable user details snapshot. With both
+ * entries cached, authenticating a request needs no database query.
+ *
+ * <p>Entries are evicted after a {@link UserAccountChangedEvent} commits. Other nodes are told
+ * to evict through the {@link PrincipalInvalidationBroadcaster} when one is configured (Redis);
+ * otherwise the TTL bounds how long another node may keep a stale principal.</p>
+ */
+@Slf4j
+@Component
+public class PrincipalCache implements MonitoredCaches {
+
+    private final Cache<String, Long> userIdsBySupabaseId;
+    private final Cache<Long, UserDetails> userDetailsById;
+
+    @Autowired(required = false)
+    private PrincipalInvalidationBroadcaster broadcaster;
+
+    public PrincipalCache(@Value("${app.security.principal-cache.ttl-ms:300000}") long ttlMs,
+            @Value("${app.security.principal-cache.max-size:10000}") long maximumSize) {
+        Duration ttl = Duration.ofMillis(ttlMs);
+        this.userIdsBySupabaseId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.userDetailsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> monitoredCaches() {
+        return Map.of("principal-user-ids", userIdsBySupabaseId, "principal-user-details", userDetailsById);
+    }
+
+    /**
+     * Returns the local user ID mapped to a Supabase user, loading it on a miss.
+     * Unmapped users are not cached, so a mapping created later is seen immediately.
+     *
+     * @param supabaseUserId the Supabase user UUID
+     * @param loader loads the local user ID, returning null if there is none
+     * @return the local user ID, or null if unmapped
+     */
+    public Long getUserIdBySupabaseId(String supabaseUserId, Function<String, Long> loader) {
+        return userIdsBySupabaseId.get(supabaseUserId, loader);
+    }
+
+    /**
+     * Returns the user details of a local user, loading them on a miss.
+     *
+     * @param userId the local user ID
+     * @param loader loads the user details; exceptions are propagated and nothing is cached
+     * @return the user details
+     */
+    public UserDetails getUserDetails(Long userId, Function<Long, UserDetails> loader) {
+        return userDetailsById.get(userId, loader);
+    }
+
+    /**
+     * Evicts a user on this node and, when possible, on every other node once the account
+     * change has been committed. Runs immediately when published outside a transaction.
+     *
+     * @param event the account change event
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evictLocal(event.userId());
+        if (broadcaster != null) {
+            try {
+                broadcaster.broadcast(event.userId());
+            } catch (Exception e) {
+                log.warn("Failed to broadcast principal invalidation: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes a user's entries from this node's cache.
+     *
+     * @param userId the local user ID
+     */
+    public void evictLocal(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userDetailsById.invalidate(userId);
+        userIdsBySupabaseId.asMap().values().removeIf(id -> Objects.equals(id, userId));
+    }
+}
@@ -0,0 +1,10 @@
+package com.finance_control.shared.security;
+
+/**
+ * Tells the other application nodes to drop their cached principals for a user.
+ */
+@FunctionalInterface
+public interface PrincipalInvalidationBroadcaster {
+
+    void broadcast(Long userId);
+}
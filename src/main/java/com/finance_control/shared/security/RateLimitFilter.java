@@ -1,15 +1,18 @@
 package com.finance_control.shared.security;
 
 import com.finance_control.shared.config.AppProperties;
-import io.github.bucket4j.Bucket;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.monitoring.MetricsService;
+import com.finance_control.shared.ratelimit.ClientAddressResolver;
+import com.finance_control.shared.ratelimit.RateLimitBucketStore;
+import com.finance_control.shared.ratelimit.RateLimitPolicy;
+import com.finance_control.shared.ratelimit.RateLimitTier;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-
-import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
@@ -21,15 +24,20 @@ import java.time.Duration;
 
 /**
  * Rate limiting filter that applies rate limiting to API requests.
- * Uses Bucket4j for token bucket algorithm implementation.
+ * Uses Bucket4j token buckets held per authenticated user, or per client IP for anonymous
+ * requests (see {@link ClientAddressResolver}), so one noisy client cannot exhaust the allowance
+ * of others. Runs after {@link JwtAuthenticationFilter} so the user is already known.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Bucket rateLimitBucket;
+    private final RateLimitBucketStore bucketStore;
+    private final RateLimitPolicy rateLimitPolicy;
     private final AppProperties appProperties;
+    private final MetricsService metricsService;
+    private final ClientAddressResolver clientAddressResolver;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
@@ -42,14 +50,19 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
 
         // Skip rate limiting for public endpoints
-        String requestPath = request.getRequestURI();
-        if (isPublicEndpoint(requestPath)) {
+        String requestPath = request.getRequestURI().substring(request.getContextPath().length());
+        if (rateLimitPolicy.isExempt(requestPath)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Check rate limit
-        ConsumptionProbe probe = rateLimitBucket.tryConsumeAndReturnRemaining(1);
+        Long userId = UserContext.getCurrentUserId();
+        RateLimitTier tier = userId != null ? RateLimitTier.USER : RateLimitTier.ANONYMOUS;
+        String key = tier.keyFor(userId != null ? userId.toString() : clientAddressResolver.resolve(request));
+        long cost = rateLimitPolicy.costOf(request.getMethod(), requestPath);
+
+        ConsumptionProbe probe = bucketStore.tryConsume(key, rateLimitPolicy.configurationFor(tier), cost);
+        metricsService.recordRateLimitDecision(tier.metricTag(), probe.isConsumed(), cost);
 
         if (probe.isConsumed()) {
             // Request allowed
@@ -58,7 +71,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         } else {
             // Rate limit exceeded
-            log.warn("Rate limit exceeded for request: {} from IP: {}", requestPath, getClientIpAddress(request));
+            log.warn("Rate limit exceeded for request: {} ({} tier, cost {})", requestPath, tier.metricTag(), cost);
 
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setHeader("X-Rate-Limit-Remaining", "0");
@@ -68,37 +81,4 @@ public class RateLimitFilter extends OncePerRequestFilter {
             response.getWriter().write("{\"error\":\"Rate limit exceeded\",\"message\":\"Too many requests. Please try again later.\"}");
         }
     }
-
-    /**
-     * Checks if the request path is a public endpoint that should skip rate limiting.
-     */
-    private boolean isPublicEndpoint(String requestPath) {
-        List<String> publicEndpoints = appProperties.security().publicEndpoints();
-
-        if (publicEndpoints != null && !publicEndpoints.isEmpty()) {
-            for (String endpoint : publicEndpoints) {
-                if (requestPath.matches(endpoint.replace("**", ".*"))) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Gets the client IP address from the request.
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-
-        return request.getRemoteAddr();
-    }
 }
@@ -0,0 +1,36 @@
+package com.finance_control.shared.security;
+
+import java.time.Instant;
+
+/**
+ * The result of verifying a JWT once: who the token identifies and who issued it.
+ *
+ * @param subject the token subject (numeric user ID for application tokens, UUID for Supabase tokens)
+ * @param issuer the kind of issuer that signed the token
+ * @param role the role claim, if the issuer sets one
+ * @param expiresAt the token expiration, or null if the token does not expire
+ */
+public record VerifiedPrincipal(String subject, Issuer issuer, String role, Instant expiresAt) {
+
+    public enum Issuer {
+        APPLICATION,
+        SUPABASE
+    }
+
+    public boolean isSupabase() {
+        return issuer == Issuer.SUPABASE;
+    }
+
+    /**
+     * Returns the application user ID of an application token.
+     *
+     * @return the user ID, or null for Supabase tokens
+     */
+    public Long applicationUserId() {
+        return issuer == Issuer.APPLICATION ? Long.valueOf(subject) : null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+}
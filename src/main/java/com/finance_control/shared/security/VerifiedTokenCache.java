@@ -0,0 +1,104 @@
+package com.finance_control.shared.security;
+
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Bounded cache of verified tokens, so a client reusing a token pays for one signature
+ * verification instead of one per request. Entries are keyed by the SHA-256 digest of the
+ * token (the raw token is never kept) and expire at the token's own {@code exp}. Invalid
+ * tokens and tokens without an expiration are never cached.
+ */
+@Component
+public class VerifiedTokenCache implements MonitoredCaches {
+
+    private final JwtUtils jwtUtils;
+    private final Cache<String, VerifiedPrincipal> cache;
+
+    public VerifiedTokenCache(JwtUtils jwtUtils,
+            @Value("${app.security.jwt.verified-cache-size:10000}") long maximumSize) {
+        this.jwtUtils = jwtUtils;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> monitoredCaches() {
+        return Map.of("verified-tokens", cache);
+    }
+
+    /**
+     * Returns the principal of a token, verifying it only on a cache miss.
+     *
+     * @param token the JWT token
+     * @return the verified principal, or null if the token is invalid
+     */
+    public VerifiedPrincipal resolve(String token) {
+        String key = digest(token);
+        VerifiedPrincipal cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        VerifiedPrincipal principal = jwtUtils.verifyPrincipal(token);
+        if (principal != null && principal.expiresAt() != null) {
+            cache.put(key, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Drops every cached token, e.g. after a signing secret rotation.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedPrincipal> {
+
+        private static final long MAX_SECONDS = Long.MAX_VALUE / 1_000_000_000L;
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedPrincipal value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.getSeconds() < MAX_SECONDS ? remaining.toNanos() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
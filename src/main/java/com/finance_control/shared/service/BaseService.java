@@ -242,6 +242,7 @@ public abstract class BaseService<T extends BaseModel<I>, I, D> {
         log.debug("Saving entity to repository");
         T savedEntity = repository.save(entity);
         log.info("Entity created successfully (ID length: {})", savedEntity.getId() != null ? String.valueOf(savedEntity.getId()).length() : 0);
+        afterCreate(savedEntity);
         return mapToResponseDTO(savedEntity);
     }
 
@@ -301,6 +302,7 @@ public abstract class BaseService<T extends BaseModel<I>, I, D> {
         // Check user ownership if user-aware
         validateUserOwnership(entity, id);
 
+        beforeDelete(entity);
         repository.deleteById(id);
         log.info("Entity deleted successfully (ID length: {})", String.valueOf(id).length());
     }
@@ -459,6 +461,28 @@ public abstract class BaseService<T extends BaseModel<I>, I, D> {
         // Default implementation - override if needed
     }
 
+    /**
+     * Called after a new entity has been saved.
+     * Default implementation does nothing.
+     * Override this method to keep derived data in sync with created entities.
+     *
+     * @param savedEntity the saved entity
+     */
+    protected void afterCreate(T savedEntity) {
+        // Default implementation - override if needed
+    }
+
+    /**
+     * Called right before an entity is deleted, once ownership has been verified.
+     * Default implementation does nothing.
+     * Override this method to keep derived data in sync with deleted entities.
+     *
+     * @param entity the entity about to be deleted
+     */
+    protected void beforeDelete(T entity) {
+        // Default implementation - override if needed
+    }
+
     /**
      * Returns the entity name for error messages.
      * Override this method to provide a more specific entity name.
@@ -1,11 +1,14 @@
 package com.finance_control.shared.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.finance_control.goals.model.FinancialGoal;
 import com.finance_control.goals.repository.FinancialGoalRepository;
 import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionExportRow;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,10 +16,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.ByteArrayOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
@@ -40,6 +46,9 @@ public class DataExportService {
     private final TransactionRepository transactionRepository;
     private final FinancialGoalRepository financialGoalRepository;
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     /**
      * Export user data as CSV format.
      */
@@ -476,4 +485,197 @@ public class DataExportService {
         json.append("  ]");
         return json.toString();
     }
+
+    /**
+     * Stream all user data as CSV to the given output stream.
+     * Transactions are read in ID-ordered chunks of unmanaged rows, each in its own short read,
+     * so memory use and connection hold time do not grow with the user's history.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamUserDataAsCsv(Long userId, OutputStream outputStream) throws IOException {
+        log.info("Streaming user data as CSV for user: {}", userId);
+
+        PrintWriter writer = csvWriter(outputStream);
+        writer.println("Finance Control Data Export");
+        writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        writer.println("User ID: " + userId);
+        writer.println();
+
+        exportUserProfile(writer, userId);
+        streamTransactions(writer, userId, null, null, null, null);
+        exportFinancialGoals(writer, userId);
+        finish(writer);
+    }
+
+    /**
+     * Stream transactions as CSV with optional filters to the given output stream.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamTransactionsAsCsv(Long userId, LocalDate dateFrom, LocalDate dateTo, String type, String category,
+            OutputStream outputStream) throws IOException {
+        log.info("Streaming transactions as CSV for user: {} (dateFrom: {}, dateTo: {}, type: {}, category: {})",
+                userId, dateFrom, dateTo, type, category);
+
+        PrintWriter writer = csvWriter(outputStream);
+        writer.println("Transaction Export");
+        writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        writer.println("User ID: " + userId);
+        if (dateFrom != null || dateTo != null) {
+            writer.println("Date Range: " + formatDateRange(dateFrom, dateTo));
+        }
+        if (type != null) {
+            writer.println("Type: " + type);
+        }
+        if (category != null) {
+            writer.println("Category: " + category);
+        }
+        writer.println();
+
+        streamTransactions(writer, userId, dateFrom, dateTo, type, category);
+        finish(writer);
+    }
+
+    /**
+     * Stream all user data as JSON to the given output stream.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamUserDataAsJson(Long userId, OutputStream outputStream) throws IOException {
+        log.info("Streaming user data as JSON for user: {}", userId);
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(outputStream)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("exportInfo");
+            json.writeStringField("generatedAt", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            json.writeNumberField("userId", userId);
+            json.writeStringField("version", "1.0");
+            json.writeEndObject();
+
+            json.writeObjectFieldStart("userProfile");
+            json.writeNumberField("id", user.getId());
+            json.writeStringField("email", user.getEmail());
+            json.writeStringField("name", user.getProfile() != null && user.getProfile().getFullName() != null
+                    ? user.getProfile().getFullName() : "");
+            json.writeStringField("createdAt", formatTimestamp(user.getCreatedAt()));
+            json.writeObjectField("isActive", user.getIsActive());
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("transactions");
+            forEachTransactionChunk(userId, null, null, null, null, chunk -> {
+                for (TransactionExportRow row : chunk) {
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.id());
+                    json.writeStringField("description", row.description() != null ? row.description() : "");
+                    json.writeNumberField("amount", row.amount());
+                    json.writeStringField("type", String.valueOf(row.type()));
+                    json.writeStringField("date", formatTimestamp(row.date()));
+                    json.writeStringField("category", row.categoryName() != null ? row.categoryName() : "");
+                    json.writeStringField("subcategory", row.subcategoryName() != null ? row.subcategoryName() : "");
+                    json.writeStringField("sourceEntity", row.sourceEntityName() != null ? row.sourceEntityName() : "");
+                    json.writeObjectField("reconciled", row.reconciled());
+                    json.writeStringField("createdAt", formatTimestamp(row.createdAt()));
+                    json.writeEndObject();
+                }
+                json.flush();
+            });
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("financialGoals");
+            List<FinancialGoal> goals = financialGoalRepository
+                    .findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, Integer.MAX_VALUE))
+                    .getContent();
+            for (FinancialGoal goal : goals) {
+                json.writeStartObject();
+                json.writeNumberField("id", goal.getId());
+                json.writeStringField("name", goal.getName() != null ? goal.getName() : "");
+                json.writeStringField("description", goal.getDescription() != null ? goal.getDescription() : "");
+                json.writeNumberField("targetAmount", goal.getTargetAmount());
+                json.writeNumberField("currentAmount", goal.getCurrentAmount());
+                json.writeObjectField("progressPercentage", goal.getProgressPercentage());
+                json.writeStringField("goalType", String.valueOf(goal.getGoalType()));
+                json.writeStringField("deadline", goal.getDeadline() != null
+                        ? goal.getDeadline().format(DateTimeFormatter.ISO_LOCAL_DATE) : "");
+                json.writeObjectField("isActive", goal.getIsActive());
+                json.writeStringField("createdAt", formatTimestamp(goal.getCreatedAt()));
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+        outputStream.flush();
+    }
+
+    private void streamTransactions(PrintWriter writer, Long userId, LocalDate dateFrom, LocalDate dateTo,
+            String type, String category) throws IOException {
+        writer.println("=== TRANSACTIONS ===");
+        writer.println("ID,Description,Amount,Type,Date,Category,Subcategory,Source Entity,Reconciled,Created At");
+
+        forEachTransactionChunk(userId, dateFrom, dateTo, type, category, chunk -> {
+            for (TransactionExportRow row : chunk) {
+                writer.printf("%d,\"%s\",%s,%s,%s,\"%s\",\"%s\",\"%s\",%s,%s%n",
+                        row.id(),
+                        escapeCsv(row.description()),
+                        row.amount(),
+                        row.type(),
+                        formatTimestamp(row.date()),
+                        escapeCsv(row.categoryName()),
+                        escapeCsv(row.subcategoryName()),
+                        escapeCsv(row.sourceEntityName()),
+                        row.reconciled(),
+                        formatTimestamp(row.createdAt()));
+            }
+            writer.flush();
+            if (writer.checkError()) {
+                throw new IOException("Export stream was closed by the client");
+            }
+        });
+        writer.println();
+    }
+
+    private void forEachTransactionChunk(Long userId, LocalDate dateFrom, LocalDate dateTo, String type,
+            String category, ChunkConsumer consumer) throws IOException {
+        LocalDateTime from = dateFrom != null ? dateFrom.atStartOfDay() : null;
+        LocalDateTime toExclusive = dateTo != null ? dateTo.plusDays(1).atStartOfDay() : null;
+        TransactionType transactionType = type == null || type.isEmpty() ? null
+                : type.equalsIgnoreCase("income") ? TransactionType.INCOME : TransactionType.EXPENSE;
+        String categoryName = category == null || category.isEmpty() ? null : category;
+        Pageable chunkSize = PageRequest.of(0, EXPORT_CHUNK_SIZE);
+
+        long afterId = 0L;
+        List<TransactionExportRow> chunk;
+        do {
+            chunk = transactionRepository.findExportChunk(userId, afterId, from, toExclusive, transactionType, categoryName,
+                    chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            consumer.accept(chunk);
+            afterId = chunk.get(chunk.size() - 1).id();
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+    }
+
+    private PrintWriter csvWriter(OutputStream outputStream) {
+        return new PrintWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    private void finish(PrintWriter writer) throws IOException {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new IOException("Failed to write export stream");
+        }
+    }
+
+    private String escapeCsv(String value) {
+        return value != null ? value.replace("\"", "\"\"") : "";
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(List<TransactionExportRow> chunk) throws IOException;
+    }
 }
@@ -1,37 +1,44 @@
 package com.finance_control.shared.service;
 
 import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.crypto.BlindIndex;
+import com.finance_control.shared.crypto.FieldCipher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
-import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.List;
 
 /**
  * Service for encrypting and decrypting sensitive data using AES-256-GCM.
  * Provides secure encryption with authenticated encryption mode for data integrity.
+ * Cipher and index instances are reused per thread by {@link FieldCipher} and {@link BlindIndex}.
+ *
+ * <p>Email hashes are an HMAC-SHA256 blind index keyed with {@code app.security.encryption.blind-index-key},
+ * or with a key derived from the configured encryption key. Without a configured key the
+ * unkeyed SHA-256 index is used.</p>
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EncryptionService {
 
-    private static final String ALGORITHM = "AES/GCM/NoPadding";
-    private static final int GCM_IV_LENGTH = 12; // 96 bits for GCM
-    private static final int GCM_TAG_LENGTH = 16; // 128 bits for authentication tag
     private static final int AES_KEY_SIZE = 256; // 256 bits for AES-256
+    private static final byte[] BLIND_INDEX_KEY_LABEL = "finance-control/email-blind-index".getBytes(StandardCharsets.UTF_8);
+
+    private static final BlindIndex LEGACY_EMAIL_INDEX = BlindIndex.unkeyed();
 
     private final AppProperties appProperties;
     private SecretKey secretKey;
+    private FieldCipher fieldCipher;
+    private BlindIndex emailIndex = LEGACY_EMAIL_INDEX;
 
     /**
      * Initializes the encryption service with the secret key from configuration.
@@ -41,6 +48,8 @@ public class EncryptionService {
     public void initialize() {
         com.finance_control.shared.config.properties.SecurityProperties.EncryptionProperties encryption = appProperties.security().encryption();
 
+        emailIndex = createEmailIndex(encryption);
+
         if (!encryption.enabled()) {
             log.warn("Encryption is disabled. Email encryption will not be applied.");
             return;
@@ -64,6 +73,7 @@ public class EncryptionService {
                 throw new IllegalStateException("Failed to initialize encryption service", e);
             }
         }
+        fieldCipher = new FieldCipher(secretKey);
     }
 
     /**
@@ -83,23 +93,7 @@ public class EncryptionService {
         }
 
         try {
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            SecureRandom random = new SecureRandom();
-            random.nextBytes(iv);
-
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey, parameterSpec);
-
-            byte[] plaintextBytes = plaintext.getBytes(StandardCharsets.UTF_8);
-            byte[] ciphertextBytes = cipher.doFinal(plaintextBytes);
-
-            // Prepend IV to ciphertext
-            ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + ciphertextBytes.length);
-            byteBuffer.put(iv);
-            byteBuffer.put(ciphertextBytes);
-
-            return Base64.getEncoder().encodeToString(byteBuffer.array());
+            return fieldCipher.encrypt(plaintext);
         } catch (Exception e) {
             log.error("Failed to encrypt data", e);
             throw new RuntimeException("Encryption failed", e);
@@ -124,46 +118,99 @@ public class EncryptionService {
         }
 
         try {
-            byte[] ciphertextBytes = Base64.getDecoder().decode(ciphertext);
+            return fieldCipher.decrypt(ciphertext);
+        } catch (Exception e) {
+            log.error("Failed to decrypt data", e);
+            throw new RuntimeException("Decryption failed", e);
+        }
+    }
 
-            if (ciphertextBytes.length < GCM_IV_LENGTH + GCM_TAG_LENGTH) {
-                throw new IllegalArgumentException("Ciphertext too short");
-            }
+    /**
+     * Encrypts several values, for bulk jobs that would otherwise call {@link #encrypt(String)} in a loop.
+     *
+     * @param plaintexts the values to encrypt; null elements stay null
+     * @return the encrypted values in the same order, or the input if encryption is disabled
+     */
+    public List<String> encryptAll(List<String> plaintexts) {
+        if (!appProperties.security().encryption().enabled() || secretKey == null) {
+            return plaintexts;
+        }
 
-            ByteBuffer byteBuffer = ByteBuffer.wrap(ciphertextBytes);
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            byteBuffer.get(iv);
-            byte[] encryptedBytes = new byte[byteBuffer.remaining()];
-            byteBuffer.get(encryptedBytes);
+        try {
+            return fieldCipher.encryptAll(plaintexts);
+        } catch (Exception e) {
+            log.error("Failed to encrypt data batch", e);
+            throw new RuntimeException("Encryption failed", e);
+        }
+    }
 
-            Cipher cipher = Cipher.getInstance(ALGORITHM);
-            GCMParameterSpec parameterSpec = new GCMParameterSpec(GCM_TAG_LENGTH * 8, iv);
-            cipher.init(Cipher.DECRYPT_MODE, secretKey, parameterSpec);
+    /**
+     * Decrypts several values, for bulk jobs that would otherwise call {@link #decrypt(String)} in a loop.
+     *
+     * @param ciphertexts the values to decrypt; null elements stay null
+     * @return the decrypted values in the same order, or the input if encryption is disabled
+     * @throws RuntimeException if any value cannot be decrypted
+     */
+    public List<String> decryptAll(List<String> ciphertexts) {
+        if (!appProperties.security().encryption().enabled() || secretKey == null) {
+            return ciphertexts;
+        }
 
-            byte[] plaintextBytes = cipher.doFinal(encryptedBytes);
-            return new String(plaintextBytes, StandardCharsets.UTF_8);
+        try {
+            return fieldCipher.decryptAll(ciphertexts);
         } catch (Exception e) {
-            log.error("Failed to decrypt data", e);
+            log.error("Failed to decrypt data batch", e);
             throw new RuntimeException("Decryption failed", e);
         }
     }
 
     /**
-     * Generates a hash of the email for searchable lookups.
-     * Uses SHA-256 to create a deterministic hash.
+     * Generates the blind index of the email for searchable lookups.
+     * Uses HMAC-SHA256 when an index key is available, SHA-256 otherwise.
      *
      * @param email the email to hash
-     * @return Base64-encoded SHA-256 hash
+     * @return Base64-encoded index of the normalized email
      */
     public String hashEmail(String email) {
+        return computeEmailIndex(emailIndex, email);
+    }
+
+    /**
+     * Generates the unkeyed SHA-256 email hash used before the keyed blind index.
+     * Only needed to recognise rows that still have to be re-indexed.
+     *
+     * @param email the email to hash
+     * @return Base64-encoded SHA-256 hash of the normalized email
+     */
+    public String legacyHashEmail(String email) {
+        return computeEmailIndex(LEGACY_EMAIL_INDEX, email);
+    }
+
+    /**
+     * Checks whether email hashes are a keyed blind index.
+     *
+     * @return true if {@link #hashEmail(String)} uses HMAC
+     */
+    public boolean isEmailIndexKeyed() {
+        return emailIndex.isKeyed();
+    }
+
+    /**
+     * Checks if encryption is enabled.
+     *
+     * @return true if encryption is enabled and key is initialized
+     */
+    public boolean isEnabled() {
+        return appProperties.security().encryption().enabled() && secretKey != null;
+    }
+
+    private String computeEmailIndex(BlindIndex index, String email) {
         if (email == null) {
             return null;
         }
 
         try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(email.toLowerCase().trim().getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hashBytes);
+            return index.compute(email.toLowerCase().trim());
         } catch (Exception e) {
             log.error("Failed to hash email", e);
             throw new RuntimeException("Email hashing failed", e);
@@ -171,12 +218,27 @@ public class EncryptionService {
     }
 
     /**
-     * Checks if encryption is enabled.
-     *
-     * @return true if encryption is enabled and key is initialized
+     * Creates the email blind index from the dedicated index key, or derives its key from the
+     * configured encryption key. Generated development keys are not used, so hashes stay stable
+     * across restarts.
      */
-    public boolean isEnabled() {
-        return appProperties.security().encryption().enabled() && secretKey != null;
+    private BlindIndex createEmailIndex(
+            com.finance_control.shared.config.properties.SecurityProperties.EncryptionProperties encryption) {
+        try {
+            if (StringUtils.hasText(encryption.blindIndexKey())) {
+                return BlindIndex.keyed(Base64.getDecoder().decode(encryption.blindIndexKey()));
+            }
+            if (StringUtils.hasText(encryption.key())) {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(new SecretKeySpec(Base64.getDecoder().decode(encryption.key()), "HmacSHA256"));
+                return BlindIndex.keyed(mac.doFinal(BLIND_INDEX_KEY_LABEL));
+            }
+        } catch (Exception e) {
+            log.error("Invalid blind index key. Key must be Base64-encoded and at least 32 bytes.", e);
+            throw new IllegalStateException("Failed to initialize email blind index", e);
+        }
+        log.warn("No encryption key configured. Email hashes use unkeyed SHA-256.");
+        return LEGACY_EMAIL_INDEX;
     }
 
     /**
@@ -8,10 +8,14 @@ import org.springframework.util.StringUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Service for compressing and decompressing file data using Java's Deflater/Inflater APIs.
@@ -102,6 +106,49 @@ public class FileCompressionService {
         }
     }
 
+    /**
+     * Wraps a stream so that everything written to it is compressed with the configured level.
+     * The output is readable by {@link #decompress(byte[])} and {@link #decompressingStream(InputStream)}.
+     * Closing the returned stream closes the target stream.
+     *
+     * @param target the stream receiving compressed data
+     * @return a compressing stream
+     */
+    public OutputStream compressingStream(OutputStream target) {
+        int level = appProperties.supabase().storage().compression().level();
+        Deflater deflater = new Deflater(level);
+        return new DeflaterOutputStream(target, deflater, 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    deflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * Wraps a stream of data produced by {@link #compress(byte[])} or {@link #compressingStream(OutputStream)}
+     * so that reads return the decompressed content.
+     *
+     * @param source the compressed stream
+     * @return a decompressing stream
+     */
+    public InputStream decompressingStream(InputStream source) {
+        return new InflaterInputStream(source, new Inflater(), 8192) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inf.end();
+                }
+            }
+        };
+    }
+
     /**
      * Determines if a file should be compressed based on content type, size, and configuration.
      *
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -19,6 +20,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -113,6 +117,65 @@ public class SupabaseStorageService {
         }
     }
 
+    /**
+     * Uploads a file from disk to the specified Supabase Storage bucket without applying compression.
+     * The content is streamed from the file instead of being read into memory.
+     *
+     * @param bucketName the name of the bucket
+     * @param fileName the name of the file in storage
+     * @param file the file to upload
+     * @param contentType the MIME type to store
+     * @throws IOException if the file cannot be read or the upload fails
+     */
+    public void uploadFile(String bucketName, String fileName, Path file, String contentType) throws IOException {
+        validateConfiguration();
+
+        long size = Files.size(file);
+        try {
+            restClient.post()
+                    .uri("/storage/v1/object/{bucket}/{path}", bucketName, fileName)
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .contentLength(size)
+                    .body(new FileSystemResource(file))
+                    .retrieve()
+                    .toBodilessEntity();
+
+            log.info("Successfully uploaded {} bytes as {} to bucket {}", size, fileName, bucketName);
+        } catch (RestClientException e) {
+            log.error("Failed to upload file {} to bucket {}: {}", fileName, bucketName, e.getMessage(), e);
+            throw new IOException("Failed to upload file to Supabase Storage", e);
+        }
+    }
+
+    /**
+     * Opens a file of the specified Supabase Storage bucket as a stream, without buffering or
+     * decompressing it. The caller must close the stream, which releases the connection.
+     *
+     * @param bucketName the name of the bucket
+     * @param fileName the name of the file to download
+     * @return the stored content
+     * @throws IOException if the file cannot be downloaded
+     */
+    public InputStream openStream(String bucketName, String fileName) throws IOException {
+        validateConfiguration();
+
+        try {
+            return restClient.get()
+                    .uri("/storage/v1/object/{bucket}/{path}", bucketName, fileName)
+                    .exchange((request, response) -> {
+                        if (response.getStatusCode().isError()) {
+                            response.close();
+                            throw new IOException("Supabase Storage returned " + response.getStatusCode()
+                                    + " for " + fileName);
+                        }
+                        return response.getBody();
+                    }, false);
+        } catch (RestClientException e) {
+            log.error("Failed to download file {} from bucket {}: {}", fileName, bucketName, e.getMessage(), e);
+            throw new IOException("Failed to download file from Supabase Storage", e);
+        }
+    }
+
     /**
      * Downloads a file from the specified Supabase Storage bucket.
      *
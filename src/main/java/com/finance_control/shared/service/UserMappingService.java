@@ -1,10 +1,13 @@
 package com.finance_control.shared.service;
 
 import com.finance_control.shared.dto.AuthResponse;
+import com.finance_control.shared.event.UserAccountChangedEvent;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
+import com.finance_control.users.service.UserEmailLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class UserMappingService {
 
     private final UserRepository userRepository;
     private final EncryptionService encryptionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Finds or creates a local user based on Supabase authentication response.
@@ -54,8 +58,7 @@ public class UserMappingService {
         }
 
         // If not found by Supabase ID, try by email hash
-        String emailHash = encryptionService.hashEmail(email);
-        existingUser = userRepository.findByEmailHash(emailHash);
+        existingUser = UserEmailLookup.findByEmail(userRepository, encryptionService, email);
 
         if (existingUser.isPresent()) {
             log.debug("Found existing user by email: {}", email);
@@ -143,6 +146,7 @@ public class UserMappingService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId()));
         log.debug("Updated user {} with Supabase information", user.getId());
     }
 
@@ -0,0 +1,218 @@
+package com.finance_control.shared.service.realtime;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connected client with its own bounded outbound queue.
+ * Publishers only enqueue; a single drainer at a time writes to the socket, so a slow client
+ * never blocks the thread that produced the message. When the queue is full the oldest message
+ * is dropped and counted so the client can be told to resynchronize once the queue drains.
+ * Coalesced messages wait outside the queue, one per key, and are replaced by newer ones until
+ * they are flushed.
+ */
+public class RealtimeClientSession {
+
+    public enum OfferResult {
+        QUEUED,
+        DROPPED_OLDEST,
+        COALESCED,
+        DEFERRED
+    }
+
+    private final WebSocketSession session;
+    private final Long userId;
+    private final int capacity;
+    private final AtomicLong queuedTotal;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<RealtimeOutboundMessage> queue = new ArrayDeque<>();
+    private final Map<String, RealtimeOutboundMessage> pendingCoalesced = new HashMap<>();
+    private boolean draining;
+    private boolean closed;
+    private long droppedSinceDrain;
+
+    /**
+     * @param session the underlying socket
+     * @param userId the ID of the authenticated user owning the socket
+     * @param capacity the maximum number of queued messages
+     * @param queuedTotal counter of queued messages shared by all sessions, for the queue depth metric
+     */
+    public RealtimeClientSession(WebSocketSession session, Long userId, int capacity, AtomicLong queuedTotal) {
+        this.session = session;
+        this.userId = userId;
+        this.capacity = capacity;
+        this.queuedTotal = queuedTotal;
+    }
+
+    public String getId() {
+        return session.getId();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isOpen() {
+        return session.isOpen();
+    }
+
+    /**
+     * Queues a message, dropping the oldest queued message when the queue is full.
+     *
+     * @param message the message
+     * @return {@link OfferResult#QUEUED} or {@link OfferResult#DROPPED_OLDEST}
+     */
+    public OfferResult offer(RealtimeOutboundMessage message) {
+        synchronized (lock) {
+            return enqueue(message);
+        }
+    }
+
+    /**
+     * Holds a message until {@link #flushCoalesced(String)} is called for its key, replacing any
+     * message already held under the same key.
+     *
+     * @param message the message
+     * @return {@link OfferResult#DEFERRED} when the caller must schedule the flush,
+     *         {@link OfferResult#COALESCED} when a flush is already pending
+     */
+    public OfferResult offerCoalesced(RealtimeOutboundMessage message) {
+        synchronized (lock) {
+            if (closed) {
+                return OfferResult.COALESCED;
+            }
+            RealtimeOutboundMessage previous = pendingCoalesced.put(message.coalesceKey(), message);
+            if (previous != null) {
+                return OfferResult.COALESCED;
+            }
+            queuedTotal.incrementAndGet();
+            return OfferResult.DEFERRED;
+        }
+    }
+
+    /**
+     * Moves the message held under a key into the queue.
+     *
+     * @param coalesceKey the key
+     * @return the queueing result, or null when nothing was held
+     */
+    public OfferResult flushCoalesced(String coalesceKey) {
+        synchronized (lock) {
+            RealtimeOutboundMessage message = pendingCoalesced.remove(coalesceKey);
+            if (message == null) {
+                return null;
+            }
+            queuedTotal.decrementAndGet();
+            return enqueue(message);
+        }
+    }
+
+    /**
+     * Claims the drainer role when there is something to send and nobody is draining.
+     *
+     * @return true if the caller must run the drain
+     */
+    public boolean claimDrain() {
+        synchronized (lock) {
+            if (draining || closed || queue.isEmpty()) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+    }
+
+    /**
+     * Takes the next message to send, releasing the drainer role when the queue is empty.
+     * Only the current drainer may call this.
+     *
+     * @return the next message, or null when the drain is over
+     */
+    public RealtimeOutboundMessage poll() {
+        synchronized (lock) {
+            RealtimeOutboundMessage message = queue.poll();
+            if (message == null) {
+                draining = false;
+            } else {
+                queuedTotal.decrementAndGet();
+            }
+            return message;
+        }
+    }
+
+    /**
+     * Gives up the drainer role before the queue is empty so other sessions get a turn.
+     * Only the current drainer may call this.
+     */
+    public void releaseDrain() {
+        synchronized (lock) {
+            draining = false;
+        }
+    }
+
+    /**
+     * Returns and resets the number of messages dropped since the last call.
+     *
+     * @return the dropped message count
+     */
+    public long takeDroppedCount() {
+        synchronized (lock) {
+            long dropped = droppedSinceDrain;
+            droppedSinceDrain = 0;
+            return dropped;
+        }
+    }
+
+    /**
+     * Writes a frame to the socket. Only the current drainer may call this.
+     *
+     * @param message the message
+     * @throws IOException if the socket rejects the write
+     */
+    public void send(RealtimeOutboundMessage message) throws IOException {
+        session.sendMessage(message.payload());
+    }
+
+    /**
+     * Discards everything queued or held for this session.
+     */
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queuedTotal.addAndGet(-(queue.size() + pendingCoalesced.size()));
+            queue.clear();
+            pendingCoalesced.clear();
+        }
+    }
+
+    public int getQueueSize() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    private OfferResult enqueue(RealtimeOutboundMessage message) {
+        if (closed) {
+            return OfferResult.DROPPED_OLDEST;
+        }
+        OfferResult result = OfferResult.QUEUED;
+        if (queue.size() >= capacity) {
+            queue.poll();
+            droppedSinceDrain++;
+            result = OfferResult.DROPPED_OLDEST;
+        } else {
+            queuedTotal.incrementAndGet();
+        }
+        queue.add(message);
+        return result;
+    }
+}
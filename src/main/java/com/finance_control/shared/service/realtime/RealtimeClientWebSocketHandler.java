@@ -0,0 +1,107 @@
+package com.finance_control.shared.service.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WebSocket handler for application clients.
+ * Each authenticated socket is registered with the {@link RealtimeFanout}; clients send
+ * {@code {"action": "subscribe" | "unsubscribe", "channel": "..."}} to manage channel subscriptions.
+ * All outbound frames, replies included, go through the session queue so the socket has a single writer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RealtimeClientWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String USER_ID_ATTRIBUTE = "realtime.userId";
+    static final String SESSION_ATTRIBUTE = "realtime.session";
+
+    private final RealtimeFanout fanout;
+    private final RealtimeSubscriptionManager subscriptionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession socket) throws Exception {
+        if (!(socket.getAttributes().get(USER_ID_ATTRIBUTE) instanceof Long userId)) {
+            socket.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+        socket.getAttributes().put(SESSION_ATTRIBUTE, fanout.openSession(socket, userId));
+        log.debug("Realtime client connected: session {} for user {}", socket.getId(), userId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession socket, TextMessage message) {
+        RealtimeClientSession session = sessionOf(socket);
+        if (session == null) {
+            return;
+        }
+
+        String action;
+        String channel;
+        try {
+            JsonNode command = objectMapper.readTree(message.getPayload());
+            action = command.path("action").asText();
+            channel = command.path("channel").asText();
+        } catch (IOException e) {
+            reply(session, "error", null, "Malformed command");
+            return;
+        }
+
+        try {
+            switch (action) {
+                case "subscribe" -> {
+                    subscriptionManager.subscribeToChannel(channel, session.getUserId());
+                    reply(session, "subscription_confirmed", channel, null);
+                }
+                case "unsubscribe" -> {
+                    subscriptionManager.unsubscribeFromChannel(channel, session.getUserId());
+                    reply(session, "unsubscription_confirmed", channel, null);
+                }
+                default -> reply(session, "error", channel, "Unknown action: " + action);
+            }
+        } catch (IllegalArgumentException e) {
+            reply(session, "error", channel, e.getMessage());
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession socket, Throwable exception) {
+        log.debug("Realtime client transport error on session {}: {}", socket.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession socket, CloseStatus status) {
+        RealtimeClientSession session = sessionOf(socket);
+        if (session != null) {
+            fanout.closeSession(session);
+            log.debug("Realtime client disconnected: session {} ({})", socket.getId(), status);
+        }
+    }
+
+    private void reply(RealtimeClientSession session, String type, String channel, String error) {
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("type", type);
+        reply.put("channel", channel);
+        if (error != null) {
+            reply.put("error", error);
+        }
+        fanout.sendToSession(session, channel, reply);
+    }
+
+    private static RealtimeClientSession sessionOf(WebSocketSession socket) {
+        return (RealtimeClientSession) socket.getAttributes().get(SESSION_ATTRIBUTE);
+    }
+}
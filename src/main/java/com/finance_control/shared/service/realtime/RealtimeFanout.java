@@ -0,0 +1,292 @@
+package com.finance_control.shared.service.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance_control.shared.monitoring.MetricsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers realtime messages to the client sessions of users.
+ * Each message is serialized once, only when at least one recipient is connected, and the same
+ * frame is queued on every recipient session. Publishers return as soon as the frame is queued;
+ * sender threads drain the session queues. Message types listed in
+ * {@code app.realtime.coalesced-types} are held for {@code app.realtime.coalesce-window-ms} per
+ * session and only the latest one is sent.
+ */
+@Slf4j
+@Component
+public class RealtimeFanout {
+
+    static final String RESYNC_TYPE = "resync_required";
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final RealtimeSessionRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final MetricsService metricsService;
+    private final int queueCapacity;
+    private final long coalesceWindowMs;
+    private final Set<String> coalescedTypes;
+    private final AtomicLong queuedMessages = new AtomicLong();
+    private final ThreadPoolExecutor senderExecutor;
+    private final ScheduledExecutorService coalesceScheduler;
+
+    public RealtimeFanout(RealtimeSessionRegistry registry,
+            ObjectMapper objectMapper,
+            MetricsService metricsService,
+            @Value("${app.realtime.session-queue-capacity:256}") int queueCapacity,
+            @Value("${app.realtime.coalesce-window-ms:500}") long coalesceWindowMs,
+            @Value("${app.realtime.coalesced-types:dashboard_update}") List<String> coalescedTypes,
+            @Value("${app.realtime.sender-threads:4}") int senderThreads) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.metricsService = metricsService;
+        this.queueCapacity = queueCapacity;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.coalescedTypes = Set.copyOf(coalescedTypes);
+        this.senderExecutor = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("realtime-sender-"));
+        this.coalesceScheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("realtime-coalesce-"));
+    }
+
+    /**
+     * Registers a newly connected client session.
+     *
+     * @param socket the client socket
+     * @param userId the ID of the authenticated user
+     * @return the registered session
+     */
+    public RealtimeClientSession openSession(WebSocketSession socket, Long userId) {
+        RealtimeClientSession session = new RealtimeClientSession(socket, userId, queueCapacity, queuedMessages);
+        registry.register(session);
+        return session;
+    }
+
+    /**
+     * Unregisters a client session and discards what was queued for it.
+     *
+     * @param session the session
+     */
+    public void closeSession(RealtimeClientSession session) {
+        registry.unregister(session);
+        metricsService.setRealtimeQueueDepth(queuedMessages.get());
+    }
+
+    /**
+     * Queues a message for every session of a user.
+     *
+     * @param channel the channel
+     * @param userId the recipient
+     * @param message the message, serialized as the {@code payload} of the frame
+     * @return the number of sessions the message was queued on
+     */
+    public int sendToUser(String channel, Long userId, Object message) {
+        if (userId == null) {
+            return 0;
+        }
+        return sendToUsers(channel, List.of(userId), message);
+    }
+
+    /**
+     * Queues a message for every session of several users, serializing it once.
+     *
+     * @param channel the channel
+     * @param userIds the recipients
+     * @param message the message, serialized as the {@code payload} of the frame
+     * @return the number of sessions the message was queued on
+     */
+    public int sendToUsers(String channel, Collection<Long> userIds, Object message) {
+        RealtimeOutboundMessage outbound = null;
+        int queued = 0;
+        for (Long userId : userIds) {
+            Set<RealtimeClientSession> sessions = registry.getSessions(userId);
+            if (sessions.isEmpty()) {
+                continue;
+            }
+            if (outbound == null) {
+                outbound = serialize(channel, message);
+                if (outbound == null) {
+                    return 0;
+                }
+            }
+            for (RealtimeClientSession session : sessions) {
+                dispatch(session, outbound);
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            metricsService.setRealtimeQueueDepth(queuedMessages.get());
+        }
+        return queued;
+    }
+
+    /**
+     * Queues a message for a single session, such as a reply to a client command.
+     *
+     * @param session the session
+     * @param channel the channel, or null
+     * @param message the message, serialized as the {@code payload} of the frame
+     */
+    public void sendToSession(RealtimeClientSession session, String channel, Object message) {
+        RealtimeOutboundMessage outbound = serialize(channel, message);
+        if (outbound != null) {
+            dispatch(session, outbound);
+        }
+    }
+
+    /**
+     * Returns the number of messages queued or held for coalescing across all sessions.
+     *
+     * @return the queued message count
+     */
+    public long getQueuedMessageCount() {
+        return queuedMessages.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coalesceScheduler.shutdownNow();
+        senderExecutor.shutdown();
+        try {
+            if (!senderExecutor.awaitTermination(2, TimeUnit.SECONDS)) {
+                senderExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senderExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        registry.clear();
+    }
+
+    private void dispatch(RealtimeClientSession session, RealtimeOutboundMessage message) {
+        if (message.type() != null && coalescedTypes.contains(message.type())) {
+            if (session.offerCoalesced(message) == RealtimeClientSession.OfferResult.DEFERRED) {
+                scheduleFlush(session, message.coalesceKey());
+            } else {
+                metricsService.incrementRealtimeMessageDropped("coalesced");
+            }
+            return;
+        }
+        if (session.offer(message) == RealtimeClientSession.OfferResult.DROPPED_OLDEST) {
+            metricsService.incrementRealtimeMessageDropped("overflow");
+        }
+        scheduleDrain(session);
+    }
+
+    private void scheduleFlush(RealtimeClientSession session, String coalesceKey) {
+        try {
+            coalesceScheduler.schedule(() -> flush(session, coalesceKey), coalesceWindowMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Realtime fan-out is shutting down, not flushing {}", coalesceKey);
+        }
+    }
+
+    private void flush(RealtimeClientSession session, String coalesceKey) {
+        RealtimeClientSession.OfferResult result = session.flushCoalesced(coalesceKey);
+        if (result == null) {
+            return;
+        }
+        if (result == RealtimeClientSession.OfferResult.DROPPED_OLDEST) {
+            metricsService.incrementRealtimeMessageDropped("overflow");
+        }
+        scheduleDrain(session);
+    }
+
+    private void scheduleDrain(RealtimeClientSession session) {
+        if (!session.claimDrain()) {
+            return;
+        }
+        try {
+            senderExecutor.execute(() -> drain(session));
+        } catch (RejectedExecutionException e) {
+            session.releaseDrain();
+            log.debug("Realtime fan-out is shutting down, not draining session {}", session.getId());
+        }
+    }
+
+    private void drain(RealtimeClientSession session) {
+        for (int sent = 0; sent < DRAIN_BATCH_SIZE; sent++) {
+            RealtimeOutboundMessage message = session.poll();
+            if (message == null) {
+                afterDrain(session);
+                return;
+            }
+            try {
+                session.send(message);
+                metricsService.recordRealtimeSendLatency(Duration.ofNanos(System.nanoTime() - message.createdAtNanos()));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Closing realtime session {} after failed send: {}", session.getId(), e.getMessage());
+                closeSession(session);
+                return;
+            }
+        }
+        session.releaseDrain();
+        scheduleDrain(session);
+    }
+
+    private void afterDrain(RealtimeClientSession session) {
+        long dropped = session.takeDroppedCount();
+        if (dropped > 0 && session.isOpen()) {
+            Map<String, Object> resync = new LinkedHashMap<>();
+            resync.put("type", RESYNC_TYPE);
+            resync.put("dropped", dropped);
+            RealtimeOutboundMessage outbound = serialize(null, resync);
+            if (outbound != null) {
+                session.offer(outbound);
+                scheduleDrain(session);
+            }
+        }
+        metricsService.setRealtimeQueueDepth(queuedMessages.get());
+    }
+
+    private RealtimeOutboundMessage serialize(String channel, Object message) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("channel", channel);
+        frame.put("payload", message);
+        try {
+            TextMessage payload = new TextMessage(objectMapper.writeValueAsString(frame));
+            return new RealtimeOutboundMessage(channel, typeOf(message), payload, System.nanoTime());
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping realtime message for channel {} that cannot be serialized: {}",
+                    channel, e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    private static String typeOf(Object message) {
+        if (message instanceof Map<?, ?> map && map.get("type") instanceof String type) {
+            return type;
+        }
+        return null;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
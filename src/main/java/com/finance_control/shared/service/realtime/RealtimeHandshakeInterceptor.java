@@ -0,0 +1,37 @@
+package com.finance_control.shared.service.realtime;
+
+import com.finance_control.shared.context.UserContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+
+/**
+ * Binds a client socket to the user authenticated by the security filter chain during the handshake.
+ * Handshakes without an authenticated user are rejected.
+ */
+@Component
+public class RealtimeHandshakeInterceptor implements HandshakeInterceptor {
+
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return false;
+        }
+        attributes.put(RealtimeClientWebSocketHandler.USER_ID_ATTRIBUTE, userId);
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+            WebSocketHandler wsHandler, Exception exception) {
+        // Nothing to do once the socket is upgraded
+    }
+}
@@ -13,6 +13,8 @@ import java.util.Set;
 
 /**
  * Handles realtime message processing and broadcasting.
+ * Messages are delivered to connected clients through the {@link RealtimeFanout}; per-user
+ * notifications only reach the sessions of that user.
  */
 @Slf4j
 @Component
@@ -21,6 +23,7 @@ public class RealtimeMessageHandler {
 
     private final ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
     private final RealtimeSubscriptionManager subscriptionManager;
+    private final RealtimeFanout fanout;
 
     public ObjectMapper getObjectMapper() {
         return objectMapper;
@@ -50,10 +53,9 @@ public class RealtimeMessageHandler {
     public void broadcastToChannel(String channelName, Object message) {
         Set<Long> subscribers = subscriptionManager.getChannelSubscribers(channelName);
         if (subscribers != null && !subscribers.isEmpty()) {
-            log.debug("Broadcasting message to {} subscribers in channel {}", subscribers.size(), channelName);
-            for (Long userId : subscribers) {
-                broadcastToUser(channelName, userId, message);
-            }
+            int sessions = fanout.sendToUsers(channelName, subscribers, message);
+            log.debug("Queued message for {} sessions of {} subscribers in channel {}",
+                    sessions, subscribers.size(), channelName);
         } else {
             log.debug("No subscribers for channel {}", channelName);
         }
@@ -61,7 +63,8 @@ public class RealtimeMessageHandler {
 
     public void broadcastToUser(String channelName, Long userId, Object message) {
         try {
-            log.debug("Message to user {} on channel {} would be sent: {} - TEMPORARILY DISABLED", userId, channelName, message);
+            int sessions = fanout.sendToUser(channelName, userId, message);
+            log.debug("Queued message for {} sessions of user {} on channel {}", sessions, userId, channelName);
         } catch (Exception e) {
             log.error("Failed to send message to user {} on channel {}: {}", userId, channelName, e.getMessage(), e);
         }
@@ -73,7 +76,7 @@ public class RealtimeMessageHandler {
         message.put("userId", userId);
         message.put("data", transactionData);
         message.put("timestamp", System.currentTimeMillis());
-        broadcastToChannel("transactions", message);
+        broadcastToUser("transactions", userId, message);
     }
 
     public void notifyDashboardUpdate(Long userId, Object dashboardData) {
@@ -82,7 +85,7 @@ public class RealtimeMessageHandler {
         message.put("userId", userId);
         message.put("data", dashboardData);
         message.put("timestamp", System.currentTimeMillis());
-        broadcastToChannel("dashboard", message);
+        broadcastToUser("dashboard", userId, message);
     }
 
     public void notifyGoalUpdate(Long userId, Object goalData) {
@@ -91,7 +94,7 @@ public class RealtimeMessageHandler {
         message.put("userId", userId);
         message.put("data", goalData);
         message.put("timestamp", System.currentTimeMillis());
-        broadcastToChannel("goals", message);
+        broadcastToUser("goals", userId, message);
     }
 
     public void sendDatabaseSubscriptionMessage(WebSocketSession session, String tableName, long messageId) {
@@ -174,9 +177,7 @@ public class RealtimeMessageHandler {
             message.put("data", payload);
             message.put("timestamp", System.currentTimeMillis());
 
-            for (Long userId : subscribers) {
-                broadcastToUser(tableName, userId, message);
-            }
+            fanout.sendToUsers(tableName, subscribers, message);
         }
     }
 }
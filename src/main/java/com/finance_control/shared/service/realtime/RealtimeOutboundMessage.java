@@ -0,0 +1,23 @@
+package com.finance_control.shared.service.realtime;
+
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * A message serialized once and shared by every session it is queued on.
+ *
+ * @param channel the channel the message belongs to
+ * @param type the message type, or null when the payload has none
+ * @param payload the serialized frame
+ * @param createdAtNanos {@link System#nanoTime()} when the message was published, used for send latency
+ */
+public record RealtimeOutboundMessage(String channel, String type, TextMessage payload, long createdAtNanos) {
+
+    /**
+     * Returns the key under which messages of this channel and type are coalesced.
+     *
+     * @return the coalescing key
+     */
+    public String coalesceKey() {
+        return channel + ":" + type;
+    }
+}
@@ -0,0 +1,61 @@
+package com.finance_control.shared.service.realtime;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent registry of the client sessions connected for each user.
+ * A user can hold several sessions (tabs, devices); lookups by user are lock-free.
+ */
+@Slf4j
+@Component
+public class RealtimeSessionRegistry {
+
+    private final Map<Long, Set<RealtimeClientSession>> sessionsByUser = new ConcurrentHashMap<>();
+
+    public void register(RealtimeClientSession session) {
+        sessionsByUser.compute(session.getUserId(), (userId, sessions) -> {
+            Set<RealtimeClientSession> target = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            target.add(session);
+            return target;
+        });
+        log.debug("Registered realtime session {} for user {}", session.getId(), session.getUserId());
+    }
+
+    public void unregister(RealtimeClientSession session) {
+        sessionsByUser.computeIfPresent(session.getUserId(), (userId, sessions) -> {
+            sessions.remove(session);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        session.close();
+        log.debug("Unregistered realtime session {} for user {}", session.getId(), session.getUserId());
+    }
+
+    public Set<RealtimeClientSession> getSessions(Long userId) {
+        if (userId == null) {
+            return Set.of();
+        }
+        return sessionsByUser.getOrDefault(userId, Set.of());
+    }
+
+    public boolean hasSessions(Long userId) {
+        return userId != null && sessionsByUser.containsKey(userId);
+    }
+
+    public int getConnectedUserCount() {
+        return sessionsByUser.size();
+    }
+
+    public int getSessionCount() {
+        return sessionsByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public void clear() {
+        sessionsByUser.values().forEach(sessions -> sessions.forEach(RealtimeClientSession::close));
+        sessionsByUser.clear();
+    }
+}
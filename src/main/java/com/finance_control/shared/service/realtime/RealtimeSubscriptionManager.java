@@ -6,13 +6,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages realtime channel and database subscriptions.
+ * Subscriber sets are concurrent so they can be iterated by publishers while users subscribe.
  */
 @Slf4j
 @Component
@@ -28,17 +28,12 @@ public class RealtimeSubscriptionManager {
             throw new IllegalArgumentException("Invalid channel: " + channelName);
         }
 
-        activeSubscriptions.computeIfAbsent(channelName, k -> new HashSet<>()).add(userId);
+        subscribe(activeSubscriptions, channelName, userId);
         log.info("User {} subscribed to channel {}", userId, channelName);
     }
 
     public void unsubscribeFromChannel(String channelName, Long userId) {
-        Set<Long> subscribers = activeSubscriptions.get(channelName);
-        if (subscribers != null) {
-            subscribers.remove(userId);
-            if (subscribers.isEmpty()) {
-                activeSubscriptions.remove(channelName);
-            }
+        if (unsubscribe(activeSubscriptions, channelName, userId)) {
             log.info("User {} unsubscribed from channel {}", userId, channelName);
         }
     }
@@ -48,17 +43,12 @@ public class RealtimeSubscriptionManager {
     }
 
     public void subscribeToDatabaseChanges(String tableName, Long userId) {
-        databaseSubscriptions.computeIfAbsent(tableName, k -> new HashSet<>()).add(userId);
+        subscribe(databaseSubscriptions, tableName, userId);
         log.info("User {} subscribed to database changes for table {}", userId, tableName);
     }
 
     public void unsubscribeFromDatabaseChanges(String tableName, Long userId) {
-        Set<Long> subscribers = databaseSubscriptions.get(tableName);
-        if (subscribers != null) {
-            subscribers.remove(userId);
-            if (subscribers.isEmpty()) {
-                databaseSubscriptions.remove(tableName);
-            }
+        if (unsubscribe(databaseSubscriptions, tableName, userId)) {
             log.info("User {} unsubscribed from database changes for table {}", userId, tableName);
         }
     }
@@ -72,12 +62,12 @@ public class RealtimeSubscriptionManager {
         log.info("Setting up realtime channels: {}", String.join(", ", channels));
 
         for (String channel : channels) {
-            activeSubscriptions.putIfAbsent(channel, new HashSet<>());
+            activeSubscriptions.putIfAbsent(channel, ConcurrentHashMap.newKeySet());
         }
 
         String[] defaultTables = {"transactions", "goals", "profiles"};
         for (String table : defaultTables) {
-            databaseSubscriptions.putIfAbsent(table, new HashSet<>());
+            databaseSubscriptions.putIfAbsent(table, ConcurrentHashMap.newKeySet());
         }
     }
 
@@ -103,5 +93,23 @@ public class RealtimeSubscriptionManager {
         activeSubscriptions.clear();
         databaseSubscriptions.clear();
     }
-}
 
+    private static void subscribe(Map<String, Set<Long>> subscriptions, String key, Long userId) {
+        subscriptions.compute(key, (k, subscribers) -> {
+            Set<Long> target = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            target.add(userId);
+            return target;
+        });
+    }
+
+    private static boolean unsubscribe(Map<String, Set<Long>> subscriptions, String key, Long userId) {
+        if (!subscriptions.containsKey(key)) {
+            return false;
+        }
+        subscriptions.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(userId);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        return true;
+    }
+}
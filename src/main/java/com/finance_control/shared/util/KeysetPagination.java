@@ -0,0 +1,123 @@
+package com.finance_control.shared.util;
+
+import com.finance_control.shared.dto.CursorPage;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utility class for keyset (seek) pagination over listings ordered by {@code (timestamp DESC, id DESC)}.
+ * The next page starts strictly after the last row of the previous one, so each page costs an index
+ * range scan of {@code size + 1} rows regardless of how deep the client has scrolled.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetPagination() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Position of the last row returned, as {@code (timestamp, id)}.
+     *
+     * @param timestamp the sort timestamp of the row
+     * @param id the row ID, breaking ties between equal timestamps
+     */
+    public record Cursor(LocalDateTime timestamp, Long id) {
+
+        /**
+         * Encodes the position as an opaque, URL-safe token.
+         *
+         * @return the encoded cursor
+         */
+        public String encode() {
+            String raw = timestamp + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Decodes a token produced by {@link #encode()}.
+         *
+         * @param token the encoded cursor, or null/blank for the first page
+         * @return the decoded cursor, or null for the first page
+         * @throws IllegalArgumentException if the token is malformed
+         */
+        public static Cursor decode(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf(SEPARATOR);
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.valueOf(raw.substring(separator + 1)));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+
+    /**
+     * Clamps a requested page size to {@code [1, MAX_SIZE]}.
+     *
+     * @param size the requested size, or null for the default
+     * @return the size to use
+     */
+    public static int normalizeSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Limit for a seek query: one row more than the page size, to tell whether a next page exists
+     * without counting.
+     *
+     * @param size the page size
+     * @return an unsorted first-page request of {@code size + 1} rows
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a cursor page from the rows of a seek query fetched with {@link #limit(int)}.
+     *
+     * @param rows the rows, in listing order
+     * @param size the page size
+     * @param positionOf extracts the keyset position of a row
+     * @param mapper maps rows to the returned items
+     * @param totalElements the total, or null when not requested
+     * @param <E> the row type
+     * @param <D> the item type
+     * @return the cursor page
+     */
+    public static <E, D> CursorPage<D> toPage(List<E> rows, int size, Function<E, Cursor> positionOf,
+            Function<E, D> mapper, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? positionOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+
+        return CursorPage.<D>builder()
+                .content(pageRows.stream().map(mapper).toList())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(pageRows.size())
+                .totalElements(totalElements)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.finance_control.transactions.controller;
 
 import com.finance_control.shared.controller.BaseController;
+import com.finance_control.shared.dto.CursorPage;
 import com.finance_control.transactions.controller.helper.TransactionFilterHelper;
 import com.finance_control.transactions.controller.helper.TransactionPageableHelper;
 import com.finance_control.transactions.dto.TransactionDTO;
@@ -82,6 +83,16 @@ public class TransactionController extends BaseController<Transaction, Long, Tra
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Get transactions by cursor",
+               description = "Retrieve transactions newest first with keyset pagination. Pass the returned nextCursor to get the next page; the total is only counted when includeTotal is true")
+    public ResponseEntity<CursorPage<TransactionDTO>> findByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        log.debug("GET request to retrieve transactions by cursor");
+        return ResponseEntity.ok(transactionService.findByCursor(cursor, size, includeTotal));
+    }
 
     @PutMapping("/{id}/reconcile")
     @Operation(summary = "Reconcile transaction", description = "Complete reconciliation of transaction data")
@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,6 +41,24 @@ import java.util.stream.Collectors;
 public class CsvTransactionParser {
 
     public ParseResult parseCsv(MultipartFile file, TransactionImportRequest request) {
+        List<ImportedEntry> entries = new ArrayList<>();
+        List<TransactionImportIssueDTO> issues = new ArrayList<>();
+        parseCsv(file, request, entries::add, issues::add);
+        return new ParseResult(entries, issues);
+    }
+
+    /**
+     * Parses the file record by record, handing each entry or issue to the given sinks as soon as
+     * it is read so callers never need to hold the whole statement in memory.
+     *
+     * @param file the uploaded CSV file
+     * @param request the import request
+     * @param entrySink receives every parsed entry, in file order
+     * @param issueSink receives every record that could not be parsed
+     * @return the number of records read
+     */
+    public int parseCsv(MultipartFile file, TransactionImportRequest request,
+                        Consumer<ImportedEntry> entrySink, Consumer<TransactionImportIssueDTO> issueSink) {
         TransactionImportRequest.CsvConfiguration csv = request.getCsv();
         if (csv == null) {
             throw new IllegalArgumentException("CSV configuration is required");
@@ -70,11 +89,10 @@ public class CsvTransactionParser {
                 String sourceEntityColumn = resolveOptionalColumn(csv.getSourceEntityColumn(), headerLookup);
                 String externalIdColumn = resolveOptionalColumn(csv.getExternalIdColumn(), headerLookup);
 
-                List<ImportedEntry> entries = new ArrayList<>();
-                List<TransactionImportIssueDTO> issues = new ArrayList<>();
                 int index = 0;
                 for (CSVRecord record : parser) {
                     index++;
+                    ImportedEntry entry;
                     try {
                         LocalDateTime date = parseCsvDate(record.get(dateColumn), csv, request.resolveZoneId());
                         BigDecimal amount = parseCsvAmount(record.get(amountColumn), csv);
@@ -83,7 +101,7 @@ public class CsvTransactionParser {
                             throw new IllegalArgumentException("Description cannot be blank");
                         }
 
-                        entries.add(new ImportedEntry(index,
+                        entry = new ImportedEntry(index,
                                 extract(record, externalIdColumn),
                                 date,
                                 description,
@@ -93,18 +111,20 @@ public class CsvTransactionParser {
                                 extract(record, sourceColumn),
                                 extract(record, categoryColumn),
                                 extract(record, subcategoryColumn),
-                                extract(record, sourceEntityColumn)));
+                                extract(record, sourceEntityColumn));
                     } catch (Exception ex) {
-                        issues.add(TransactionImportIssueDTO.builder()
+                        issueSink.accept(TransactionImportIssueDTO.builder()
                                 .lineNumber(index)
                                 .externalReference(extract(record, externalIdColumn))
                                 .message(safeErrorMessage(ex.getMessage()))
                                 .type(TransactionImportIssueType.PARSING_ERROR)
                                 .build());
+                        continue;
                     }
+                    entrySink.accept(entry);
                 }
 
-                return new ParseResult(entries, issues);
+                return index;
             }
         } catch (IOException ex) {
             throw new IllegalArgumentException("Unable to read CSV file", ex);
@@ -77,7 +77,7 @@ public class Transaction extends BaseModel<Long> {
     @Column(name = "installment_amount", precision = 10, scale = 2)
     private BigDecimal installmentAmount;
 
-    @Column(name = "date")
+    @Column(name = "date", nullable = false)
     private LocalDateTime date = LocalDateTime.now();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,56 @@
+package com.finance_control.transactions.model.rollup;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.shared.model.BaseModel;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.users.model.User;
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Materialized per-user monthly totals of transactions, keyed by month, type and category.
+ * Rows are maintained incrementally on every transaction write so dashboard and report
+ * reads scale with months x categories instead of the full transaction history.
+ */
+@Entity
+@Table(name = "user_monthly_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_monthly_rollup_bucket",
+                columnNames = {"user_id", "month_start", "type", "category_id"}))
+@Getter
+@Setter
+@ToString(exclude = {"user", "category"})
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class UserMonthlyRollup extends BaseModel<Long> {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private TransactionType type;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private TransactionCategory category;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    @Column(name = "unreconciled_count", nullable = false)
+    private Long unreconciledCount = 0L;
+}
@@ -0,0 +1,164 @@
+package com.finance_control.transactions.repository;
+
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.model.responsibles.TransactionResponsibles.TransactionResponsibility;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts transactions and their responsibility rows through JDBC batches.
+ * Transaction IDs are IDENTITY columns, which keeps Hibernate from batching inserts, so bulk
+ * writes bypass the persistence context: each slice is sent as one batch and the generated IDs are
+ * read back into the entities. Runs on the connection of the surrounding transaction.
+ */
+@Slf4j
+@Repository
+public class TransactionBatchWriter {
+
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions ("
+            + "type, subtype, source, description, amount, installments, status, installment_group_id, "
+            + "installment_number, total_installments, installment_amount, date, user_id, category_id, "
+            + "subcategory_id, source_entity_id, reconciled_amount, reconciliation_date, is_reconciled, "
+            + "reconciliation_notes, bank_reference, external_reference, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_RESPONSIBILITY = "INSERT INTO transaction_responsibilities ("
+            + "transaction_id, responsible_id, percentage, calculated_amount, notes, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] GENERATED_ID = {"id"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public TransactionBatchWriter(JdbcTemplate jdbcTemplate,
+            @Value("${app.transactions.batch-insert-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Inserts new transactions and their responsibilities, setting the generated IDs and audit
+     * timestamps on the given entities.
+     *
+     * @param transactions unsaved transactions whose references are already resolved
+     */
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            List<TransactionResponsibility> responsibilities = new ArrayList<>();
+            for (int from = 0; from < transactions.size(); from += batchSize) {
+                List<Transaction> slice = transactions.subList(from, Math.min(from + batchSize, transactions.size()));
+                insertTransactions(connection, slice, now);
+                slice.forEach(transaction -> responsibilities.addAll(transaction.getResponsibilities()));
+            }
+            for (int from = 0; from < responsibilities.size(); from += batchSize) {
+                insertResponsibilities(connection,
+                        responsibilities.subList(from, Math.min(from + batchSize, responsibilities.size())), now);
+            }
+            log.debug("Batch inserted {} transactions and {} responsibilities",
+                    transactions.size(), responsibilities.size());
+            return null;
+        });
+    }
+
+    private void insertTransactions(Connection connection, List<Transaction> slice, LocalDateTime now)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSACTION, GENERATED_ID)) {
+            for (Transaction transaction : slice) {
+                transaction.setCreatedAt(now);
+                transaction.setUpdatedAt(now);
+                int i = 1;
+                bind(statement, i++, transaction.getType() != null ? transaction.getType().name() : null, Types.VARCHAR);
+                bind(statement, i++, transaction.getSubtype() != null ? transaction.getSubtype().name() : null, Types.VARCHAR);
+                bind(statement, i++, transaction.getSource() != null ? transaction.getSource().name() : null, Types.VARCHAR);
+                bind(statement, i++, transaction.getDescription(), Types.VARCHAR);
+                bind(statement, i++, transaction.getAmount(), Types.NUMERIC);
+                bind(statement, i++, transaction.getInstallments(), Types.INTEGER);
+                bind(statement, i++, transaction.getStatus(), Types.VARCHAR);
+                bind(statement, i++, transaction.getInstallmentGroupId(), Types.VARCHAR);
+                bind(statement, i++, transaction.getInstallmentNumber(), Types.INTEGER);
+                bind(statement, i++, transaction.getTotalInstallments(), Types.INTEGER);
+                bind(statement, i++, transaction.getInstallmentAmount(), Types.NUMERIC);
+                bind(statement, i++, transaction.getDate(), Types.TIMESTAMP);
+                bind(statement, i++, transaction.getUser().getId(), Types.BIGINT);
+                bind(statement, i++, transaction.getCategory().getId(), Types.BIGINT);
+                bind(statement, i++, transaction.getSubcategory() != null ? transaction.getSubcategory().getId() : null, Types.BIGINT);
+                bind(statement, i++, transaction.getSourceEntity() != null ? transaction.getSourceEntity().getId() : null, Types.BIGINT);
+                bind(statement, i++, transaction.getReconciledAmount(), Types.NUMERIC);
+                bind(statement, i++, transaction.getReconciliationDate(), Types.TIMESTAMP);
+                bind(statement, i++, Boolean.TRUE.equals(transaction.getReconciled()), Types.BOOLEAN);
+                bind(statement, i++, transaction.getReconciliationNotes(), Types.VARCHAR);
+                bind(statement, i++, transaction.getBankReference(), Types.VARCHAR);
+                bind(statement, i++, transaction.getExternalReference(), Types.VARCHAR);
+                bind(statement, i++, now, Types.TIMESTAMP);
+                bind(statement, i, now, Types.TIMESTAMP);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            readGeneratedIds(statement, slice.size(), (index, id) -> slice.get(index).setId(id));
+        }
+    }
+
+    private void insertResponsibilities(Connection connection, List<TransactionResponsibility> slice,
+            LocalDateTime now) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_RESPONSIBILITY, GENERATED_ID)) {
+            for (TransactionResponsibility responsibility : slice) {
+                responsibility.setCreatedAt(now);
+                responsibility.setUpdatedAt(now);
+                int i = 1;
+                bind(statement, i++, responsibility.getTransaction().getId(), Types.BIGINT);
+                bind(statement, i++, responsibility.getResponsible().getId(), Types.BIGINT);
+                bind(statement, i++, responsibility.getPercentage(), Types.NUMERIC);
+                bind(statement, i++, responsibility.getCalculatedAmount(), Types.NUMERIC);
+                bind(statement, i++, responsibility.getNotes(), Types.VARCHAR);
+                bind(statement, i++, now, Types.TIMESTAMP);
+                bind(statement, i, now, Types.TIMESTAMP);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            readGeneratedIds(statement, slice.size(), (index, id) -> slice.get(index).setId(id));
+        }
+    }
+
+    private static void readGeneratedIds(PreparedStatement statement, int expected, GeneratedIdConsumer consumer)
+            throws SQLException {
+        int index = 0;
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            while (keys.next() && index < expected) {
+                consumer.accept(index++, keys.getLong(1));
+            }
+        }
+        if (index != expected) {
+            throw new IllegalStateException("Expected " + expected + " generated IDs but received " + index);
+        }
+    }
+
+    private static void bind(PreparedStatement statement, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value, sqlType);
+        }
+    }
+
+    @FunctionalInterface
+    private interface GeneratedIdConsumer {
+        void accept(int index, long id);
+    }
+}
@@ -3,6 +3,11 @@ package com.finance_control.transactions.repository;
 import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.shared.repository.BaseRepository;
 import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.repository.projection.TransactionCategoryTotal;
+import com.finance_control.transactions.repository.projection.TransactionExportRow;
+import com.finance_control.transactions.repository.projection.TransactionFingerprint;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.repository.projection.TransactionTypeTotal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +17,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -27,12 +33,48 @@ public interface TransactionRepository extends BaseRepository<Transaction, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate(" +
+            "YEAR(t.date), MONTH(t.date), t.type, c.name, COUNT(t), " +
+            "SUM(CASE WHEN t.reconciled = true THEN 0L ELSE 1L END), COALESCE(SUM(t.amount), 0)) " +
+            "FROM Transaction t LEFT JOIN t.category c " +
+            "WHERE t.user.id = :userId " +
+            "GROUP BY YEAR(t.date), MONTH(t.date), t.type, c.name")
+    List<TransactionMonthlyAggregate> aggregateMonthlyByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t")
+    List<Long> findDistinctUserIds();
+
     @Query("SELECT DISTINCT t FROM Transaction t " +
             "LEFT JOIN FETCH t.responsibilities r " +
             "LEFT JOIN FETCH r.responsible " +
             "WHERE t.user.id = :userId")
     List<Transaction> findByUserIdWithResponsibilities(@Param("userId") Long userId);
 
+    /**
+     * Reads the next chunk of a user's transactions for export, ordered by ID.
+     * Callers pass the last ID of the previous chunk as {@code afterId} (0 for the first chunk).
+     * {@code category} matches the category name ignoring case; null filters, like the dates and type, are skipped.
+     */
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionExportRow(" +
+            "t.id, t.description, t.amount, t.type, t.date, c.name, s.name, se.name, t.reconciled, t.createdAt) " +
+            "FROM Transaction t " +
+            "LEFT JOIN t.category c " +
+            "LEFT JOIN t.subcategory s " +
+            "LEFT JOIN t.sourceEntity se " +
+            "WHERE t.user.id = :userId AND t.id > :afterId " +
+            "AND (:dateFrom IS NULL OR t.date >= :dateFrom) " +
+            "AND (:dateTo IS NULL OR t.date < :dateTo) " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (:category IS NULL OR LOWER(c.name) = LOWER(:category)) " +
+            "ORDER BY t.id")
+    List<TransactionExportRow> findExportChunk(@Param("userId") Long userId,
+            @Param("afterId") Long afterId,
+            @Param("dateFrom") LocalDateTime dateFrom,
+            @Param("dateTo") LocalDateTime dateTo,
+            @Param("type") TransactionType type,
+            @Param("category") String category,
+            Pageable pageable);
+
     @Override
     @Query("SELECT t FROM Transaction t WHERE " +
             "(:search IS NULL OR :search = '' OR " +
@@ -44,6 +86,73 @@ public interface TransactionRepository extends BaseRepository<Transaction, Long>
             @Param("search") String search,
             Pageable pageable);
 
+    /**
+     * Substring search over a user's transactions. Picked up by user-aware services in place of
+     * {@link #findAll(String, Pageable)} so search never reads other users' rows.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND " +
+            "(:search IS NULL OR :search = '' OR " +
+            "LOWER(t.description) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(t.type) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(t.subtype) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+            "LOWER(t.source) LIKE LOWER(CONCAT('%', :search, '%')) )")
+    Page<Transaction> findAll(
+            @Param("search") String search,
+            @Param("userId") Long userId,
+            Pageable pageable);
+
+    String RANKED_SEARCH_FROM = "FROM transactions t " +
+            "WHERE t.user_id = :userId " +
+            "AND (t.search_vector @@ websearch_to_tsquery('portuguese', :search) " +
+            "OR lower(t.description) LIKE :pattern ESCAPE '\\') " +
+            "AND (CAST(:type AS VARCHAR) IS NULL OR t.type = CAST(:type AS VARCHAR)) " +
+            "AND (CAST(:categoryId AS BIGINT) IS NULL OR t.category_id = CAST(:categoryId AS BIGINT)) " +
+            "AND (CAST(:subcategoryId AS BIGINT) IS NULL OR t.subcategory_id = CAST(:subcategoryId AS BIGINT)) " +
+            "AND (CAST(:sourceEntityId AS BIGINT) IS NULL OR t.source_entity_id = CAST(:sourceEntityId AS BIGINT)) ";
+
+    /**
+     * Returns the IDs of a user's transactions matching a search, best matches first (PostgreSQL only).
+     * A row matches when its Portuguese full-text vector matches the query or its description contains
+     * {@code pattern}; both conditions are served by the user-scoped GIN indexes from V26. Rows are
+     * ranked by full-text rank plus trigram similarity of the description, then by date.
+     *
+     * @param pattern a lower-case {@code LIKE} pattern with {@code \} as escape character
+     */
+    @Query(value = "SELECT t.id " + RANKED_SEARCH_FROM +
+            "ORDER BY ts_rank_cd(t.search_vector, websearch_to_tsquery('portuguese', :search)) " +
+            "+ similarity(lower(t.description), lower(:search)) DESC, t.date DESC, t.id DESC",
+            countQuery = "SELECT COUNT(*) " + RANKED_SEARCH_FROM,
+            nativeQuery = true)
+    Page<Long> searchRankedIds(@Param("userId") Long userId,
+            @Param("search") String search,
+            @Param("pattern") String pattern,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("subcategoryId") Long subcategoryId,
+            @Param("sourceEntityId") Long sourceEntityId,
+            Pageable pageable);
+
+    /**
+     * First page of a user's dated transactions in keyset order (newest first, ties by ID).
+     * Served by the {@code (user_id, date DESC, id DESC)} index from V27; no count query is issued.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND t.date IS NOT NULL " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findKeysetFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    /**
+     * Next page of a user's transactions in keyset order, starting strictly after {@code (date, id)}.
+     */
+    @Query("SELECT t FROM Transaction t WHERE t.user.id = :userId AND (t.date, t.id) < (:date, :id) " +
+            "ORDER BY t.date DESC, t.id DESC")
+    List<Transaction> findKeysetPageAfter(@Param("userId") Long userId,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Pageable limit);
+
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user.id = :userId AND t.date IS NOT NULL")
+    long countKeysetByUserId(@Param("userId") Long userId);
+
     @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user.id = :userId")
     List<com.finance_control.transactions.model.category.TransactionCategory> findDistinctCategoriesByUserId(@Param("userId") Long userId);
 
@@ -65,6 +174,26 @@ public interface TransactionRepository extends BaseRepository<Transaction, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Returns the duplicate-detection fields of every transaction of a user that has one of the
+     * given amounts within a date window, so a whole batch of candidates is checked in one query.
+     *
+     * @param userId the user ID
+     * @param amounts the distinct candidate amounts
+     * @param startDate the inclusive window start
+     * @param endDate the inclusive window end
+     * @return the matching fingerprints
+     */
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionFingerprint(" +
+            "t.amount, t.description, t.date) " +
+            "FROM Transaction t WHERE t.user.id = :userId " +
+            "AND t.amount IN :amounts " +
+            "AND t.date BETWEEN :startDate AND :endDate")
+    List<TransactionFingerprint> findFingerprints(@Param("userId") Long userId,
+            @Param("amounts") Collection<BigDecimal> amounts,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
     @Query("SELECT c.name, COALESCE(SUM(t.amount), 0) FROM Transaction t JOIN t.category c WHERE t.user.id = :userId GROUP BY c.name")
     Map<String, BigDecimal> getAmountByCategory(@Param("userId") Long userId);
 
@@ -81,4 +210,70 @@ public interface TransactionRepository extends BaseRepository<Transaction, Long>
     default boolean existsByUserIdAndExternalReference(Long userId, String externalReference) {
         return countByUserIdAndExternalReference(userId, externalReference) > 0;
     }
+
+    /**
+     * Returns which of the given external references a user already has.
+     *
+     * @param userId the user ID
+     * @param externalReferences the candidate references
+     * @return the references that already exist
+     */
+    @Query("SELECT DISTINCT t.externalReference FROM Transaction t WHERE t.user.id = :userId " +
+            "AND t.externalReference IN :externalReferences")
+    List<String> findExistingExternalReferences(@Param("userId") Long userId,
+            @Param("externalReferences") Collection<String> externalReferences);
+
+    /**
+     * Sums a user's transactions per type within a report period.
+     * The period is half-open so whole days can be expressed as {@code [from, to + 1 day)}.
+     *
+     * @param userId the user ID
+     * @param start the inclusive start of the period
+     * @param end the exclusive end of the period
+     * @param types the types to include
+     * @param anyCategory true to include every category
+     * @param categoryName the lower-case category name to match when {@code anyCategory} is false
+     * @return one row per type that has transactions
+     */
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionTypeTotal(" +
+            "t.type, COUNT(t), COALESCE(SUM(t.amount), 0)) " +
+            "FROM Transaction t JOIN t.category c " +
+            "WHERE t.user.id = :userId AND t.date >= :start AND t.date < :end " +
+            "AND t.type IN :types " +
+            "AND (:anyCategory = true OR LOWER(c.name) = :categoryName) " +
+            "GROUP BY t.type")
+    List<TransactionTypeTotal> sumByTypeForReport(@Param("userId") Long userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("types") Collection<TransactionType> types,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryName") String categoryName);
+
+    /**
+     * Ranks the categories of a user's transactions of one type by total amount within a report period.
+     *
+     * @param userId the user ID
+     * @param start the inclusive start of the period
+     * @param end the exclusive end of the period
+     * @param type the transaction type
+     * @param anyCategory true to include every category
+     * @param categoryName the lower-case category name to match when {@code anyCategory} is false
+     * @param pageable the page to return, which bounds the number of categories
+     * @return categories ordered by total amount, highest first
+     */
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionCategoryTotal(" +
+            "c.name, COUNT(t), COALESCE(SUM(t.amount), 0)) " +
+            "FROM Transaction t JOIN t.category c " +
+            "WHERE t.user.id = :userId AND t.date >= :start AND t.date < :end " +
+            "AND t.type = :type " +
+            "AND (:anyCategory = true OR LOWER(c.name) = :categoryName) " +
+            "GROUP BY c.name " +
+            "ORDER BY SUM(t.amount) DESC, c.name ASC")
+    List<TransactionCategoryTotal> findTopCategoriesForReport(@Param("userId") Long userId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end,
+            @Param("type") TransactionType type,
+            @Param("anyCategory") boolean anyCategory,
+            @Param("categoryName") String categoryName,
+            Pageable pageable);
 }
@@ -0,0 +1,75 @@
+package com.finance_control.transactions.repository.partition;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Manages the monthly partitions of the transactions table through JDBC.
+ * Partitions are PostgreSQL catalog objects rather than entities; creating and detaching them goes
+ * through the functions installed by migration V30.
+ */
+@Repository
+public class TransactionPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "transactions_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String IS_PARTITIONED = "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table "
+            + "WHERE partrelid = to_regclass('public.transactions'))";
+
+    private static final String CREATE_PARTITION = "SELECT create_transactions_partition(?)";
+
+    private static final String DETACH_PARTITION = "SELECT detach_transactions_partition(?, ?)";
+
+    private static final String SELECT_PARTITIONS = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "WHERE i.inhparent = 'public.transactions'::regclass AND c.relname ~ '^transactions_p[0-9]{6}$' "
+            + "ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    /**
+     * Creates the partition of a month, moving its rows out of the default partition.
+     *
+     * @return true if the partition was created, false if it already existed
+     */
+    public boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(CREATE_PARTITION, Boolean.class, firstDay(month)));
+    }
+
+    /**
+     * Detaches the partition of a month, moving it to an archive schema when one is given.
+     *
+     * @return true if the partition was detached, false if it was not attached
+     */
+    public boolean detachPartition(YearMonth month, String archiveSchema) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(DETACH_PARTITION, Boolean.class,
+                firstDay(month), archiveSchema));
+    }
+
+    /**
+     * Months with an attached partition, oldest first. The default partition is not included.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class).stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    private static Date firstDay(YearMonth month) {
+        return Date.valueOf(month.atDay(1));
+    }
+}
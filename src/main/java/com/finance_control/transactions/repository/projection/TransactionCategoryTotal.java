@@ -0,0 +1,16 @@
+package com.finance_control.transactions.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Grouped projection of a user's transactions by category within a report period.
+ *
+ * @param categoryName the category name
+ * @param transactionCount the number of transactions in the category
+ * @param totalAmount the sum of their amounts
+ */
+public record TransactionCategoryTotal(
+        String categoryName,
+        Long transactionCount,
+        BigDecimal totalAmount) {
+}
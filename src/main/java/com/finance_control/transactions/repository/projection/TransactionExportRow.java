@@ -0,0 +1,34 @@
+package com.finance_control.transactions.repository.projection;
+
+import com.finance_control.shared.enums.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, unmanaged projection of a transaction used by streaming exports.
+ * Rows are not attached to the persistence context, so reading them in chunks keeps memory flat.
+ *
+ * @param id the transaction ID, also used as the keyset cursor
+ * @param description the transaction description
+ * @param amount the transaction amount
+ * @param type the transaction type
+ * @param date the transaction date
+ * @param categoryName the category name, or null when the transaction has no category
+ * @param subcategoryName the subcategory name, or null when the transaction has no subcategory
+ * @param sourceEntityName the source entity name, or null when the transaction has no source entity
+ * @param reconciled whether the transaction is reconciled
+ * @param createdAt when the transaction was created
+ */
+public record TransactionExportRow(
+        Long id,
+        String description,
+        BigDecimal amount,
+        TransactionType type,
+        LocalDateTime date,
+        String categoryName,
+        String subcategoryName,
+        String sourceEntityName,
+        Boolean reconciled,
+        LocalDateTime createdAt) {
+}
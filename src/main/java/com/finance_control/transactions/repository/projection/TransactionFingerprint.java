@@ -0,0 +1,17 @@
+package com.finance_control.transactions.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a stored transaction that identify it as a duplicate of an incoming one.
+ *
+ * @param amount the transaction amount
+ * @param description the transaction description
+ * @param date the transaction date
+ */
+public record TransactionFingerprint(
+        BigDecimal amount,
+        String description,
+        LocalDateTime date) {
+}
@@ -0,0 +1,28 @@
+package com.finance_control.transactions.repository.projection;
+
+import com.finance_control.shared.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Grouped projection of a user's transactions by month, type and category.
+ * One row summarizes every transaction sharing the same grouping key, whether it is read
+ * from the raw transactions table or from the monthly rollup.
+ *
+ * @param year the calendar year of the transaction date, or null when the date is missing
+ * @param month the calendar month (1-12) of the transaction date, or null when the date is missing
+ * @param type the transaction type
+ * @param categoryName the category name, or null when the transaction has no category
+ * @param transactionCount the number of transactions in the group
+ * @param unreconciledCount the number of transactions in the group that are not reconciled
+ * @param totalAmount the sum of the transaction amounts in the group
+ */
+public record TransactionMonthlyAggregate(
+        Integer year,
+        Integer month,
+        TransactionType type,
+        String categoryName,
+        Long transactionCount,
+        Long unreconciledCount,
+        BigDecimal totalAmount) {
+}
@@ -0,0 +1,18 @@
+package com.finance_control.transactions.repository.projection;
+
+import com.finance_control.shared.enums.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Grouped projection of a user's transactions by type within a report period.
+ *
+ * @param type the transaction type
+ * @param transactionCount the number of transactions of the type
+ * @param totalAmount the sum of their amounts
+ */
+public record TransactionTypeTotal(
+        TransactionType type,
+        Long transactionCount,
+        BigDecimal totalAmount) {
+}
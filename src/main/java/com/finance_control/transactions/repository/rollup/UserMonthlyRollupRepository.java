@@ -0,0 +1,90 @@
+package com.finance_control.transactions.repository.rollup;
+
+import com.finance_control.transactions.model.rollup.UserMonthlyRollup;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface UserMonthlyRollupRepository extends JpaRepository<UserMonthlyRollup, Long> {
+
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate(" +
+            "YEAR(r.monthStart), MONTH(r.monthStart), r.type, c.name, " +
+            "SUM(r.transactionCount), SUM(r.unreconciledCount), COALESCE(SUM(r.totalAmount), 0)) " +
+            "FROM UserMonthlyRollup r LEFT JOIN r.category c " +
+            "WHERE r.user.id = :userId AND r.transactionCount > 0 " +
+            "GROUP BY YEAR(r.monthStart), MONTH(r.monthStart), r.type, c.name")
+    List<TransactionMonthlyAggregate> aggregateMonthlyByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate(" +
+            "YEAR(r.monthStart), MONTH(r.monthStart), r.type, c.name, " +
+            "SUM(r.transactionCount), SUM(r.unreconciledCount), COALESCE(SUM(r.totalAmount), 0)) " +
+            "FROM UserMonthlyRollup r LEFT JOIN r.category c " +
+            "WHERE r.user.id = :userId AND r.transactionCount > 0 " +
+            "AND r.monthStart BETWEEN :startMonth AND :endMonth " +
+            "GROUP BY YEAR(r.monthStart), MONTH(r.monthStart), r.type, c.name")
+    List<TransactionMonthlyAggregate> aggregateMonthlyByUserIdAndMonthBetween(
+            @Param("userId") Long userId,
+            @Param("startMonth") LocalDate startMonth,
+            @Param("endMonth") LocalDate endMonth);
+
+    /**
+     * Takes a transaction-scoped advisory lock on the rollup of a user, waiting for it if another
+     * transaction holds it. Deltas and rebuilds of the same user take it first, so a rebuild never
+     * runs between a concurrent writer's delta and its commit.
+     *
+     * @return always 1
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('user_monthly_rollup:' || CAST(:userId AS TEXT)))",
+            nativeQuery = true)
+    int lockUser(@Param("userId") Long userId);
+
+    /**
+     * Adds a delta to a single rollup bucket, creating the bucket when it does not exist yet.
+     * Negative deltas are used to retract a transaction from its previous bucket.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, month_start, type, category_id, total_amount, " +
+            "transaction_count, unreconciled_count, created_at, updated_at) " +
+            "VALUES (:userId, :monthStart, :type, :categoryId, :amount, :count, :unreconciled, " +
+            "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (user_id, month_start, type, category_id) DO UPDATE SET " +
+            "total_amount = user_monthly_rollup.total_amount + EXCLUDED.total_amount, " +
+            "transaction_count = user_monthly_rollup.transaction_count + EXCLUDED.transaction_count, " +
+            "unreconciled_count = user_monthly_rollup.unreconciled_count + EXCLUDED.unreconciled_count, " +
+            "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId,
+            @Param("monthStart") LocalDate monthStart,
+            @Param("type") String type,
+            @Param("categoryId") Long categoryId,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count,
+            @Param("unreconciled") long unreconciled);
+
+    @Modifying
+    @Query("DELETE FROM UserMonthlyRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recomputes every bucket of a user straight from the transactions table.
+     * Expected to run right after {@link #deleteByUserId(Long)} in the same transaction.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_rollup (user_id, month_start, type, category_id, total_amount, " +
+            "transaction_count, unreconciled_count, created_at, updated_at) " +
+            "SELECT t.user_id, CAST(date_trunc('month', t.date) AS DATE), t.type, t.category_id, SUM(t.amount), " +
+            "COUNT(*), SUM(CASE WHEN t.is_reconciled THEN 0 ELSE 1 END), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM transactions t " +
+            "WHERE t.user_id = :userId AND t.date IS NOT NULL " +
+            "GROUP BY t.user_id, CAST(date_trunc('month', t.date) AS DATE), t.type, t.category_id",
+            nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,34 @@
+package com.finance_control.transactions.scheduler;
+
+import com.finance_control.transactions.service.partition.TransactionPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that pre-creates future monthly partitions of the transactions table.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "app.transactions.partitioning.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionPartitionScheduler {
+
+    private final TransactionPartitionService partitionService;
+
+    /**
+     * Creates upcoming partitions and detaches expired ones.
+     * Runs daily at 03:15 by default (configurable), well before a new month starts.
+     */
+    @Scheduled(cron = "${app.transactions.partitioning.cron:0 15 3 * * ?}")
+    public void maintainPartitions() {
+        try {
+            log.debug("Starting scheduled transaction partition maintenance");
+            partitionService.maintain();
+        } catch (Exception e) {
+            log.error("Error during scheduled transaction partition maintenance", e);
+        }
+    }
+}
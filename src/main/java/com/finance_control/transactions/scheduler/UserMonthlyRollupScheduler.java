@@ -0,0 +1,41 @@
+package com.finance_control.transactions.scheduler;
+
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduler that checks the monthly rollup against the transactions table.
+ * Users whose rollup drifted (e.g. after manual SQL changes) get their buckets rebuilt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserMonthlyRollupScheduler {
+
+    private final UserMonthlyRollupService rollupService;
+
+    /**
+     * Runs the consistency check for every user with transactions.
+     * Runs daily by default (configurable).
+     */
+    @Scheduled(cron = "${app.dashboard.rollup.consistency-check-cron:0 30 3 * * ?}")
+    public void checkConsistency() {
+        try {
+            log.info("Starting scheduled monthly rollup consistency check");
+            int rebuilt = 0;
+            for (Long userId : rollupService.getUserIdsWithTransactions()) {
+                if (!rollupService.isConsistent(userId)) {
+                    log.warn("Monthly rollup drifted from transactions, rebuilding");
+                    rollupService.rebuild(userId);
+                    rebuilt++;
+                }
+            }
+            log.info("Completed scheduled monthly rollup consistency check ({} rebuilt)", rebuilt);
+        } catch (Exception e) {
+            log.error("Error during scheduled monthly rollup consistency check", e);
+        }
+    }
+}
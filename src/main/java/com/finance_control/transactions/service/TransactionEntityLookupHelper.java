@@ -1,6 +1,8 @@
 package com.finance_control.transactions.service;
 
 import com.finance_control.shared.exception.EntityNotFoundException;
+import com.finance_control.shared.model.BaseModel;
+import com.finance_control.transactions.dto.TransactionDTO;
 import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.model.responsibles.TransactionResponsibles;
 import com.finance_control.transactions.model.source.TransactionSourceEntity;
@@ -15,7 +17,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Helper class for looking up transaction-related entities.
@@ -23,7 +30,7 @@ import java.util.List;
  */
 @Component
 @RequiredArgsConstructor
-public class TransactionEntityLookupHelper {
+public class TransactionEntityLookupHelper implements TransactionReferenceResolver {
 
     private final UserRepository userRepository;
     private final TransactionCategoryRepository categoryRepository;
@@ -39,28 +46,128 @@ public class TransactionEntityLookupHelper {
         return sourceEntityRepository.findAll();
     }
 
+    @Override
     public User getUserById(Long userId) {
         return findEntityById(userRepository, userId, "User");
     }
 
+    @Override
     public TransactionCategory getCategoryById(Long categoryId) {
         return findEntityById(categoryRepository, categoryId, "TransactionCategory");
     }
 
+    @Override
     public TransactionSubcategory getSubcategoryById(Long subcategoryId) {
         return findEntityById(subcategoryRepository, subcategoryId, "TransactionSubcategory");
     }
 
+    @Override
     public TransactionSourceEntity getSourceEntityById(Long sourceEntityId) {
         return findEntityById(sourceEntityRepository, sourceEntityId, "TransactionSourceEntity");
     }
 
+    @Override
     public TransactionResponsibles getResponsibleById(Long responsibleId) {
         return findEntityById(responsibleRepository, responsibleId, "TransactionResponsible");
     }
 
+    /**
+     * Loads every entity referenced by a batch of transactions with one query per entity type.
+     *
+     * @param dtos the transactions about to be created
+     * @param currentUserId the user creating them
+     * @return a resolver answering from the loaded entities
+     * @throws EntityNotFoundException if any referenced entity does not exist
+     */
+    public TransactionReferenceResolver prefetch(Collection<TransactionDTO> dtos, Long currentUserId) {
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> subcategoryIds = new HashSet<>();
+        Set<Long> sourceEntityIds = new HashSet<>();
+        Set<Long> responsibleIds = new HashSet<>();
+        userIds.add(currentUserId);
+        for (TransactionDTO dto : dtos) {
+            addIfPresent(userIds, dto.getUserId());
+            addIfPresent(categoryIds, dto.getCategoryId());
+            addIfPresent(subcategoryIds, dto.getSubcategoryId());
+            addIfPresent(sourceEntityIds, dto.getSourceEntityId());
+            if (dto.getResponsibilities() != null) {
+                dto.getResponsibilities().forEach(responsible -> addIfPresent(responsibleIds, responsible.getResponsibleId()));
+            }
+        }
+
+        return new PrefetchedReferences(
+                findEntitiesByIds(userRepository, userIds, "User"),
+                findEntitiesByIds(categoryRepository, categoryIds, "TransactionCategory"),
+                findEntitiesByIds(subcategoryRepository, subcategoryIds, "TransactionSubcategory"),
+                findEntitiesByIds(sourceEntityRepository, sourceEntityIds, "TransactionSourceEntity"),
+                findEntitiesByIds(responsibleRepository, responsibleIds, "TransactionResponsible"));
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private <T extends BaseModel<Long>> Map<Long, T> findEntitiesByIds(JpaRepository<T, Long> repository,
+            Set<Long> ids, String entityName) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, T> entities = new HashMap<>();
+        repository.findAllById(ids).forEach(entity -> entities.put(entity.getId(), entity));
+        ids.stream()
+                .filter(id -> !entities.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new EntityNotFoundException(entityName, "id", id);
+                });
+        return entities;
+    }
+
     private <T> T findEntityById(JpaRepository<T, Long> repository, Long id, String entityName) {
         return repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(entityName, "id", id));
     }
+
+    private record PrefetchedReferences(Map<Long, User> users,
+            Map<Long, TransactionCategory> categories,
+            Map<Long, TransactionSubcategory> subcategories,
+            Map<Long, TransactionSourceEntity> sourceEntities,
+            Map<Long, TransactionResponsibles> responsibles) implements TransactionReferenceResolver {
+
+        @Override
+        public User getUserById(Long userId) {
+            return require(users, userId, "User");
+        }
+
+        @Override
+        public TransactionCategory getCategoryById(Long categoryId) {
+            return require(categories, categoryId, "TransactionCategory");
+        }
+
+        @Override
+        public TransactionSubcategory getSubcategoryById(Long subcategoryId) {
+            return require(subcategories, subcategoryId, "TransactionSubcategory");
+        }
+
+        @Override
+        public TransactionSourceEntity getSourceEntityById(Long sourceEntityId) {
+            return require(sourceEntities, sourceEntityId, "TransactionSourceEntity");
+        }
+
+        @Override
+        public TransactionResponsibles getResponsibleById(Long responsibleId) {
+            return require(responsibles, responsibleId, "TransactionResponsible");
+        }
+
+        private static <T> T require(Map<Long, T> entities, Long id, String entityName) {
+            T entity = id != null ? entities.get(id) : null;
+            if (entity == null) {
+                throw new EntityNotFoundException(entityName, "id", id);
+            }
+            return entity;
+        }
+    }
 }
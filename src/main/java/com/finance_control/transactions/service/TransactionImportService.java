@@ -3,6 +3,9 @@ package com.finance_control.transactions.service;
 import com.finance_control.shared.enums.TransactionSource;
 import com.finance_control.shared.enums.TransactionSubtype;
 import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
+import com.finance_control.shared.monitoring.MetricsService;
 import com.finance_control.transactions.dto.TransactionDTO;
 import com.finance_control.transactions.dto.importer.TransactionImportIssueDTO;
 import com.finance_control.transactions.dto.importer.TransactionImportRequest;
@@ -12,11 +15,13 @@ import com.finance_control.transactions.importer.StatementImportFormat;
 import com.finance_control.transactions.importer.TransactionImportIssueType;
 import com.finance_control.transactions.importer.parser.CsvTransactionParser;
 import com.finance_control.transactions.importer.parser.OfxTransactionParser;
-import com.finance_control.transactions.model.Transaction;
-import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.service.duplicate.DuplicateMatch;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateDetector;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateIndex;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
-import java.time.LocalDate;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -25,78 +30,188 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Service responsible for orchestrating statement imports (CSV or OFX) and
  * delegating transaction creation.
+ *
+ * <p>Imports run as a staged pipeline: a parser thread streams entries into a bounded queue of
+ * chunks while the calling thread maps each chunk, drops duplicates with one batch lookup and
+ * inserts what is left in one transaction per chunk. Memory and connection usage are bounded by
+ * the chunk size and queue capacity rather than by the size of the statement.</p>
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TransactionImportService {
 
+    private static final String STAGE_PARSE = "parse";
+    private static final String STAGE_MAP = "map";
+    private static final String STAGE_DEDUPLICATE = "deduplicate";
+    private static final String STAGE_INSERT = "insert";
+
     private final TransactionService transactionService;
-    private final TransactionRepository transactionRepository;
+    private final TransactionDuplicateDetector duplicateDetector;
     private final CsvTransactionParser csvParser;
     private final OfxTransactionParser ofxParser;
+    private final UserDataChangePublisher changePublisher;
+    private final MetricsService metricsService;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public TransactionImportService(TransactionService transactionService,
+            TransactionDuplicateDetector duplicateDetector,
+            CsvTransactionParser csvParser,
+            OfxTransactionParser ofxParser,
+            UserDataChangePublisher changePublisher,
+            MetricsService metricsService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.transactions.import.chunk-size:500}") int chunkSize,
+            @Value("${app.transactions.import.queue-capacity:4}") int queueCapacity) {
+        this.transactionService = transactionService;
+        this.duplicateDetector = duplicateDetector;
+        this.csvParser = csvParser;
+        this.ofxParser = ofxParser;
+        this.changePublisher = changePublisher;
+        this.metricsService = metricsService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.queueCapacity = Math.max(1, queueCapacity);
+    }
 
     /**
      * Imports a bank statement creating transactions automatically.
+     * Each chunk is committed on its own, so chunks written before a read failure are kept;
+     * the failure itself is rethrown.
      *
      * @param file    The uploaded statement file.
      * @param request Request metadata containing mapping and validation rules.
      * @return summary detailing the import outcome.
      */
+    @Timed(value = "finance.import.statements", description = "Statement import time", histogram = true)
     public TransactionImportResponse importStatements(MultipartFile file, @Valid TransactionImportRequest request) {
+        return changePublisher.coalesce(UserDataChangedEvent.Source.IMPORT, () -> importEntries(file, request));
+    }
+
+    private TransactionImportResponse importEntries(MultipartFile file, TransactionImportRequest request) {
         StatementImportFormat resolvedFormat = resolveFormat(file, request);
         request.validateFor(resolvedFormat);
 
-        var normalizedCategoryMappings = normalizeKeys(request.safeCategoryMappings());
-        var normalizedSubcategoryMappings = normalizeKeys(request.safeSubcategoryMappings());
-        var normalizedSourceEntityMappings = normalizeKeys(request.safeSourceEntityMappings());
-        var normalizedTypeMappings = normalizeKeys(request.safeTypeMappings());
-        var normalizedSubtypeMappings = normalizeKeys(request.safeSubtypeMappings());
-        var normalizedSourceMappings = normalizeKeys(request.safeSourceMappings());
-        var ignoreDescriptions = request.safeIgnoreDescriptions().stream()
-                .map(TransactionImportService::normalizeKey)
-                .collect(Collectors.toSet());
-
-        List<ImportedEntry> entries;
-        List<TransactionImportIssueDTO> issues = new ArrayList<>();
-        switch (resolvedFormat) {
-            case CSV -> {
-                CsvTransactionParser.ParseResult csvResult = csvParser.parseCsv(file, request);
-                entries = convertParseResult(csvResult);
-                issues.addAll(csvResult.issues());
-            }
-            case OFX -> {
-                OfxTransactionParser.ParseResult ofxResult = ofxParser.parseOfx(file, request);
-                entries = convertOfxParseResult(ofxResult);
-                issues.addAll(ofxResult.issues());
-            }
-            default -> throw new IllegalArgumentException("Unsupported import format: " + resolvedFormat);
-        }
+        ImportMappings mappings = new ImportMappings(
+                normalizeKeys(request.safeCategoryMappings()),
+                normalizeKeys(request.safeSubcategoryMappings()),
+                normalizeKeys(request.safeSourceEntityMappings()),
+                normalizeKeys(request.safeTypeMappings()),
+                normalizeKeys(request.safeSubtypeMappings()),
+                normalizeKeys(request.safeSourceMappings()),
+                request.safeIgnoreDescriptions().stream()
+                        .map(TransactionImportService::normalizeKey)
+                        .collect(Collectors.toSet()));
 
         TransactionImportResponse.TransactionImportResponseBuilder responseBuilder = TransactionImportResponse.builder()
-                .dryRun(request.isDryRun())
-                .totalEntries(entries.size());
+                .dryRun(request.isDryRun());
+        ImportProgress progress = new ImportProgress();
+
+        BlockingQueue<ImportChunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<RuntimeException> parseFailure = new AtomicReference<>();
+        Thread parser = Thread.ofVirtual()
+                .name("statement-import-parser")
+                .start(() -> parseInto(queue, parseFailure, file, request, resolvedFormat));
+        try {
+            ImportChunk chunk;
+            do {
+                chunk = queue.take();
+                if (parseFailure.get() != null) {
+                    throw parseFailure.get();
+                }
+                processChunk(chunk, request, mappings, responseBuilder, progress);
+            } while (!chunk.last());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Statement import interrupted", ex);
+        } finally {
+            parser.interrupt();
+        }
+
+        metricsService.recordImportStage(STAGE_MAP, progress.map.items, progress.map.elapsed());
+        metricsService.recordImportStage(STAGE_DEDUPLICATE, progress.deduplicate.items, progress.deduplicate.elapsed());
+        metricsService.recordImportStage(STAGE_INSERT, progress.insert.items, progress.insert.elapsed());
 
-        issues.forEach(responseBuilder::issue);
+        return responseBuilder
+                .totalEntries(progress.totalEntries)
+                .processedEntries(progress.processed)
+                .createdTransactions(progress.created)
+                .duplicateEntries(progress.duplicates)
+                .build();
+    }
 
-        int processed = 0;
-        int created = 0;
-        int duplicates = 0;
+    /**
+     * Parser stage: runs on its own thread and hands chunks to the queue, blocking while the
+     * queue is full. Always finishes with a chunk marked as last unless the import was abandoned.
+     */
+    private void parseInto(BlockingQueue<ImportChunk> queue,
+            AtomicReference<RuntimeException> failure,
+            MultipartFile file,
+            TransactionImportRequest request,
+            StatementImportFormat format) {
+        ChunkCollector collector = new ChunkCollector(queue, chunkSize);
+        long startNanos = System.nanoTime();
+        try {
+            switch (format) {
+                case CSV -> csvParser.parseCsv(file, request,
+                        entry -> collector.add(convertEntry(entry)),
+                        collector::addIssue);
+                case OFX -> {
+                    OfxTransactionParser.ParseResult ofxResult = ofxParser.parseOfx(file, request);
+                    ofxResult.issues().forEach(collector::addIssue);
+                    ofxResult.entries().forEach(entry -> collector.add(convertEntry(entry)));
+                }
+                default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+            }
+            metricsService.recordImportStage(STAGE_PARSE, collector.entryCount,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        } catch (CancellationException ex) {
+            log.debug("Statement import abandoned, stopping parser");
+            return;
+        } catch (RuntimeException ex) {
+            failure.set(ex);
+        } catch (Error ex) {
+            failure.set(new IllegalStateException("Statement parser failed", ex));
+        }
 
-        for (ImportedEntry entry : entries) {
-            if (shouldIgnore(entry, ignoreDescriptions)) {
+        try {
+            collector.finish();
+        } catch (CancellationException ex) {
+            log.debug("Statement import abandoned before the last chunk was handed over");
+        }
+    }
+
+    private void processChunk(ImportChunk chunk,
+            TransactionImportRequest request,
+            ImportMappings mappings,
+            TransactionImportResponse.TransactionImportResponseBuilder responseBuilder,
+            ImportProgress progress) {
+        chunk.issues().forEach(responseBuilder::issue);
+        progress.totalEntries += chunk.entries().size();
+
+        long mapStart = System.nanoTime();
+        List<PendingTransaction> pending = new ArrayList<>(chunk.entries().size());
+        for (ImportedEntry entry : chunk.entries()) {
+            if (shouldIgnore(entry, mappings.ignoredDescriptions())) {
                 responseBuilder.issue(TransactionImportIssueDTO.builder()
                         .externalReference(entry.externalId())
                         .lineNumber(entry.lineNumber())
@@ -107,50 +222,107 @@ public class TransactionImportService {
             }
 
             try {
-                TransactionDTO transactionDTO = buildTransactionDto(entry, request,
-                        normalizedCategoryMappings,
-                        normalizedSubcategoryMappings,
-                        normalizedSourceEntityMappings,
-                        normalizedTypeMappings,
-                        normalizedSubtypeMappings,
-                        normalizedSourceMappings);
-
-                processed++;
-
-                boolean isDuplicate = isDuplicate(transactionDTO, request.getUserId(), entry.date());
-                if (isDuplicate && request.getDuplicateStrategy() == DuplicateHandlingStrategy.SKIP) {
-                    duplicates++;
-                    responseBuilder.issue(TransactionImportIssueDTO.builder()
-                            .externalReference(entry.externalId())
-                            .lineNumber(entry.lineNumber())
-                            .message("Skipped duplicate entry")
-                            .type(TransactionImportIssueType.DUPLICATE_SKIPPED)
-                            .build());
-                    continue;
-                }
+                pending.add(new PendingTransaction(entry, buildTransactionDto(entry, request,
+                        mappings.categories(),
+                        mappings.subcategories(),
+                        mappings.sourceEntities(),
+                        mappings.types(),
+                        mappings.subtypes(),
+                        mappings.sources())));
+                progress.processed++;
+            } catch (Exception ex) {
+                responseBuilder.issue(failedEntryIssue(entry, ex));
+            }
+        }
+        progress.map.add(chunk.entries().size(), mapStart);
 
-                if (request.isDryRun()) {
-                    continue;
-                }
+        if (request.getDuplicateStrategy() == DuplicateHandlingStrategy.SKIP && !pending.isEmpty()) {
+            long deduplicateStart = System.nanoTime();
+            int candidates = pending.size();
+            pending = skipDuplicates(pending, request, responseBuilder, progress);
+            progress.deduplicate.add(candidates, deduplicateStart);
+        }
 
-                TransactionDTO persisted = transactionService.create(transactionDTO);
-                created++;
-                responseBuilder.createdTransaction(persisted);
-            } catch (Exception ex) {
-                log.debug("Failed to process import entry at line {}: {}", entry.lineNumber(), ex.getMessage());
+        if (request.isDryRun() || pending.isEmpty()) {
+            return;
+        }
+
+        long insertStart = System.nanoTime();
+        insertChunk(pending, responseBuilder, progress);
+        progress.insert.add(pending.size(), insertStart);
+    }
+
+    /**
+     * Duplicate stage: checks the whole chunk against the stored transactions with one
+     * {@link TransactionDuplicateDetector} lookup. Earlier chunks are already committed when this
+     * runs, so entries repeated across chunks are caught as well.
+     */
+    private List<PendingTransaction> skipDuplicates(List<PendingTransaction> pending,
+            TransactionImportRequest request,
+            TransactionImportResponse.TransactionImportResponseBuilder responseBuilder,
+            ImportProgress progress) {
+        TransactionDuplicateIndex index = duplicateDetector.load(request.getUserId(),
+                pending.stream().map(PendingTransaction::dto).toList(),
+                DuplicateMatch.EXTERNAL_REFERENCE_OR_FINGERPRINT);
+
+        List<PendingTransaction> accepted = new ArrayList<>(pending.size());
+        for (PendingTransaction candidate : pending) {
+            if (index.isDuplicate(candidate.dto())) {
+                progress.duplicates++;
                 responseBuilder.issue(TransactionImportIssueDTO.builder()
-                        .externalReference(entry.externalId())
-                        .lineNumber(entry.lineNumber())
-                        .message(safeErrorMessage(ex.getMessage()))
-                        .type(TransactionImportIssueType.PARSING_ERROR)
+                        .externalReference(candidate.entry().externalId())
+                        .lineNumber(candidate.entry().lineNumber())
+                        .message("Skipped duplicate entry")
+                        .type(TransactionImportIssueType.DUPLICATE_SKIPPED)
                         .build());
+                continue;
             }
+            // Also on dry runs, so the preview reports repeats within the file like a real import
+            index.register(candidate.dto());
+            accepted.add(candidate);
         }
+        return accepted;
+    }
 
-        return responseBuilder
-                .processedEntries(processed)
-                .createdTransactions(created)
-                .duplicateEntries(duplicates)
+    /**
+     * Insert stage: writes the chunk with one {@link TransactionService#createAll} batch in a single
+     * transaction. When any row fails the chunk is rolled back and retried row by row, so one bad
+     * entry only costs its own issue.
+     */
+    private void insertChunk(List<PendingTransaction> pending,
+            TransactionImportResponse.TransactionImportResponseBuilder responseBuilder,
+            ImportProgress progress) {
+        List<TransactionDTO> persisted;
+        try {
+            List<TransactionDTO> dtos = pending.stream().map(PendingTransaction::dto).toList();
+            persisted = chunkTransaction.execute(status -> transactionService.createAll(dtos));
+        } catch (RuntimeException ex) {
+            log.debug("Import chunk of {} entries failed, retrying entries individually: {}",
+                    pending.size(), ex.getMessage());
+            persisted = new ArrayList<>(pending.size());
+            for (PendingTransaction candidate : pending) {
+                try {
+                    persisted.add(transactionService.create(candidate.dto()));
+                } catch (Exception rowEx) {
+                    log.debug("Failed to process import entry at line {}: {}",
+                            candidate.entry().lineNumber(), rowEx.getMessage());
+                    responseBuilder.issue(failedEntryIssue(candidate.entry(), rowEx));
+                }
+            }
+        }
+
+        if (persisted != null) {
+            persisted.forEach(responseBuilder::createdTransaction);
+            progress.created += persisted.size();
+        }
+    }
+
+    private static TransactionImportIssueDTO failedEntryIssue(ImportedEntry entry, Exception ex) {
+        return TransactionImportIssueDTO.builder()
+                .externalReference(entry.externalId())
+                .lineNumber(entry.lineNumber())
+                .message(safeErrorMessage(ex.getMessage()))
+                .type(TransactionImportIssueType.PARSING_ERROR)
                 .build();
     }
 
@@ -175,24 +347,22 @@ public class TransactionImportService {
         throw new IllegalArgumentException("Unable to detect file format from filename or content type");
     }
 
-    private List<ImportedEntry> convertParseResult(CsvTransactionParser.ParseResult parseResult) {
-        return parseResult.entries().stream()
-                .map(entry -> new ImportedEntry(
-                        entry.lineNumber(),
-                        entry.externalId(),
-                        entry.date(),
-                        entry.description(),
-                        entry.amount(),
-                        resolveTypeFromString(entry.typeValue(), TransactionType.class,
-                                TransactionImportService::mapTransactionTypeValue),
-                        resolveTypeFromString(entry.subtypeValue(), TransactionSubtype.class,
-                                TransactionImportService::mapTransactionSubtypeValue),
-                        resolveTypeFromString(entry.sourceValue(), TransactionSource.class,
-                                TransactionImportService::mapTransactionSourceValue),
-                        entry.categoryValue(),
-                        entry.subcategoryValue(),
-                        entry.sourceEntityValue()))
-                .toList();
+    private ImportedEntry convertEntry(CsvTransactionParser.ImportedEntry entry) {
+        return new ImportedEntry(
+                entry.lineNumber(),
+                entry.externalId(),
+                entry.date(),
+                entry.description(),
+                entry.amount(),
+                resolveTypeFromString(entry.typeValue(), TransactionType.class,
+                        TransactionImportService::mapTransactionTypeValue),
+                resolveTypeFromString(entry.subtypeValue(), TransactionSubtype.class,
+                        TransactionImportService::mapTransactionSubtypeValue),
+                resolveTypeFromString(entry.sourceValue(), TransactionSource.class,
+                        TransactionImportService::mapTransactionSourceValue),
+                entry.categoryValue(),
+                entry.subcategoryValue(),
+                entry.sourceEntityValue());
     }
 
     private <T> T resolveTypeFromString(String value, Class<T> type, Function<String, T> parser) {
@@ -202,21 +372,19 @@ public class TransactionImportService {
         return parser.apply(value);
     }
 
-    private List<ImportedEntry> convertOfxParseResult(OfxTransactionParser.ParseResult parseResult) {
-        return parseResult.entries().stream()
-                .map(entry -> new ImportedEntry(
-                        entry.lineNumber(),
-                        entry.externalId(),
-                        entry.date(),
-                        entry.description(),
-                        entry.amount(),
-                        entry.type(),
-                        (TransactionSubtype) null,
-                        entry.source(),
-                        entry.categoryValue(),
-                        entry.subcategoryValue(),
-                        entry.sourceEntityValue()))
-                .toList();
+    private ImportedEntry convertEntry(OfxTransactionParser.ImportedEntry entry) {
+        return new ImportedEntry(
+                entry.lineNumber(),
+                entry.externalId(),
+                entry.date(),
+                entry.description(),
+                entry.amount(),
+                entry.type(),
+                (TransactionSubtype) null,
+                entry.source(),
+                entry.categoryValue(),
+                entry.subcategoryValue(),
+                entry.sourceEntityValue());
     }
 
     private TransactionDTO buildTransactionDto(ImportedEntry entry,
@@ -236,6 +404,7 @@ public class TransactionImportService {
 
         TransactionDTO dto = new TransactionDTO();
         dto.setUserId(request.getUserId());
+        dto.setExternalReference(StringUtils.hasText(entry.externalId()) ? entry.externalId() : null);
         dto.setDescription(entry.description());
         dto.setDate(entry.date());
         dto.setAmount(entry.amount().abs());
@@ -267,23 +436,6 @@ public class TransactionImportService {
         return dto;
     }
 
-    private boolean isDuplicate(TransactionDTO dto, Long userId, LocalDateTime importDate) {
-        LocalDateTime candidateDate = Optional.ofNullable(dto.getDate()).orElse(importDate);
-        if (candidateDate == null) {
-            return false;
-        }
-        LocalDate dateOnly = candidateDate.toLocalDate();
-        LocalDateTime startOfDay = dateOnly.atStartOfDay();
-        LocalDateTime endOfDay = dateOnly.plusDays(1).atStartOfDay().minusNanos(1);
-        List<Transaction> potential = transactionRepository.findPotentialDuplicates(
-                userId,
-                dto.getAmount(),
-                dto.getDescription(),
-                startOfDay,
-                endOfDay);
-        return !potential.isEmpty();
-    }
-
     private static boolean shouldIgnore(ImportedEntry entry, Set<String> ignoredDescriptions) {
         if (ignoredDescriptions.isEmpty()) {
             return false;
@@ -430,4 +582,97 @@ public class TransactionImportService {
             String subcategoryValue,
             String sourceEntityValue) {
     }
+
+    private record ImportMappings(Map<String, Long> categories,
+            Map<String, Long> subcategories,
+            Map<String, Long> sourceEntities,
+            Map<String, TransactionType> types,
+            Map<String, TransactionSubtype> subtypes,
+            Map<String, TransactionSource> sources,
+            Set<String> ignoredDescriptions) {
+    }
+
+    private record PendingTransaction(ImportedEntry entry, TransactionDTO dto) {
+    }
+
+    /**
+     * A batch of parsed entries handed from the parser stage to the import stages.
+     */
+    private record ImportChunk(List<ImportedEntry> entries, List<TransactionImportIssueDTO> issues, boolean last) {
+    }
+
+    /**
+     * Accumulates parsed entries and issues into chunks and publishes them to the queue.
+     * Only used from the parser thread.
+     */
+    private static final class ChunkCollector {
+
+        private final BlockingQueue<ImportChunk> queue;
+        private final int chunkSize;
+        private List<ImportedEntry> entries;
+        private List<TransactionImportIssueDTO> issues = new ArrayList<>();
+        private long entryCount;
+
+        ChunkCollector(BlockingQueue<ImportChunk> queue, int chunkSize) {
+            this.queue = queue;
+            this.chunkSize = chunkSize;
+            this.entries = new ArrayList<>(chunkSize);
+        }
+
+        void add(ImportedEntry entry) {
+            entries.add(entry);
+            entryCount++;
+            if (entries.size() >= chunkSize) {
+                publish(false);
+            }
+        }
+
+        void addIssue(TransactionImportIssueDTO issue) {
+            issues.add(issue);
+        }
+
+        void finish() {
+            publish(true);
+        }
+
+        private void publish(boolean last) {
+            try {
+                queue.put(new ImportChunk(entries, issues, last));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Statement import abandoned");
+            }
+            entries = new ArrayList<>(chunkSize);
+            issues = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Running totals of an import. Only used from the importing thread.
+     */
+    private static final class ImportProgress {
+
+        private final StageTiming map = new StageTiming();
+        private final StageTiming deduplicate = new StageTiming();
+        private final StageTiming insert = new StageTiming();
+        private int totalEntries;
+        private int processed;
+        private int created;
+        private int duplicates;
+    }
+
+    private static final class StageTiming {
+
+        private long items;
+        private long nanos;
+
+        void add(long stageItems, long startNanos) {
+            items += stageItems;
+            nanos += System.nanoTime() - startNanos;
+        }
+
+        Duration elapsed() {
+            return Duration.ofNanos(nanos);
+        }
+    }
 }
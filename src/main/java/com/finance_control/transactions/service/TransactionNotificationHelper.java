@@ -8,12 +8,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Map;
 
 /**
  * Helper class for handling transaction-related notifications.
  * Reduces coupling and code duplication in TransactionService.
+ * Inside a transaction, notifications are sent after it commits, so clients are never told about
+ * rows that end up rolled back.
  */
 @Slf4j
 @Component
@@ -35,8 +40,39 @@ public class TransactionNotificationHelper {
      * @param operation   the operation type (e.g., "creation", "update", "deletion")
      */
     public void notifyTransactionChange(TransactionDTO transaction, String operation) {
-        notifyRealtime(transaction, operation);
-        notifyDashboard(transaction, operation);
+        afterCommit(() -> {
+            notifyRealtime(transaction, operation);
+            notifyDashboard(transaction, operation);
+        });
+    }
+
+    /**
+     * Sends notifications for a batch of created transactions of one user.
+     * Realtime subscribers receive every transaction; the dashboard is notified once.
+     *
+     * @param transactions the created transaction DTOs
+     */
+    public void notifyTransactionsCreated(List<TransactionDTO> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            transactions.forEach(transaction -> notifyRealtime(transaction, "creation"));
+            notifyDashboard(transactions.get(transactions.size() - 1), "bulk creation");
+        });
+    }
+
+    private static void afterCommit(Runnable notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notification.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                notification.run();
+            }
+        });
     }
 
     private void notifyRealtime(TransactionDTO transaction, String operation) {
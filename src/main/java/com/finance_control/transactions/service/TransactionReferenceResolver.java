@@ -0,0 +1,25 @@
+package com.finance_control.transactions.service;
+
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.model.responsibles.TransactionResponsibles;
+import com.finance_control.transactions.model.source.TransactionSourceEntity;
+import com.finance_control.transactions.model.subcategory.TransactionSubcategory;
+import com.finance_control.users.model.User;
+
+/**
+ * Resolves the entities a transaction refers to by ID.
+ * Implemented by {@link TransactionEntityLookupHelper} for single lookups and by the prefetched
+ * view it builds for bulk creation.
+ */
+public interface TransactionReferenceResolver {
+
+    User getUserById(Long userId);
+
+    TransactionCategory getCategoryById(Long categoryId);
+
+    TransactionSubcategory getSubcategoryById(Long subcategoryId);
+
+    TransactionSourceEntity getSourceEntityById(Long sourceEntityId);
+
+    TransactionResponsibles getResponsibleById(Long responsibleId);
+}
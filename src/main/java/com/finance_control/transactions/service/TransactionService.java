@@ -1,7 +1,12 @@
 package com.finance_control.transactions.service;
 
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.dto.CursorPage;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
 import com.finance_control.shared.monitoring.MetricsService;
 import com.finance_control.shared.service.BaseService;
+import com.finance_control.shared.util.KeysetPagination;
 import com.finance_control.shared.util.ValidationUtils;
 import com.finance_control.transactions.dto.TransactionDTO;
 import com.finance_control.transactions.dto.TransactionReconciliationRequest;
@@ -9,19 +14,28 @@ import com.finance_control.transactions.dto.responsibles.TransactionResponsibles
 import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.model.responsibles.TransactionResponsibles;
 import com.finance_control.transactions.model.responsibles.TransactionResponsibles.TransactionResponsibility;
+import com.finance_control.transactions.repository.TransactionBatchWriter;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.service.rollup.RollupContribution;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import com.finance_control.transactions.service.search.TransactionSearchService;
+import com.finance_control.users.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Service for managing financial transaction operations.
@@ -45,6 +59,10 @@ public class TransactionService
     private final TransactionQueryHelper queryHelper;
     private final MetricsService metricsService;
     private final TransactionNotificationHelper notificationHelper;
+    private final UserMonthlyRollupService rollupService;
+    private final UserDataChangePublisher changePublisher;
+    private final TransactionBatchWriter batchWriter;
+    private final TransactionSearchService searchService;
 
     public TransactionService(TransactionRepository transactionRepository,
             TransactionEntityLookupHelper entityLookupHelper,
@@ -53,7 +71,11 @@ public class TransactionService
             TransactionUpdateHelper updateHelper,
             TransactionQueryHelper queryHelper,
             MetricsService metricsService,
-            TransactionNotificationHelper notificationHelper) {
+            TransactionNotificationHelper notificationHelper,
+            UserMonthlyRollupService rollupService,
+            UserDataChangePublisher changePublisher,
+            TransactionBatchWriter batchWriter,
+            TransactionSearchService searchService) {
         super(transactionRepository);
         this.transactionRepository = transactionRepository;
         this.entityLookupHelper = entityLookupHelper;
@@ -63,6 +85,59 @@ public class TransactionService
         this.queryHelper = queryHelper;
         this.metricsService = metricsService;
         this.notificationHelper = notificationHelper;
+        this.rollupService = rollupService;
+        this.changePublisher = changePublisher;
+        this.batchWriter = batchWriter;
+        this.searchService = searchService;
+    }
+
+    /**
+     * Lists transactions, serving searches without an explicit sort from the ranked full-text
+     * index when the database supports it.
+     */
+    @Override
+    public Page<TransactionDTO> findAll(String search, Map<String, Object> filters, String sortBy, String sortDirection,
+            Pageable pageable) {
+        if (!searchService.supports(search, filters, sortBy)) {
+            return super.findAll(search, filters, sortBy, sortDirection, pageable);
+        }
+
+        Long currentUserId = UserContext.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new SecurityException("User context not available");
+        }
+        return searchService.search(currentUserId, search, filters, pageable).map(this::mapToResponseDTO);
+    }
+
+    /**
+     * Retrieves the current user's transactions with keyset pagination, newest first.
+     * Each page seeks past the previous one on the {@code (user_id, date DESC, id DESC)} index,
+     * so deep pages cost the same as the first. Transactions without a date are not listed.
+     *
+     * @param cursor       the {@code nextCursor} of the previous page, or null for the first page
+     * @param size         the page size, clamped to {@link KeysetPagination#MAX_SIZE}
+     * @param includeTotal whether to also count the user's transactions
+     * @return the page of transaction DTOs
+     */
+    @Transactional(readOnly = true)
+    @Timed(value = "finance.transactions.list", description = "Transaction cursor page time", histogram = true)
+    public CursorPage<TransactionDTO> findByCursor(String cursor, Integer size, boolean includeTotal) {
+        Long currentUserId = UserContext.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new SecurityException("User context not available");
+        }
+
+        KeysetPagination.Cursor after = KeysetPagination.Cursor.decode(cursor);
+        int pageSize = KeysetPagination.normalizeSize(size);
+        List<Transaction> rows = after == null
+                ? transactionRepository.findKeysetFirstPage(currentUserId, KeysetPagination.limit(pageSize))
+                : transactionRepository.findKeysetPageAfter(currentUserId, after.timestamp(), after.id(),
+                        KeysetPagination.limit(pageSize));
+        Long total = includeTotal ? transactionRepository.countKeysetByUserId(currentUserId) : null;
+
+        return KeysetPagination.toPage(rows, pageSize,
+                transaction -> new KeysetPagination.Cursor(transaction.getDate(), transaction.getId()),
+                this::mapToResponseDTO, total);
     }
 
     /**
@@ -97,6 +172,10 @@ public class TransactionService
     // BaseService abstract method implementations
     @Override
     protected Transaction mapToEntity(TransactionDTO createDTO) {
+        return mapToEntity(createDTO, entityLookupHelper);
+    }
+
+    private Transaction mapToEntity(TransactionDTO createDTO, TransactionReferenceResolver references) {
         Transaction transaction = new Transaction();
 
         // Map simple fields manually (avoid EntityMapper to prevent DTO list being copied to entity)
@@ -107,6 +186,7 @@ public class TransactionService
         transaction.setSource(createDTO.getSource());
         transaction.setInstallments(createDTO.getInstallments());
         transaction.setDate(createDTO.getDate());
+        transaction.setExternalReference(createDTO.getExternalReference());
 
         // Set default date if not provided
         if (transaction.getDate() == null) {
@@ -114,23 +194,23 @@ public class TransactionService
         }
 
         // Set required relationships
-        transaction.setUser(entityLookupHelper.getUserById(createDTO.getUserId()));
-        transaction.setCategory(entityLookupHelper.getCategoryById(createDTO.getCategoryId()));
+        transaction.setUser(references.getUserById(createDTO.getUserId()));
+        transaction.setCategory(references.getCategoryById(createDTO.getCategoryId()));
 
         // Set optional relationships
         if (createDTO.getSubcategoryId() != null) {
-            transaction.setSubcategory(entityLookupHelper.getSubcategoryById(createDTO.getSubcategoryId()));
+            transaction.setSubcategory(references.getSubcategoryById(createDTO.getSubcategoryId()));
         }
 
         if (createDTO.getSourceEntityId() != null) {
-            transaction.setSourceEntity(entityLookupHelper.getSourceEntityById(createDTO.getSourceEntityId()));
+            transaction.setSourceEntity(references.getSourceEntityById(createDTO.getSourceEntityId()));
         }
 
         // Set responsibilities (properly convert DTOs to entities)
         if (createDTO.getResponsibilities() != null) {
             List<TransactionResponsiblesDTO> responsibilities = new ArrayList<>(createDTO.getResponsibilities());
             for (TransactionResponsiblesDTO respDTO : responsibilities) {
-                TransactionResponsibles responsible = entityLookupHelper.getResponsibleById(respDTO.getResponsibleId());
+                TransactionResponsibles responsible = references.getResponsibleById(respDTO.getResponsibleId());
                 transaction.addResponsible(responsible, respDTO.getPercentage(), respDTO.getNotes());
             }
         }
@@ -140,7 +220,10 @@ public class TransactionService
 
     @Override
     protected void updateEntityFromDTO(Transaction entity, TransactionDTO updateDTO) {
+        RollupContribution before = RollupContribution.of(entity);
         updateHelper.updateEntityFromDTO(entity, updateDTO);
+        rollupService.recordUpdated(before, entity);
+        publishChange(entity);
     }
 
     @Override
@@ -178,6 +261,24 @@ public class TransactionService
         validateTransaction(transaction);
     }
 
+    @Override
+    protected void afterCreate(Transaction savedEntity) {
+        rollupService.recordCreated(savedEntity);
+        publishChange(savedEntity);
+    }
+
+    @Override
+    protected void beforeDelete(Transaction entity) {
+        rollupService.recordDeleted(entity);
+        publishChange(entity);
+    }
+
+    private void publishChange(Transaction transaction) {
+        if (transaction.getUser() != null) {
+            changePublisher.publish(transaction.getUser().getId(), UserDataChangedEvent.Source.TRANSACTION);
+        }
+    }
+
     @Override
     protected String getEntityName() {
         return "Transaction";
@@ -296,6 +397,7 @@ public class TransactionService
     public TransactionDTO reconcileTransaction(Long id, TransactionReconciliationRequest request) {
         validateId(id);
         Transaction transaction = getEntityById(id);
+        RollupContribution before = RollupContribution.of(transaction);
 
         // Update reconciliation fields
         transaction.setReconciledAmount(request.getReconciledAmount());
@@ -306,6 +408,8 @@ public class TransactionService
         transaction.setExternalReference(request.getExternalReference());
 
         transactionRepository.save(transaction);
+        rollupService.recordUpdated(before, transaction);
+        publishChange(transaction);
 
         log.info("Transaction reconciled successfully (ID present: {})", id != null);
         return mapToResponseDTO(transaction);
@@ -324,6 +428,73 @@ public class TransactionService
         }
     }
 
+    /**
+     * Creates a batch of transactions for the current user.
+     * Every DTO is validated before anything is written, referenced entities are loaded with one
+     * query per entity type, and rows are inserted through JDBC batches. The batch is atomic.
+     * Transactions are always created for the current user: a DTO naming another user is rejected.
+     *
+     * @param createDTOs the transactions to create
+     * @return the created transaction DTOs, in input order
+     * @throws SecurityException if the user context is not available or a DTO names another user
+     */
+    public List<TransactionDTO> createAll(List<TransactionDTO> createDTOs) {
+        if (createDTOs.isEmpty()) {
+            return List.of();
+        }
+        Long currentUserId = requireCurrentUserId();
+        for (TransactionDTO createDTO : createDTOs) {
+            requireOwnedBy(createDTO.getUserId(), currentUserId);
+            validateCreateDTO(createDTO);
+        }
+        return insertAll(createDTOs, currentUserId, (transaction, index) -> validateEntity(transaction));
+    }
+
+    /**
+     * Maps the DTOs to the current user's transactions and writes them with one JDBC batch.
+     *
+     * @param createDTOs the validated transactions to create
+     * @param currentUserId the ID of the user owning every transaction
+     * @param prepare applied to each mapped transaction, with its index, before it is written
+     * @return the created transaction DTOs, in input order
+     */
+    private List<TransactionDTO> insertAll(List<TransactionDTO> createDTOs, Long currentUserId,
+                                           ObjIntConsumer<Transaction> prepare) {
+        Instant start = Instant.now();
+        TransactionReferenceResolver references = entityLookupHelper.prefetch(createDTOs, currentUserId);
+        User currentUser = references.getUserById(currentUserId);
+        List<Transaction> transactions = new ArrayList<>(createDTOs.size());
+        for (int i = 0; i < createDTOs.size(); i++) {
+            Transaction transaction = mapToEntity(createDTOs.get(i), references);
+            transaction.setUser(currentUser);
+            prepare.accept(transaction, i);
+            transactions.add(transaction);
+        }
+
+        batchWriter.insertAll(transactions);
+        rollupService.recordCreated(transactions);
+        changePublisher.publish(currentUserId, UserDataChangedEvent.Source.TRANSACTION);
+        metricsService.recordTransactionBulkInsert(transactions.size(), Duration.between(start, Instant.now()));
+
+        List<TransactionDTO> results = transactions.stream().map(this::mapToResponseDTO).toList();
+        notificationHelper.notifyTransactionsCreated(results);
+        return results;
+    }
+
+    private static Long requireCurrentUserId() {
+        Long currentUserId = UserContext.getCurrentUserId();
+        if (currentUserId == null) {
+            throw new SecurityException("User context not available");
+        }
+        return currentUserId;
+    }
+
+    private static void requireOwnedBy(Long userId, Long currentUserId) {
+        if (userId != null && !userId.equals(currentUserId)) {
+            throw new SecurityException("Access denied: transaction does not belong to current user");
+        }
+    }
+
     @Override
     public TransactionDTO update(Long id, TransactionDTO updateDTO) {
         var sample = metricsService.startTransactionProcessingTimer();
@@ -342,21 +513,20 @@ public class TransactionService
     }
 
     /**
-     * Create transaction installments.
+     * Create transaction installments for the current user.
+     * All installments are written with one batch, like {@link #createAll}.
      *
      * @param request the installment request
      * @return list of created transaction DTOs
+     * @throws SecurityException if the user context is not available or the request names another user
      */
     public List<TransactionDTO> createInstallments(com.finance_control.transactions.dto.TransactionInstallmentRequest request) {
+        Long currentUserId = requireCurrentUserId();
+        requireOwnedBy(request.getUserId(), currentUserId);
+
         String groupId = java.util.UUID.randomUUID().toString();
         BigDecimal installmentAmount = request.getTotalAmount().divide(BigDecimal.valueOf(request.getInstallmentCount()), 2, java.math.RoundingMode.HALF_UP);
-        List<TransactionDTO> createdTransactions = new ArrayList<>();
-
-        // Validate user ID if not present in request (should be set by controller)
-        if (request.getUserId() == null) {
-            throw new IllegalArgumentException("User ID is required");
-        }
-
+        List<TransactionDTO> installments = new ArrayList<>(request.getInstallmentCount());
         for (int i = 0; i < request.getInstallmentCount(); i++) {
             TransactionDTO dto = new TransactionDTO();
             dto.setDescription(request.getDescription() + " (" + (i + 1) + "/" + request.getInstallmentCount() + ")");
@@ -366,27 +536,19 @@ public class TransactionService
             dto.setSource(com.finance_control.shared.enums.TransactionSource.valueOf(request.getSource()));
             dto.setCategoryId(request.getCategoryId());
             dto.setSubcategoryId(request.getSubcategoryId());
-            dto.setUserId(request.getUserId());
+            dto.setUserId(currentUserId);
             dto.setDate(request.getFirstInstallmentDate().plusMonths(i).atStartOfDay());
             dto.setInstallments(request.getInstallmentCount());
+            installments.add(dto);
+        }
 
-            // Map to entity to set relationships
-            Transaction entity = mapToEntity(dto);
-
-            // Set specific installment fields
+        // Set specific installment fields
+        List<TransactionDTO> createdTransactions = insertAll(installments, currentUserId, (entity, index) -> {
             entity.setInstallmentGroupId(groupId);
-            entity.setInstallmentNumber(i + 1);
+            entity.setInstallmentNumber(index + 1);
             entity.setTotalInstallments(request.getInstallmentCount());
             entity.setInstallmentAmount(installmentAmount);
-
-            // Save
-            entity = transactionRepository.save(entity);
-
-            // Notify and add to result
-            TransactionDTO resultDTO = mapToResponseDTO(entity);
-            notificationHelper.notifyTransactionChange(resultDTO, "creation");
-            createdTransactions.add(resultDTO);
-        }
+        });
 
         // Record metrics for the total amount
         metricsService.recordTransactionAmount(request.getTotalAmount().doubleValue(), request.getType());
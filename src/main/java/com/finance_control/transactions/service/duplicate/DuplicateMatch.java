@@ -0,0 +1,18 @@
+package com.finance_control.transactions.service.duplicate;
+
+/**
+ * How incoming transactions are matched against stored ones.
+ */
+public enum DuplicateMatch {
+
+    /**
+     * Only a stored transaction with the same external reference is a duplicate.
+     */
+    EXTERNAL_REFERENCE,
+
+    /**
+     * A stored transaction with the same external reference, or with the same amount, normalized
+     * description and day, is a duplicate.
+     */
+    EXTERNAL_REFERENCE_OR_FINGERPRINT
+}
@@ -0,0 +1,110 @@
+package com.finance_control.transactions.service.duplicate;
+
+import com.finance_control.transactions.dto.TransactionDTO;
+import com.finance_control.transactions.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Batch duplicate detection for incoming transactions.
+ * Instead of one lookup per row, the stored transactions a batch could duplicate are loaded with
+ * at most two queries (external references, and fingerprints within the batch's amount and date
+ * window) and every candidate is then checked in memory.
+ *
+ * <p>A fingerprint is a 64-bit hash of the amount, the normalized description and the day.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionDuplicateDetector {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Loads the duplicate index for a batch of candidates of one user.
+     *
+     * @param userId the user ID
+     * @param candidates the incoming transactions
+     * @param match how candidates are matched
+     * @return the index to check the candidates against
+     */
+    @Transactional(readOnly = true)
+    public TransactionDuplicateIndex load(Long userId, Collection<TransactionDTO> candidates, DuplicateMatch match) {
+        Set<String> references = new HashSet<>();
+        Set<BigDecimal> amounts = new HashSet<>();
+        LocalDate firstDay = null;
+        LocalDate lastDay = null;
+        for (TransactionDTO candidate : candidates) {
+            if (StringUtils.hasText(candidate.getExternalReference())) {
+                references.add(candidate.getExternalReference());
+            }
+            if (candidate.getAmount() != null && candidate.getDate() != null) {
+                LocalDate day = candidate.getDate().toLocalDate();
+                amounts.add(candidate.getAmount());
+                firstDay = firstDay == null || day.isBefore(firstDay) ? day : firstDay;
+                lastDay = lastDay == null || day.isAfter(lastDay) ? day : lastDay;
+            }
+        }
+
+        Set<String> knownReferences = references.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(transactionRepository.findExistingExternalReferences(userId, references));
+
+        boolean matchFingerprints = match == DuplicateMatch.EXTERNAL_REFERENCE_OR_FINGERPRINT;
+        Set<Long> knownFingerprints = new HashSet<>();
+        if (matchFingerprints && !amounts.isEmpty()) {
+            transactionRepository.findFingerprints(userId, amounts,
+                            firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay().minusNanos(1))
+                    .forEach(stored -> {
+                        Long fingerprint = fingerprint(stored.amount(), stored.description(), stored.date());
+                        if (fingerprint != null) {
+                            knownFingerprints.add(fingerprint);
+                        }
+                    });
+        }
+
+        return new TransactionDuplicateIndex(knownReferences, knownFingerprints, matchFingerprints);
+    }
+
+    /**
+     * Computes the fingerprint of a transaction.
+     *
+     * @param amount the amount
+     * @param description the description
+     * @param date the date
+     * @return the fingerprint, or null when the amount or date is missing
+     */
+    static Long fingerprint(BigDecimal amount, String description, LocalDateTime date) {
+        if (amount == null || date == null) {
+            return null;
+        }
+        String key = amount.stripTrailingZeros().toPlainString()
+                + '|' + normalizeDescription(description)
+                + '|' + date.toLocalDate();
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String normalizeDescription(String description) {
+        if (description == null) {
+            return "";
+        }
+        return description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,59 @@
+package com.finance_control.transactions.service.duplicate;
+
+import com.finance_control.transactions.dto.TransactionDTO;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * In-memory view of the stored transactions that a batch of candidates could duplicate.
+ * Built once per batch by {@link TransactionDuplicateDetector}; accepted candidates are registered
+ * so that repeats later in the same batch are caught without another query. Not thread-safe.
+ */
+public final class TransactionDuplicateIndex {
+
+    private final Set<String> externalReferences;
+    private final Set<Long> fingerprints;
+    private final boolean matchFingerprints;
+
+    TransactionDuplicateIndex(Set<String> externalReferences, Set<Long> fingerprints, boolean matchFingerprints) {
+        this.externalReferences = externalReferences;
+        this.fingerprints = fingerprints;
+        this.matchFingerprints = matchFingerprints;
+    }
+
+    /**
+     * Checks a candidate against the stored and registered transactions.
+     *
+     * @param candidate the incoming transaction
+     * @return true if the candidate is a duplicate
+     */
+    public boolean isDuplicate(TransactionDTO candidate) {
+        String externalReference = candidate.getExternalReference();
+        if (StringUtils.hasText(externalReference) && externalReferences.contains(externalReference)) {
+            return true;
+        }
+        if (!matchFingerprints) {
+            return false;
+        }
+        Long fingerprint = TransactionDuplicateDetector.fingerprint(
+                candidate.getAmount(), candidate.getDescription(), candidate.getDate());
+        return fingerprint != null && fingerprints.contains(fingerprint);
+    }
+
+    /**
+     * Records a candidate that is about to be stored.
+     *
+     * @param accepted the accepted transaction
+     */
+    public void register(TransactionDTO accepted) {
+        if (StringUtils.hasText(accepted.getExternalReference())) {
+            externalReferences.add(accepted.getExternalReference());
+        }
+        Long fingerprint = TransactionDuplicateDetector.fingerprint(
+                accepted.getAmount(), accepted.getDescription(), accepted.getDate());
+        if (fingerprint != null) {
+            fingerprints.add(fingerprint);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.finance_control.transactions.service.partition;
+
+import com.finance_control.transactions.repository.partition.TransactionPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of the transactions table ahead of the data.
+ * Partitions are created {@code months-ahead} months in advance so new and planned transactions
+ * never pile up in the default partition. With {@code retention-months} set, partitions older than
+ * that are detached and moved to the archive schema; their transactions then no longer appear in
+ * listings, reports or the monthly rollup rebuild.
+ */
+@Slf4j
+@Service
+public class TransactionPartitionService {
+
+    private final TransactionPartitionRepository partitionRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+
+    public TransactionPartitionService(TransactionPartitionRepository partitionRepository,
+            @Value("${app.transactions.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${app.transactions.partitioning.retention-months:0}") int retentionMonths,
+            @Value("${app.transactions.partitioning.archive-schema:archive}") String archiveSchema) {
+        this.partitionRepository = partitionRepository;
+        this.monthsAhead = Math.max(0, monthsAhead);
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.archiveSchema = archiveSchema;
+    }
+
+    /**
+     * Partitions created and detached by a maintenance run.
+     *
+     * @param created the months whose partition was created
+     * @param detached the months whose partition was detached
+     */
+    public record MaintenanceResult(List<YearMonth> created, List<YearMonth> detached) {
+    }
+
+    public MaintenanceResult maintain() {
+        return maintain(YearMonth.now());
+    }
+
+    /**
+     * Creates missing partitions from {@code currentMonth} up to {@code months-ahead} months later
+     * and detaches partitions past the retention period.
+     *
+     * @param currentMonth the month to plan from
+     * @return the partitions created and detached
+     */
+    public MaintenanceResult maintain(YearMonth currentMonth) {
+        if (!partitionRepository.isPartitioned()) {
+            log.warn("Transactions table is not partitioned, skipping partition maintenance");
+            return new MaintenanceResult(List.of(), List.of());
+        }
+
+        List<YearMonth> created = new ArrayList<>();
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            YearMonth month = currentMonth.plusMonths(offset);
+            if (partitionRepository.createPartition(month)) {
+                created.add(month);
+            }
+        }
+
+        List<YearMonth> detached = new ArrayList<>();
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+            for (YearMonth month : partitionRepository.findPartitionMonths()) {
+                if (month.isBefore(oldestKept) && partitionRepository.detachPartition(month, archiveSchema)) {
+                    detached.add(month);
+                }
+            }
+        }
+
+        log.info("Transaction partition maintenance: {} partitions created {}, {} detached {}",
+                created.size(), created, detached.size(), detached);
+        return new MaintenanceResult(created, detached);
+    }
+}
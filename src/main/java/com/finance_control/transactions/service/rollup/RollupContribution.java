@@ -0,0 +1,50 @@
+package com.finance_control.transactions.service.rollup;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The part of a single transaction that counts towards its monthly rollup bucket.
+ * Captured before an update so the old contribution can be retracted once the entity has changed.
+ *
+ * @param userId the owning user ID
+ * @param monthStart the first day of the transaction month
+ * @param type the transaction type
+ * @param categoryId the transaction category ID
+ * @param amount the transaction amount
+ * @param reconciled whether the transaction is reconciled
+ */
+public record RollupContribution(
+        Long userId,
+        LocalDate monthStart,
+        TransactionType type,
+        Long categoryId,
+        BigDecimal amount,
+        boolean reconciled) {
+
+    /**
+     * Captures the rollup contribution of a transaction.
+     *
+     * @param transaction the transaction
+     * @return the contribution, or null when the transaction lacks a user, date, type, category or amount
+     */
+    public static RollupContribution of(Transaction transaction) {
+        if (transaction == null
+                || transaction.getUser() == null || transaction.getUser().getId() == null
+                || transaction.getCategory() == null || transaction.getCategory().getId() == null
+                || transaction.getDate() == null || transaction.getType() == null
+                || transaction.getAmount() == null) {
+            return null;
+        }
+        return new RollupContribution(
+                transaction.getUser().getId(),
+                transaction.getDate().toLocalDate().withDayOfMonth(1),
+                transaction.getType(),
+                transaction.getCategory().getId(),
+                transaction.getAmount(),
+                Boolean.TRUE.equals(transaction.getReconciled()));
+    }
+}
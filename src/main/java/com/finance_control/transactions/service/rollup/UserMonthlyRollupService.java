@@ -0,0 +1,202 @@
+package com.finance_control.transactions.service.rollup;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.repository.rollup.UserMonthlyRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the per-user monthly rollup of transactions.
+ * Writes apply signed deltas to the affected buckets; reads return grouped rows whose size
+ * depends on months x categories rather than on the transaction history.
+ *
+ * <p>Deltas and rebuilds of a user are serialized by a per-user lock held until commit, so a
+ * rebuild neither drops a concurrent delta nor counts a transaction twice.</p>
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class UserMonthlyRollupService {
+
+    private final UserMonthlyRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+
+    /**
+     * Adds a newly created transaction to its bucket.
+     *
+     * @param transaction the saved transaction
+     */
+    public void recordCreated(Transaction transaction) {
+        apply(RollupContribution.of(transaction), 1);
+    }
+
+    /**
+     * Adds a batch of newly created transactions, applying one delta per affected bucket.
+     *
+     * @param transactions the saved transactions
+     */
+    public void recordCreated(Collection<Transaction> transactions) {
+        Map<BucketDelta, BucketValue> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            RollupContribution contribution = RollupContribution.of(transaction);
+            if (contribution == null) {
+                continue;
+            }
+            BucketDelta key = new BucketDelta(contribution.userId(), contribution.monthStart(),
+                    contribution.type(), contribution.categoryId());
+            deltas.merge(key, new BucketValue(1, contribution.reconciled() ? 0 : 1, contribution.amount()),
+                    BucketValue::plus);
+        }
+        // Same order in every transaction, so batches spanning several users cannot deadlock
+        deltas.keySet().stream().map(BucketDelta::userId).distinct().sorted().forEach(rollupRepository::lockUser);
+        deltas.forEach((key, value) -> rollupRepository.applyDelta(key.userId(), key.monthStart(),
+                key.type().name(), key.categoryId(), value.amount(), value.count(), value.unreconciled()));
+    }
+
+    /**
+     * Removes a transaction that is about to be deleted from its bucket.
+     *
+     * @param transaction the transaction being deleted
+     */
+    public void recordDeleted(Transaction transaction) {
+        apply(RollupContribution.of(transaction), -1);
+    }
+
+    /**
+     * Moves a transaction from its previous contribution to its current state.
+     *
+     * @param before the contribution captured before the change, or null if it did not count
+     * @param after the transaction after the change
+     */
+    public void recordUpdated(RollupContribution before, Transaction after) {
+        RollupContribution current = RollupContribution.of(after);
+        if (Objects.equals(before, current)) {
+            return;
+        }
+        apply(before, -1);
+        apply(current, 1);
+    }
+
+    /**
+     * Returns the monthly aggregates of a user read from the rollup.
+     *
+     * @param userId the user ID
+     * @return grouped rows by month, type and category
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionMonthlyAggregate> getMonthlyAggregates(Long userId) {
+        return rollupRepository.aggregateMonthlyByUserId(userId);
+    }
+
+    /**
+     * Returns the monthly aggregates of a user within an inclusive month range.
+     *
+     * @param userId the user ID
+     * @param from the first month
+     * @param to the last month
+     * @return grouped rows by month, type and category
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionMonthlyAggregate> getMonthlyAggregates(Long userId, YearMonth from, YearMonth to) {
+        return rollupRepository.aggregateMonthlyByUserIdAndMonthBetween(userId, from.atDay(1), to.atDay(1));
+    }
+
+    /**
+     * Discards and recomputes every bucket of a user from the transactions table.
+     *
+     * @param userId the user ID
+     * @return the number of buckets written
+     */
+    public int rebuild(Long userId) {
+        rollupRepository.lockUser(userId);
+        rollupRepository.deleteByUserId(userId);
+        int buckets = rollupRepository.rebuildForUser(userId);
+        log.info("Rebuilt monthly rollup ({} buckets)", buckets);
+        return buckets;
+    }
+
+    /**
+     * Compares the rollup of a user with the same aggregate computed from the transactions table.
+     * Transactions without a date never reach the rollup and are ignored.
+     *
+     * @param userId the user ID
+     * @return true if every bucket matches
+     */
+    @Transactional(readOnly = true)
+    public boolean isConsistent(Long userId) {
+        Map<BucketKey, BucketValue> expected = index(transactionRepository.aggregateMonthlyByUserId(userId));
+        Map<BucketKey, BucketValue> actual = index(rollupRepository.aggregateMonthlyByUserId(userId));
+        return expected.equals(actual);
+    }
+
+    /**
+     * Returns the IDs of every user that owns at least one transaction.
+     *
+     * @return the user IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getUserIdsWithTransactions() {
+        return transactionRepository.findDistinctUserIds();
+    }
+
+    private void apply(RollupContribution contribution, int sign) {
+        if (contribution == null) {
+            return;
+        }
+        rollupRepository.lockUser(contribution.userId());
+        rollupRepository.applyDelta(
+                contribution.userId(),
+                contribution.monthStart(),
+                contribution.type().name(),
+                contribution.categoryId(),
+                sign > 0 ? contribution.amount() : contribution.amount().negate(),
+                sign,
+                contribution.reconciled() ? 0 : sign);
+    }
+
+    private Map<BucketKey, BucketValue> index(List<TransactionMonthlyAggregate> rows) {
+        Map<BucketKey, BucketValue> buckets = new HashMap<>();
+        for (TransactionMonthlyAggregate row : rows) {
+            if (row.year() == null || row.month() == null || row.transactionCount() == null
+                    || row.transactionCount() == 0) {
+                continue;
+            }
+            BucketKey key = new BucketKey(LocalDate.of(row.year(), row.month(), 1), row.type(), row.categoryName());
+            BucketValue value = new BucketValue(row.transactionCount(),
+                    row.unreconciledCount() != null ? row.unreconciledCount() : 0L,
+                    row.totalAmount() != null ? row.totalAmount().stripTrailingZeros() : BigDecimal.ZERO);
+            buckets.merge(key, value, BucketValue::plus);
+        }
+        return buckets;
+    }
+
+    private record BucketDelta(Long userId, LocalDate monthStart, TransactionType type, Long categoryId) {
+    }
+
+    private record BucketKey(LocalDate monthStart, TransactionType type, String categoryName) {
+    }
+
+    private record BucketValue(long count, long unreconciled, BigDecimal amount) {
+
+        BucketValue plus(BucketValue other) {
+            return new BucketValue(count + other.count, unreconciled + other.unreconciled,
+                    amount.add(other.amount).stripTrailingZeros());
+        }
+    }
+}
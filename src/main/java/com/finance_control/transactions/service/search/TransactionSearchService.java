@@ -0,0 +1,129 @@
+package com.finance_control.transactions.service.search;
+
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked, index-backed transaction search.
+ * On PostgreSQL a search is answered by the user-scoped full-text and trigram GIN indexes and
+ * ordered by relevance. On other databases (H2 in tests) {@link #supports} returns false and callers
+ * fall back to the specification-based {@code LIKE} search.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class TransactionSearchService {
+
+    /** Filters the ranked query can apply; any other non-null filter falls back to specifications. */
+    static final Set<String> SUPPORTED_FILTERS = Set.of("userId", "type", "categoryId", "subcategoryId", "sourceEntityId");
+
+    private final TransactionRepository transactionRepository;
+    private final boolean fullTextAvailable;
+
+    public TransactionSearchService(TransactionRepository transactionRepository,
+            DataSource dataSource,
+            @Value("${app.transactions.search.full-text-enabled:true}") boolean fullTextEnabled) {
+        this.transactionRepository = transactionRepository;
+        this.fullTextAvailable = fullTextEnabled && isPostgres(dataSource);
+        log.info("Transaction search mode: {}", fullTextAvailable ? "ranked full-text" : "substring");
+    }
+
+    /**
+     * Tells whether a listing request can be served by the ranked search.
+     * Requires a search term, no explicit sort (results are ordered by relevance) and only supported filters.
+     *
+     * @param search the search term
+     * @param filters the listing filters
+     * @param sortBy the requested sort field
+     * @return true if {@link #search} should be used
+     */
+    public boolean supports(String search, Map<String, Object> filters, String sortBy) {
+        if (!fullTextAvailable || search == null || search.isBlank() || (sortBy != null && !sortBy.isBlank())) {
+            return false;
+        }
+        return filters == null || filters.entrySet().stream()
+                .allMatch(entry -> entry.getValue() == null || SUPPORTED_FILTERS.contains(entry.getKey()));
+    }
+
+    /**
+     * Returns a user's transactions matching a search, best matches first.
+     *
+     * @param userId the user ID
+     * @param search the search term, in Portuguese web-search syntax
+     * @param filters optional exact-match filters from {@link #SUPPORTED_FILTERS}
+     * @param pageable the page to return; its sort is ignored
+     * @return the page of matching transactions
+     */
+    @Timed(value = "finance.transactions.search", description = "Transaction search time", histogram = true)
+    public Page<Transaction> search(Long userId, String search, Map<String, Object> filters, Pageable pageable) {
+        String term = search.trim();
+        Map<String, Object> applied = filters != null ? filters : Map.of();
+        Object type = applied.get("type");
+
+        Page<Long> ids = transactionRepository.searchRankedIds(userId, term, likePattern(term),
+                type != null ? type.toString() : null,
+                toLong(applied.get("categoryId")),
+                toLong(applied.get("subcategoryId")),
+                toLong(applied.get("sourceEntityId")),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        Map<Long, Transaction> byId = transactionRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Transaction::getId, Function.identity()));
+        List<Transaction> ranked = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ranked, pageable, ids.getTotalElements());
+    }
+
+    public boolean isFullTextAvailable() {
+        return fullTextAvailable;
+    }
+
+    static String likePattern(String term) {
+        String escaped = term.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString());
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Could not detect database for transaction search, using substring search: {}", e.getMessage());
+            return false;
+        }
+    }
+}
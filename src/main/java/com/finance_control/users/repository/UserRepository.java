@@ -2,12 +2,15 @@ package com.finance_control.users.repository;
 
 import com.finance_control.shared.repository.BaseRepository;
 import com.finance_control.users.model.User;
+import com.finance_control.users.repository.projection.UserEmailIndexRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,7 +25,7 @@ public interface UserRepository extends BaseRepository<User, Long> {
      * Finds a user by their email hash.
      * Use this method for efficient lookups without decrypting emails.
      *
-     * @param emailHash the SHA-256 hash of the email address
+     * @param emailHash the blind index of the email address
      * @return an Optional containing the user if found, empty otherwise
      */
     Optional<User> findByEmailHash(String emailHash);
@@ -30,7 +33,7 @@ public interface UserRepository extends BaseRepository<User, Long> {
     /**
      * Checks if a user exists with the given email hash.
      *
-     * @param emailHash the SHA-256 hash of the email address
+     * @param emailHash the blind index of the email address
      * @return true if a user exists with the email hash, false otherwise
      */
     boolean existsByEmailHash(String emailHash);
@@ -38,7 +41,7 @@ public interface UserRepository extends BaseRepository<User, Long> {
     /**
      * Finds an active user by their email hash.
      *
-     * @param emailHash the SHA-256 hash of the email address
+     * @param emailHash the blind index of the email address
      * @return an Optional containing the active user if found, empty otherwise
      */
     Optional<User> findByEmailHashAndIsActiveTrue(String emailHash);
@@ -59,6 +62,29 @@ public interface UserRepository extends BaseRepository<User, Long> {
      */
     boolean existsBySupabaseUserId(String supabaseUserId);
 
+    /**
+     * Reads the stored email columns of the next users after an ID, bypassing the email converter
+     * so values can be decrypted in batches.
+     *
+     * @param afterId the last ID already read
+     * @param limit the maximum number of rows
+     * @return the rows ordered by ID
+     */
+    @Query(value = "SELECT id AS \"id\", email AS \"email\", email_hash AS \"emailHash\" FROM users " +
+            "WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<UserEmailIndexRow> findEmailIndexRowsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * Replaces the email blind index of a user.
+     *
+     * @param id the user ID
+     * @param emailHash the new blind index
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.emailHash = :emailHash WHERE u.id = :id")
+    int updateEmailHash(@Param("id") Long id, @Param("emailHash") String emailHash);
+
 
     @Override
     @Query("SELECT u FROM User u WHERE " +
@@ -0,0 +1,14 @@
+package com.finance_control.users.repository.projection;
+
+/**
+ * Stored email columns of a user, read without the decrypting converter.
+ */
+public interface UserEmailIndexRow {
+
+    Long getId();
+
+    /** The stored email, encrypted when encryption is enabled */
+    String getEmail();
+
+    String getEmailHash();
+}
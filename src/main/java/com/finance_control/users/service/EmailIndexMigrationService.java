@@ -0,0 +1,127 @@
+package com.finance_control.users.service;
+
+import com.finance_control.shared.service.EncryptionService;
+import com.finance_control.users.repository.UserRepository;
+import com.finance_control.users.repository.projection.UserEmailIndexRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves users from the unkeyed SHA-256 email hash to the keyed blind index.
+ * Rows whose stored hash still equals the SHA-256 of their email are re-indexed in batches on
+ * startup; emails are decrypted with the batch API. Rows already on the keyed index are skipped,
+ * so the migration is idempotent and a no-op once every row has moved. Until then lookups go
+ * through {@link UserEmailLookup}, which also finds and re-indexes rows still on the legacy hash.
+ */
+@Slf4j
+@Service
+public class EmailIndexMigrationService {
+
+    private final UserRepository userRepository;
+    private final EncryptionService encryptionService;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public EmailIndexMigrationService(UserRepository userRepository,
+            EncryptionService encryptionService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.security.encryption.reindex-on-startup:true}") boolean enabled,
+            @Value("${app.security.encryption.reindex-batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.encryptionService = encryptionService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!enabled || !encryptionService.isEmailIndexKeyed()) {
+            return;
+        }
+        try {
+            int migrated = migrateLegacyEmailHashes();
+            if (migrated > 0) {
+                log.info("Re-indexed {} users onto the keyed email blind index", migrated);
+            }
+        } catch (Exception e) {
+            log.error("Email blind index migration failed; it will be retried on the next startup", e);
+        }
+    }
+
+    /**
+     * Re-indexes every user whose email hash is still the unkeyed SHA-256 hash.
+     *
+     * @return the number of users re-indexed
+     */
+    public int migrateLegacyEmailHashes() {
+        if (!encryptionService.isEmailIndexKeyed()) {
+            return 0;
+        }
+
+        int migrated = 0;
+        long afterId = 0;
+        List<UserEmailIndexRow> rows;
+        do {
+            rows = userRepository.findEmailIndexRowsAfter(afterId, batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            List<UserEmailIndexRow> batch = rows;
+            Integer updated = transaction.execute(status -> migrateBatch(batch));
+            migrated += updated != null ? updated : 0;
+            afterId = rows.get(rows.size() - 1).getId();
+        } while (rows.size() == batchSize);
+        return migrated;
+    }
+
+    private int migrateBatch(List<UserEmailIndexRow> rows) {
+        List<String> emails = decryptEmails(rows);
+        int updated = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            UserEmailIndexRow row = rows.get(i);
+            String email = emails.get(i);
+            if (email == null || row.getEmailHash() == null
+                    || !row.getEmailHash().equals(encryptionService.legacyHashEmail(email))) {
+                continue;
+            }
+            updated += userRepository.updateEmailHash(row.getId(), encryptionService.hashEmail(email));
+        }
+        return updated;
+    }
+
+    /**
+     * Decrypts the batch in one call; if any value is not decryptable (for example a plaintext
+     * email stored while encryption was disabled) falls back to row by row, keeping such values
+     * as stored like the email converter does.
+     */
+    private List<String> decryptEmails(List<UserEmailIndexRow> rows) {
+        List<String> stored = rows.stream().map(UserEmailIndexRow::getEmail).toList();
+        try {
+            return encryptionService.decryptAll(stored);
+        } catch (RuntimeException e) {
+            List<String> emails = new ArrayList<>(stored.size());
+            for (String value : stored) {
+                emails.add(decryptOrKeep(value));
+            }
+            return emails;
+        }
+    }
+
+    private String decryptOrKeep(String value) {
+        try {
+            return encryptionService.decrypt(value);
+        } catch (RuntimeException e) {
+            return value;
+        }
+    }
+}
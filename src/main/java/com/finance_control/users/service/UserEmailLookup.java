@@ -0,0 +1,80 @@
+package com.finance_control.users.service;
+
+import com.finance_control.shared.service.EncryptionService;
+import com.finance_control.users.model.User;
+import com.finance_control.users.repository.UserRepository;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by email while rows may still carry the unkeyed SHA-256 hash.
+ * Lookups try the current blind index first and fall back to the legacy hash; a user found by the
+ * legacy hash is re-indexed on the spot, so logins keep working before (or without)
+ * {@link EmailIndexMigrationService} and no email can be registered twice under different hashes.
+ */
+public final class UserEmailLookup {
+
+    private UserEmailLookup() {
+    }
+
+    /**
+     * Finds a user by email, re-indexing a row found by its legacy hash.
+     *
+     * @param userRepository the user repository
+     * @param encryptionService the service computing email hashes
+     * @param email the email to look up
+     * @return the user if found by either hash
+     */
+    public static Optional<User> findByEmail(UserRepository userRepository, EncryptionService encryptionService,
+            String email) {
+        String emailHash = encryptionService.hashEmail(email);
+        Optional<User> user = userRepository.findByEmailHash(emailHash);
+        if (user.isPresent()) {
+            return user;
+        }
+        String legacyHash = legacyHash(encryptionService, email, emailHash);
+        if (legacyHash == null) {
+            return user;
+        }
+        return userRepository.findByEmailHash(legacyHash).map(legacyUser -> {
+            legacyUser.setEmailHash(emailHash);
+            userRepository.save(legacyUser);
+            return legacyUser;
+        });
+    }
+
+    /**
+     * Checks whether a user exists with the email under either hash.
+     *
+     * @param userRepository the user repository
+     * @param encryptionService the service computing email hashes
+     * @param email the email to check
+     * @return true if a user has the current or the legacy hash of the email
+     */
+    public static boolean existsByEmail(UserRepository userRepository, EncryptionService encryptionService,
+            String email) {
+        String emailHash = encryptionService.hashEmail(email);
+        if (userRepository.existsByEmailHash(emailHash)) {
+            return true;
+        }
+        String legacyHash = legacyHash(encryptionService, email, emailHash);
+        return legacyHash != null && userRepository.existsByEmailHash(legacyHash);
+    }
+
+    /**
+     * Returns the legacy hash of the email, or null when it equals the current hash
+     * (no keyed index configured) and there is nothing to fall back to.
+     *
+     * @param encryptionService the service computing email hashes
+     * @param email the email to hash
+     * @param emailHash the current hash of the email
+     * @return the legacy hash, or null if it is not a separate index
+     */
+    public static String legacyHash(EncryptionService encryptionService, String email, String emailHash) {
+        if (!encryptionService.isEmailIndexKeyed()) {
+            return null;
+        }
+        String legacyHash = encryptionService.legacyHashEmail(email);
+        return legacyHash == null || legacyHash.equals(emailHash) ? null : legacyHash;
+    }
+}
@@ -1,5 +1,6 @@
 package com.finance_control.users.service;
 
+import com.finance_control.shared.event.UserAccountChangedEvent;
 import com.finance_control.shared.service.BaseService;
 import com.finance_control.shared.service.EncryptionService;
 import com.finance_control.shared.util.EntityMapper;
@@ -12,6 +13,7 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import com.finance_control.users.dto.UserDTO;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -50,18 +52,25 @@ public class UserService extends BaseService<User, Long, UserDTO> {
     /** The encryption service for email hashing */
     private final EncryptionService encryptionService;
 
+    /** Publishes account changes so cached principals are evicted */
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
-     * Constructs a new UserService with the specified repository, password encoder, and encryption service.
+     * Constructs a new UserService with the specified repository, password encoder, encryption service,
+     * and event publisher.
      *
      * @param userRepository the repository to use for user data access
      * @param passwordEncoder the password encoder for secure password handling
      * @param encryptionService the encryption service for email hashing
+     * @param eventPublisher the publisher for account change events
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, EncryptionService encryptionService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, EncryptionService encryptionService,
+            ApplicationEventPublisher eventPublisher) {
         super(userRepository);
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.encryptionService = encryptionService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -78,10 +87,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
 
             if (email != null && !email.trim().isEmpty()) {
                 // Use email hash for searching
-                String emailHash = encryptionService.hashEmail(email);
-                predicates.add(criteriaBuilder.like(
-                        root.get("emailHash"),
-                        "%" + emailHash + "%"));
+                predicates.add(emailHashPredicate(email, root, criteriaBuilder));
             }
 
             if (isActive != null) {
@@ -112,8 +118,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
      */
     public Optional<UserDTO> findByEmail(String email) {
         UserValidation.validateEmail(email);
-        String emailHash = encryptionService.hashEmail(email);
-        return userRepository.findByEmailHash(emailHash)
+        return UserEmailLookup.findByEmail(userRepository, encryptionService, email)
                 .map(this::mapToResponseDTO);
     }
 
@@ -126,8 +131,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
      */
     public boolean existsByEmail(String email) {
         UserValidation.validateEmail(email);
-        String emailHash = encryptionService.hashEmail(email);
-        return userRepository.existsByEmailHash(emailHash);
+        return UserEmailLookup.existsByEmail(userRepository, encryptionService, email);
     }
 
     // BaseService abstract method implementations
@@ -159,6 +163,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         if (updateDTO.getIsActive() != null) {
             entity.setIsActive(updateDTO.getIsActive());
         }
+        publishAccountChanged(entity.getId());
     }
 
     @Override
@@ -173,10 +178,9 @@ public class UserService extends BaseService<User, Long, UserDTO> {
 
     @Override
     protected void validateCreateDTO(UserDTO createDTO) {
-        // Use email hash for uniqueness check
-        String emailHash = encryptionService.hashEmail(createDTO.getEmail());
+        // Use email hash for uniqueness check, including rows not yet re-indexed
         UserValidation.validateEmailUnique(createDTO.getEmail(),
-            email -> userRepository.existsByEmailHash(emailHash));
+            email -> UserEmailLookup.existsByEmail(userRepository, encryptionService, email));
         // Password is optional for Supabase users
         if (createDTO.getPassword() != null) {
             UserValidation.validatePassword(createDTO.getPassword());
@@ -194,6 +198,11 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         return "User";
     }
 
+    @Override
+    protected void beforeDelete(User entity) {
+        publishAccountChanged(entity.getId());
+    }
+
     /**
      * Soft delete a user by setting isActive to false.
      *
@@ -205,6 +214,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         User user = getEntityById(id);
         user.setIsActive(false);
         userRepository.save(user);
+        publishAccountChanged(id);
     }
 
     /**
@@ -218,6 +228,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         User user = getEntityById(id);
         user.setIsActive(true);
         userRepository.save(user);
+        publishAccountChanged(id);
         log.info("User reactivated (ID present: {})", id != null);
     }
 
@@ -255,6 +266,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         User user = getEntityById(id);
         user.setIsActive(active);
         userRepository.save(user);
+        publishAccountChanged(id);
 
         // Avoid logging free-form 'reason' to prevent PII leakage
         log.info("User status updated - Active: {}", active);
@@ -306,9 +318,7 @@ public class UserService extends BaseService<User, Long, UserDTO> {
         switch (key) {
             case FIELD_EMAIL -> {
                 // Use email hash for filtering
-                String emailHash = encryptionService.hashEmail(value.toString());
-                predicates.add(criteriaBuilder.like(root.get("emailHash"),
-                        "%" + emailHash + "%"));
+                predicates.add(emailHashPredicate(value.toString(), root, criteriaBuilder));
             }
             case FIELD_FULL_NAME ->
                 predicates.add(criteriaBuilder.like(criteriaBuilder.lower(root.get(FIELD_FULL_NAME)),
@@ -318,4 +328,21 @@ public class UserService extends BaseService<User, Long, UserDTO> {
             default -> throw new IllegalArgumentException("Invalid filter key: " + key);
         }
     }
+
+    /**
+     * Matches the current email hash, or the legacy hash for rows that have not been re-indexed yet.
+     */
+    private Predicate emailHashPredicate(String email, Root<User> root, CriteriaBuilder criteriaBuilder) {
+        String emailHash = encryptionService.hashEmail(email);
+        Predicate current = criteriaBuilder.like(root.get("emailHash"), "%" + emailHash + "%");
+        String legacyHash = UserEmailLookup.legacyHash(encryptionService, email, emailHash);
+        if (legacyHash == null) {
+            return current;
+        }
+        return criteriaBuilder.or(current, criteriaBuilder.like(root.get("emailHash"), "%" + legacyHash + "%"));
+    }
+
+    private void publishAccountChanged(Long userId) {
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
+    }
 }
@@ -0,0 +1,46 @@
+-- Migration V22: Create user_monthly_rollup table
+-- Materialized per-user monthly totals keyed by month, type and category.
+-- Maintained incrementally on transaction writes and rebuilt from the transactions table on demand.
+
+CREATE TABLE user_monthly_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    month_start DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    category_id BIGINT NOT NULL REFERENCES transaction_categories(id) ON DELETE CASCADE,
+    total_amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    unreconciled_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_user_monthly_rollup_bucket UNIQUE (user_id, month_start, type, category_id)
+);
+
+-- Dashboard and report reads always filter by user, optionally by a month range
+CREATE INDEX idx_user_monthly_rollup_user_month ON user_monthly_rollup(user_id, month_start);
+
+-- Seed the rollup from existing transactions
+INSERT INTO user_monthly_rollup (user_id, month_start, type, category_id, total_amount,
+                                 transaction_count, unreconciled_count, created_at, updated_at)
+SELECT user_id,
+       CAST(date_trunc('month', date) AS DATE),
+       type,
+       category_id,
+       SUM(amount),
+       COUNT(*),
+       SUM(CASE WHEN is_reconciled THEN 0 ELSE 1 END),
+       CURRENT_TIMESTAMP,
+       CURRENT_TIMESTAMP
+FROM transactions
+WHERE date IS NOT NULL
+GROUP BY user_id, CAST(date_trunc('month', date) AS DATE), type, category_id;
+
+-- Enable RLS in line with the other user-owned tables (the backend connects as owner)
+ALTER TABLE user_monthly_rollup ENABLE ROW LEVEL SECURITY;
+
+-- Add comments for documentation
+COMMENT ON TABLE user_monthly_rollup IS 'Per-user monthly transaction totals by type and category, maintained on transaction writes';
+COMMENT ON COLUMN user_monthly_rollup.month_start IS 'First day of the month the bucket covers';
+COMMENT ON COLUMN user_monthly_rollup.total_amount IS 'Sum of transaction amounts in the bucket';
+COMMENT ON COLUMN user_monthly_rollup.transaction_count IS 'Number of transactions in the bucket';
+COMMENT ON COLUMN user_monthly_rollup.unreconciled_count IS 'Number of transactions in the bucket that are not reconciled';
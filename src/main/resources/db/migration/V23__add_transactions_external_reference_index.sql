@@ -0,0 +1,7 @@
+-- Migration V23: Index transactions by external reference
+-- Open Finance sync and statement imports check incoming external references in batches,
+-- looking them up per user with a single IN (...) query.
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_external_reference
+ON transactions(user_id, external_reference)
+WHERE external_reference IS NOT NULL;
@@ -0,0 +1,7 @@
+-- Migration V24: Covering index for SQL-side transaction reports
+-- Report queries filter a user's transactions by date range and group them by type and category.
+-- Including the grouped and summed columns lets Postgres answer them with an index-only scan
+-- over the period instead of visiting every row of the user's history.
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_report
+ON transactions(user_id, date) INCLUDE (type, category_id, amount);
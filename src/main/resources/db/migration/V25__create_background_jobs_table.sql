@@ -0,0 +1,39 @@
+-- Migration V25: Create background_jobs table
+-- Persistent queue for reports and exports computed outside the request thread.
+-- Workers claim queued rows with FOR UPDATE SKIP LOCKED; completed rows point to the stored result.
+
+CREATE TABLE background_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    parameters TEXT,
+    progress INTEGER NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    result_location VARCHAR(500),
+    result_file_name VARCHAR(255),
+    result_content_type VARCHAR(100),
+    result_size BIGINT,
+    error_message VARCHAR(1000),
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- Job listing and per-user quota checks
+CREATE INDEX idx_background_jobs_user_status ON background_jobs(user_id, status);
+
+-- Queue scan: only queued and running rows are ever polled
+CREATE INDEX idx_background_jobs_pending ON background_jobs(status, created_at)
+WHERE status IN ('QUEUED', 'RUNNING');
+
+-- Enable RLS in line with the other user-owned tables (the backend connects as owner)
+ALTER TABLE background_jobs ENABLE ROW LEVEL SECURITY;
+
+COMMENT ON TABLE background_jobs IS 'Persistent queue of asynchronous report and export jobs';
+COMMENT ON COLUMN background_jobs.parameters IS 'Job parameters as a JSON object';
+COMMENT ON COLUMN background_jobs.heartbeat_at IS 'Last liveness signal of the worker running the job; stale jobs are requeued';
+COMMENT ON COLUMN background_jobs.result_location IS 'Storage location of the compressed result';
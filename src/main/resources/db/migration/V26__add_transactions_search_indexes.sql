@@ -0,0 +1,25 @@
+-- Migration V26: Indexed transaction search
+-- Substring search (LOWER(description) LIKE '%term%') cannot use B-tree indexes and scanned every
+-- user's transactions. This adds:
+--   * a trigram GIN index led by user_id, so the existing LIKE filters are answered from the index
+--     within one user's rows;
+--   * a generated tsvector column with Portuguese stemming on the description (weight A) and the
+--     type/subtype/source codes (weight B), indexed together with user_id for ranked full-text search.
+-- btree_gin allows user_id to be part of the GIN indexes so search never leaves the user's rows.
+-- Adding the stored column rewrites the table once; run it in a maintenance window on large tables.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+ALTER TABLE transactions
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(description, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(type, '') || ' ' || coalesce(subtype, '') || ' ' || coalesce(source, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_search_vector
+ON transactions USING gin (user_id, search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_description_trgm
+ON transactions USING gin (user_id, lower(description) gin_trgm_ops);
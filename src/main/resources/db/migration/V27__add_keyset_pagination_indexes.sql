@@ -0,0 +1,21 @@
+-- Migration V27: Keyset pagination indexes
+-- Cursor listings seek past the last row of the previous page with
+-- (sort_column, id) < (:last_value, :last_id) ORDER BY sort_column DESC, id DESC.
+-- Indexes on exactly that order let each page be read as one short index range scan,
+-- without OFFSET skipping or a COUNT(*) over the user's history.
+
+-- Transactions without a date cannot be positioned by a cursor; new rows always get one,
+-- so backfill the few legacy rows from their creation time.
+UPDATE transactions SET date = created_at WHERE date IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+ON transactions(user_id, date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_at_id
+ON notifications(user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_financial_goals_user_created_at_id
+ON financial_goals(user_id, created_at DESC, id DESC);
+
+-- Superseded by the keyset indexes above, which serve the same (user_id, created_at DESC) scans.
+DROP INDEX IF EXISTS idx_notifications_user_id_created_at;
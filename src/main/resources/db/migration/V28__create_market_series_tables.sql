@@ -0,0 +1,51 @@
+-- Migration V28: Local time series for daily quotes and BCB indicators
+-- Charts and analytics read historical series from these tables instead of calling Brapi/Yahoo/BCB
+-- on every request. Upstream is only contacted to backfill date ranges not yet covered.
+--
+-- market_series_points holds one narrow row per series and day: no surrogate ID or audit columns,
+-- the primary key is the natural (series_type, symbol, observed_on) key that range scans use.
+-- The table is range-partitioned by year on observed_on, so a chart over a few months touches one
+-- or two small partitions and old years can be detached or compressed independently. Rows are
+-- written once per day and rarely updated, so partitions are packed full (fillfactor 100).
+
+CREATE TABLE IF NOT EXISTS market_series_points (
+    series_type VARCHAR(16) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    observed_on DATE NOT NULL,
+    open_value NUMERIC(19, 6),
+    high_value NUMERIC(19, 6),
+    low_value NUMERIC(19, 6),
+    close_value NUMERIC(19, 6) NOT NULL,
+    volume BIGINT,
+    PRIMARY KEY (series_type, symbol, observed_on)
+) PARTITION BY RANGE (observed_on);
+
+DO $$
+DECLARE
+    partition_year INTEGER;
+BEGIN
+    FOR partition_year IN 2000..2035 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS market_series_points_%s PARTITION OF market_series_points '
+                || 'FOR VALUES FROM (%L) TO (%L) WITH (fillfactor = 100)',
+            partition_year,
+            make_date(partition_year, 1, 1),
+            make_date(partition_year + 1, 1, 1));
+    END LOOP;
+END $$;
+
+-- Indicator history before 2000 (IPCA and SELIC go back to the 1980s) and any date past the
+-- yearly partitions land here until a dedicated partition is created.
+CREATE TABLE IF NOT EXISTS market_series_points_default
+    PARTITION OF market_series_points DEFAULT WITH (fillfactor = 100);
+
+-- Date range already fetched from upstream per series. Non-trading days have no rows, so coverage
+-- cannot be derived from the points themselves.
+CREATE TABLE IF NOT EXISTS market_series_coverage (
+    series_type VARCHAR(16) NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    covered_from DATE NOT NULL,
+    covered_to DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (series_type, symbol)
+);
@@ -0,0 +1,30 @@
+-- Migration V29: Incremental Open Finance transaction sync state
+-- Each connected account keeps a high-water mark and, while a sync runs, the window and the next
+-- page to fetch. Pages commit together with the cursor, so an interrupted sync resumes at the
+-- page it stopped on instead of re-fetching the account from lastSyncedAt.
+
+CREATE TABLE IF NOT EXISTS open_finance_sync_state (
+    account_id BIGINT PRIMARY KEY REFERENCES connected_accounts(id) ON DELETE CASCADE,
+    high_water_mark TIMESTAMP,
+    window_from TIMESTAMP,
+    window_to TIMESTAMP,
+    next_page INTEGER NOT NULL DEFAULT 1,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- External transaction IDs already imported per account. Inserting with ON CONFLICT DO NOTHING
+-- returns only unseen IDs, which makes re-fetched overlap pages idempotent.
+CREATE TABLE IF NOT EXISTS open_finance_imported_transactions (
+    account_id BIGINT NOT NULL REFERENCES connected_accounts(id) ON DELETE CASCADE,
+    external_transaction_id VARCHAR(255) NOT NULL,
+    imported_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (account_id, external_transaction_id)
+);
+
+-- Enable RLS in line with the other Open Finance tables (the backend connects as owner)
+ALTER TABLE open_finance_sync_state ENABLE ROW LEVEL SECURITY;
+ALTER TABLE open_finance_imported_transactions ENABLE ROW LEVEL SECURITY;
+
+COMMENT ON COLUMN open_finance_sync_state.high_water_mark IS 'End of the last completed sync window; the next window starts an overlap before it';
+COMMENT ON COLUMN open_finance_sync_state.window_from IS 'Start of the sync window in progress, null when no sync is in progress';
+COMMENT ON COLUMN open_finance_sync_state.next_page IS 'First page of the window in progress not yet imported';
@@ -0,0 +1,278 @@
+-- Migration V30: Monthly range partitioning of transactions
+-- Every dashboard, report and listing query filters a user's transactions by date range. With the
+-- table range-partitioned by month on date, those queries only touch the partitions of the months
+-- they ask for, and index bloat and vacuum work stay per month instead of growing with the table.
+--
+-- The table is rebuilt as a partitioned table with the same columns, defaults, checks, comments,
+-- indexes, foreign keys, triggers, grants, row level security policies and publications:
+--   * the primary key becomes (id, date), as unique keys must include the partition key. ids keep
+--     coming from the same sequence, and the (id, date) index still serves lookups by id;
+--   * date becomes NOT NULL (V27 already backfilled it from created_at);
+--   * monthly partitions cover the earliest month with data (at most ten years back) up to three
+--     months ahead; TransactionPartitionScheduler keeps creating months ahead. Rows outside the
+--     created months land in transactions_default and are moved when their month is created;
+--   * transaction_responsibilities can no longer reference transactions(id) by foreign key, so its
+--     ON DELETE CASCADE becomes a trigger. The trigger skips rows that only moved to another
+--     partition because their date changed.
+-- The data is copied once; run it in a maintenance window on large tables.
+
+UPDATE transactions SET date = created_at WHERE date IS NULL;
+
+-- Creates the partition of the month containing p_month. Rows of that month already in the
+-- default partition are moved into it. Returns false if the partition already exists.
+CREATE OR REPLACE FUNCTION public.create_transactions_partition(p_month DATE)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SET search_path = public
+AS $$
+DECLARE
+    v_from TIMESTAMP := date_trunc('month', p_month)::TIMESTAMP;
+    v_to TIMESTAMP := date_trunc('month', p_month)::TIMESTAMP + INTERVAL '1 month';
+    v_name TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+    v_columns TEXT;
+BEGIN
+    IF to_regclass('public.' || v_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM transactions_default WHERE date >= v_from AND date < v_to) THEN
+        SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+        INTO v_columns
+        FROM information_schema.columns
+        WHERE table_schema = 'public' AND table_name = 'transactions' AND is_generated = 'NEVER';
+
+        -- The default partition may not hold rows of an attached month, so it is detached while
+        -- they move. Rows are inserted before they are deleted so the responsibilities trigger
+        -- still finds them.
+        ALTER TABLE transactions DETACH PARTITION transactions_default;
+        EXECUTE format('CREATE TABLE public.%I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_from, v_to);
+        EXECUTE format('INSERT INTO transactions (%s) SELECT %s FROM transactions_default '
+                       || 'WHERE date >= %L AND date < %L', v_columns, v_columns, v_from, v_to);
+        DELETE FROM transactions_default WHERE date >= v_from AND date < v_to;
+        ALTER TABLE transactions ATTACH PARTITION transactions_default DEFAULT;
+    ELSE
+        EXECUTE format('CREATE TABLE public.%I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       v_name, v_from, v_to);
+    END IF;
+
+    -- Partitions are only read through transactions, whose policies apply; direct access is denied
+    EXECUTE format('ALTER TABLE public.%I ENABLE ROW LEVEL SECURITY', v_name);
+    RETURN TRUE;
+END;
+$$;
+
+-- Detaches the partition of the month containing p_month, moving it to p_archive_schema when given.
+-- Its rows are no longer visible through transactions. Returns false if the partition is not attached.
+CREATE OR REPLACE FUNCTION public.detach_transactions_partition(p_month DATE, p_archive_schema TEXT)
+RETURNS BOOLEAN
+LANGUAGE plpgsql
+SET search_path = public
+AS $$
+DECLARE
+    v_name TEXT := 'transactions_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE i.inhparent = 'public.transactions'::regclass
+        AND n.nspname = 'public' AND c.relname = v_name
+    ) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('ALTER TABLE transactions DETACH PARTITION public.%I', v_name);
+    IF p_archive_schema IS NOT NULL AND p_archive_schema <> '' THEN
+        EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', p_archive_schema);
+        EXECUTE format('ALTER TABLE public.%I SET SCHEMA %I', v_name, p_archive_schema);
+    END IF;
+    RETURN TRUE;
+END;
+$$;
+
+-- Replaces transaction_responsibilities' ON DELETE CASCADE foreign key
+CREATE OR REPLACE FUNCTION public.delete_transaction_responsibilities()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+SET search_path = public
+AS $$
+BEGIN
+    -- A date change moves the row to another partition as a delete plus an insert
+    IF NOT EXISTS (SELECT 1 FROM transactions WHERE id = OLD.id) THEN
+        DELETE FROM transaction_responsibilities WHERE transaction_id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+DO $$
+DECLARE
+    v_sequence TEXT := pg_get_serial_sequence('public.transactions', 'id');
+    v_identity BOOLEAN;
+    v_rls BOOLEAN;
+    v_force_rls BOOLEAN;
+    v_columns TEXT;
+    v_first TIMESTAMP;
+    v_month DATE;
+    v_last DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+    v_row RECORD;
+    v_statement TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'public.transactions'::regclass) THEN
+        RAISE NOTICE 'transactions is already partitioned';
+        RETURN;
+    END IF;
+
+    SELECT attidentity <> '' INTO v_identity
+    FROM pg_attribute WHERE attrelid = 'public.transactions'::regclass AND attname = 'id';
+    SELECT relrowsecurity, relforcerowsecurity INTO v_rls, v_force_rls
+    FROM pg_class WHERE oid = 'public.transactions'::regclass;
+
+    -- Statements that rebuild what the partitioned table needs, replayed after the swap
+    CREATE TEMP TABLE transactions_partitioning_ddl (ordinal SERIAL, statement TEXT) ON COMMIT DROP;
+
+    INSERT INTO transactions_partitioning_ddl (statement)
+    SELECT indexdef
+    FROM pg_indexes
+    WHERE schemaname = 'public' AND tablename = 'transactions'
+    AND indexname NOT IN (
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'public.transactions'::regclass AND contype IN ('p', 'u')
+    )
+    AND indexdef NOT LIKE 'CREATE UNIQUE%';
+
+    INSERT INTO transactions_partitioning_ddl (statement)
+    SELECT format('ALTER TABLE public.transactions ADD CONSTRAINT %I %s', conname, pg_get_constraintdef(oid))
+    FROM pg_constraint
+    WHERE conrelid = 'public.transactions'::regclass AND contype = 'f';
+
+    INSERT INTO transactions_partitioning_ddl (statement)
+    SELECT pg_get_triggerdef(oid)
+    FROM pg_trigger
+    WHERE tgrelid = 'public.transactions'::regclass AND NOT tgisinternal;
+
+    INSERT INTO transactions_partitioning_ddl (statement)
+    SELECT format('GRANT %s ON public.transactions TO %s', privilege_type,
+                  CASE WHEN grantee = 'PUBLIC' THEN 'PUBLIC' ELSE quote_ident(grantee) END)
+    FROM information_schema.role_table_grants
+    WHERE table_schema = 'public' AND table_name = 'transactions'
+    AND grantee <> (SELECT tableowner FROM pg_tables WHERE schemaname = 'public' AND tablename = 'transactions');
+
+    INSERT INTO transactions_partitioning_ddl (statement)
+    SELECT format('ALTER PUBLICATION %I ADD TABLE public.transactions', pubname)
+    FROM pg_publication_tables
+    WHERE schemaname = 'public' AND tablename = 'transactions';
+
+    -- Policies of transactions, and policies of other tables whose expressions read transactions
+    FOR v_row IN
+        SELECT pol.oid, n.nspname, c.relname, pol.polname, p.permissive, p.roles, p.cmd, p.qual, p.with_check
+        FROM pg_policy pol
+        JOIN pg_class c ON c.oid = pol.polrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+        JOIN pg_policies p ON p.schemaname = n.nspname AND p.tablename = c.relname AND p.policyname = pol.polname
+        WHERE pol.polrelid = 'public.transactions'::regclass
+        OR EXISTS (
+            SELECT 1 FROM pg_depend d
+            WHERE d.classid = 'pg_policy'::regclass AND d.objid = pol.oid
+            AND d.refobjid = 'public.transactions'::regclass
+        )
+    LOOP
+        INSERT INTO transactions_partitioning_ddl (statement)
+        VALUES (format('CREATE POLICY %I ON %I.%I AS %s FOR %s TO %s%s%s',
+                       v_row.polname, v_row.nspname, v_row.relname, v_row.permissive, v_row.cmd,
+                       (SELECT string_agg(CASE WHEN r = 'public' THEN 'PUBLIC' ELSE quote_ident(r) END, ', ')
+                        FROM unnest(v_row.roles) AS r),
+                       coalesce(' USING (' || v_row.qual || ')', ''),
+                       coalesce(' WITH CHECK (' || v_row.with_check || ')', '')));
+        IF obj_description(v_row.oid, 'pg_policy') IS NOT NULL THEN
+            INSERT INTO transactions_partitioning_ddl (statement)
+            VALUES (format('COMMENT ON POLICY %I ON %I.%I IS %L', v_row.polname, v_row.nspname, v_row.relname,
+                           obj_description(v_row.oid, 'pg_policy')));
+        END IF;
+        IF v_row.relname <> 'transactions' OR v_row.nspname <> 'public' THEN
+            EXECUTE format('DROP POLICY %I ON %I.%I', v_row.polname, v_row.nspname, v_row.relname);
+        END IF;
+    END LOOP;
+
+    -- Foreign keys into transactions(id) cannot point at a partitioned table
+    FOR v_row IN
+        SELECT conname, conrelid::regclass AS referencing
+        FROM pg_constraint
+        WHERE confrelid = 'public.transactions'::regclass AND contype = 'f'
+    LOOP
+        RAISE NOTICE 'Dropping foreign key % on % referencing transactions', v_row.conname, v_row.referencing;
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', v_row.referencing, v_row.conname);
+    END LOOP;
+
+    -- Keep the id sequence when the old table goes away
+    IF NOT v_identity AND v_sequence IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY NONE', v_sequence);
+    END IF;
+
+    ALTER TABLE public.transactions RENAME TO transactions_unpartitioned;
+
+    CREATE TABLE public.transactions (
+        LIKE public.transactions_unpartitioned
+        INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED INCLUDING COMMENTS INCLUDING STORAGE
+    ) PARTITION BY RANGE (date);
+    ALTER TABLE public.transactions ALTER COLUMN date SET NOT NULL;
+
+    -- Identity columns are not copied to partitioned tables; continue their numbering in a sequence
+    IF v_identity THEN
+        CREATE SEQUENCE public.transactions_id_partitioned_seq;
+        PERFORM setval('public.transactions_id_partitioned_seq',
+                       (SELECT coalesce(max(id), 0) + 1 FROM public.transactions_unpartitioned), false);
+        ALTER TABLE public.transactions
+            ALTER COLUMN id SET DEFAULT nextval('public.transactions_id_partitioned_seq');
+        v_sequence := 'public.transactions_id_partitioned_seq';
+    END IF;
+
+    CREATE TABLE public.transactions_default PARTITION OF public.transactions DEFAULT;
+    ALTER TABLE public.transactions_default ENABLE ROW LEVEL SECURITY;
+
+    SELECT min(date) INTO v_first FROM public.transactions_unpartitioned;
+    v_month := date_trunc('month', greatest(coalesce(v_first, LOCALTIMESTAMP),
+                                            LOCALTIMESTAMP - INTERVAL '10 years'))::DATE;
+    WHILE v_month <= v_last LOOP
+        PERFORM public.create_transactions_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::DATE;
+    END LOOP;
+
+    SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position)
+    INTO v_columns
+    FROM information_schema.columns
+    WHERE table_schema = 'public' AND table_name = 'transactions_unpartitioned' AND is_generated = 'NEVER';
+    EXECUTE format('INSERT INTO public.transactions (%s) SELECT %s FROM public.transactions_unpartitioned',
+                   v_columns, v_columns);
+
+    DROP TABLE public.transactions_unpartitioned;
+
+    IF v_sequence IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY public.transactions.id', v_sequence);
+    END IF;
+    ALTER TABLE public.transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (id, date);
+
+    FOR v_statement IN SELECT statement FROM transactions_partitioning_ddl ORDER BY ordinal LOOP
+        EXECUTE v_statement;
+    END LOOP;
+
+    IF v_rls THEN
+        ALTER TABLE public.transactions ENABLE ROW LEVEL SECURITY;
+    END IF;
+    IF v_force_rls THEN
+        ALTER TABLE public.transactions FORCE ROW LEVEL SECURITY;
+    END IF;
+
+    IF to_regclass('public.transaction_responsibilities') IS NOT NULL THEN
+        CREATE TRIGGER trg_transactions_delete_responsibilities
+            AFTER DELETE ON public.transactions
+            FOR EACH ROW EXECUTE FUNCTION public.delete_transaction_responsibilities();
+    END IF;
+END $$;
+
+ANALYZE transactions;
+
+COMMENT ON TABLE transactions IS 'Transactions, range-partitioned by month on date (transactions_pYYYYMM plus transactions_default)';
+COMMENT ON FUNCTION public.create_transactions_partition(DATE) IS 'Creates the monthly transactions partition of a month, moving its rows out of the default partition';
+COMMENT ON FUNCTION public.detach_transactions_partition(DATE, TEXT) IS 'Detaches a monthly transactions partition, optionally moving it to an archive schema';
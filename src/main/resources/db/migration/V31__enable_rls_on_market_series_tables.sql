@@ -0,0 +1,86 @@
+-- Migration V31: Enable RLS on market series tables
+-- V28 created market_series_points (and its yearly partitions) and market_series_coverage without
+-- row level security, which leaves them open through the Supabase REST API.
+-- Like market_indicators (V19), the series are public market data: authenticated users may read
+-- them and only the service role may write them. The backend connects as owner and is unaffected.
+--
+-- RLS is enabled on every partition as well, so a partition queried directly by name is not
+-- readable without going through the parent's policies.
+
+-- ============================================
+-- MARKET_SERIES_POINTS TABLE (Public read-only data)
+-- ============================================
+DO $$
+DECLARE
+    v_partition TEXT;
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM information_schema.tables
+        WHERE table_schema = 'public'
+        AND table_name = 'market_series_points'
+    ) THEN
+        -- Enable RLS
+        ALTER TABLE market_series_points ENABLE ROW LEVEL SECURITY;
+
+        FOR v_partition IN
+            SELECT child.relname
+            FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            JOIN pg_namespace ns ON ns.oid = parent.relnamespace
+            WHERE ns.nspname = 'public'
+            AND parent.relname = 'market_series_points'
+        LOOP
+            EXECUTE format('ALTER TABLE public.%I ENABLE ROW LEVEL SECURITY', v_partition);
+        END LOOP;
+
+        -- Users can read market series (public data)
+        DROP POLICY IF EXISTS "Users can view market series points" ON market_series_points;
+        CREATE POLICY "Users can view market series points"
+            ON market_series_points
+            FOR SELECT
+            TO authenticated
+            USING (true);
+
+        -- Only service role can manage market series
+        DROP POLICY IF EXISTS "Service can manage market series points" ON market_series_points;
+        CREATE POLICY "Service can manage market series points"
+            ON market_series_points
+            FOR ALL
+            TO service_role
+            USING (true)
+            WITH CHECK (true);
+    END IF;
+END $$;
+
+-- ============================================
+-- MARKET_SERIES_COVERAGE TABLE (Public read-only data)
+-- ============================================
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1 FROM information_schema.tables
+        WHERE table_schema = 'public'
+        AND table_name = 'market_series_coverage'
+    ) THEN
+        -- Enable RLS
+        ALTER TABLE market_series_coverage ENABLE ROW LEVEL SECURITY;
+
+        -- Users can read series coverage (public data)
+        DROP POLICY IF EXISTS "Users can view market series coverage" ON market_series_coverage;
+        CREATE POLICY "Users can view market series coverage"
+            ON market_series_coverage
+            FOR SELECT
+            TO authenticated
+            USING (true);
+
+        -- Only service role can manage series coverage
+        DROP POLICY IF EXISTS "Service can manage market series coverage" ON market_series_coverage;
+        CREATE POLICY "Service can manage market series coverage"
+            ON market_series_coverage
+            FOR ALL
+            TO service_role
+            USING (true)
+            WITH CHECK (true);
+    END IF;
+END $$;
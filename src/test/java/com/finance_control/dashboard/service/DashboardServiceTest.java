@@ -7,9 +7,9 @@ import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.enums.GoalType;
 import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.shared.monitoring.MetricsService;
-import com.finance_control.transactions.model.Transaction;
-import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 
@@ -43,6 +44,9 @@ class DashboardServiceTest {
     @Mock
     private MetricsService metricsService;
 
+    @Mock
+    private UserMonthlyRollupService userMonthlyRollupService;
+
     @InjectMocks
     private DashboardService dashboardService;
 
@@ -64,18 +68,13 @@ class DashboardServiceTest {
         try (MockedStatic<UserContext> userContextMock = mockStatic(UserContext.class)) {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.INCOME), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("5000"));
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.EXPENSE), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("3000"));
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.INCOME, "Salary", new BigDecimal("5000")),
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("3000"))));
             when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
                     .thenReturn(Arrays.asList(testGoal));
             when(financialGoalRepository.findCompletedGoals(1L))
                     .thenReturn(Arrays.asList());
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList());
 
             DashboardSummaryDTO result = dashboardService.getDashboardSummary();
 
@@ -123,12 +122,10 @@ class DashboardServiceTest {
         try (MockedStatic<UserContext> userContextMock = mockStatic(UserContext.class)) {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
-            Transaction expense1 = createTestTransaction("Food", new BigDecimal("500"));
-            Transaction expense2 = createTestTransaction("Transportation", new BigDecimal("300"));
-            Transaction expense3 = createTestTransaction("Entertainment", new BigDecimal("200"));
-
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList(expense1, expense2, expense3));
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("500")),
+                    aggregateRow(TransactionType.EXPENSE, "Transportation", new BigDecimal("300")),
+                    aggregateRow(TransactionType.EXPENSE, "Entertainment", new BigDecimal("200"))));
 
             List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 3);
 
@@ -145,21 +142,17 @@ class DashboardServiceTest {
         try (MockedStatic<UserContext> userContextMock = mockStatic(UserContext.class)) {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.INCOME), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("5000"));
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.EXPENSE), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("3000"));
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList());
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.INCOME, "Salary", new BigDecimal("5000")),
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("3000"))));
 
             List<MonthlyTrendDTO> result = dashboardService.getMonthlyTrends(1L, 6);
 
             assertThat(result).hasSize(6);
-            assertThat(result.get(0).getIncome()).isEqualTo(new BigDecimal("5000"));
-            assertThat(result.get(0).getExpenses()).isEqualTo(new BigDecimal("3000"));
-            assertThat(result.get(0).getBalance()).isEqualTo(new BigDecimal("2000"));
+            assertThat(result.get(0).getIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(result.get(5).getIncome()).isEqualTo(new BigDecimal("5000"));
+            assertThat(result.get(5).getExpenses()).isEqualTo(new BigDecimal("3000"));
+            assertThat(result.get(5).getBalance()).isEqualTo(new BigDecimal("2000"));
         }
     }
 
@@ -187,23 +180,17 @@ class DashboardServiceTest {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
 
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.INCOME), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(BigDecimal.ZERO);
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.EXPENSE), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("1000"));
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("1000"))));
             when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
                     .thenReturn(Arrays.asList());
             when(financialGoalRepository.findCompletedGoals(1L))
                     .thenReturn(Arrays.asList());
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList());
 
             DashboardSummaryDTO result = dashboardService.getDashboardSummary();
 
             assertThat(result).isNotNull();
-            assertThat(result.getTotalIncome()).isEqualTo(BigDecimal.ZERO);
+            assertThat(result.getTotalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
             assertThat(result.getSavingsRate()).isEqualTo(BigDecimal.ZERO);
         }
     }
@@ -214,18 +201,13 @@ class DashboardServiceTest {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
 
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.INCOME), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("5000"));
-            when(transactionRepository.sumByUserAndTypeAndDateBetween(
-                    eq(1L), eq(TransactionType.EXPENSE), any(LocalDateTime.class), any(LocalDateTime.class)))
-                    .thenReturn(new BigDecimal("3000"));
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.INCOME, "Salary", new BigDecimal("5000")),
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("3000"))));
             when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
                     .thenReturn(Arrays.asList());
             when(financialGoalRepository.findCompletedGoals(1L))
                     .thenReturn(Arrays.asList());
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList());
 
             DashboardSummaryDTO result = dashboardService.getDashboardSummary();
 
@@ -240,7 +222,7 @@ class DashboardServiceTest {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
             // Empty transactions list means zero total expenses
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
+            when(userMonthlyRollupService.getMonthlyAggregates(1L))
                     .thenReturn(Arrays.asList());
 
             List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 3);
@@ -279,15 +261,11 @@ class DashboardServiceTest {
         try (MockedStatic<UserContext> userContextMock = mockStatic(UserContext.class)) {
             userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
 
-            // Create transactions with dates in the current month
-            LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
-            Transaction expense1 = createTestTransactionWithDate("Food", new BigDecimal("500"), currentMonth);
-            Transaction expense2 = createTestTransactionWithDate("Transportation", new BigDecimal("300"), currentMonth);
-            Transaction expense3 = createTestTransactionWithDate("Entertainment", new BigDecimal("200"), currentMonth);
-            Transaction expense4 = createTestTransactionWithDate("Shopping", new BigDecimal("100"), currentMonth);
-
-            when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                    .thenReturn(Arrays.asList(expense1, expense2, expense3, expense4));
+            when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                    aggregateRow(TransactionType.EXPENSE, "Food", new BigDecimal("500")),
+                    aggregateRow(TransactionType.EXPENSE, "Transportation", new BigDecimal("300")),
+                    aggregateRow(TransactionType.EXPENSE, "Entertainment", new BigDecimal("200")),
+                    aggregateRow(TransactionType.EXPENSE, "Shopping", new BigDecimal("100"))));
 
             List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 2);
 
@@ -297,12 +275,6 @@ class DashboardServiceTest {
         }
     }
 
-    private Transaction createTestTransactionWithDate(String categoryName, BigDecimal amount, LocalDate date) {
-        Transaction transaction = createTestTransaction(categoryName, amount);
-        transaction.setDate(date.atTime(12, 0));
-        return transaction;
-    }
-
     @Test
     void calculateSavingsRate_WithZeroIncomeAndZeroExpenses_ShouldReturnZero() {
         BigDecimal result = dashboardService.calculateSavingsRate(BigDecimal.ZERO, BigDecimal.ZERO);
@@ -315,16 +287,9 @@ class DashboardServiceTest {
         assertThat(result).isEqualTo(new BigDecimal("-50.0000"));
     }
 
-    private Transaction createTestTransaction(String categoryName, BigDecimal amount) {
-        Transaction transaction = new Transaction();
-        transaction.setType(TransactionType.EXPENSE);
-        transaction.setAmount(amount);
-        transaction.setDate(LocalDateTime.now());
-
-        TransactionCategory category = new TransactionCategory();
-        category.setName(categoryName);
-        transaction.setCategory(category);
-
-        return transaction;
+    private TransactionMonthlyAggregate aggregateRow(TransactionType type, String categoryName, BigDecimal amount) {
+        YearMonth currentMonth = YearMonth.now();
+        return new TransactionMonthlyAggregate(currentMonth.getYear(), currentMonth.getMonthValue(),
+                type, categoryName, 1L, 1L, amount);
     }
 }
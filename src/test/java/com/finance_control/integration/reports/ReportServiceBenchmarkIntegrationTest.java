@@ -0,0 +1,131 @@
+package com.finance_control.integration.reports;
+
+import com.finance_control.integration.BaseIntegrationTest;
+import com.finance_control.reports.dto.TransactionReportDTO;
+import com.finance_control.reports.service.ReportService;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
+import com.finance_control.users.model.User;
+import com.finance_control.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the former in-memory report path (load the whole history, filter in Java) with the
+ * SQL-side report queries for a user with 200k transactions.
+ * Run with {@code RUN_BENCHMARKS=true ./gradlew test --tests '*ReportServiceBenchmarkIntegrationTest'}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class ReportServiceBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final int TRANSACTION_COUNT = 200_000;
+    private static final int CATEGORY_COUNT = 20;
+    private static final int ITERATIONS = 5;
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 10);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 20);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("report.benchmark@example.com");
+        user.setPassword("$2a$10$dummy.hash.for.testing");
+        user.setIsActive(true);
+        user = userRepository.save(user);
+
+        long firstCategoryId = 0;
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            TransactionCategory category = new TransactionCategory();
+            category.setName("Benchmark Category " + i);
+            category = categoryRepository.save(category);
+            if (i == 0) {
+                firstCategoryId = category.getId();
+            }
+        }
+        entityManager.flush();
+
+        // Spread the history over ~5 years so the report window holds a small fraction of it
+        jdbcTemplate.update("INSERT INTO transactions (type, subtype, source, description, amount, status, "
+                + "is_reconciled, date, user_id, category_id, created_at, updated_at) "
+                + "SELECT CASE WHEN n % 5 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, 'VARIABLE', 'CASH', "
+                + "'Benchmark ' || n, (n % 500) + 0.99, 'paid', false, "
+                + "TIMESTAMP '2020-01-01' + (n % 1825) * INTERVAL '1 day', ?, ? + (n % ?), now(), now() "
+                + "FROM generate_series(1, ?) AS n",
+                user.getId(), firstCategoryId, CATEGORY_COUNT, TRANSACTION_COUNT);
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        UserContext.setCurrentUserId(user.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void transactionReport_ShouldNotDependOnHistorySize() {
+        long expected = legacyReport().size();
+
+        long legacyMillis = medianMillis(() -> legacyReport().size());
+        long sqlMillis = medianMillis(() -> reportService.generateTransactionReport(FROM, TO, null, null));
+
+        TransactionReportDTO report = reportService.generateTransactionReport(FROM, TO, null, null);
+        log.info("Transaction report over {} transactions: in-memory {}ms, SQL-side {}ms",
+                TRANSACTION_COUNT, legacyMillis, sqlMillis);
+        assertThat(report.getTransactionCount()).isEqualTo((int) expected);
+    }
+
+    private List<Transaction> legacyReport() {
+        entityManager.clear();
+        return transactionRepository.findByUserIdWithResponsibilities(user.getId()).stream()
+                .filter(t -> !t.getDate().toLocalDate().isBefore(FROM) && !t.getDate().toLocalDate().isAfter(TO))
+                .toList();
+    }
+
+    private long medianMillis(Supplier<?> run) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,202 @@
+package com.finance_control.integration.transactions;
+
+import com.finance_control.integration.BaseIntegrationTest;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
+import com.finance_control.transactions.service.partition.TransactionPartitionService;
+import com.finance_control.users.model.User;
+import com.finance_control.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a user's three-month summary and a keyset listing page before and after migration V30
+ * partitions a table of 5M transactions (1% of them owned by the user) by month, and checks that
+ * JPA reads and date changes keep working on the partitioned table.
+ * Run with {@code RUN_BENCHMARKS=true ./gradlew test --tests '*TransactionPartitionBenchmarkIntegrationTest'};
+ * {@code PARTITION_BENCHMARK_ROWS} overrides the table size.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class TransactionPartitionBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ITERATIONS = 5;
+    private static final Pattern PARTITION = Pattern.compile("transactions_p\\d{6}");
+
+    private static final String SUMMARY_SQL = "SELECT type, count(*) AS count, sum(amount) AS total "
+            + "FROM transactions WHERE user_id = ? AND date >= TIMESTAMP '2023-01-01' "
+            + "AND date < TIMESTAMP '2023-04-01' GROUP BY type ORDER BY type";
+
+    private static final String PAGE_SQL = "SELECT id, date, amount FROM transactions "
+            + "WHERE user_id = ? AND (date, id) < (TIMESTAMP '2023-06-15', 9223372036854775807) "
+            + "ORDER BY date DESC, id DESC LIMIT 20";
+
+    @Autowired
+    private TransactionPartitionService partitionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private long rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = Long.parseLong(System.getenv().getOrDefault("PARTITION_BENCHMARK_ROWS", "5000000"));
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        ScriptUtils.executeSqlScript(connection,
+                new ClassPathResource("db/migration/V27__add_keyset_pagination_indexes.sql"));
+
+        user = saveUser("partition.benchmark@example.com");
+        User otherUser = saveUser("partition.benchmark.other@example.com");
+        TransactionCategory category = new TransactionCategory();
+        category.setName("Partition Benchmark");
+        category = categoryRepository.save(category);
+        entityManager.flush();
+
+        // Five years of history; every 100th row belongs to the benchmarked user
+        jdbcTemplate.update("INSERT INTO transactions (type, subtype, source, description, amount, status, "
+                + "is_reconciled, date, user_id, category_id, created_at, updated_at) "
+                + "SELECT CASE WHEN n % 7 = 0 THEN 'INCOME' ELSE 'EXPENSE' END, 'VARIABLE', 'CASH', "
+                + "'Partition benchmark ' || n, (n % 500) + 0.99, 'paid', false, "
+                + "TIMESTAMP '2020-01-01' + (n % 1825) * INTERVAL '1 day' + (n % 86400) * INTERVAL '1 second', "
+                + "CASE WHEN n % 100 = 0 THEN ? ELSE ? END, ?, now(), now() "
+                + "FROM generate_series(1, ?) AS n",
+                user.getId(), otherUser.getId(), category.getId(), rows);
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    @Test
+    void partitioning_ShouldKeepResultsAndPruneToRequestedMonths() throws IOException {
+        List<Map<String, Object>> summaryBefore = jdbcTemplate.queryForList(SUMMARY_SQL, user.getId());
+        List<Map<String, Object>> pageBefore = jdbcTemplate.queryForList(PAGE_SQL, user.getId());
+        long summaryBeforeMillis = medianMillis(() -> jdbcTemplate.queryForList(SUMMARY_SQL, user.getId()));
+        long pageBeforeMillis = medianMillis(() -> jdbcTemplate.queryForList(PAGE_SQL, user.getId()));
+
+        long migrationStart = System.nanoTime();
+        applyPartitioningMigration();
+        long migrationMillis = (System.nanoTime() - migrationStart) / 1_000_000;
+
+        long summaryAfterMillis = medianMillis(() -> jdbcTemplate.queryForList(SUMMARY_SQL, user.getId()));
+        long pageAfterMillis = medianMillis(() -> jdbcTemplate.queryForList(PAGE_SQL, user.getId()));
+        List<String> summaryPlan = explain(SUMMARY_SQL);
+
+        log.info("Transaction partitioning over {} rows (migration {}ms): three-month summary {}ms -> {}ms, "
+                + "keyset page {}ms -> {}ms, summary scans partitions {}", rows, migrationMillis,
+                summaryBeforeMillis, summaryAfterMillis, pageBeforeMillis, pageAfterMillis, partitionsIn(summaryPlan));
+        assertThat(jdbcTemplate.queryForList(SUMMARY_SQL, user.getId())).isEqualTo(summaryBefore);
+        assertThat(jdbcTemplate.queryForList(PAGE_SQL, user.getId())).isEqualTo(pageBefore);
+        assertThat(partitionsIn(summaryPlan))
+                .containsExactlyInAnyOrder("transactions_p202301", "transactions_p202302", "transactions_p202303");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM transactions", Long.class))
+                .isEqualTo(rows);
+    }
+
+    @Test
+    void partitioning_ShouldKeepJpaMappingAndMoveRowsOnDateChange() throws IOException {
+        applyPartitioningMigration();
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM transactions WHERE user_id = ? "
+                + "AND date >= TIMESTAMP '2021-05-01' AND date < TIMESTAMP '2021-06-01' LIMIT 1", Long.class,
+                user.getId());
+
+        Transaction transaction = transactionRepository.findById(id).orElseThrow();
+        transaction.setDate(LocalDateTime.of(2023, 8, 10, 12, 0));
+        transactionRepository.saveAndFlush(transaction);
+        entityManager.clear();
+
+        assertThat(transactionRepository.findById(id).orElseThrow().getDate())
+                .isEqualTo(LocalDateTime.of(2023, 8, 10, 12, 0));
+        assertThat(partitionOf(id)).isEqualTo("transactions_p202308");
+
+        // Rows older than the earliest partition wait in the default partition until their month exists
+        transaction = transactionRepository.findById(id).orElseThrow();
+        transaction.setDate(LocalDateTime.of(2019, 6, 1, 9, 0));
+        transactionRepository.saveAndFlush(transaction);
+        entityManager.clear();
+        assertThat(partitionOf(id)).isEqualTo("transactions_default");
+
+        assertThat(partitionService.maintain(YearMonth.of(2019, 6)).created()).contains(YearMonth.of(2019, 6));
+        assertThat(partitionOf(id)).isEqualTo("transactions_p201906");
+        assertThat(transactionRepository.findById(id)).isPresent();
+    }
+
+    private void applyPartitioningMigration() throws IOException {
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V30__partition_transactions_by_month.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private User saveUser(String email) {
+        User saved = new User();
+        saved.setEmail(email);
+        saved.setPassword("$2a$10$dummy.hash.for.testing");
+        saved.setIsActive(true);
+        return userRepository.save(saved);
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", String.valueOf(user.getId())), String.class);
+    }
+
+    private List<String> partitionsIn(List<String> plan) {
+        return plan.stream()
+                .flatMap(line -> PARTITION.matcher(line).results().map(MatchResult::group))
+                .distinct()
+                .toList();
+    }
+
+    private String partitionOf(Long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM transactions WHERE id = ?",
+                String.class, id);
+    }
+
+    private long medianMillis(Supplier<?> run) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            run.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
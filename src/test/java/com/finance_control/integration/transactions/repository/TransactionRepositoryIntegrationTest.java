@@ -8,6 +8,7 @@ import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.model.responsibles.TransactionResponsibles;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
 import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
 import com.finance_control.transactions.repository.responsibles.TransactionResponsiblesRepository;
 import com.finance_control.users.model.User;
@@ -131,6 +132,37 @@ class TransactionRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(sum).isEqualByComparingTo(BigDecimal.valueOf(500));
     }
 
+    @Test
+    void shouldAggregateMonthlyByUserId() {
+        LocalDateTime now = LocalDateTime.now();
+        Transaction income = createTransaction("Income", BigDecimal.valueOf(500), category1);
+        income.setDate(now);
+        Transaction expense1 = createTransaction("Expense 1", BigDecimal.valueOf(200), category2);
+        expense1.setType(TransactionType.EXPENSE);
+        expense1.setDate(now);
+        Transaction expense2 = createTransaction("Expense 2", BigDecimal.valueOf(50), category2);
+        expense2.setType(TransactionType.EXPENSE);
+        expense2.setDate(now);
+        Transaction lastYear = createTransaction("Last year", BigDecimal.valueOf(100), category1);
+        lastYear.setDate(now.minusYears(1));
+        lastYear.setReconciled(true);
+        transactionRepository.saveAll(List.of(income, expense1, expense2, lastYear));
+
+        List<TransactionMonthlyAggregate> rows = transactionRepository.aggregateMonthlyByUserId(testUser.getId());
+
+        assertThat(rows).hasSize(3);
+        TransactionMonthlyAggregate expenses = rows.stream()
+                .filter(row -> row.type() == TransactionType.EXPENSE)
+                .findFirst()
+                .orElseThrow();
+        assertThat(expenses.year()).isEqualTo(now.getYear());
+        assertThat(expenses.month()).isEqualTo(now.getMonthValue());
+        assertThat(expenses.categoryName()).isEqualTo("Category 2");
+        assertThat(expenses.transactionCount()).isEqualTo(2L);
+        assertThat(expenses.unreconciledCount()).isEqualTo(2L);
+        assertThat(expenses.totalAmount()).isEqualByComparingTo(BigDecimal.valueOf(250));
+    }
+
     @Test
     void shouldFindByUserIdWithResponsibilities() {
         Transaction tx = createTransaction("TX1", BigDecimal.valueOf(100), category1);
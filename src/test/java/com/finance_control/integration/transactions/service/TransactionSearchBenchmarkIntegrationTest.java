@@ -0,0 +1,129 @@
+package com.finance_control.integration.transactions.service;
+
+import com.finance_control.integration.BaseIntegrationTest;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
+import com.finance_control.transactions.service.search.TransactionSearchService;
+import com.finance_control.users.model.User;
+import com.finance_control.users.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the former unscoped {@code LIKE} search with the user-scoped trigram search and the
+ * ranked full-text search over a table of 10M transactions (1% of them owned by the searching user).
+ * Run with {@code RUN_BENCHMARKS=true ./gradlew test --tests '*TransactionSearchBenchmarkIntegrationTest'};
+ * {@code SEARCH_BENCHMARK_ROWS} overrides the table size.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class TransactionSearchBenchmarkIntegrationTest extends BaseIntegrationTest {
+
+    private static final int ITERATIONS = 5;
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private TransactionSearchService searchService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionCategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private long rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = Long.parseLong(System.getenv().getOrDefault("SEARCH_BENCHMARK_ROWS", "10000000"));
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        ScriptUtils.executeSqlScript(connection,
+                new ClassPathResource("db/migration/V26__add_transactions_search_indexes.sql"));
+
+        user = saveUser("search.benchmark@example.com");
+        User otherUser = saveUser("search.benchmark.other@example.com");
+        TransactionCategory category = new TransactionCategory();
+        category.setName("Search Benchmark");
+        category = categoryRepository.save(category);
+        entityManager.flush();
+
+        // Every 100th row belongs to the searching user; the rest belong to another user
+        jdbcTemplate.update("INSERT INTO transactions (type, subtype, source, description, amount, status, "
+                + "is_reconciled, date, user_id, category_id, created_at, updated_at) "
+                + "SELECT 'EXPENSE', 'VARIABLE', 'CASH', "
+                + "(ARRAY['Supermercado Pão de Açúcar', 'Restaurante Sabor Mineiro', 'Farmácia São João', "
+                + "'Posto Ipiranga', 'Conta de luz', 'Aluguel apartamento', 'Uber viagem', 'Padaria Central'])"
+                + "[1 + n % 8] || ' ' || n, (n % 500) + 0.99, 'paid', false, "
+                + "TIMESTAMP '2020-01-01' + (n % 1825) * INTERVAL '1 day', "
+                + "CASE WHEN n % 100 = 0 THEN ? ELSE ? END, ?, now(), now() "
+                + "FROM generate_series(1, ?) AS n",
+                user.getId(), otherUser.getId(), category.getId(), rows);
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    @Test
+    void search_ShouldStayWithinUserRowsAndUseIndexes() {
+        long legacyMillis = medianMillis(() -> transactionRepository.findAll("mercado", FIRST_PAGE));
+        long scopedMillis = medianMillis(() -> transactionRepository.findAll("mercado", user.getId(), FIRST_PAGE));
+        long rankedMillis = medianMillis(() -> searchService.search(user.getId(), "restaurantes", null, FIRST_PAGE));
+
+        Page<Transaction> ranked = searchService.search(user.getId(), "restaurantes", null, FIRST_PAGE);
+        log.info("Transaction search over {} rows: unscoped LIKE {}ms, user-scoped trigram {}ms, ranked full-text {}ms "
+                + "({} ranked matches)", rows, legacyMillis, scopedMillis, rankedMillis, ranked.getTotalElements());
+        assertThat(searchService.isFullTextAvailable()).isTrue();
+        assertThat(ranked.getContent()).isNotEmpty()
+                .allSatisfy(transaction -> assertThat(transaction.getUser().getId()).isEqualTo(user.getId()));
+    }
+
+    private User saveUser(String email) {
+        User saved = new User();
+        saved.setEmail(email);
+        saved.setPassword("$2a$10$dummy.hash.for.testing");
+        saved.setIsActive(true);
+        return userRepository.save(saved);
+    }
+
+    private long medianMillis(Supplier<?> run) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            run.get();
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2];
+    }
+}
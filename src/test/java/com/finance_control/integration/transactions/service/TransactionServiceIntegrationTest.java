@@ -6,7 +6,9 @@ import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.shared.enums.TransactionSubtype;
 import com.finance_control.shared.enums.TransactionSource;
 import com.finance_control.transactions.dto.responsibles.TransactionResponsiblesDTO;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
 import com.finance_control.transactions.service.TransactionService;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
 import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
 import com.finance_control.transactions.repository.responsibles.TransactionResponsiblesRepository;
@@ -35,6 +37,9 @@ class TransactionServiceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private UserMonthlyRollupService rollupService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -129,4 +134,39 @@ class TransactionServiceIntegrationTest extends BaseIntegrationTest {
 
         assertThat(result.getContent()).hasSize(1);
     }
+
+    @Test
+    void shouldKeepMonthlyRollupInSyncWithTransactionWrites() {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription("Rollup Transaction");
+        dto.setAmount(BigDecimal.valueOf(80.00));
+        dto.setDate(LocalDateTime.now());
+        dto.setType(TransactionType.EXPENSE);
+        dto.setSubtype(TransactionSubtype.VARIABLE);
+        dto.setSource(TransactionSource.CASH);
+        dto.setCategoryId(testCategory.getId());
+        dto.setUserId(testUser.getId());
+
+        List<TransactionResponsiblesDTO> responsibilities = new ArrayList<>();
+        TransactionResponsiblesDTO responsible = new TransactionResponsiblesDTO();
+        responsible.setResponsibleId(testResponsible.getId());
+        responsible.setPercentage(BigDecimal.valueOf(100.00));
+        responsibilities.add(responsible);
+        dto.setResponsibilities(responsibilities);
+
+        TransactionDTO created = transactionService.create(dto);
+
+        List<TransactionMonthlyAggregate> rows = rollupService.getMonthlyAggregates(testUser.getId());
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).categoryName()).isEqualTo("Test Category");
+        assertThat(rows.get(0).transactionCount()).isEqualTo(1L);
+        assertThat(rows.get(0).unreconciledCount()).isEqualTo(1L);
+        assertThat(rows.get(0).totalAmount()).isEqualByComparingTo(BigDecimal.valueOf(80.00));
+        assertThat(rollupService.isConsistent(testUser.getId())).isTrue();
+
+        transactionService.delete(created.getId());
+
+        assertThat(rollupService.getMonthlyAggregates(testUser.getId())).isEmpty();
+        assertThat(rollupService.isConsistent(testUser.getId())).isTrue();
+    }
 }
@@ -0,0 +1,106 @@
+package com.finance_control.shared.security;
+
+import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.config.properties.SecurityProperties;
+import com.finance_control.shared.config.properties.SupabaseProperties;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the per-request cost of authenticating an application token before and after the
+ * verified-token cache. The former filter built a key and parser for each of its six signature
+ * checks (four failed Supabase attempts and two application parses); the new path parses once on
+ * a miss and not at all on a hit.
+ * Run with {@code RUN_BENCHMARKS=true ./gradlew test --tests '*JwtAuthenticationBenchmarkTest'}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final String SECRET = "benchmarkSecretKeyMustBeAtLeast32CharactersLongForHS256";
+    private static final String SUPABASE_SECRET = "benchmarkSupabaseSecretKeyMustBeAtLeast32CharactersLong";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache cache;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = mock(AppProperties.class);
+        when(appProperties.security()).thenReturn(new SecurityProperties(
+                new SecurityProperties.JwtProperties(SECRET, 86400000L, 604800000L, "finance-control", "finance-control-users"),
+                new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
+                List.of(),
+                new SecurityProperties.EncryptionProperties()));
+        when(appProperties.supabase()).thenReturn(new SupabaseProperties(
+                true, "https://test.supabase.co", "anon", SUPABASE_SECRET, "service-role",
+                new SupabaseProperties.SupabaseDatabaseProperties(false, "", 5432, "", "", "", false, "require"),
+                new SupabaseProperties.StorageProperties(true, "avatars", "documents", "transactions",
+                        new SupabaseProperties.CompressionProperties(true, 6, 0.1, 1024, List.of())),
+                new SupabaseProperties.RealtimeProperties(true, List.of("transactions"))));
+
+        jwtUtils = new JwtUtils(appProperties);
+        cache = new VerifiedTokenCache(jwtUtils, 10_000);
+        token = jwtUtils.generateToken(1L);
+    }
+
+    @Test
+    void compareAuthenticationCost() {
+        double legacyNanos = nanosPerRequest(this::legacyAuthenticate);
+        double singleParseNanos = nanosPerRequest(() -> jwtUtils.verifyPrincipal(token).applicationUserId());
+        double cachedNanos = nanosPerRequest(() -> cache.resolve(token).applicationUserId());
+
+        log.info("JWT authentication per request: former {} us, single parse {} us, cached {} us",
+                String.format("%.2f", legacyNanos / 1000), String.format("%.2f", singleParseNanos / 1000),
+                String.format("%.2f", cachedNanos / 1000));
+
+        assertThat(cachedNanos).isLessThan(legacyNanos);
+    }
+
+    private Object legacyAuthenticate() {
+        // validateTokenUniversal, getUserIdFromTokenUniversal and two isSupabaseToken calls
+        for (int i = 0; i < 4; i++) {
+            legacyParse(SUPABASE_SECRET);
+        }
+        legacyParse(SECRET);
+        return legacyParse(SECRET);
+    }
+
+    private Object legacyParse(String secret) {
+        try {
+            return Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload()
+                    .getSubject();
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    private double nanosPerRequest(Runnable request) {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (double) (System.nanoTime() - start) / ITERATIONS;
+    }
+}
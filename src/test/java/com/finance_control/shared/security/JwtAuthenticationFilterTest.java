@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -15,6 +16,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -23,11 +26,14 @@ import static org.mockito.Mockito.*;
 class JwtAuthenticationFilterTest {
 
     @Mock
-    private JwtUtils jwtUtils;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Spy
+    private PrincipalCache principalCache = new PrincipalCache(60000, 100);
+
     @Mock
     private FilterChain filterChain;
 
@@ -67,9 +73,7 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(true);
-        when(jwtUtils.getUserIdFromTokenUniversal(token)).thenReturn(userId);
-        when(jwtUtils.isSupabaseToken(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(applicationPrincipal(userId));
         when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(testUserDetails);
 
         filter.doFilterInternal(request, response, filterChain);
@@ -77,8 +81,7 @@ class JwtAuthenticationFilterTest {
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(testUserDetails);
         assertThat(UserContext.getCurrentUserId()).isNull();
-        verify(jwtUtils).validateTokenUniversal(token);
-        verify(jwtUtils).getUserIdFromTokenUniversal(token);
+        verify(verifiedTokenCache).resolve(token);
         verify(userDetailsService).loadUserByUsername(userId.toString());
         verify(filterChain).doFilter(request, response);
     }
@@ -91,9 +94,7 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/users");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(true);
-        when(jwtUtils.getUserIdFromTokenUniversal(token)).thenReturn(userId);
-        when(jwtUtils.isSupabaseToken(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(applicationPrincipal(userId));
         when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(testUserDetails);
 
         filter.doFilterInternal(request, response, filterChain);
@@ -109,13 +110,12 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(null);
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtUtils).validateTokenUniversal(token);
-        verify(jwtUtils, never()).getUserIdFromTokenUniversal(anyString());
+        verify(verifiedTokenCache).resolve(token);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -127,7 +127,7 @@ class JwtAuthenticationFilterTest {
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -139,13 +139,12 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(null);
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtUtils).validateTokenUniversal(token);
-        verify(jwtUtils, never()).getUserIdFromTokenUniversal(anyString());
+        verify(verifiedTokenCache).resolve(token);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -155,7 +154,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -166,7 +165,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -177,7 +176,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -190,9 +189,7 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(true);
-        when(jwtUtils.getUserIdFromTokenUniversal(token)).thenReturn(userId);
-        when(jwtUtils.isSupabaseToken(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(applicationPrincipal(userId));
         when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(testUserDetails);
 
         filter.doFilterInternal(request, response, filterChain);
@@ -201,6 +198,25 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void doFilterInternal_WithRepeatedRequests_ShouldLoadUserDetailsOnce() throws Exception {
+        String token = "valid-jwt-token";
+        Long userId = 1L;
+
+        request.setRequestURI("/api/transactions");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        when(verifiedTokenCache.resolve(token)).thenReturn(applicationPrincipal(userId));
+        when(userDetailsService.loadUserByUsername(userId.toString())).thenReturn(testUserDetails);
+
+        filter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(testUserDetails);
+        verify(userDetailsService, times(1)).loadUserByUsername(userId.toString());
+    }
+
     @Test
     void doFilterInternal_WithException_ShouldNotThrowAndClearContext() throws Exception {
         String token = "valid-jwt-token";
@@ -209,9 +225,7 @@ class JwtAuthenticationFilterTest {
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(true);
-        when(jwtUtils.getUserIdFromTokenUniversal(token)).thenReturn(userId);
-        when(jwtUtils.isSupabaseToken(token)).thenReturn(false);
+        when(verifiedTokenCache.resolve(token)).thenReturn(applicationPrincipal(userId));
         when(userDetailsService.loadUserByUsername(userId.toString())).thenThrow(new RuntimeException("Service error"));
 
         filter.doFilterInternal(request, response, filterChain);
@@ -221,20 +235,20 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void doFilterInternal_WithNullUserId_ShouldNotSetSecurityContext() throws Exception {
+    void doFilterInternal_WithUnmappedSupabaseUser_ShouldNotSetSecurityContext() throws Exception {
         String token = "valid-jwt-token";
 
         request.setRequestURI("/api/transactions");
         request.addHeader("Authorization", "Bearer " + token);
 
-        when(jwtUtils.validateTokenUniversal(token)).thenReturn(true);
-        when(jwtUtils.getUserIdFromTokenUniversal(token)).thenReturn(null);
+        when(verifiedTokenCache.resolve(token)).thenReturn(new VerifiedPrincipal(
+                "6f1c7a52-6d7e-4a5b-9a65-0f2b4e1c9d10", VerifiedPrincipal.Issuer.SUPABASE, "authenticated",
+                Instant.now().plusSeconds(3600)));
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
-        verify(jwtUtils).validateTokenUniversal(token);
-        verify(jwtUtils).getUserIdFromTokenUniversal(token);
+        verify(verifiedTokenCache).resolve(token);
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
     }
@@ -246,7 +260,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -256,7 +270,7 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -266,7 +280,12 @@ class JwtAuthenticationFilterTest {
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtils, never()).validateTokenUniversal(anyString());
+        verify(verifiedTokenCache, never()).resolve(anyString());
         verify(filterChain).doFilter(request, response);
     }
+
+    private VerifiedPrincipal applicationPrincipal(Long userId) {
+        return new VerifiedPrincipal(userId.toString(), VerifiedPrincipal.Issuer.APPLICATION, null,
+                Instant.now().plusSeconds(3600));
+    }
 }
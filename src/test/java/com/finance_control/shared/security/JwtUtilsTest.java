@@ -17,6 +17,7 @@ import org.mockito.quality.Strictness;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -499,6 +500,36 @@ class JwtUtilsTest {
         assertThat(userId).isNull();
     }
 
+    @Test
+    void verifyPrincipal_WithAppToken_ShouldReturnApplicationPrincipal() {
+        String token = jwtUtils.generateToken(testUserId);
+
+        VerifiedPrincipal principal = jwtUtils.verifyPrincipal(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.issuer()).isEqualTo(VerifiedPrincipal.Issuer.APPLICATION);
+        assertThat(principal.applicationUserId()).isEqualTo(testUserId);
+        assertThat(principal.expiresAt()).isAfter(Instant.now());
+    }
+
+    @Test
+    void verifyPrincipal_WithSupabaseToken_ShouldReturnSupabasePrincipal() {
+        String token = generateSupabaseToken(testSupabaseUserId, "authenticated");
+
+        VerifiedPrincipal principal = jwtUtils.verifyPrincipal(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.isSupabase()).isTrue();
+        assertThat(principal.subject()).isEqualTo(testSupabaseUserId);
+        assertThat(principal.role()).isEqualTo("authenticated");
+    }
+
+    @Test
+    void verifyPrincipal_WithInvalidToken_ShouldReturnNull() {
+        assertThat(jwtUtils.verifyPrincipal("invalid.token")).isNull();
+        assertThat(jwtUtils.verifyPrincipal(null)).isNull();
+    }
+
     private Claims parseToken(String token) {
         return Jwts.parser()
                 .verifyWith(testKey)
@@ -0,0 +1,110 @@
+package com.finance_control.shared.security;
+
+import com.finance_control.shared.event.UserAccountChangedEvent;
+import com.finance_control.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    private static final String SUPABASE_ID = "6f1c7a52-6d7e-4a5b-9a65-0f2b4e1c9d10";
+
+    @Mock
+    private PrincipalInvalidationBroadcaster broadcaster;
+
+    private PrincipalCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(60000, 100);
+        ReflectionTestUtils.setField(cache, "broadcaster", broadcaster);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getUserDetails_WhenCalledTwice_ShouldLoadOnce() {
+        UserDetails first = cache.getUserDetails(1L, detailsLoader());
+        UserDetails second = cache.getUserDetails(1L, detailsLoader());
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getUserDetails_WhenLoaderFails_ShouldNotCacheFailure() {
+        assertThatThrownBy(() -> cache.getUserDetails(1L, id -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getUserDetails(1L, detailsLoader())).isNotNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void getUserIdBySupabaseId_WhenUnmapped_ShouldNotCacheMiss() {
+        assertThat(cache.getUserIdBySupabaseId(SUPABASE_ID, id -> null)).isNull();
+
+        assertThat(cache.getUserIdBySupabaseId(SUPABASE_ID, id -> 1L)).isEqualTo(1L);
+    }
+
+    @Test
+    void onUserAccountChanged_ShouldEvictUserAndBroadcast() {
+        cache.getUserIdBySupabaseId(SUPABASE_ID, id -> 1L);
+        cache.getUserDetails(1L, detailsLoader());
+
+        cache.onUserAccountChanged(new UserAccountChangedEvent(1L));
+
+        assertThat(cache.getUserIdBySupabaseId(SUPABASE_ID, id -> 2L)).isEqualTo(2L);
+        cache.getUserDetails(1L, detailsLoader());
+        assertThat(loads).hasValue(2);
+        verify(broadcaster).broadcast(1L);
+    }
+
+    @Test
+    void onUserAccountChanged_WhenBroadcastFails_ShouldStillEvictLocally() {
+        cache.getUserDetails(1L, detailsLoader());
+        doThrow(new IllegalStateException("redis down")).when(broadcaster).broadcast(1L);
+
+        cache.onUserAccountChanged(new UserAccountChangedEvent(1L));
+
+        cache.getUserDetails(1L, detailsLoader());
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictLocal_ShouldKeepOtherUsers() {
+        cache.getUserDetails(1L, detailsLoader());
+        cache.getUserDetails(2L, detailsLoader());
+
+        cache.evictLocal(1L);
+
+        cache.getUserDetails(2L, detailsLoader());
+        assertThat(loads).hasValue(2);
+    }
+
+    private Function<Long, UserDetails> detailsLoader() {
+        return id -> {
+            loads.incrementAndGet();
+            User user = new User();
+            user.setId(id);
+            user.setEmail("user" + id + "@example.com");
+            user.setIsActive(true);
+            return new CustomUserDetails(user);
+        };
+    }
+}
@@ -1,47 +1,54 @@
 package com.finance_control.shared.security;
 
 import com.finance_control.shared.config.AppProperties;
-import com.finance_control.shared.config.properties.SecurityProperties;
 import com.finance_control.shared.config.properties.RateLimitProperties;
-import io.github.bucket4j.Bucket;
+import com.finance_control.shared.config.properties.SecurityProperties;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.monitoring.MetricsService;
+import com.finance_control.shared.ratelimit.ClientAddressResolver;
+import com.finance_control.shared.ratelimit.RateLimitBucketStore;
+import com.finance_control.shared.ratelimit.RateLimitPolicy;
+import com.finance_control.shared.ratelimit.RateLimitTier;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class RateLimitFilterTest {
 
-    @Mock
-    private Bucket rateLimitBucket;
+    private static final RateLimitProperties ENABLED = new RateLimitProperties(true, 100, 200, 60);
 
     @Mock
-    private AppProperties appProperties;
+    private RateLimitBucketStore bucketStore;
 
     @Mock
-    private SecurityProperties security;
+    private AppProperties appProperties;
 
     @Mock
-    private RateLimitProperties rateLimit;
+    private MetricsService metricsService;
 
     @Mock
     private FilterChain filterChain;
 
-    @InjectMocks
     private RateLimitFilter filter;
 
     private MockHttpServletRequest request;
@@ -51,21 +58,27 @@ class RateLimitFilterTest {
     void setUp() {
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
+        request.setMethod("GET");
+        UserContext.clear();
+
+        when(appProperties.rateLimit()).thenReturn(ENABLED);
+        when(appProperties.security()).thenReturn(securityWithPublicEndpoints(List.of("/api/auth/**", "/api/users")));
+        filter = newFilter();
+    }
 
-        when(appProperties.rateLimit()).thenReturn(rateLimit);
-        when(appProperties.security()).thenReturn(security);
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
     }
 
     @Test
     void doFilterInternal_WhenRateLimitDisabled_ShouldSkipFiltering() throws Exception {
         request.setRequestURI("/api/transactions");
-
-        RateLimitProperties disabledRateLimit = new RateLimitProperties(false, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(disabledRateLimit);
+        when(appProperties.rateLimit()).thenReturn(new RateLimitProperties(false, 100, 200, 60));
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket, never()).tryConsumeAndReturnRemaining(anyInt());
+        verify(bucketStore, never()).tryConsume(anyString(), any(), anyLong());
         verify(filterChain).doFilter(request, response);
     }
 
@@ -73,275 +86,177 @@ class RateLimitFilterTest {
     void doFilterInternal_ForPublicEndpoint_ShouldSkipFiltering() throws Exception {
         request.setRequestURI("/api/auth/login");
 
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**", "/api/users"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket, never()).tryConsumeAndReturnRemaining(anyInt());
+        verify(bucketStore, never()).tryConsume(anyString(), any(), anyLong());
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithAvailableTokens_ShouldAllowRequest() throws Exception {
-        request.setRequestURI("/api/transactions");
+    void doFilterInternal_ForMultiplePublicEndpoints_ShouldSkipFiltering() throws Exception {
+        request.setRequestURI("/api/users");
 
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(true);
-        when(probe.getRemainingTokens()).thenReturn(99L);
-        when(probe.getNanosToWaitForRefill()).thenReturn(0L);
+        filter.doFilterInternal(request, response, filterChain);
 
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        verify(bucketStore, never()).tryConsume(anyString(), any(), anyLong());
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WhenPublicEndpointsNull_ShouldProcessRequest() throws Exception {
+        when(appProperties.security()).thenReturn(securityWithPublicEndpoints(null));
+        filter = newFilter();
+        request.setRequestURI("/api/auth/login");
+        stubProbe(true, 99L, 0L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        assertThat(response.getStatus()).isEqualTo(200);
+        verify(bucketStore).tryConsume(anyString(), any(), eq(1L));
         verify(filterChain).doFilter(request, response);
     }
 
     @Test
-    void doFilterInternal_WithAvailableTokens_ShouldSetRateLimitHeaders() throws Exception {
+    void doFilterInternal_WithAvailableTokens_ShouldAllowRequestAndSetHeaders() throws Exception {
         request.setRequestURI("/api/transactions");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(true);
-        when(probe.getRemainingTokens()).thenReturn(50L);
-        when(probe.getNanosToWaitForRefill()).thenReturn(0L);
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        stubProbe(true, 50L, 0L);
 
         filter.doFilterInternal(request, response, filterChain);
 
+        assertThat(response.getStatus()).isEqualTo(200);
         assertThat(response.getHeader("X-Rate-Limit-Remaining")).isEqualTo("50");
         assertThat(response.getHeader("X-Rate-Limit-Reset")).isNotNull();
         verify(filterChain).doFilter(request, response);
+        verify(metricsService).recordRateLimitDecision("anonymous", true, 1L);
     }
 
     @Test
-    void doFilterInternal_WhenRateLimitExceeded_ShouldReturn429() throws Exception {
+    void doFilterInternal_WhenRateLimitExceeded_ShouldReturn429WithErrorJson() throws Exception {
         request.setRequestURI("/api/transactions");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getRemainingTokens()).thenReturn(0L);
-        when(probe.getNanosToWaitForRefill()).thenReturn(1_000_000_000L); // 1 second
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        stubProbe(false, 0L, 5_000_000_000L); // 5 seconds
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertThat(response.getStatus()).isEqualTo(429);
         assertThat(response.getHeader("X-Rate-Limit-Remaining")).isEqualTo("0");
-        assertThat(response.getHeader("Retry-After")).isNotNull();
+        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString()).contains("Rate limit exceeded", "Too many requests");
         verify(filterChain, never()).doFilter(request, response);
+        verify(metricsService).recordRateLimitDecision("anonymous", false, 1L);
     }
 
     @Test
-    void doFilterInternal_WhenRateLimitExceeded_ShouldSetRetryAfterHeader() throws Exception {
+    void doFilterInternal_WithAuthenticatedUser_ShouldUsePerUserBucket() throws Exception {
         request.setRequestURI("/api/transactions");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getNanosToWaitForRefill()).thenReturn(5_000_000_000L); // 5 seconds
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        request.setRemoteAddr("10.0.0.1");
+        UserContext.setCurrentUserId(42L);
+        stubProbe(true, 99L, 0L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        assertThat(response.getHeader("Retry-After")).isEqualTo("5");
-        verify(filterChain, never()).doFilter(request, response);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.USER.keyFor("42")), any(), eq(1L));
     }
 
     @Test
-    void doFilterInternal_WhenRateLimitExceeded_ShouldWriteErrorJson() throws Exception {
+    void doFilterInternal_FromUntrustedPeer_ShouldIgnoreForwardingHeaders() throws Exception {
         request.setRequestURI("/api/transactions");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getNanosToWaitForRefill()).thenReturn(1_000_000_000L);
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        request.addHeader("X-Forwarded-For", "192.168.1.1");
+        request.addHeader("X-Real-IP", "192.168.1.2");
+        request.setRemoteAddr("203.0.113.7");
+        stubProbe(false, 0L, 1_000_000_000L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        assertThat(response.getContentType()).isEqualTo("application/json");
-        assertThat(response.getContentAsString()).contains("Rate limit exceeded");
-        assertThat(response.getContentAsString()).contains("Too many requests");
-        verify(filterChain, never()).doFilter(request, response);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.ANONYMOUS.keyFor("203.0.113.7")), any(), eq(1L));
     }
 
     @Test
-    void doFilterInternal_ShouldExtractClientIpFromHeaders() throws Exception {
+    void doFilterInternal_BehindTrustedProxies_ShouldUseFirstUntrustedForwardedHop() throws Exception {
+        filter = newFilter(List.of("10.0.0.0/8"));
         request.setRequestURI("/api/transactions");
-        request.addHeader("X-Forwarded-For", "192.168.1.1");
+        // The left-most entry is whatever the client sent and must not pick the bucket
+        request.addHeader("X-Forwarded-For", "1.2.3.4, 192.168.1.1, 10.0.0.2");
         request.setRemoteAddr("10.0.0.1");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getNanosToWaitForRefill()).thenReturn(1_000_000_000L);
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        stubProbe(false, 0L, 1_000_000_000L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket).tryConsumeAndReturnRemaining(1);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.ANONYMOUS.keyFor("192.168.1.1")), any(), eq(1L));
     }
 
     @Test
-    void doFilterInternal_ShouldExtractClientIpFromXRealIp() throws Exception {
+    void doFilterInternal_BehindTrustedProxy_ShouldExtractClientIpFromXRealIp() throws Exception {
+        filter = newFilter(List.of("10.0.0.1"));
         request.setRequestURI("/api/transactions");
         request.addHeader("X-Real-IP", "192.168.1.2");
         request.setRemoteAddr("10.0.0.1");
-
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getNanosToWaitForRefill()).thenReturn(1_000_000_000L);
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        stubProbe(false, 0L, 1_000_000_000L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket).tryConsumeAndReturnRemaining(1);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.ANONYMOUS.keyFor("192.168.1.2")), any(), eq(1L));
     }
 
     @Test
     void doFilterInternal_ShouldUseRemoteAddrWhenNoHeaders() throws Exception {
         request.setRequestURI("/api/transactions");
         request.setRemoteAddr("192.168.1.3");
+        stubProbe(false, 0L, 1_000_000_000L);
 
-        ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(false);
-        when(probe.getNanosToWaitForRefill()).thenReturn(1_000_000_000L);
+        filter.doFilterInternal(request, response, filterChain);
 
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.ANONYMOUS.keyFor("192.168.1.3")), any(), eq(1L));
+    }
+
+    @Test
+    void doFilterInternal_ForExpensiveEndpoint_ShouldConsumeWeightedCost() throws Exception {
+        request.setMethod("POST");
+        request.setRequestURI("/transactions/import");
+        UserContext.setCurrentUserId(1L);
+        stubProbe(true, 190L, 0L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket).tryConsumeAndReturnRemaining(1);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.USER.keyFor("1")), any(), eq(10L));
+        verify(metricsService).recordRateLimitDecision("user", true, 10L);
     }
 
     @Test
-    void doFilterInternal_ForMultiplePublicEndpoints_ShouldSkipFiltering() throws Exception {
-        request.setRequestURI("/api/users");
-
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
-            new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
-            new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            List.of("/api/auth/**", "/api/users", "/api/monitoring/**"),
-            new SecurityProperties.EncryptionProperties()
-        );
-        when(appProperties.security()).thenReturn(testSecurity);
+    void doFilterInternal_ForDataExport_ShouldConsumeExportCost() throws Exception {
+        request.setRequestURI("/export/api/data-export/transactions/csv");
+        UserContext.setCurrentUserId(1L);
+        stubProbe(true, 190L, 0L);
 
         filter.doFilterInternal(request, response, filterChain);
 
-        verify(rateLimitBucket, never()).tryConsumeAndReturnRemaining(anyInt());
-        verify(filterChain).doFilter(request, response);
+        verify(bucketStore).tryConsume(eq(RateLimitTier.USER.keyFor("1")), any(), eq(10L));
+        verify(metricsService).recordRateLimitDecision("user", true, 10L);
     }
 
-    @Test
-    void doFilterInternal_WhenPublicEndpointsNull_ShouldProcessRequest() throws Exception {
-        request.setRequestURI("/api/transactions");
+    private RateLimitFilter newFilter() {
+        return newFilter(List.of());
+    }
 
+    private RateLimitFilter newFilter(List<String> trustedProxies) {
+        RateLimitPolicy policy = new RateLimitPolicy(appProperties, 30, 60, 10, 10, 20, 25);
+        return new RateLimitFilter(bucketStore, policy, appProperties, metricsService,
+                new ClientAddressResolver(trustedProxies));
+    }
+
+    private void stubProbe(boolean consumed, long remaining, long nanosToWait) {
         ConsumptionProbe probe = mock(ConsumptionProbe.class);
-        when(probe.isConsumed()).thenReturn(true);
-        when(probe.getRemainingTokens()).thenReturn(99L);
-        when(probe.getNanosToWaitForRefill()).thenReturn(0L);
+        when(probe.isConsumed()).thenReturn(consumed);
+        when(probe.getRemainingTokens()).thenReturn(remaining);
+        when(probe.getNanosToWaitForRefill()).thenReturn(nanosToWait);
+        when(bucketStore.tryConsume(anyString(), any(), anyLong())).thenReturn(probe);
+    }
 
-        RateLimitProperties enabledRateLimit = new RateLimitProperties(true, 100, 200, 60);
-        when(appProperties.rateLimit()).thenReturn(enabledRateLimit);
-        SecurityProperties testSecurity = new SecurityProperties(
+    private SecurityProperties securityWithPublicEndpoints(List<String> publicEndpoints) {
+        return new SecurityProperties(
             new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
             new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
-            null,
+            publicEndpoints,
             new SecurityProperties.EncryptionProperties()
         );
-        when(appProperties.security()).thenReturn(testSecurity);
-        when(rateLimitBucket.tryConsumeAndReturnRemaining(1)).thenReturn(probe);
-
-        filter.doFilterInternal(request, response, filterChain);
-
-        verify(rateLimitBucket).tryConsumeAndReturnRemaining(1);
-        verify(filterChain).doFilter(request, response);
     }
 }
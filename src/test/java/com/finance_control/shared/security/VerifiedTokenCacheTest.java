@@ -0,0 +1,65 @@
+package com.finance_control.shared.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(jwtUtils, 100);
+    }
+
+    @Test
+    void resolve_WhenCalledTwice_ShouldVerifyOnce() {
+        VerifiedPrincipal principal = principal(Instant.now().plusSeconds(3600));
+        when(jwtUtils.verifyPrincipal(TOKEN)).thenReturn(principal);
+
+        assertThat(cache.resolve(TOKEN)).isEqualTo(principal);
+        assertThat(cache.resolve(TOKEN)).isEqualTo(principal);
+
+        verify(jwtUtils, times(1)).verifyPrincipal(TOKEN);
+    }
+
+    @Test
+    void resolve_WithInvalidToken_ShouldNotCacheFailure() {
+        when(jwtUtils.verifyPrincipal(TOKEN)).thenReturn(null);
+
+        assertThat(cache.resolve(TOKEN)).isNull();
+        assertThat(cache.resolve(TOKEN)).isNull();
+
+        verify(jwtUtils, times(2)).verifyPrincipal(TOKEN);
+    }
+
+    @Test
+    void resolve_WhenTokenExpired_ShouldVerifyAgain() {
+        when(jwtUtils.verifyPrincipal(TOKEN)).thenReturn(principal(Instant.now().minusSeconds(1)));
+
+        cache.resolve(TOKEN);
+        cache.resolve(TOKEN);
+
+        verify(jwtUtils, times(2)).verifyPrincipal(TOKEN);
+    }
+
+    private VerifiedPrincipal principal(Instant expiresAt) {
+        return new VerifiedPrincipal("1", VerifiedPrincipal.Issuer.APPLICATION, null, expiresAt);
+    }
+}
@@ -139,6 +139,23 @@ class AuthServiceTest {
                 () -> authService.authenticate("nonexistent@example.com", "password123"))).isNotNull();
     }
 
+    @Test
+    void shouldAuthenticateAndReindexUserStillOnLegacyEmailHash() {
+        testUser.setEmailHash("legacy-email-hash");
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(true);
+        when(encryptionService.legacyHashEmail("test@example.com")).thenReturn("legacy-email-hash");
+        when(userRepository.findByEmailHash(testEmailHash)).thenReturn(Optional.empty());
+        when(userRepository.findByEmailHash("legacy-email-hash")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        lenient().when(metricsService.startAuthenticationTimer()).thenReturn(Instant.now());
+
+        Long result = authService.authenticate("test@example.com", "password123");
+
+        assertThat(result).isEqualTo(1L);
+        assertThat(testUser.getEmailHash()).isEqualTo(testEmailHash);
+        verify(userRepository).save(testUser);
+    }
+
     @Test
     void shouldAuthenticateWithNullIsActive() {
         // When isActive is null, Boolean.FALSE.equals() returns false, so authentication should proceed
@@ -6,6 +6,9 @@ import com.finance_control.brazilian_market.client.UsMarketDataProvider;
 import com.finance_control.brazilian_market.client.model.ApiResponse;
 import com.finance_control.brazilian_market.client.model.QuoteResponse;
 import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.shared.http.CircuitBreakerOpenException;
+import com.finance_control.shared.http.OutboundHttpClient;
+import com.finance_control.shared.http.OutboundHttpClients;
 import com.finance_control.shared.monitoring.SentryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -24,6 +28,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient;
 
@@ -40,6 +46,12 @@ class MarketDataProviderTest {
     @Mock
     private SentryService sentryService;
 
+    @Mock
+    private OutboundHttpClients httpClients;
+
+    @Mock
+    private OutboundHttpClient outboundHttpClient;
+
     @InjectMocks
     private BrazilianMarketDataProvider brazilianMarketDataProvider;
 
@@ -49,7 +61,7 @@ class MarketDataProviderTest {
     void setUp() {
         // Setup method - no shared test data needed
         // UsMarketDataProvider requires SentryService in constructor, so we need to create it manually
-        usMarketDataProvider = new UsMarketDataProvider(restTemplate, sentryService);
+        usMarketDataProvider = new UsMarketDataProvider(restTemplate, sentryService, httpClients);
         // Mock SentryService to avoid NPE - use lenient since not all tests will trigger exceptions
         lenient().doNothing().when(sentryService).captureException(any(Exception.class), anyMap());
     }
@@ -162,6 +174,37 @@ class MarketDataProviderTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void brazilianMarketDataProvider_GetQuotesAsync_ShouldMapResponseWithoutRestTemplate() {
+        // Given
+        when(httpClients.forProvider(eq("brapi"), anyString())).thenReturn(outboundHttpClient);
+        when(outboundHttpClient.get(anyString(), eq(BrazilianMarketDataProvider.ApiResponse.class)))
+                .thenReturn(Mono.just(createMockBrapiResponse()));
+
+        // When
+        List<MarketQuote> result = brazilianMarketDataProvider.getQuotesAsync(List.of("PETR4")).block();
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getSymbol()).isEqualTo("PETR4");
+        assertThat(result.get(0).getCurrentPrice()).isEqualByComparingTo(new BigDecimal("26.00"));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void usMarketDataProvider_GetQuotesAsync_WhenCircuitOpen_ShouldReturnEmptyList() {
+        // Given
+        when(httpClients.forProvider(eq("yahoo-finance"), anyString())).thenReturn(outboundHttpClient);
+        when(outboundHttpClient.get(anyString(), eq(ApiResponse.class)))
+                .thenReturn(Mono.error(new CircuitBreakerOpenException("yahoo-finance")));
+
+        // When
+        List<MarketQuote> result = usMarketDataProvider.getQuotesAsync(List.of("AAPL")).block();
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
     private BrazilianMarketDataProvider.ApiResponse createMockBrapiResponse() {
         // Mock Brazilian Market API response structure
         BrazilianMarketDataProvider.ApiResponse response = new BrazilianMarketDataProvider.ApiResponse();
@@ -276,13 +319,41 @@ class MarketDataProviderTest {
     }
 
     @Test
-    void brazilianMarketDataProvider_GetHistoricalData_ShouldReturnEmpty() {
+    void brazilianMarketDataProvider_GetHistoricalData_WithNullResponse_ShouldReturnEmpty() {
         Optional<com.finance_control.brazilian_market.client.HistoricalData> result =
                 brazilianMarketDataProvider.getHistoricalData("PETR4", "1mo", "1d");
 
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void brazilianMarketDataProvider_GetHistoricalData_ShouldMapDailyBars() {
+        BrazilianMarketDataProvider.HistoricalPriceResponse bar = new BrazilianMarketDataProvider.HistoricalPriceResponse();
+        bar.setDate(1718200800L); // 2024-06-12 11:00 in Sao Paulo
+        bar.setOpen(37.10);
+        bar.setHigh(37.80);
+        bar.setLow(36.95);
+        bar.setClose(37.55);
+        bar.setVolume(41000000L);
+        BrazilianMarketDataProvider.QuoteResponse quote = new BrazilianMarketDataProvider.QuoteResponse();
+        quote.setSymbol("PETR4");
+        quote.setHistoricalDataPrice(List.of(bar));
+        BrazilianMarketDataProvider.ApiResponse response = new BrazilianMarketDataProvider.ApiResponse();
+        response.setResults(List.of(quote));
+        when(restTemplate.getForObject(anyString(), any())).thenReturn(response);
+
+        Optional<com.finance_control.brazilian_market.client.HistoricalData> result =
+                brazilianMarketDataProvider.getHistoricalData("PETR4", "1mo", "1d");
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getSymbol()).isEqualTo("PETR4");
+        assertThat(result.get().getData()).singleElement().satisfies(point -> {
+            assertThat(point.getTimestamp().toLocalDate()).isEqualTo(java.time.LocalDate.of(2024, 6, 12));
+            assertThat(point.getClose()).isEqualByComparingTo("37.55");
+            assertThat(point.getVolume()).isEqualTo(41000000L);
+        });
+    }
+
     @Test
     void brazilianMarketDataProvider_SupportsInvestmentType_Stock_ShouldReturnTrue() {
         boolean result = brazilianMarketDataProvider.supportsInvestmentType(InvestmentType.STOCK);
@@ -6,6 +6,7 @@ import com.finance_control.brazilian_market.client.model.ChartResponse;
 import com.finance_control.brazilian_market.client.model.Meta;
 import com.finance_control.brazilian_market.client.model.Indicators;
 import com.finance_control.brazilian_market.client.model.Quote;
+import com.finance_control.shared.http.OutboundHttpClients;
 import com.finance_control.shared.monitoring.SentryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,13 +37,16 @@ class UsMarketDataProviderHistoricalTest {
     @Mock
     private SentryService sentryService;
 
+    @Mock
+    private OutboundHttpClients httpClients;
+
     private UsMarketDataProvider usMarketDataProvider;
 
     @BeforeEach
     void setUp() {
         // Setup method - no shared test data needed
         // UsMarketDataProvider requires SentryService in constructor, so we need to create it manually
-        usMarketDataProvider = new UsMarketDataProvider(restTemplate, sentryService);
+        usMarketDataProvider = new UsMarketDataProvider(restTemplate, sentryService, httpClients);
         // Mock SentryService to avoid NPE - use lenient since not all tests will trigger exceptions
         lenient().doNothing().when(sentryService).captureException(any(Exception.class), anyMap());
     }
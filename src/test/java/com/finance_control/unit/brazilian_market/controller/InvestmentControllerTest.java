@@ -635,7 +635,7 @@ class InvestmentControllerTest {
         updatedDTO.setTicker("PETR4");
         updatedDTO.setCurrentPrice(BigDecimal.valueOf(27.00));
 
-        when(investmentService.getInvestmentById(eq(1L), eq(testUser)))
+        when(investmentService.getInvestmentById(eq(1L), argThat(user -> user.getId().equals(1L))))
                 .thenReturn(Optional.of(testInvestment));
         when(investmentService.updateMarketData(testInvestment))
                 .thenReturn(updatedInvestment);
@@ -649,7 +649,7 @@ class InvestmentControllerTest {
                 .andExpect(jsonPath("$.ticker").value("PETR4"))
                 .andExpect(jsonPath("$.currentPrice").value(27.00));
 
-        verify(investmentService).getInvestmentById(eq(1L), eq(testUser));
+        verify(investmentService).getInvestmentById(eq(1L), argThat(user -> user.getId().equals(1L)));
         verify(investmentService).updateMarketData(testInvestment);
         verify(investmentService).convertToResponseDTO(updatedInvestment);
     }
@@ -659,13 +659,13 @@ class InvestmentControllerTest {
     void updateMarketData_WithInvalidId_ShouldReturnNotFound() throws Exception {
         // Using the main mockMvc from @WebMvcTest with custom argument resolver
 
-        when(investmentService.getInvestmentById(eq(999L), eq(testUser)))
+        when(investmentService.getInvestmentById(eq(999L), argThat(user -> user.getId().equals(1L))))
                 .thenReturn(Optional.empty());
 
         mockMvc.perform(post("/investments/999/update-market-data"))
                 .andExpect(status().isNotFound());
 
-        verify(investmentService).getInvestmentById(eq(999L), eq(testUser));
+        verify(investmentService).getInvestmentById(eq(999L), argThat(user -> user.getId().equals(1L)));
         verify(investmentService, never()).updateMarketData(any());
     }
 
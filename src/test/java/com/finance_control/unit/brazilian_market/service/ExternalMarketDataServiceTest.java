@@ -6,6 +6,7 @@ import com.finance_control.brazilian_market.model.Investment;
 import com.finance_control.brazilian_market.model.InvestmentType;
 import com.finance_control.brazilian_market.model.InvestmentSubtype;
 import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.MarketDataBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +14,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -34,6 +37,9 @@ class ExternalMarketDataServiceTest {
     @Mock
     private MarketDataProvider usMarketProvider;
 
+    @Mock
+    private MarketDataBudget marketDataBudget;
+
     private ExternalMarketDataService externalMarketDataService;
 
     private Investment brazilianStock;
@@ -46,7 +52,9 @@ class ExternalMarketDataServiceTest {
     @BeforeEach
     void setUp() {
         // Manually create the service instance with mocked providers
-        externalMarketDataService = new ExternalMarketDataService(brazilianMarketProvider, usMarketProvider);
+        externalMarketDataService = new ExternalMarketDataService(brazilianMarketProvider, usMarketProvider,
+                marketDataBudget);
+        lenient().when(marketDataBudget.tryAcquire(any(), any())).thenReturn(true);
 
         brazilianStock = new Investment();
         brazilianStock.setTicker("PETR4");
@@ -113,6 +121,24 @@ class ExternalMarketDataServiceTest {
         verify(usMarketProvider, never()).getQuote(anyString());
     }
 
+    @Test
+    void fetchMarketData_WhenBudgetIsExhausted_ShouldNotCallProvider() {
+        // Given
+        when(brazilianMarketProvider.supportsInvestmentType(InvestmentType.STOCK)).thenReturn(true);
+        when(marketDataBudget.tryAcquire(brazilianMarketProvider, Duration.ZERO)).thenReturn(false);
+
+        // When
+        Optional<MarketQuote> quote = externalMarketDataService.fetchMarketData("PETR4", InvestmentType.STOCK);
+        List<MarketQuote> quotes = externalMarketDataService.fetchMarketData(List.of("PETR4", "VALE3"),
+                InvestmentType.STOCK);
+
+        // Then
+        assertThat(quote).isEmpty();
+        assertThat(quotes).isEmpty();
+        verify(brazilianMarketProvider, never()).getQuote(anyString());
+        verify(brazilianMarketProvider, never()).getQuotes(anyList());
+    }
+
     @Test
     void fetchMarketData_ShouldUseUSProviderForUSStocks() {
         // Given
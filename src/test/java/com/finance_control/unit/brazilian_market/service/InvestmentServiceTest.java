@@ -8,6 +8,11 @@ import com.finance_control.brazilian_market.model.InvestmentSubtype;
 import com.finance_control.brazilian_market.repository.InvestmentRepository;
 import com.finance_control.brazilian_market.service.ExternalMarketDataService;
 import com.finance_control.brazilian_market.service.InvestmentService;
+import com.finance_control.brazilian_market.service.quote.QuoteSnapshot;
+import com.finance_control.brazilian_market.service.quote.QuoteStore;
+import com.finance_control.brazilian_market.service.refresh.MarketRefreshService;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
 import com.finance_control.users.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,8 +26,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,6 +53,15 @@ class InvestmentServiceTest {
     @Mock
     private ExternalMarketDataService externalMarketDataService;
 
+    @Mock
+    private UserDataChangePublisher changePublisher;
+
+    @Mock
+    private MarketRefreshService marketRefreshService;
+
+    @Mock
+    private QuoteStore quoteStore;
+
     @InjectMocks
     private InvestmentService investmentService;
 
@@ -101,6 +118,7 @@ class InvestmentServiceTest {
 
         verify(investmentRepository, times(2)).save(any(Investment.class));
         verify(externalMarketDataService).fetchMarketData("PETR4", InvestmentType.STOCK);
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.INVESTMENT);
     }
 
     @Test
@@ -123,6 +141,7 @@ class InvestmentServiceTest {
 
         verify(investmentRepository).findById(1L);
         verify(investmentRepository).save(testInvestment);
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.INVESTMENT);
     }
 
     @Test
@@ -138,6 +157,7 @@ class InvestmentServiceTest {
 
         verify(investmentRepository).findById(999L);
         verify(investmentRepository, never()).save(any());
+        verifyNoInteractions(changePublisher);
     }
 
     @Test
@@ -312,6 +332,7 @@ class InvestmentServiceTest {
 
         verify(externalMarketDataService).needsUpdate(null);
         verify(externalMarketDataService).fetchMarketData("PETR4", InvestmentType.STOCK);
+        verify(quoteStore).put(any(MarketQuote.class), eq(InvestmentType.STOCK));
         verify(investmentRepository).save(testInvestment);
     }
 
@@ -412,23 +433,18 @@ class InvestmentServiceTest {
     }
 
     @Test
-    void updateAllMarketData_ShouldUpdateAllInvestmentsNeedingUpdate() {
+    void updateAllMarketData_ShouldRefreshUserTickersInBatches() {
         // Given
-        List<Investment> investmentsToUpdate = List.of(testInvestment);
-        when(investmentRepository.findInvestmentsNeedingPriceUpdate(any(), any()))
-                .thenReturn(investmentsToUpdate);
-        when(externalMarketDataService.needsUpdate(any())).thenReturn(true);
-        when(externalMarketDataService.fetchMarketData(anyString(), any()))
-                .thenReturn(Optional.of(createMarketQuote()));
-        when(investmentRepository.save(any(Investment.class))).thenReturn(testInvestment);
+        when(marketRefreshService.refreshUser(1L))
+                .thenReturn(new MarketRefreshService.RefreshResult(1, 1, 1, 3, Duration.ofMillis(5)));
 
         // When
         investmentService.updateAllMarketData(testUser);
 
         // Then
-        verify(investmentRepository).findInvestmentsNeedingPriceUpdate(eq(1L), any());
-        verify(externalMarketDataService).fetchMarketData("PETR4", InvestmentType.STOCK);
-        verify(investmentRepository).save(testInvestment);
+        verify(marketRefreshService).refreshUser(1L);
+        verify(externalMarketDataService, never()).fetchMarketData(anyString(), any());
+        verify(investmentRepository, never()).save(any(Investment.class));
     }
 
     @Test
@@ -473,49 +489,19 @@ class InvestmentServiceTest {
     }
 
     @Test
-    void updateAllMarketData_WithEmptyInvestmentsList_ShouldNotCallUpdateMarketData() {
+    void updateAllMarketData_WithNothingStale_ShouldNotSaveInvestments() {
         // Given
-        when(investmentRepository.findInvestmentsNeedingPriceUpdate(any(), any()))
-                .thenReturn(List.of());
+        when(marketRefreshService.refreshUser(1L))
+                .thenReturn(new MarketRefreshService.RefreshResult(0, 0, 0, 0, Duration.ZERO));
 
         // When
         investmentService.updateAllMarketData(testUser);
 
         // Then
-        verify(investmentRepository).findInvestmentsNeedingPriceUpdate(eq(1L), any());
-        verify(externalMarketDataService, never()).fetchMarketData(anyString(), any());
+        verify(marketRefreshService).refreshUser(1L);
         verify(investmentRepository, never()).save(any(Investment.class));
     }
 
-    @Test
-    void updateAllMarketData_WithExceptionDuringUpdate_ShouldContinueWithNextInvestment() {
-        // Given
-        Investment investment2 = new Investment();
-        investment2.setId(2L);
-        investment2.setTicker("VALE3");
-        investment2.setInvestmentType(InvestmentType.STOCK);
-        investment2.setUser(testUser);
-
-        List<Investment> investmentsToUpdate = List.of(testInvestment, investment2);
-        when(investmentRepository.findInvestmentsNeedingPriceUpdate(any(), any()))
-                .thenReturn(investmentsToUpdate);
-        when(externalMarketDataService.needsUpdate(any())).thenReturn(true);
-        when(externalMarketDataService.fetchMarketData("PETR4", InvestmentType.STOCK))
-                .thenReturn(Optional.of(createMarketQuote()));
-        when(externalMarketDataService.fetchMarketData("VALE3", InvestmentType.STOCK))
-                .thenThrow(new RuntimeException("API error"));
-        when(investmentRepository.save(any(Investment.class))).thenReturn(testInvestment);
-
-        // When
-        investmentService.updateAllMarketData(testUser);
-
-        // Then
-        verify(investmentRepository).findInvestmentsNeedingPriceUpdate(eq(1L), any());
-        verify(externalMarketDataService).fetchMarketData("PETR4", InvestmentType.STOCK);
-        verify(externalMarketDataService).fetchMarketData("VALE3", InvestmentType.STOCK);
-        verify(investmentRepository).save(testInvestment);
-    }
-
     @Test
     void getInvestmentById_WhenInvestmentIsNotActive_ShouldReturnEmpty() {
         // Given
@@ -558,6 +544,49 @@ class InvestmentServiceTest {
         verify(investmentRepository).findByTickerAndUser_IdAndIsActiveTrue("", 1L);
     }
 
+    @Test
+    void convertToResponseDTOs_ShouldOverlayPricesFromQuoteStore() {
+        // Given
+        Investment other = new Investment();
+        other.setId(2L);
+        other.setTicker("VALE3");
+        other.setInvestmentType(InvestmentType.STOCK);
+        other.setCurrentPrice(BigDecimal.valueOf(60.00));
+        when(quoteStore.getSnapshots(any())).thenReturn(Map.of("PETR4", snapshot("PETR4", "27.10")));
+
+        // When
+        List<InvestmentDTO> result = investmentService.convertToResponseDTOs(List.of(testInvestment, other));
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getCurrentPrice()).isEqualByComparingTo("27.10");
+        assertThat(result.get(1).getCurrentPrice()).isEqualByComparingTo("60.00");
+        verify(quoteStore).getSnapshots(Map.of("PETR4", InvestmentType.STOCK, "VALE3", InvestmentType.STOCK));
+    }
+
+    @Test
+    void getTotalMarketValue_ShouldValueHoldingsAtQuoteStorePrices() {
+        // Given
+        testInvestment.setVolume(10L);
+        Investment fund = new Investment();
+        fund.setTicker("HGLG11");
+        fund.setInvestmentType(InvestmentType.FII);
+        fund.setCurrentPrice(BigDecimal.valueOf(150.00));
+        fund.setVolume(2L);
+        when(investmentRepository.findByUser_IdAndIsActiveTrue(1L)).thenReturn(List.of(testInvestment, fund));
+        when(quoteStore.getSnapshots(any())).thenReturn(Map.of("PETR4", snapshot("PETR4", "30.00")));
+
+        // When
+        Optional<Double> total = investmentService.getTotalMarketValue(testUser);
+
+        // Then
+        assertThat(total).contains(600.0);
+    }
+
+    private QuoteSnapshot snapshot(String symbol, String price) {
+        return new QuoteSnapshot(symbol, new BigDecimal(price), null, null, null, null, null, Instant.now(), false);
+    }
+
     private MarketQuote createMarketQuote() {
         return MarketQuote.builder()
                 .symbol("PETR4")
@@ -0,0 +1,209 @@
+package com.finance_control.unit.brazilian_market.service.history;
+
+import com.finance_control.brazilian_market.client.BCBApiClient;
+import com.finance_control.brazilian_market.client.HistoricalData;
+import com.finance_control.brazilian_market.client.HistoricalPoint;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.model.SeriesPoint;
+import com.finance_control.brazilian_market.model.SeriesType;
+import com.finance_control.brazilian_market.repository.InvestmentRepository;
+import com.finance_control.brazilian_market.repository.MarketSeriesRepository;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.history.BcbIndicator;
+import com.finance_control.brazilian_market.service.history.MarketHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MarketHistoryServiceTest {
+
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+
+    @Mock
+    private MarketSeriesRepository seriesRepository;
+
+    @Mock
+    private InvestmentRepository investmentRepository;
+
+    @Mock
+    private ExternalMarketDataService externalMarketDataService;
+
+    @Mock
+    private BCBApiClient bcbApiClient;
+
+    private MarketHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MarketHistoryService(seriesRepository, investmentRepository, externalMarketDataService,
+                bcbApiClient, 5, 45, 1825);
+    }
+
+    @Test
+    void getQuoteHistory_WithoutCoverage_ShouldBackfillRequestedRangeOnce() {
+        // Given
+        LocalDate from = YESTERDAY.minusDays(20);
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "PETR4")).thenReturn(Optional.empty());
+        when(externalMarketDataService.fetchHistoricalData("PETR4", InvestmentType.STOCK, "1mo", "1d"))
+                .thenReturn(Optional.of(history(from.minusDays(3), from, YESTERDAY, LocalDate.now())));
+        when(seriesRepository.upsertAll(eq(SeriesType.QUOTE), eq("PETR4"), anyList())).thenAnswer(
+                invocation -> ((List<?>) invocation.getArgument(2)).size());
+        when(seriesRepository.findRange(SeriesType.QUOTE, "PETR4", from, LocalDate.now())).thenReturn(List.of());
+
+        // When
+        service.getQuoteHistory("petr4", InvestmentType.STOCK, from, LocalDate.now());
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SeriesPoint>> written = ArgumentCaptor.forClass(List.class);
+        verify(seriesRepository).upsertAll(eq(SeriesType.QUOTE), eq("PETR4"), written.capture());
+        assertThat(written.getValue()).extracting(SeriesPoint::date).containsExactly(from, YESTERDAY);
+        verify(seriesRepository).extendCoverage(SeriesType.QUOTE, "PETR4", from, YESTERDAY);
+    }
+
+    @Test
+    void getQuoteHistory_WithCoveredRange_ShouldNotCallUpstream() {
+        // Given
+        LocalDate from = YESTERDAY.minusMonths(6);
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "VALE3"))
+                .thenReturn(Optional.of(new MarketSeriesRepository.Coverage(from.minusYears(1), YESTERDAY)));
+        when(seriesRepository.findRange(SeriesType.QUOTE, "VALE3", from, YESTERDAY))
+                .thenReturn(List.of(SeriesPoint.of(from, BigDecimal.TEN)));
+
+        // When
+        List<SeriesPoint> points = service.getQuoteHistory("VALE3", InvestmentType.STOCK, from, YESTERDAY);
+
+        // Then
+        assertThat(points).hasSize(1);
+        verify(externalMarketDataService, never()).fetchHistoricalData(anyString(), any(), anyString(), anyString());
+        verify(seriesRepository, never()).upsertAll(any(), anyString(), anyList());
+    }
+
+    @Test
+    void getQuoteHistory_WithStaleTail_ShouldRefetchOverlapOnly() {
+        // Given
+        LocalDate coveredTo = YESTERDAY.minusDays(3);
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "ITUB4"))
+                .thenReturn(Optional.of(new MarketSeriesRepository.Coverage(YESTERDAY.minusYears(1), coveredTo)));
+        when(externalMarketDataService.fetchHistoricalData("ITUB4", InvestmentType.STOCK, "1mo", "1d"))
+                .thenReturn(Optional.of(history(coveredTo.minusDays(10), coveredTo.minusDays(2), YESTERDAY)));
+        when(seriesRepository.upsertAll(eq(SeriesType.QUOTE), eq("ITUB4"), anyList())).thenReturn(2);
+
+        // When
+        service.getQuoteHistory("ITUB4", InvestmentType.STOCK, YESTERDAY.minusMonths(1), YESTERDAY);
+
+        // Then
+        verify(seriesRepository).extendCoverage(SeriesType.QUOTE, "ITUB4", coveredTo.minusDays(4), YESTERDAY);
+    }
+
+    @Test
+    void getQuoteHistory_WhenUpstreamFails_ShouldNotExtendCoverage() {
+        // Given
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "MGLU3")).thenReturn(Optional.empty());
+        when(externalMarketDataService.fetchHistoricalData(eq("MGLU3"), eq(InvestmentType.STOCK), anyString(), eq("1d")))
+                .thenReturn(Optional.empty());
+
+        // When
+        service.getQuoteHistory("MGLU3", InvestmentType.STOCK, YESTERDAY.minusYears(1), YESTERDAY);
+
+        // Then
+        verify(seriesRepository, never()).extendCoverage(any(), anyString(), any(), any());
+        verify(seriesRepository).findRange(SeriesType.QUOTE, "MGLU3", YESTERDAY.minusYears(1), YESTERDAY);
+    }
+
+    @Test
+    void getQuoteHistory_WhenUpstreamCutsRangeShort_ShouldOnlyCoverReturnedDates() {
+        // Given - the provider only has the last month of a one-year request
+        LocalDate from = YESTERDAY.minusYears(1);
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "NEWC3")).thenReturn(Optional.empty());
+        when(externalMarketDataService.fetchHistoricalData(eq("NEWC3"), eq(InvestmentType.STOCK), anyString(), eq("1d")))
+                .thenReturn(Optional.of(history(YESTERDAY.minusDays(30), YESTERDAY.minusDays(15), YESTERDAY)));
+        when(seriesRepository.upsertAll(eq(SeriesType.QUOTE), eq("NEWC3"), anyList())).thenReturn(3);
+
+        // When
+        service.getQuoteHistory("NEWC3", InvestmentType.STOCK, from, YESTERDAY);
+
+        // Then
+        verify(seriesRepository).extendCoverage(SeriesType.QUOTE, "NEWC3", YESTERDAY.minusDays(30), YESTERDAY);
+    }
+
+    @Test
+    void getQuoteHistory_WhenUpstreamReturnsNoPointsInRange_ShouldNotExtendCoverage() {
+        // Given
+        LocalDate from = YESTERDAY.minusDays(20);
+        when(seriesRepository.findCoverage(SeriesType.QUOTE, "OIBR3")).thenReturn(Optional.empty());
+        when(externalMarketDataService.fetchHistoricalData("OIBR3", InvestmentType.STOCK, "1mo", "1d"))
+                .thenReturn(Optional.of(history(LocalDate.now())));
+
+        // When
+        service.getQuoteHistory("OIBR3", InvestmentType.STOCK, from, YESTERDAY);
+
+        // Then
+        verify(seriesRepository, never()).upsertAll(any(), anyString(), anyList());
+        verify(seriesRepository, never()).extendCoverage(any(), anyString(), any(), any());
+    }
+
+    @Test
+    void getIndicatorHistory_ShouldParseBcbRowsInTenYearChunks() {
+        // Given
+        LocalDate from = YESTERDAY.minusYears(15);
+        DateTimeFormatter bcbDate = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        when(seriesRepository.findCoverage(SeriesType.INDICATOR, "SELIC")).thenReturn(Optional.empty());
+        when(bcbApiClient.findDataInRange(BCBApiClient.SELIC_CODE, from, from.plusYears(10).minusDays(1)))
+                .thenReturn(Optional.of(List.of(
+                        Map.of("data", from.format(bcbDate), "valor", "10.40"),
+                        Map.of("data", "invalid", "valor", "1"))));
+        when(bcbApiClient.findDataInRange(BCBApiClient.SELIC_CODE, from.plusYears(10), YESTERDAY))
+                .thenReturn(Optional.of(List.of(
+                        Map.of("data", YESTERDAY.minusDays(3).format(bcbDate), "valor", "10.50"))));
+        when(seriesRepository.upsertAll(eq(SeriesType.INDICATOR), eq("SELIC"), anyList())).thenReturn(2);
+
+        // When
+        service.getIndicatorHistory(BcbIndicator.SELIC, from, YESTERDAY);
+
+        // Then
+        verify(bcbApiClient).findDataInRange(BCBApiClient.SELIC_CODE, from, from.plusYears(10).minusDays(1));
+        verify(bcbApiClient).findDataInRange(BCBApiClient.SELIC_CODE, from.plusYears(10), YESTERDAY);
+        verify(bcbApiClient, times(2)).findDataInRange(anyString(), any(), any());
+        verify(seriesRepository).extendCoverage(SeriesType.INDICATOR, "SELIC", from, YESTERDAY);
+    }
+
+    @Test
+    void getQuoteHistory_WithInvertedRange_ShouldThrow() {
+        assertThatThrownBy(() -> service.getQuoteHistory("PETR4", InvestmentType.STOCK, YESTERDAY, YESTERDAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HistoricalData history(LocalDate... dates) {
+        List<HistoricalPoint> points = Arrays.stream(dates)
+                .map(date -> HistoricalPoint.builder()
+                        .timestamp(date.atTime(18, 0))
+                        .close(BigDecimal.valueOf(30))
+                        .build())
+                .toList();
+        return HistoricalData.builder().symbol("X").data(points).build();
+    }
+}
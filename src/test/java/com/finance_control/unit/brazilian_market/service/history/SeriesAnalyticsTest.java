@@ -0,0 +1,66 @@
+package com.finance_control.unit.brazilian_market.service.history;
+
+import com.finance_control.brazilian_market.model.SeriesPoint;
+import com.finance_control.brazilian_market.service.history.SeriesAnalytics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeriesAnalyticsTest {
+
+    @Test
+    void monthlyReturns_ShouldChainMonthEndCloses() {
+        List<SeriesPoint> points = List.of(
+                point(2024, 1, 2, "10.00"),
+                point(2024, 1, 31, "11.00"),
+                point(2024, 2, 1, "11.50"),
+                point(2024, 2, 29, "9.90"),
+                point(2024, 3, 28, "10.89"));
+
+        List<SeriesAnalytics.MonthlyReturn> returns = SeriesAnalytics.monthlyReturns(points);
+
+        assertThat(returns).extracting(SeriesAnalytics.MonthlyReturn::month)
+                .containsExactly(YearMonth.of(2024, 1), YearMonth.of(2024, 2), YearMonth.of(2024, 3));
+        assertThat(returns.get(0).returnPercent()).isEqualByComparingTo("10.0000");
+        assertThat(returns.get(1).returnPercent()).isEqualByComparingTo("-10.0000");
+        assertThat(returns.get(2).returnPercent()).isEqualByComparingTo("10.0000");
+        assertThat(returns.get(2).close()).isEqualByComparingTo("10.89");
+    }
+
+    @Test
+    void monthlyReturns_WithNoPoints_ShouldReturnEmpty() {
+        assertThat(SeriesAnalytics.monthlyReturns(List.of())).isEmpty();
+    }
+
+    @Test
+    void rollingAverage_ShouldAverageTrailingWindow() {
+        List<SeriesPoint> points = List.of(
+                point(2024, 1, 2, "1"),
+                point(2024, 1, 3, "2"),
+                point(2024, 1, 4, "3"),
+                point(2024, 1, 5, "6"));
+
+        List<SeriesAnalytics.AveragePoint> averages = SeriesAnalytics.rollingAverage(points, 3);
+
+        assertThat(averages).hasSize(2);
+        assertThat(averages.get(0).date()).isEqualTo(LocalDate.of(2024, 1, 4));
+        assertThat(averages.get(0).average()).isEqualByComparingTo("2");
+        assertThat(averages.get(1).average()).isEqualByComparingTo("3.666667");
+    }
+
+    @Test
+    void rollingAverage_WithInvalidWindow_ShouldThrow() {
+        assertThatThrownBy(() -> SeriesAnalytics.rollingAverage(List.of(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SeriesPoint point(int year, int month, int day, String close) {
+        return SeriesPoint.of(LocalDate.of(year, month, day), new BigDecimal(close));
+    }
+}
@@ -0,0 +1,255 @@
+package com.finance_control.unit.brazilian_market.service.quote;
+
+import com.finance_control.brazilian_market.client.MarketDataProvider;
+import com.finance_control.brazilian_market.client.MarketHours;
+import com.finance_control.brazilian_market.client.MarketQuote;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.MarketDataBudget;
+import com.finance_control.brazilian_market.service.quote.QuoteSnapshot;
+import com.finance_control.brazilian_market.service.quote.QuoteStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuoteStoreTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    @Mock
+    private ExternalMarketDataService externalMarketDataService;
+
+    @Mock
+    private MarketDataProvider provider;
+
+    @Mock
+    private MarketDataBudget marketDataBudget;
+
+    private QuoteStore store;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(externalMarketDataService.selectProvider(any())).thenReturn(provider);
+        lenient().when(provider.getProviderName()).thenReturn("Brapi");
+        lenient().when(provider.getMaxBatchSize()).thenReturn(2);
+        lenient().when(provider.getMarketHours()).thenReturn(MarketHours.B3);
+        lenient().when(marketDataBudget.tryAcquire(any(), any())).thenReturn(true);
+        store = new QuoteStore(externalMarketDataService, marketDataBudget, 60, 21600, 300, 10000, 4, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void getSnapshot_WithConcurrentMisses_ShouldNotWaitAndLoadSymbolOnce() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(provider.getQuotesAsync(List.of("PETR4"))).thenReturn(Mono.fromCallable(() -> {
+            loading.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return List.of(quote("PETR4", "26.50"));
+        }));
+
+        // When - both reads miss while the provider call is still running
+        Optional<QuoteSnapshot> first = store.getSnapshot("PETR4", InvestmentType.STOCK);
+        assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+        Optional<QuoteSnapshot> second = store.getSnapshot("petr4", InvestmentType.STOCK);
+        release.countDown();
+
+        // Then - neither read waited, and the single background load serves later reads
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(awaitSnapshot("PETR4")).hasValueSatisfying(snapshot ->
+                assertThat(snapshot.currentPrice()).isEqualByComparingTo("26.50"));
+        verify(provider, times(1)).getQuotesAsync(List.of("PETR4"));
+    }
+
+    @Test
+    void getSnapshot_WithFreshQuote_ShouldNotCallProvider() {
+        // Given
+        store.put(quote("VALE3", "61.20"), MarketHours.B3);
+
+        // When
+        Optional<QuoteSnapshot> snapshot = store.getSnapshot("VALE3", InvestmentType.STOCK);
+
+        // Then
+        assertThat(snapshot).hasValueSatisfying(value -> assertThat(value.stale()).isFalse());
+        verify(provider, never()).getQuotesAsync(anyList());
+    }
+
+    @Test
+    void getSnapshot_WithExpiredQuote_ShouldServeStaleAndRevalidate() throws Exception {
+        // Given
+        store.shutdown();
+        store = new QuoteStore(externalMarketDataService, marketDataBudget, 1, 1, 300, 10000, 4, 1000);
+        store.put(quote("ITUB4", "32.00"), MarketHours.B3);
+        when(provider.getQuotesAsync(List.of("ITUB4"))).thenReturn(Mono.just(List.of(quote("ITUB4", "32.40"))));
+        Thread.sleep(1100);
+
+        // When
+        Optional<QuoteSnapshot> snapshot = store.getSnapshot("ITUB4", InvestmentType.STOCK);
+
+        // Then
+        assertThat(snapshot).hasValueSatisfying(value -> {
+            assertThat(value.stale()).isTrue();
+            assertThat(value.currentPrice()).isEqualByComparingTo("32.00");
+        });
+        verify(provider, timeout(2000)).getQuotesAsync(List.of("ITUB4"));
+    }
+
+    @Test
+    void getSnapshots_WithManyMisses_ShouldLoadInProviderBatches() throws Exception {
+        // Given
+        when(provider.getQuotesAsync(anyList())).thenAnswer(invocation -> {
+            List<String> symbols = invocation.getArgument(0);
+            return Mono.just(symbols.stream().map(symbol -> quote(symbol, "10.00")).toList());
+        });
+        Map<String, InvestmentType> tickers = new LinkedHashMap<>();
+        tickers.put("PETR4", InvestmentType.STOCK);
+        tickers.put("VALE3", InvestmentType.STOCK);
+        tickers.put("BBAS3", InvestmentType.STOCK);
+
+        // When
+        Map<String, QuoteSnapshot> snapshots = store.getSnapshots(tickers);
+
+        // Then
+        assertThat(snapshots).isEmpty();
+        verify(provider, timeout(2000)).getQuotesAsync(List.of("PETR4", "VALE3"));
+        verify(provider, timeout(2000)).getQuotesAsync(List.of("BBAS3"));
+        awaitSize(3);
+        assertThat(store.getSnapshots(tickers)).containsOnlyKeys("PETR4", "VALE3", "BBAS3");
+        verify(provider, times(2)).getQuotesAsync(anyList());
+    }
+
+    @Test
+    void getSnapshot_WhenProviderFails_ShouldReturnEmpty() {
+        // Given
+        when(provider.getQuotesAsync(List.of("MGLU3"))).thenReturn(Mono.error(new RuntimeException("timeout")));
+
+        // When
+        Optional<QuoteSnapshot> snapshot = store.getSnapshot("MGLU3", InvestmentType.STOCK);
+
+        // Then
+        assertThat(snapshot).isEmpty();
+        verify(provider, timeout(2000)).getQuotesAsync(List.of("MGLU3"));
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void getSnapshot_WhenProviderHangs_ShouldGiveUpAndLoadAgainLater() throws Exception {
+        // Given
+        store.shutdown();
+        store = new QuoteStore(externalMarketDataService, marketDataBudget, 60, 21600, 300, 10000, 1, 50);
+        when(provider.getQuotesAsync(List.of("RENT3"))).thenReturn(Mono.never());
+
+        // When
+        store.getSnapshot("RENT3", InvestmentType.STOCK);
+        verify(provider, timeout(2000)).getQuotesAsync(List.of("RENT3"));
+
+        // Then the hung load times out and releases the symbol, so a later read loads it again
+        Thread.sleep(300);
+        assertThat(store.getSnapshot("RENT3", InvestmentType.STOCK)).isEmpty();
+        verify(provider, timeout(2000).times(2)).getQuotesAsync(List.of("RENT3"));
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void getSnapshot_WhenBudgetIsExhausted_ShouldNotCallProvider() {
+        // Given
+        when(marketDataBudget.tryAcquire(provider, Duration.ZERO)).thenReturn(false);
+
+        // When
+        Optional<QuoteSnapshot> snapshot = store.getSnapshot("WEGE3", InvestmentType.STOCK);
+
+        // Then
+        assertThat(snapshot).isEmpty();
+        verify(marketDataBudget, timeout(2000)).tryAcquire(provider, Duration.ZERO);
+        verify(provider, never()).getQuotesAsync(anyList());
+    }
+
+    @Test
+    void put_BeyondMaxEntries_ShouldEvictQuotes() {
+        // Given
+        store.shutdown();
+        store = new QuoteStore(externalMarketDataService, marketDataBudget, 60, 21600, 300, 2, 4, 1000);
+
+        // When
+        store.put(quote("PETR4", "26.50"), MarketHours.B3);
+        store.put(quote("VALE3", "61.20"), MarketHours.B3);
+        store.put(quote("ITUB4", "32.00"), MarketHours.B3);
+
+        // Then
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void ttl_ShouldFollowExchangeHours() {
+        // Given
+        Instant wednesdayAfternoon = ZonedDateTime.of(2024, 6, 12, 14, 0, 0, 0, SAO_PAULO).toInstant();
+        Instant wednesdayEvening = ZonedDateTime.of(2024, 6, 12, 22, 0, 0, 0, SAO_PAULO).toInstant();
+        Instant saturday = ZonedDateTime.of(2024, 6, 15, 12, 0, 0, 0, SAO_PAULO).toInstant();
+
+        // Then
+        assertThat(store.ttl(MarketHours.B3, wednesdayAfternoon)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(store.ttl(MarketHours.B3, wednesdayEvening)).isEqualTo(Duration.ofHours(6));
+        assertThat(store.ttl(MarketHours.B3, ZonedDateTime.of(2024, 6, 13, 9, 30, 0, 0, SAO_PAULO).toInstant()))
+                .isEqualTo(Duration.ofMinutes(30));
+        assertThat(store.ttl(MarketHours.B3, saturday)).isEqualTo(Duration.ofHours(6));
+    }
+
+    private Optional<QuoteSnapshot> awaitSnapshot(String ticker) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        Optional<QuoteSnapshot> snapshot = store.getSnapshot(ticker, InvestmentType.STOCK);
+        while (snapshot.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            snapshot = store.getSnapshot(ticker, InvestmentType.STOCK);
+        }
+        return snapshot;
+    }
+
+    private void awaitSize(long size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (store.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static MarketQuote quote(String symbol, String price) {
+        return MarketQuote.builder()
+                .symbol(symbol)
+                .currentPrice(new BigDecimal(price))
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+}
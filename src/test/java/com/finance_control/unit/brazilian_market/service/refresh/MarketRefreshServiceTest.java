@@ -0,0 +1,216 @@
+package com.finance_control.unit.brazilian_market.service.refresh;
+
+import com.finance_control.brazilian_market.client.MarketDataProvider;
+import com.finance_control.brazilian_market.client.MarketQuote;
+import com.finance_control.brazilian_market.model.InvestmentType;
+import com.finance_control.brazilian_market.repository.InvestmentRepository;
+import com.finance_control.brazilian_market.repository.projection.StaleTicker;
+import com.finance_control.brazilian_market.service.ExternalMarketDataService;
+import com.finance_control.brazilian_market.service.MarketDataBudget;
+import com.finance_control.brazilian_market.service.quote.QuoteStore;
+import com.finance_control.brazilian_market.service.refresh.MarketRefreshService;
+import com.finance_control.shared.monitoring.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MarketRefreshServiceTest {
+
+    private static final LocalDateTime OLDEST = LocalDateTime.now().minusHours(2);
+
+    @Mock
+    private InvestmentRepository investmentRepository;
+
+    @Mock
+    private ExternalMarketDataService externalMarketDataService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private QuoteStore quoteStore;
+
+    @Mock
+    private MarketDataProvider brazilianProvider;
+
+    @Mock
+    private MarketDataProvider usProvider;
+
+    private MarketRefreshService service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService(30, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void refreshStale_ShouldFetchDistinctTickersInProviderSizedBatches() {
+        // Given - XPML11 is held both as FII and as STOCK by different users
+        when(investmentRepository.findStaleTickers(any())).thenReturn(List.of(
+                new StaleTicker("PETR4", InvestmentType.STOCK, OLDEST),
+                new StaleTicker("XPML11", InvestmentType.FII, OLDEST.plusMinutes(5)),
+                new StaleTicker("XPML11", InvestmentType.STOCK, null),
+                new StaleTicker("VALE3", InvestmentType.STOCK, OLDEST.plusMinutes(10)),
+                new StaleTicker("AAPL", InvestmentType.ETF, OLDEST.plusMinutes(1))));
+        stubProvider(brazilianProvider, "brazilian", 2, InvestmentType.STOCK, InvestmentType.FII);
+        stubProvider(usProvider, "us", 50, InvestmentType.ETF);
+        when(investmentRepository.updateMarketDataByTicker(anyString(), anyCollection(), any(), any(), any(), any(),
+                any(), any(), any())).thenReturn(2);
+
+        // When
+        MarketRefreshService.RefreshResult result = service.refreshStale();
+
+        // Then
+        assertThat(result.tickers()).isEqualTo(4);
+        assertThat(result.batches()).isEqualTo(3);
+        assertThat(result.refreshed()).isEqualTo(4);
+        assertThat(result.investmentsUpdated()).isEqualTo(8);
+        verify(brazilianProvider, times(2)).getQuotesAsync(anyList());
+        verify(usProvider).getQuotesAsync(List.of("AAPL"));
+        verify(investmentRepository).updateMarketDataByTicker(eq("XPML11"),
+                eq(Set.of(InvestmentType.FII, InvestmentType.STOCK)), eq(new BigDecimal("10.00")),
+                any(), any(), any(), any(), any(), any());
+        verify(metricsService).recordMarketDataRefresh(eq(4), eq(0), any(Duration.class));
+        verify(metricsService).setMarketDataRefreshLag(any(Duration.class));
+    }
+
+    @Test
+    void refreshStale_WhenBatchFails_ShouldStillWriteOtherBatches() {
+        // Given
+        when(investmentRepository.findStaleTickers(any())).thenReturn(List.of(
+                new StaleTicker("PETR4", InvestmentType.STOCK, OLDEST),
+                new StaleTicker("AAPL", InvestmentType.ETF, OLDEST)));
+        when(brazilianProvider.getProviderName()).thenReturn("brazilian");
+        when(brazilianProvider.getMaxBatchSize()).thenReturn(10);
+        when(brazilianProvider.getQuotesAsync(anyList())).thenReturn(Mono.error(new RuntimeException("API error")));
+        when(externalMarketDataService.selectProvider(InvestmentType.STOCK)).thenReturn(brazilianProvider);
+        stubProvider(usProvider, "us", 50, InvestmentType.ETF);
+        when(investmentRepository.updateMarketDataByTicker(eq("AAPL"), anyCollection(), any(), any(), any(), any(),
+                any(), any(), any())).thenReturn(1);
+
+        // When
+        MarketRefreshService.RefreshResult result = service.refreshStale();
+
+        // Then
+        assertThat(result.refreshed()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        verify(investmentRepository, never()).updateMarketDataByTicker(eq("PETR4"), anyCollection(), any(), any(),
+                any(), any(), any(), any(), any());
+        verify(metricsService).recordMarketDataRefresh(eq(2), eq(1), any(Duration.class));
+    }
+
+    @Test
+    void refreshStale_WhenProviderHangs_ShouldGiveUpOnTheBatchAfterFetchTimeout() {
+        // Given
+        service.shutdown();
+        service = new MarketRefreshService(investmentRepository, externalMarketDataService, metricsService, quoteStore,
+                new MarketDataBudget(30), 15, 2, 1000, 50);
+        when(investmentRepository.findStaleTickers(any())).thenReturn(List.of(
+                new StaleTicker("PETR4", InvestmentType.STOCK, OLDEST)));
+        when(brazilianProvider.getProviderName()).thenReturn("brazilian");
+        when(brazilianProvider.getMaxBatchSize()).thenReturn(10);
+        when(brazilianProvider.getQuotesAsync(anyList())).thenReturn(Mono.never());
+        when(externalMarketDataService.selectProvider(InvestmentType.STOCK)).thenReturn(brazilianProvider);
+
+        // When
+        MarketRefreshService.RefreshResult result = service.refreshStale();
+
+        // Then
+        assertThat(result.refreshed()).isZero();
+        assertThat(result.failed()).isEqualTo(1);
+        verify(brazilianProvider, never()).getQuotes(anyList());
+        verify(investmentRepository, never()).updateMarketDataByTicker(anyString(), anyCollection(), any(), any(),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void refreshUser_WhenProviderBudgetIsExhausted_ShouldDeferRemainingBatches() {
+        // Given - one request per minute and no waiting for a token
+        service.shutdown();
+        service = newService(1, 0);
+        when(investmentRepository.findStaleTickersByUserId(eq(1L), any())).thenReturn(List.of(
+                new StaleTicker("PETR4", InvestmentType.STOCK, OLDEST),
+                new StaleTicker("VALE3", InvestmentType.STOCK, OLDEST)));
+        stubProvider(brazilianProvider, "brazilian", 1, InvestmentType.STOCK);
+        when(investmentRepository.updateMarketDataByTicker(anyString(), anyCollection(), any(), any(), any(), any(),
+                any(), any(), any())).thenReturn(1);
+
+        // When
+        MarketRefreshService.RefreshResult result = service.refreshUser(1L);
+
+        // Then
+        assertThat(result.batches()).isEqualTo(2);
+        assertThat(result.refreshed()).isEqualTo(1);
+        verify(brazilianProvider, times(1)).getQuotesAsync(anyList());
+    }
+
+    @Test
+    void refreshStale_WithNothingStale_ShouldNotCallProviders() {
+        // Given
+        when(investmentRepository.findStaleTickers(any())).thenReturn(List.of());
+
+        // When
+        MarketRefreshService.RefreshResult result = service.refreshStale();
+
+        // Then
+        assertThat(result.tickers()).isZero();
+        verify(externalMarketDataService, never()).selectProvider(any());
+        verify(metricsService).setMarketDataRefreshLag(Duration.ZERO);
+    }
+
+    private MarketRefreshService newService(int requestsPerMinute, long budgetWaitMs) {
+        return new MarketRefreshService(investmentRepository, externalMarketDataService, metricsService, quoteStore,
+                new MarketDataBudget(requestsPerMinute), 15, 2, budgetWaitMs, 1000);
+    }
+
+    private void stubProvider(MarketDataProvider provider, String name, int batchSize, InvestmentType... types) {
+        when(provider.getProviderName()).thenReturn(name);
+        when(provider.getMaxBatchSize()).thenReturn(batchSize);
+        when(provider.getQuotesAsync(anyList())).thenAnswer(invocation -> {
+            List<String> symbols = invocation.getArgument(0);
+            return Mono.just(symbols.stream().map(MarketRefreshServiceTest::quote).toList());
+        });
+        for (InvestmentType type : types) {
+            when(externalMarketDataService.selectProvider(type)).thenReturn(provider);
+        }
+    }
+
+    private static MarketQuote quote(String symbol) {
+        return MarketQuote.builder()
+                .symbol(symbol)
+                .currentPrice(new BigDecimal("10.00"))
+                .previousClose(new BigDecimal("9.50"))
+                .dayChange(new BigDecimal("0.50"))
+                .dayChangePercent(new BigDecimal("5.26"))
+                .volume(1000L)
+                .lastUpdated(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.finance_control.unit.dashboard.cache;
+
+import com.finance_control.dashboard.cache.DashboardCacheEvictor;
+import com.finance_control.dashboard.cache.DashboardCacheInvalidationBroadcaster;
+import com.finance_control.dashboard.cache.DashboardCacheInvalidator;
+import com.finance_control.shared.event.UserDataChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCacheInvalidatorTest {
+
+    @Mock
+    private DashboardCacheEvictor failingEvictor;
+
+    @Mock
+    private DashboardCacheEvictor sharedEvictor;
+
+    @Mock
+    private ObjectProvider<DashboardCacheEvictor> sharedEvictors;
+
+    @Mock
+    private ObjectProvider<DashboardCacheInvalidationBroadcaster> broadcaster;
+
+    private Cache dashboardCache;
+    private DashboardCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("dashboard");
+        dashboardCache = cacheManager.getCache("dashboard");
+        invalidator = new DashboardCacheInvalidator(cacheManager, sharedEvictors, broadcaster);
+
+        dashboardCache.put("getDashboardSummary_1", "summary-1");
+        dashboardCache.put("getMonthlyTrends_1_12", "trends-1");
+        dashboardCache.put("getFinancialMetrics_1_2024-01-01_2024-12-31", "metrics-1");
+        dashboardCache.put("getDashboardSummary_11", "summary-11");
+        dashboardCache.put("getMonthlyTrends_2_12", "trends-2");
+    }
+
+    @Test
+    void evictLocal_ShouldRemoveOnlyEntriesOfTheUser() {
+        int evicted = invalidator.evictLocal(1L);
+
+        assertThat(evicted).isEqualTo(3);
+        assertThat(dashboardCache.get("getDashboardSummary_1")).isNull();
+        assertThat(dashboardCache.get("getMonthlyTrends_1_12")).isNull();
+        assertThat(dashboardCache.get("getFinancialMetrics_1_2024-01-01_2024-12-31")).isNull();
+        assertThat(dashboardCache.get("getDashboardSummary_11")).isNotNull();
+        assertThat(dashboardCache.get("getMonthlyTrends_2_12")).isNotNull();
+    }
+
+    @Test
+    void onUserDataChanged_ShouldEvictEveryTierEvenWhenOneFails() {
+        when(sharedEvictors.orderedStream()).thenReturn(Stream.of(failingEvictor, sharedEvictor));
+        doThrow(new IllegalStateException("unavailable")).when(failingEvictor).evictUser(2L);
+
+        invalidator.onUserDataChanged(new UserDataChangedEvent(2L, UserDataChangedEvent.Source.TRANSACTION));
+
+        assertThat(dashboardCache.get("getMonthlyTrends_2_12")).isNull();
+        assertThat(dashboardCache.get("getDashboardSummary_1")).isNotNull();
+        verify(sharedEvictor).evictUser(2L);
+    }
+}
@@ -0,0 +1,165 @@
+package com.finance_control.unit.dashboard.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance_control.dashboard.cache.DashboardCacheEvictor;
+import com.finance_control.dashboard.cache.DashboardCacheInvalidationBroadcaster;
+import com.finance_control.dashboard.cache.DashboardCacheInvalidator;
+import com.finance_control.dashboard.cache.DashboardCacheStore;
+import com.finance_control.dashboard.cache.TieredDashboardCache;
+import com.finance_control.dashboard.cache.TieredDashboardCacheManager;
+import com.finance_control.dashboard.repository.DashboardCacheRepository;
+import com.finance_control.shared.event.UserDataChangedEvent;
+import com.finance_control.shared.monitoring.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardCacheStoreTest {
+
+    private static final String KEY = "getDashboardSummary_1";
+    private static final String BLOCKING_KEY = "getDashboardSummary_2";
+    private static final String LATER_KEY = "getDashboardSummary_3";
+
+    @Mock
+    private DashboardCacheRepository repository;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ObjectProvider<DashboardCacheEvictor> sharedEvictors;
+
+    @Mock
+    private ObjectProvider<DashboardCacheInvalidationBroadcaster> broadcaster;
+
+    private final Map<String, String> rows = new ConcurrentHashMap<>();
+    private final CountDownLatch writeBehindReleased = new CountDownLatch(1);
+
+    private DashboardCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DashboardCacheStore(repository, metricsService, new ObjectMapper(), 14_400_000L, 10);
+
+        lenient().when(repository.findCacheData(anyLong(), anyString(), any()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<String>getArgument(1))));
+        lenient().doAnswer(invocation -> {
+            if (BLOCKING_KEY.equals(invocation.getArgument(1))) {
+                writeBehindReleased.await(5, TimeUnit.SECONDS);
+            }
+            rows.put(invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(repository).upsert(anyLong(), anyString(), anyString(), any());
+        lenient().when(repository.deleteByUserId(1L)).thenAnswer(invocation -> {
+            rows.remove(KEY);
+            return 1;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehindReleased.countDown();
+    }
+
+    @Test
+    void readAfterDataChange_WhileWriteBehindIsBusy_ShouldNotReturnOldSummary() {
+        // Given an old summary in both tiers and a write-behind thread stuck on another user's write
+        rows.put(KEY, "\"old-summary\"");
+        ConcurrentMapCache local = new ConcurrentMapCache(TieredDashboardCacheManager.DASHBOARD_CACHE);
+        TieredDashboardCache cache = new TieredDashboardCache(local, store);
+        local.put(KEY, "old-summary");
+        store.storeAsync(BLOCKING_KEY, "other-user-summary");
+        verify(repository, timeout(1000)).upsert(eq(2L), eq(BLOCKING_KEY), anyString(), any());
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.afterPropertiesSet();
+        when(sharedEvictors.orderedStream()).thenReturn(Stream.of(store));
+        DashboardCacheInvalidator invalidator = new DashboardCacheInvalidator(cacheManager, sharedEvictors, broadcaster);
+
+        // When the user's data changes and the dashboard is read before the queue drains
+        invalidator.onUserDataChanged(new UserDataChangedEvent(1L, UserDataChangedEvent.Source.TRANSACTION));
+
+        // Then neither tier serves the old summary
+        assertThat(cache.get(KEY)).isNull();
+        assertThat(local.get(KEY)).isNull();
+    }
+
+    @Test
+    void writeQueuedBeforeUserEviction_ShouldNotBePersisted() {
+        // Given a write for the user queued behind another user's slow write
+        store.storeAsync(BLOCKING_KEY, "other-user-summary");
+        verify(repository, timeout(1000)).upsert(eq(2L), eq(BLOCKING_KEY), anyString(), any());
+        store.storeAsync(KEY, "old-summary");
+
+        // When the user is evicted before the queue drains
+        store.evictUser(1L);
+        store.storeAsync(LATER_KEY, "later-summary");
+        writeBehindReleased.countDown();
+
+        // Then the stale write is discarded while later writes still run
+        verify(repository, timeout(1000)).upsert(eq(3L), eq(LATER_KEY), anyString(), any());
+        verify(repository, never()).upsert(eq(1L), eq(KEY), anyString(), any());
+        assertThat(store.load(KEY)).isNull();
+    }
+
+    @Test
+    void evictAndClear_WhenWriteQueueIsFull_ShouldStillRun() {
+        // Given a stuck write-behind thread and a full queue
+        store.storeAsync(BLOCKING_KEY, "other-user-summary");
+        verify(repository, timeout(1000)).upsert(eq(2L), eq(BLOCKING_KEY), anyString(), any());
+        for (int i = 0; i <= 10; i++) {
+            store.storeAsync("getMonthlyTrends_3_" + i, "trends");
+        }
+        verify(metricsService).incrementPersistentCacheWriteDropped();
+
+        // When
+        store.evict(KEY);
+        store.clear();
+
+        // Then both ran on the caller instead of being dropped
+        verify(repository).deleteByUserIdAndCacheKey(1L, KEY);
+        verify(repository).deleteAllEntries();
+    }
+
+    @Test
+    void evictAndClear_WhenStoreDeleteFails_ShouldThrow() {
+        // Given
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("connection lost");
+        when(repository.deleteByUserIdAndCacheKey(1L, KEY)).thenThrow(failure);
+        when(repository.deleteAllEntries()).thenThrow(failure);
+
+        // When / Then the caller sees the failure instead of the old entry staying readable
+        assertThatThrownBy(() -> store.evict(KEY)).isSameAs(failure);
+        assertThatThrownBy(() -> store.clear()).isSameAs(failure);
+    }
+}
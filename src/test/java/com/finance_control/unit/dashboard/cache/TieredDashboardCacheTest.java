@@ -0,0 +1,93 @@
+package com.finance_control.unit.dashboard.cache;
+
+import com.finance_control.dashboard.cache.DashboardCacheStore;
+import com.finance_control.dashboard.cache.TieredDashboardCache;
+import com.finance_control.dashboard.dto.DashboardSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TieredDashboardCacheTest {
+
+    private static final String KEY = "getDashboardSummary_1";
+
+    @Mock
+    private DashboardCacheStore store;
+
+    private ConcurrentMapCache local;
+    private TieredDashboardCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = new ConcurrentMapCache("dashboard");
+        cache = new TieredDashboardCache(local, store);
+    }
+
+    @Test
+    void get_WhenInLocalCache_ShouldNotHitStore() {
+        DashboardSummaryDTO summary = summary();
+        local.put(KEY, summary);
+
+        Cache.ValueWrapper result = cache.get(KEY);
+
+        assertThat(result).isNotNull();
+        assertThat(result.get()).isSameAs(summary);
+        verify(store, never()).load(KEY);
+    }
+
+    @Test
+    void get_WhenOnlyInStore_ShouldPopulateLocalCache() {
+        DashboardSummaryDTO summary = summary();
+        when(store.load(KEY)).thenReturn(summary);
+
+        Cache.ValueWrapper result = cache.get(KEY);
+
+        assertThat(result).isNotNull();
+        assertThat(result.get()).isEqualTo(summary);
+        assertThat(local.get(KEY)).isNotNull();
+    }
+
+    @Test
+    void get_WhenMissingEverywhere_ShouldReturnNull() {
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    void put_ShouldWriteLocallyAndBehindToStore() {
+        DashboardSummaryDTO summary = summary();
+
+        cache.put(KEY, summary);
+
+        assertThat(local.get(KEY).get()).isSameAs(summary);
+        verify(store).storeAsync(KEY, summary);
+    }
+
+    @Test
+    void evict_ShouldRemoveFromBothTiers() {
+        local.put(KEY, summary());
+
+        cache.evict(KEY);
+
+        assertThat(local.get(KEY)).isNull();
+        verify(store).evict(KEY);
+    }
+
+    private DashboardSummaryDTO summary() {
+        return DashboardSummaryDTO.builder()
+                .totalIncome(BigDecimal.valueOf(1000))
+                .totalExpenses(BigDecimal.valueOf(400))
+                .build();
+    }
+}
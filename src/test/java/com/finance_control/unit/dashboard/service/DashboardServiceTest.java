@@ -14,6 +14,8 @@ import java.time.Instant;
 import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
 import com.finance_control.users.model.User;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,7 +38,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
-import org.mockito.stubbing.Answer;
 
 /**
  * Unit tests for DashboardService.
@@ -53,6 +55,9 @@ class DashboardServiceTest {
     @Mock
     private MetricsService metricsService;
 
+    @Mock
+    private UserMonthlyRollupService userMonthlyRollupService;
+
     @Mock
     private SupabaseRealtimeService realtimeService;
 
@@ -87,32 +92,12 @@ class DashboardServiceTest {
     @Test
     void getDashboardSummary_ShouldReturnCompleteSummary() {
         // Given
-        Transaction incomeTransaction = createTransaction(TransactionType.INCOME, BigDecimal.valueOf(5000.00));
-        Transaction expenseTransaction = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(3000.00));
-
-        // Mock repository calls - use Answer to distinguish between monthly and year-to-date calls
-        // Monthly calls use start/end of month, year-to-date uses start/end of year
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenAnswer((Answer<BigDecimal>) invocation -> {
-                    LocalDateTime startDate = invocation.getArgument(2);
-                    // If start date is day 1 of year, it's a year-to-date call
-                    if (startDate.toLocalDate().getDayOfYear() == 1) {
-                        return BigDecimal.valueOf(60000.00); // Year-to-date income
-                    }
-                    return BigDecimal.valueOf(5000.00); // Monthly income
-                });
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenAnswer((Answer<BigDecimal>) invocation -> {
-                    LocalDateTime startDate = invocation.getArgument(2);
-                    // If start date is day 1 of year, it's a year-to-date call
-                    if (startDate.toLocalDate().getDayOfYear() == 1) {
-                        return BigDecimal.valueOf(40000.00); // Year-to-date expenses
-                    }
-                    return BigDecimal.valueOf(3000.00); // Monthly expenses
-                });
-
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                .thenReturn(List.of(incomeTransaction, expenseTransaction));
+        YearMonth currentMonth = YearMonth.now();
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(currentMonth, TransactionType.INCOME, "Salary", false, 1, BigDecimal.valueOf(5000.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Test Category", false, 1, BigDecimal.valueOf(3000.00)),
+                // Previous year rows count towards totals but not towards the year-to-date net worth
+                aggregateRow(currentMonth.minusYears(1), TransactionType.INCOME, "Salary", true, 3, BigDecimal.valueOf(55000.00))));
 
         FinancialGoal activeGoal = createFinancialGoal(true);
         FinancialGoal completedGoal = createFinancialGoal(true);
@@ -132,11 +117,14 @@ class DashboardServiceTest {
         assertThat(result.getTotalExpenses()).isEqualByComparingTo(BigDecimal.valueOf(3000.00));
         assertThat(result.getMonthlyBalance()).isEqualByComparingTo(BigDecimal.valueOf(2000.00));
         assertThat(result.getSavingsRate()).isEqualByComparingTo(BigDecimal.valueOf(40.00)); // (5000-3000)/5000 * 100
-        assertThat(result.getNetWorth()).isEqualByComparingTo(BigDecimal.valueOf(20000.00)); // 60000 - 40000
+        assertThat(result.getNetWorth()).isEqualByComparingTo(BigDecimal.valueOf(2000.00)); // current year only
         assertThat(result.getActiveGoals()).isEqualTo(1);
         assertThat(result.getCompletedGoals()).isEqualTo(1);
-        assertThat(result.getTotalTransactions()).isEqualTo(2);
-        assertThat(result.getPendingReconciliations()).isEqualTo(2); // Both transactions unreconciled
+        assertThat(result.getTotalTransactions()).isEqualTo(5);
+        assertThat(result.getPendingReconciliations()).isEqualTo(2); // Only current month rows are unreconciled
+        assertThat(result.getTopSpendingCategories()).hasSize(1);
+        assertThat(result.getMonthlyTrends()).hasSize(12);
+        assertThat(result.getMonthlyTrends().get(11).getTransactionCount()).isEqualTo(2);
         assertThat(result.getLastUpdated()).isNotNull();
 
         verify(metricsService).startDashboardGenerationTimer();
@@ -144,15 +132,29 @@ class DashboardServiceTest {
     }
 
     @Test
-    void getDashboardSummary_WithZeroIncome_ShouldReturnZeroSavingsRate() {
+    void getDashboardSummary_ShouldReadFromMonthlyRollup() {
         // Given
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenReturn(BigDecimal.ZERO);
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenReturn(BigDecimal.valueOf(1000.00));
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(YearMonth.now(), TransactionType.EXPENSE, "Food", false, 10, BigDecimal.valueOf(100.00))));
+        when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
+                .thenReturn(new ArrayList<>());
+        when(financialGoalRepository.findCompletedGoals(1L))
                 .thenReturn(new ArrayList<>());
 
+        // When
+        dashboardService.getDashboardSummary();
+
+        // Then - every transaction figure comes from the monthly rollup
+        verify(userMonthlyRollupService, times(1)).getMonthlyAggregates(1L);
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getDashboardSummary_WithZeroIncome_ShouldReturnZeroSavingsRate() {
+        // Given
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(YearMonth.now(), TransactionType.EXPENSE, "Test Category", false, 1, BigDecimal.valueOf(1000.00))));
+
         when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
                 .thenReturn(new ArrayList<>());
         when(financialGoalRepository.findCompletedGoals(1L))
@@ -244,26 +246,14 @@ class DashboardServiceTest {
     @Test
     void getTopSpendingCategories_ShouldReturnSortedCategories() {
         // Given
-        LocalDate currentMonthStart = java.time.YearMonth.now().atDay(1);
-
-        TransactionCategory category1 = new TransactionCategory();
-        category1.setId(1L);
-        category1.setName("Food");
-
-        TransactionCategory category2 = new TransactionCategory();
-        category2.setId(2L);
-        category2.setName("Transport");
-
-        Transaction expense1 = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(1000.00));
-        expense1.setCategory(category1);
-        expense1.setDate(currentMonthStart.plusDays(5).atStartOfDay()); // Within current month
+        YearMonth currentMonth = YearMonth.now();
 
-        Transaction expense2 = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(500.00));
-        expense2.setCategory(category2);
-        expense2.setDate(currentMonthStart.plusDays(10).atStartOfDay()); // Within current month
-
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                .thenReturn(List.of(expense1, expense2));
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Transport", false, 1, BigDecimal.valueOf(500.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Food", false, 1, BigDecimal.valueOf(600.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Food", true, 1, BigDecimal.valueOf(400.00)),
+                aggregateRow(currentMonth, TransactionType.INCOME, "Salary", false, 1, BigDecimal.valueOf(9000.00)),
+                aggregateRow(currentMonth.minusMonths(1), TransactionType.EXPENSE, "Travel", false, 1, BigDecimal.valueOf(7000.00))));
 
         // When
         List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 5);
@@ -272,7 +262,9 @@ class DashboardServiceTest {
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getCategoryName()).isEqualTo("Food");
         assertThat(result.get(0).getAmount()).isEqualByComparingTo(BigDecimal.valueOf(1000.00));
+        assertThat(result.get(0).getTransactionCount()).isEqualTo(2);
         assertThat(result.get(0).getPercentage()).isEqualByComparingTo(BigDecimal.valueOf(66.67)); // 1000/1500 * 100
+        assertThat(result.get(0).getColor()).isNotNull();
         assertThat(result.get(1).getCategoryName()).isEqualTo("Transport");
         assertThat(result.get(1).getAmount()).isEqualByComparingTo(BigDecimal.valueOf(500.00));
     }
@@ -280,7 +272,7 @@ class DashboardServiceTest {
     @Test
     void getTopSpendingCategories_WithZeroExpenses_ShouldReturnZeroPercentages() {
         // Given
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
+        when(userMonthlyRollupService.getMonthlyAggregates(1L))
                 .thenReturn(new ArrayList<>());
 
         // When
@@ -293,35 +285,28 @@ class DashboardServiceTest {
     @Test
     void getMonthlyTrends_ShouldReturnLastNMonths() {
         // Given
-        LocalDate currentMonthStart = java.time.YearMonth.now().atDay(1);
-
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenReturn(BigDecimal.valueOf(5000.00));
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenReturn(BigDecimal.valueOf(3000.00));
-
-        // Create transactions for each of the last 3 months
-        Transaction t1 = createTransaction(TransactionType.INCOME, BigDecimal.valueOf(1000.00));
-        t1.setDate(currentMonthStart.minusMonths(2).plusDays(5).atStartOfDay());
-        Transaction t2 = createTransaction(TransactionType.INCOME, BigDecimal.valueOf(1000.00));
-        t2.setDate(currentMonthStart.minusMonths(1).plusDays(5).atStartOfDay());
-        Transaction t3 = createTransaction(TransactionType.INCOME, BigDecimal.valueOf(1000.00));
-        t3.setDate(currentMonthStart.plusDays(5).atStartOfDay());
-
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                .thenReturn(List.of(t1, t2, t3));
+        YearMonth currentMonth = YearMonth.now();
+        List<TransactionMonthlyAggregate> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(aggregateRow(currentMonth.minusMonths(i), TransactionType.INCOME, "Salary", false, 1, BigDecimal.valueOf(5000.00)));
+            rows.add(aggregateRow(currentMonth.minusMonths(i), TransactionType.EXPENSE, "Food", false, 1, BigDecimal.valueOf(3000.00)));
+        }
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(rows);
 
         // When
         List<MonthlyTrendDTO> result = dashboardService.getMonthlyTrends(1L, 3);
 
         // Then
         assertThat(result).hasSize(3);
+        assertThat(result.get(0).getMonth()).isEqualTo(currentMonth.minusMonths(2).atDay(1));
+        assertThat(result.get(2).getMonth()).isEqualTo(currentMonth.atDay(1));
         result.forEach(trend -> {
             assertThat(trend.getIncome()).isEqualByComparingTo(BigDecimal.valueOf(5000.00));
             assertThat(trend.getExpenses()).isEqualByComparingTo(BigDecimal.valueOf(3000.00));
             assertThat(trend.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(2000.00));
-            assertThat(trend.getTransactionCount()).isEqualTo(1);
+            assertThat(trend.getTransactionCount()).isEqualTo(2);
         });
+        verify(userMonthlyRollupService, times(1)).getMonthlyAggregates(1L);
     }
 
     @Test
@@ -348,7 +333,8 @@ class DashboardServiceTest {
         DashboardService serviceWithoutRealtime = new DashboardService(
                 transactionRepository,
                 financialGoalRepository,
-                metricsService
+                metricsService,
+                userMonthlyRollupService
         );
 
         // When - Should not throw exception
@@ -411,11 +397,7 @@ class DashboardServiceTest {
 
     @Test
     void getDashboardSummary_WithEmptyGoals_ShouldReturnZeroProgress() {
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenReturn(BigDecimal.ZERO);
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenReturn(BigDecimal.ZERO);
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
+        when(userMonthlyRollupService.getMonthlyAggregates(1L))
                 .thenReturn(new ArrayList<>());
 
         when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
@@ -440,11 +422,7 @@ class DashboardServiceTest {
         goal2.setCurrentAmount(BigDecimal.valueOf(3000.00));
         goal2.setTargetAmount(BigDecimal.valueOf(10000.00));
 
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenReturn(BigDecimal.ZERO);
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenReturn(BigDecimal.ZERO);
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
+        when(userMonthlyRollupService.getMonthlyAggregates(1L))
                 .thenReturn(new ArrayList<>());
 
         when(financialGoalRepository.findByUserIdAndIsActiveTrueOrderByCreatedAtDesc(1L))
@@ -507,34 +485,12 @@ class DashboardServiceTest {
 
     @Test
     void getTopSpendingCategories_WithLimit_ShouldEnforceLimit() {
-        LocalDate currentMonthStart = java.time.YearMonth.now().atDay(1);
-
-        TransactionCategory category1 = new TransactionCategory();
-        category1.setId(1L);
-        category1.setName("Food");
-
-        TransactionCategory category2 = new TransactionCategory();
-        category2.setId(2L);
-        category2.setName("Transport");
-
-        TransactionCategory category3 = new TransactionCategory();
-        category3.setId(3L);
-        category3.setName("Entertainment");
+        YearMonth currentMonth = YearMonth.now();
 
-        Transaction expense1 = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(1000.00));
-        expense1.setCategory(category1);
-        expense1.setDate(currentMonthStart.plusDays(5).atStartOfDay()); // Within current month
-
-        Transaction expense2 = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(500.00));
-        expense2.setCategory(category2);
-        expense2.setDate(currentMonthStart.plusDays(10).atStartOfDay()); // Within current month
-
-        Transaction expense3 = createTransaction(TransactionType.EXPENSE, BigDecimal.valueOf(200.00));
-        expense3.setCategory(category3);
-        expense3.setDate(currentMonthStart.plusDays(15).atStartOfDay()); // Within current month
-
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                .thenReturn(List.of(expense1, expense2, expense3));
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Entertainment", false, 1, BigDecimal.valueOf(200.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Food", false, 1, BigDecimal.valueOf(1000.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Transport", false, 1, BigDecimal.valueOf(500.00))));
 
         List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 2);
 
@@ -545,7 +501,7 @@ class DashboardServiceTest {
 
     @Test
     void getTopSpendingCategories_WithEmptyExpenses_ShouldReturnEmptyList() {
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
+        when(userMonthlyRollupService.getMonthlyAggregates(1L))
                 .thenReturn(new ArrayList<>());
 
         List<CategorySpendingDTO> result = dashboardService.getTopSpendingCategories(1L, 5);
@@ -566,12 +522,10 @@ class DashboardServiceTest {
 
     @Test
     void getMonthlyTrends_WithOneMonth_ShouldReturnSingleTrend() {
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.INCOME), any(), any()))
-                .thenReturn(BigDecimal.valueOf(5000.00));
-        when(transactionRepository.sumByUserAndTypeAndDateBetween(eq(1L), eq(TransactionType.EXPENSE), any(), any()))
-                .thenReturn(BigDecimal.valueOf(3000.00));
-        when(transactionRepository.findByUserIdWithResponsibilities(1L))
-                .thenReturn(List.of(createTransaction(TransactionType.INCOME, BigDecimal.valueOf(1000.00))));
+        YearMonth currentMonth = YearMonth.now();
+        when(userMonthlyRollupService.getMonthlyAggregates(1L)).thenReturn(List.of(
+                aggregateRow(currentMonth, TransactionType.INCOME, "Salary", false, 1, BigDecimal.valueOf(5000.00)),
+                aggregateRow(currentMonth, TransactionType.EXPENSE, "Food", false, 1, BigDecimal.valueOf(3000.00))));
 
         List<MonthlyTrendDTO> result = dashboardService.getMonthlyTrends(1L, 1);
 
@@ -620,6 +574,12 @@ class DashboardServiceTest {
         return transaction;
     }
 
+    private TransactionMonthlyAggregate aggregateRow(YearMonth month, TransactionType type, String category,
+                                                     boolean reconciled, long count, BigDecimal amount) {
+        return new TransactionMonthlyAggregate(month.getYear(), month.getMonthValue(), type, category,
+                count, reconciled ? 0L : count, amount);
+    }
+
     private FinancialGoal createFinancialGoal(boolean isActive) {
         FinancialGoal goal = new FinancialGoal();
         goal.setId(1L);
@@ -0,0 +1,245 @@
+package com.finance_control.unit.jobs.service;
+
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.jobs.model.BackgroundJob;
+import com.finance_control.jobs.repository.BackgroundJobRepository;
+import com.finance_control.jobs.service.JobHandler;
+import com.finance_control.jobs.service.JobProgressPublisher;
+import com.finance_control.jobs.service.JobRunner;
+import com.finance_control.jobs.service.JobService;
+import com.finance_control.jobs.storage.JobResultStorage;
+import com.finance_control.shared.service.FileCompressionService;
+import com.finance_control.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobRunnerTest {
+
+    private static final String LOCATION = "jobs/1/10-1.deflate";
+
+    @Mock
+    private BackgroundJobRepository jobRepository;
+
+    @Mock
+    private JobHandler handler;
+
+    @Mock
+    private JobResultStorage resultStorage;
+
+    @Mock
+    private FileCompressionService compressionService;
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private JobProgressPublisher progressPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JobRunner runner;
+    private JobRunner.ClaimedJob claimed;
+
+    @BeforeEach
+    void setUp() {
+        runner = new JobRunner(jobRepository, List.of(handler), resultStorage, compressionService, jobService,
+                progressPublisher, transactionManager, 24);
+        claimed = new JobRunner.ClaimedJob(10L, 1L, JobType.SUMMARY_REPORT, Map.of(), 1);
+    }
+
+    @Test
+    void run_ShouldStoreCompressedResultAndCompleteJob() throws IOException {
+        stubSuccessfulHandler();
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(jobRepository.completeAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.COMPLETED),
+                eq(LOCATION), eq("summary.json"), eq("application/json"), eq(7L), any(), expiresAt.capture()))
+                .thenReturn(1);
+
+        runner.run(claimed);
+
+        assertThat(expiresAt.getValue()).isAfter(LocalDateTime.now().plusHours(23));
+        verify(resultStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void run_WhenCancelledWhileRunning_ShouldDiscardResult() throws IOException {
+        stubSuccessfulHandler();
+        when(jobRepository.completeAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.COMPLETED),
+                eq(LOCATION), any(), any(), eq(7L), any(), any())).thenReturn(0);
+
+        runner.run(claimed);
+
+        verify(resultStorage).delete(LOCATION);
+    }
+
+    @Test
+    void run_WhenReclaimedWhileRunning_ShouldDeleteOnlyItsOwnResult() throws IOException {
+        // The job was requeued and claimed again (attempt 2) while attempt 1 was still running
+        stubSuccessfulHandler();
+        when(jobRepository.completeAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.COMPLETED),
+                eq(LOCATION), any(), any(), eq(7L), any(), any())).thenReturn(0);
+
+        runner.run(claimed);
+
+        verify(resultStorage).delete(LOCATION);
+        verify(resultStorage, never()).delete("jobs/1/10-2.deflate");
+        verify(jobRepository, never()).failAttempt(any(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void run_WhenHandlerFails_ShouldMarkJobFailed() throws IOException {
+        when(handler.supports(JobType.SUMMARY_REPORT)).thenReturn(true);
+        when(compressionService.compressingStream(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(handler.run(any(), any())).thenThrow(new IllegalStateException("boom"));
+        when(jobRepository.failAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.FAILED),
+                eq("boom"), any())).thenReturn(1);
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job(JobStatus.FAILED, 1)));
+
+        runner.run(claimed);
+
+        verify(progressPublisher).publish(eq(1L), any());
+        verify(resultStorage, never()).store(anyString(), any());
+    }
+
+    @Test
+    void recoverStale_ShouldRequeueJobsWithAttemptsLeftAndFailTheRest() {
+        BackgroundJob retryable = job(JobStatus.RUNNING, 1);
+        BackgroundJob exhausted = job(JobStatus.RUNNING, 3);
+        exhausted.setId(11L);
+        LocalDateTime staleBefore = LocalDateTime.now();
+        when(jobRepository.findStale(JobStatus.RUNNING, staleBefore)).thenReturn(List.of(retryable, exhausted));
+        when(jobRepository.requeueAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.QUEUED), any()))
+                .thenReturn(1);
+        when(jobRepository.failAttempt(eq(11L), eq(3), eq(JobStatus.RUNNING), eq(JobStatus.FAILED),
+                eq("Job worker stopped responding"), any())).thenReturn(1);
+
+        int recovered = runner.recoverStale(staleBefore, 3);
+
+        assertThat(recovered).isEqualTo(2);
+    }
+
+    @Test
+    void recoverStale_WhenJobCompletedMeanwhile_ShouldNotRequeueIt() {
+        BackgroundJob job = job(JobStatus.RUNNING, 1);
+        LocalDateTime staleBefore = LocalDateTime.now();
+        when(jobRepository.findStale(JobStatus.RUNNING, staleBefore)).thenReturn(List.of(job));
+        when(jobRepository.requeueAttempt(eq(10L), eq(1), eq(JobStatus.RUNNING), eq(JobStatus.QUEUED), any()))
+                .thenReturn(0);
+
+        assertThat(runner.recoverStale(staleBefore, 3)).isZero();
+    }
+
+    @Test
+    void claimNext_ShouldStartNextAttempt() {
+        BackgroundJob job = job(JobStatus.QUEUED, 1);
+        when(jobRepository.lockNextClaimable(1, List.of(0L))).thenReturn(Optional.of(10L));
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+        when(jobRepository.tryLockUserClaims(1L)).thenReturn(true);
+        when(jobRepository.countByUserIdAndStatusIn(1L, List.of(JobStatus.RUNNING))).thenReturn(0L);
+
+        Optional<JobRunner.ClaimedJob> result = runner.claimNext(1);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().attempt()).isEqualTo(2);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.RUNNING);
+    }
+
+    @Test
+    void claimNext_WhenAnotherInstanceClaimedForTheUser_ShouldNotClaim() {
+        BackgroundJob job = job(JobStatus.QUEUED, 0);
+        when(jobRepository.lockNextClaimable(1, List.of(0L))).thenReturn(Optional.of(10L));
+        when(jobRepository.lockNextClaimable(1, List.of(0L, 1L))).thenReturn(Optional.empty());
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+        when(jobRepository.tryLockUserClaims(1L)).thenReturn(true);
+        when(jobRepository.countByUserIdAndStatusIn(1L, List.of(JobStatus.RUNNING))).thenReturn(1L);
+
+        assertThat(runner.claimNext(1)).isEmpty();
+        assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(job.getAttempts()).isZero();
+    }
+
+    @Test
+    void claimNext_WhenUserClaimsAreLockedElsewhere_ShouldNotClaim() {
+        BackgroundJob job = job(JobStatus.QUEUED, 0);
+        when(jobRepository.lockNextClaimable(1, List.of(0L))).thenReturn(Optional.of(10L));
+        when(jobRepository.lockNextClaimable(1, List.of(0L, 1L))).thenReturn(Optional.empty());
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+        when(jobRepository.tryLockUserClaims(1L)).thenReturn(false);
+
+        assertThat(runner.claimNext(1)).isEmpty();
+        verify(jobRepository, never()).countByUserIdAndStatusIn(any(), any());
+    }
+
+    @Test
+    void claimNext_WhenUserClaimsAreLockedElsewhere_ShouldClaimAnotherUsersJob() {
+        BackgroundJob lockedUserJob = job(JobStatus.QUEUED, 0);
+        BackgroundJob otherUserJob = job(JobStatus.QUEUED, 0);
+        otherUserJob.setId(11L);
+        otherUserJob.getUser().setId(2L);
+        when(jobRepository.lockNextClaimable(1, List.of(0L))).thenReturn(Optional.of(10L));
+        when(jobRepository.lockNextClaimable(1, List.of(0L, 1L))).thenReturn(Optional.of(11L));
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(lockedUserJob));
+        when(jobRepository.findById(11L)).thenReturn(Optional.of(otherUserJob));
+        when(jobRepository.tryLockUserClaims(1L)).thenReturn(false);
+        when(jobRepository.tryLockUserClaims(2L)).thenReturn(true);
+        when(jobRepository.countByUserIdAndStatusIn(2L, List.of(JobStatus.RUNNING))).thenReturn(0L);
+
+        Optional<JobRunner.ClaimedJob> result = runner.claimNext(1);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().id()).isEqualTo(11L);
+        assertThat(result.get().userId()).isEqualTo(2L);
+        assertThat(lockedUserJob.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(otherUserJob.getStatus()).isEqualTo(JobStatus.RUNNING);
+    }
+
+    private void stubSuccessfulHandler() throws IOException {
+        when(handler.supports(JobType.SUMMARY_REPORT)).thenReturn(true);
+        when(compressionService.compressingStream(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(handler.run(any(), any())).thenAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("summary".getBytes(StandardCharsets.UTF_8));
+            return new JobHandler.JobOutput("summary.json", "application/json");
+        });
+        when(resultStorage.store(eq(LOCATION), any(Path.class))).thenReturn(LOCATION);
+    }
+
+    private BackgroundJob job(JobStatus status, int attempts) {
+        BackgroundJob job = new BackgroundJob();
+        job.setId(10L);
+        User user = new User();
+        user.setId(1L);
+        job.setUser(user);
+        job.setType(JobType.SUMMARY_REPORT);
+        job.setStatus(status);
+        job.setAttempts(attempts);
+        job.setHeartbeatAt(LocalDateTime.now().minusHours(1));
+        return job;
+    }
+}
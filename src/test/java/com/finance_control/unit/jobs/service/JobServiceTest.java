@@ -0,0 +1,155 @@
+package com.finance_control.unit.jobs.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance_control.jobs.dto.JobDTO;
+import com.finance_control.jobs.dto.JobSubmitRequest;
+import com.finance_control.jobs.enums.JobStatus;
+import com.finance_control.jobs.enums.JobType;
+import com.finance_control.jobs.model.BackgroundJob;
+import com.finance_control.jobs.repository.BackgroundJobRepository;
+import com.finance_control.jobs.service.JobService;
+import com.finance_control.jobs.storage.JobResultStorage;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.feature.Feature;
+import com.finance_control.shared.feature.FeatureFlagService;
+import com.finance_control.shared.service.FileCompressionService;
+import com.finance_control.users.model.User;
+import com.finance_control.users.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    @Mock
+    private BackgroundJobRepository jobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FeatureFlagService featureFlagService;
+
+    @Mock
+    private JobResultStorage resultStorage;
+
+    @Mock
+    private FileCompressionService compressionService;
+
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new JobService(jobRepository, userRepository, featureFlagService, resultStorage,
+                compressionService, new ObjectMapper(), 2);
+        UserContext.setCurrentUserId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void submit_ShouldQueueJobForCurrentUser() {
+        User user = new User();
+        user.setId(1L);
+        when(jobRepository.countByUserIdAndStatusIn(1L, JobStatus.PENDING)).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(jobRepository.save(any(BackgroundJob.class))).thenAnswer(invocation -> {
+            BackgroundJob job = invocation.getArgument(0);
+            job.setId(10L);
+            return job;
+        });
+
+        JobDTO result = jobService.submit(new JobSubmitRequest(JobType.SUMMARY_REPORT,
+                Map.of("dateFrom", "2024-01-01")));
+
+        ArgumentCaptor<BackgroundJob> saved = ArgumentCaptor.forClass(BackgroundJob.class);
+        InOrder inOrder = inOrder(jobRepository);
+        inOrder.verify(jobRepository).lockUserClaims(1L);
+        inOrder.verify(jobRepository).countByUserIdAndStatusIn(1L, JobStatus.PENDING);
+        inOrder.verify(jobRepository).save(saved.capture());
+        verify(featureFlagService).requireEnabled(Feature.REPORTS);
+        assertThat(saved.getValue().getUser()).isSameAs(user);
+        assertThat(saved.getValue().getParameters()).isEqualTo("{\"dateFrom\":\"2024-01-01\"}");
+        assertThat(result.getId()).isEqualTo(10L);
+        assertThat(result.getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    @Test
+    void submit_WhenPendingLimitReached_ShouldRejectWithTooManyRequests() {
+        when(jobRepository.countByUserIdAndStatusIn(1L, JobStatus.PENDING)).thenReturn(2L);
+
+        assertThatThrownBy(() -> jobService.submit(new JobSubmitRequest(JobType.USER_DATA_CSV_EXPORT, Map.of())))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void cancel_WhenQueued_ShouldMarkJobCancelled() {
+        BackgroundJob job = job(JobStatus.QUEUED);
+        when(jobRepository.findByIdAndUserId(10L, 1L)).thenReturn(Optional.of(job));
+
+        JobDTO result = jobService.cancel(10L);
+
+        assertThat(result.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(job.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void openResult_WhenJobNotCompleted_ShouldRejectWithConflict() {
+        when(jobRepository.findByIdAndUserId(10L, 1L)).thenReturn(Optional.of(job(JobStatus.RUNNING)));
+
+        assertThatThrownBy(() -> jobService.openResult(10L))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.CONFLICT));
+        verifyNoInteractions(resultStorage);
+    }
+
+    @Test
+    void openResult_WhenResultExpired_ShouldRejectWithGone() {
+        BackgroundJob job = job(JobStatus.COMPLETED);
+        job.setResultLocation("jobs/1/10.deflate");
+        job.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(jobRepository.findByIdAndUserId(10L, 1L)).thenReturn(Optional.of(job));
+
+        assertThatThrownBy(() -> jobService.openResult(10L))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.GONE));
+        verifyNoInteractions(resultStorage);
+    }
+
+    private BackgroundJob job(JobStatus status) {
+        BackgroundJob job = new BackgroundJob();
+        job.setId(10L);
+        job.setType(JobType.TRANSACTION_REPORT);
+        job.setStatus(status);
+        return job;
+    }
+}
@@ -0,0 +1,208 @@
+package com.finance_control.unit.open_finance.service;
+
+import com.finance_control.open_finance.client.AccountInformationClient;
+import com.finance_control.open_finance.model.AccountSyncLog;
+import com.finance_control.open_finance.model.ConnectedAccount;
+import com.finance_control.open_finance.model.OpenFinanceConsent;
+import com.finance_control.open_finance.model.OpenFinanceInstitution;
+import com.finance_control.open_finance.repository.AccountSyncLogRepository;
+import com.finance_control.open_finance.repository.ConnectedAccountRepository;
+import com.finance_control.open_finance.service.OpenFinanceConsentService;
+import com.finance_control.open_finance.service.OpenFinanceTransactionSyncService;
+import com.finance_control.open_finance.service.helper.OpenFinancePagePrefetcher;
+import com.finance_control.open_finance.service.helper.OpenFinanceSyncCursorHelper;
+import com.finance_control.open_finance.service.helper.OpenFinanceSyncLogHelper;
+import com.finance_control.open_finance.service.mapper.OpenFinanceTransactionMapper;
+import com.finance_control.shared.monitoring.MetricsService;
+import com.finance_control.transactions.dto.TransactionDTO;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.model.source.TransactionSourceEntity;
+import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
+import com.finance_control.transactions.repository.source.TransactionSourceRepository;
+import com.finance_control.transactions.service.TransactionService;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateDetector;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateIndex;
+import com.finance_control.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenFinanceTransactionSyncServiceTest {
+
+    private static final LocalDateTime WINDOW_FROM = LocalDateTime.of(2026, 10, 1, 0, 0);
+    private static final LocalDateTime WINDOW_TO = LocalDateTime.of(2026, 10, 15, 0, 0);
+
+    @Mock
+    private ConnectedAccountRepository accountRepository;
+
+    @Mock
+    private AccountSyncLogRepository syncLogRepository;
+
+    @Mock
+    private TransactionDuplicateDetector duplicateDetector;
+
+    @Mock
+    private TransactionDuplicateIndex duplicateIndex;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionCategoryRepository categoryRepository;
+
+    @Mock
+    private TransactionSourceRepository sourceRepository;
+
+    @Mock
+    private AccountInformationClient accountClient;
+
+    @Mock
+    private OpenFinanceConsentService consentService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private OpenFinanceSyncLogHelper syncLogHelper;
+
+    @Mock
+    private OpenFinanceSyncCursorHelper cursorHelper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OpenFinanceTransactionSyncService syncService;
+    private ConnectedAccount account;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new OpenFinanceTransactionSyncService(accountRepository, syncLogRepository, duplicateDetector,
+                transactionService, categoryRepository, sourceRepository, accountClient, consentService,
+                metricsService, new OpenFinanceTransactionMapper(), syncLogHelper, new OpenFinancePagePrefetcher(),
+                cursorHelper, transactionManager);
+
+        User user = new User();
+        user.setId(1L);
+        OpenFinanceConsent consent = new OpenFinanceConsent();
+        consent.setId(5L);
+        consent.setStatus("AUTHORIZED");
+        OpenFinanceInstitution institution = new OpenFinanceInstitution();
+        institution.setName("Bank");
+        account = new ConnectedAccount();
+        account.setId(7L);
+        account.setUser(user);
+        account.setConsent(consent);
+        account.setInstitution(institution);
+        account.setExternalAccountId("ext-7");
+    }
+
+    @Test
+    void syncTransactions_WhenOneRowOfAPageFails_ShouldImportTheOthersAndAdvanceTheCursor() {
+        // Given a page whose batch insert fails because of its second transaction
+        AccountSyncLog syncLog = new AccountSyncLog();
+        OpenFinanceSyncCursorHelper.SyncWindow window = givenOnePageOfThreeTransactions(syncLog);
+        when(transactionService.createAll(anyList())).thenThrow(new IllegalArgumentException("bad row"));
+        when(transactionService.create(any(TransactionDTO.class))).thenAnswer(invocation -> {
+            TransactionDTO dto = invocation.getArgument(0);
+            if ("tx-2".equals(dto.getExternalReference())) {
+                throw new IllegalArgumentException("bad row");
+            }
+            return dto;
+        });
+
+        // When
+        syncService.syncTransactions(7L, null, null);
+
+        // Then the failed batch and the failed row are rolled back on their own
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionService, times(3)).create(any(TransactionDTO.class));
+        verify(metricsService, times(2)).incrementOpenFinanceTransactionImported();
+        verify(cursorHelper).claimUnseen(7L, Set.of("tx-2"));
+
+        // And the page is still recorded and the sync succeeds
+        verify(cursorHelper).pageImported(window, 1);
+        verify(cursorHelper).windowCompleted(window);
+        verify(syncLogHelper).updateSyncLogSuccess(syncLog, 2);
+        verify(syncLogHelper, never()).updateSyncLogFailure(any(), anyString());
+        verify(accountRepository).save(account);
+        assertThat(account.getSyncStatus()).isEqualTo("SUCCESS");
+        verify(metricsService, never()).incrementOpenFinanceAccountSyncFailure();
+    }
+
+    @Test
+    void syncTransactions_WhenPageIsImportedAsBatch_ShouldReportRowsOnlyAfterCommit() {
+        // Given
+        AccountSyncLog syncLog = new AccountSyncLog();
+        givenOnePageOfThreeTransactions(syncLog);
+        when(transactionService.createAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        syncService.syncTransactions(7L, null, null);
+
+        // Then the page transaction commits before any row is reported
+        InOrder inOrder = inOrder(transactionService, transactionManager, metricsService);
+        inOrder.verify(transactionService).createAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(metricsService, times(3)).incrementOpenFinanceTransactionImported();
+        verify(transactionService, never()).create(any(TransactionDTO.class));
+        verify(syncLogHelper).updateSyncLogSuccess(syncLog, 3);
+    }
+
+    private OpenFinanceSyncCursorHelper.SyncWindow givenOnePageOfThreeTransactions(AccountSyncLog syncLog) {
+        OpenFinanceSyncCursorHelper.SyncWindow window =
+                new OpenFinanceSyncCursorHelper.SyncWindow(7L, WINDOW_FROM, WINDOW_TO, 1, true);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(accountRepository.findById(7L)).thenReturn(Optional.of(account));
+        when(categoryRepository.findByNameIgnoreCase("Open Finance")).thenReturn(Optional.of(new TransactionCategory()));
+        when(sourceRepository.findByNameIgnoreCaseAndUserId(anyString(), eq(1L)))
+                .thenReturn(Optional.of(new TransactionSourceEntity()));
+        when(cursorHelper.openWindow(account, null, null)).thenReturn(window);
+        when(syncLogHelper.createSyncLog(account)).thenReturn(syncLog);
+        when(consentService.getAccessToken(5L)).thenReturn("token");
+        when(accountClient.getAccountTransactionsAsync("token", "ext-7", WINDOW_FROM, WINDOW_TO, 1, 100))
+                .thenReturn(Mono.just(AccountInformationClient.TransactionListResponse.builder()
+                        .transactions(List.of(transaction("tx-1"), transaction("tx-2"), transaction("tx-3")))
+                        .totalPages(1)
+                        .build()));
+        when(cursorHelper.claimUnseen(eq(7L), any()))
+                .thenAnswer(invocation -> new HashSet<>(invocation.<Collection<String>>getArgument(1)));
+        when(duplicateDetector.load(eq(1L), any(), any())).thenReturn(duplicateIndex);
+        return window;
+    }
+
+    private static AccountInformationClient.Transaction transaction(String id) {
+        return AccountInformationClient.Transaction.builder()
+                .transactionId(id)
+                .amount(new BigDecimal("10.00"))
+                .description("Purchase " + id)
+                .bookingDate(WINDOW_FROM.plusDays(1))
+                .creditDebitIndicator("DEBIT")
+                .build();
+    }
+}
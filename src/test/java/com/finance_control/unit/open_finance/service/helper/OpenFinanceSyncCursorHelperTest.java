@@ -0,0 +1,117 @@
+package com.finance_control.unit.open_finance.service.helper;
+
+import com.finance_control.open_finance.model.ConnectedAccount;
+import com.finance_control.open_finance.repository.OpenFinanceSyncStateRepository;
+import com.finance_control.open_finance.service.helper.OpenFinanceSyncCursorHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenFinanceSyncCursorHelperTest {
+
+    private static final LocalDateTime HIGH_WATER_MARK = LocalDateTime.of(2026, 10, 1, 2, 0);
+
+    @Mock
+    private OpenFinanceSyncStateRepository stateRepository;
+
+    private OpenFinanceSyncCursorHelper cursorHelper;
+    private ConnectedAccount account;
+
+    @BeforeEach
+    void setUp() {
+        cursorHelper = new OpenFinanceSyncCursorHelper(stateRepository, 72);
+        account = new ConnectedAccount();
+        account.setId(7L);
+    }
+
+    @Test
+    void openWindow_WithHighWaterMark_ShouldStartOverlapBeforeIt() {
+        // Given
+        when(stateRepository.findState(7L)).thenReturn(Optional.of(
+                new OpenFinanceSyncStateRepository.SyncState(HIGH_WATER_MARK, null, null, 1)));
+
+        // When
+        OpenFinanceSyncCursorHelper.SyncWindow window = cursorHelper.openWindow(account, null, null);
+
+        // Then
+        assertThat(window.from()).isEqualTo(HIGH_WATER_MARK.minusHours(72));
+        assertThat(window.startPage()).isEqualTo(1);
+        assertThat(window.incremental()).isTrue();
+        verify(stateRepository).startWindow(eq(7L), eq(HIGH_WATER_MARK.minusHours(72)), any());
+    }
+
+    @Test
+    void openWindow_WithSyncInProgress_ShouldResumeAtNextPage() {
+        // Given
+        LocalDateTime windowTo = HIGH_WATER_MARK.plusDays(1);
+        when(stateRepository.findState(7L)).thenReturn(Optional.of(
+                new OpenFinanceSyncStateRepository.SyncState(null, HIGH_WATER_MARK, windowTo, 4)));
+
+        // When
+        OpenFinanceSyncCursorHelper.SyncWindow window = cursorHelper.openWindow(account, null, null);
+
+        // Then
+        assertThat(window.from()).isEqualTo(HIGH_WATER_MARK);
+        assertThat(window.to()).isEqualTo(windowTo);
+        assertThat(window.startPage()).isEqualTo(4);
+        verify(stateRepository, never()).startWindow(anyLong(), any(), any());
+    }
+
+    @Test
+    void openWindow_WithoutState_ShouldFallBackToLastSyncedAt() {
+        // Given
+        account.setLastSyncedAt(HIGH_WATER_MARK);
+        when(stateRepository.findState(7L)).thenReturn(Optional.empty());
+
+        // When
+        OpenFinanceSyncCursorHelper.SyncWindow window = cursorHelper.openWindow(account, null, null);
+
+        // Then
+        assertThat(window.from()).isEqualTo(HIGH_WATER_MARK.minusHours(72));
+    }
+
+    @Test
+    void openWindow_WithExplicitDates_ShouldNotTouchCursor() {
+        // When
+        OpenFinanceSyncCursorHelper.SyncWindow window =
+                cursorHelper.openWindow(account, HIGH_WATER_MARK, HIGH_WATER_MARK.plusDays(2));
+        cursorHelper.pageImported(window, 1);
+        cursorHelper.windowCompleted(window);
+
+        // Then
+        assertThat(window.incremental()).isFalse();
+        verify(stateRepository, never()).findState(anyLong());
+        verify(stateRepository, never()).advancePage(anyLong(), anyInt());
+        verify(stateRepository, never()).completeWindow(anyLong());
+    }
+
+    @Test
+    void pageImported_WithIncrementalWindow_ShouldAdvanceCursor() {
+        // Given
+        OpenFinanceSyncCursorHelper.SyncWindow window = new OpenFinanceSyncCursorHelper.SyncWindow(
+                7L, HIGH_WATER_MARK, HIGH_WATER_MARK.plusDays(1), 1, true);
+
+        // When
+        cursorHelper.pageImported(window, 3);
+        cursorHelper.windowCompleted(window);
+
+        // Then
+        verify(stateRepository).advancePage(7L, 4);
+        verify(stateRepository).completeWindow(7L);
+    }
+}
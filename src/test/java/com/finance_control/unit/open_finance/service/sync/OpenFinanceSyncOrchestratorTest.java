@@ -0,0 +1,141 @@
+package com.finance_control.unit.open_finance.service.sync;
+
+import com.finance_control.open_finance.dto.SyncStatusDTO;
+import com.finance_control.open_finance.repository.ConnectedAccountRepository;
+import com.finance_control.open_finance.repository.projection.AccountSyncCandidate;
+import com.finance_control.open_finance.service.OpenFinanceAccountService;
+import com.finance_control.open_finance.service.OpenFinanceTransactionSyncService;
+import com.finance_control.open_finance.service.sync.OpenFinanceSyncOrchestrator;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.monitoring.MetricsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenFinanceSyncOrchestratorTest {
+
+    private static final LocalDateTime OLDEST_SYNC = LocalDateTime.now().minusHours(6);
+
+    @Mock
+    private ConnectedAccountRepository accountRepository;
+
+    @Mock
+    private OpenFinanceTransactionSyncService transactionSyncService;
+
+    @Mock
+    private OpenFinanceAccountService accountService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private OpenFinanceSyncOrchestrator orchestrator;
+
+    @BeforeEach
+    void setUp() {
+        orchestrator = new OpenFinanceSyncOrchestrator(accountRepository, transactionSyncService, accountService,
+                metricsService, 8, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        orchestrator.shutdown();
+    }
+
+    @Test
+    void syncAllTransactions_ShouldSyncEveryAccountAndReportFailures() {
+        // Given
+        when(accountRepository.findSyncCandidates()).thenReturn(List.of(
+                new AccountSyncCandidate(1L, 10L, 100L, OLDEST_SYNC),
+                new AccountSyncCandidate(2L, 10L, 101L, null),
+                new AccountSyncCandidate(3L, 20L, 102L, OLDEST_SYNC.plusHours(1))));
+        when(transactionSyncService.syncTransactions(anyLong(), any(), any()))
+                .thenAnswer(invocation -> status(invocation.getArgument(0), true));
+        when(transactionSyncService.syncTransactions(eq(2L), any(), any()))
+                .thenThrow(new IllegalStateException("Account is not syncable"));
+
+        // When
+        OpenFinanceSyncOrchestrator.SyncRunResult result = orchestrator.syncAllTransactions();
+
+        // Then
+        assertThat(result.accounts()).isEqualTo(3);
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(1);
+        verify(transactionSyncService).syncTransactions(1L, null, null);
+        verify(transactionSyncService).syncTransactions(3L, null, null);
+        verify(metricsService).recordOpenFinanceSyncRun(eq("TRANSACTIONS"), eq(3), eq(1), any(Duration.class));
+        verify(metricsService).setOpenFinanceSyncLag(argThat(lag -> lag.toHours() >= 5));
+    }
+
+    @Test
+    void syncAllBalances_ShouldRunOnBehalfOfAccountOwner() {
+        // Given
+        when(accountRepository.findSyncCandidates()).thenReturn(List.of(
+                new AccountSyncCandidate(1L, 10L, 100L, null),
+                new AccountSyncCandidate(2L, 20L, 200L, null)));
+        Map<Long, Long> userByAccount = new ConcurrentHashMap<>();
+        when(accountService.syncBalance(anyLong())).thenAnswer(invocation -> {
+            userByAccount.put(invocation.getArgument(0), UserContext.getCurrentUserId());
+            return null;
+        });
+
+        // When
+        OpenFinanceSyncOrchestrator.SyncRunResult result = orchestrator.syncAllBalances();
+
+        // Then
+        assertThat(result.succeeded()).isEqualTo(2);
+        assertThat(userByAccount).containsEntry(1L, 100L).containsEntry(2L, 200L);
+        verify(metricsService).setOpenFinanceSyncLag(Duration.ZERO);
+    }
+
+    @Test
+    void syncAllTransactions_ShouldCapConcurrencyPerInstitution() {
+        // Given - five accounts at one institution, pool of eight threads, cap of two
+        when(accountRepository.findSyncCandidates()).thenReturn(List.of(
+                new AccountSyncCandidate(1L, 10L, 100L, null),
+                new AccountSyncCandidate(2L, 10L, 100L, null),
+                new AccountSyncCandidate(3L, 10L, 100L, null),
+                new AccountSyncCandidate(4L, 10L, 100L, null),
+                new AccountSyncCandidate(5L, 10L, 100L, null)));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(transactionSyncService.syncTransactions(anyLong(), any(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return status(invocation.getArgument(0), true);
+        });
+
+        // When
+        OpenFinanceSyncOrchestrator.SyncRunResult result = orchestrator.syncAllTransactions();
+
+        // Then
+        assertThat(result.succeeded()).isEqualTo(5);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    private static SyncStatusDTO status(Long accountId, boolean success) {
+        SyncStatusDTO status = new SyncStatusDTO();
+        status.setAccountId(accountId);
+        status.setSuccess(success);
+        return status;
+    }
+}
@@ -0,0 +1,129 @@
+package com.finance_control.unit.reports.service;
+
+import com.finance_control.goals.repository.FinancialGoalRepository;
+import com.finance_control.goals.repository.projection.GoalReportAggregate;
+import com.finance_control.reports.dto.GoalReportDTO;
+import com.finance_control.reports.dto.TransactionReportDTO;
+import com.finance_control.reports.service.ReportService;
+import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionCategoryTotal;
+import com.finance_control.transactions.repository.projection.TransactionTypeTotal;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 10);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 20);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private FinancialGoalRepository financialGoalRepository;
+
+    @Mock
+    private UserMonthlyRollupService userMonthlyRollupService;
+
+    @InjectMocks
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        UserContext.setCurrentUserId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    @Test
+    void generateTransactionReport_WithPartialMonth_ShouldAggregateInDatabase() {
+        LocalDateTime start = FROM.atStartOfDay();
+        LocalDateTime end = TO.plusDays(1).atStartOfDay();
+        when(transactionRepository.sumByTypeForReport(1L, start, end, EnumSet.allOf(TransactionType.class), true, ""))
+                .thenReturn(List.of(
+                        new TransactionTypeTotal(TransactionType.INCOME, 1L, new BigDecimal("1000.00")),
+                        new TransactionTypeTotal(TransactionType.EXPENSE, 3L, new BigDecimal("400.00"))));
+        when(transactionRepository.findTopCategoriesForReport(eq(1L), eq(start), eq(end), eq(TransactionType.EXPENSE),
+                eq(true), eq(""), any()))
+                .thenReturn(List.of(
+                        new TransactionCategoryTotal("Food", 2L, new BigDecimal("300.00")),
+                        new TransactionCategoryTotal("Transport", 1L, new BigDecimal("100.00"))));
+
+        TransactionReportDTO report = reportService.generateTransactionReport(FROM, TO, null, null);
+
+        assertThat(report.getTotalIncome()).isEqualByComparingTo("1000.00");
+        assertThat(report.getTotalExpense()).isEqualByComparingTo("400.00");
+        assertThat(report.getBalance()).isEqualByComparingTo("600.00");
+        assertThat(report.getTransactionCount()).isEqualTo(4);
+        assertThat(report.getTopCategories()).hasSize(2);
+        assertThat(report.getTopCategories().get(0).getName()).isEqualTo("Food");
+        assertThat(report.getTopCategories().get(0).getCount()).isEqualTo(2);
+        assertThat(report.getTopCategories().get(0).getPercentage()).isEqualByComparingTo("75.00");
+        verifyNoInteractions(userMonthlyRollupService);
+    }
+
+    @Test
+    void generateTransactionReport_WithIncomeFilter_ShouldNotRankCategories() {
+        when(transactionRepository.sumByTypeForReport(eq(1L), any(), any(), eq(EnumSet.of(TransactionType.INCOME)),
+                eq(false), eq("salary")))
+                .thenReturn(List.of(new TransactionTypeTotal(TransactionType.INCOME, 2L, new BigDecimal("5000.00"))));
+
+        TransactionReportDTO report = reportService.generateTransactionReport(FROM, TO, "income", "Salary");
+
+        assertThat(report.getTotalIncome()).isEqualByComparingTo("5000.00");
+        assertThat(report.getTopCategories()).isEmpty();
+        verify(transactionRepository, never()).findTopCategoriesForReport(any(), any(), any(), any(),
+                anyBoolean(), anyString(), any());
+    }
+
+    @Test
+    void generateGoalReport_ShouldUseAggregate() {
+        when(financialGoalRepository.aggregateForReport(1L, "active")).thenReturn(new GoalReportAggregate(
+                2L, 2L, new BigDecimal("1000.00"), new BigDecimal("250.00"), new BigDecimal("75.0000")));
+
+        GoalReportDTO report = reportService.generateGoalReport("Active");
+
+        assertThat(report.getTotalGoals()).isEqualTo(2);
+        assertThat(report.getActiveGoals()).isEqualTo(2);
+        assertThat(report.getCompletedGoals()).isZero();
+        assertThat(report.getCompletionRate()).isEqualByComparingTo("25.00");
+        assertThat(report.getAverageProgress()).isEqualByComparingTo("37.50");
+    }
+
+    @Test
+    void generateGoalReport_WithCancelledStatus_ShouldNotQuery() {
+        GoalReportDTO report = reportService.generateGoalReport("cancelled");
+
+        assertThat(report.getTotalGoals()).isZero();
+        assertThat(report.getAverageProgress()).isEqualByComparingTo(BigDecimal.ZERO);
+        verifyNoInteractions(financialGoalRepository);
+    }
+}
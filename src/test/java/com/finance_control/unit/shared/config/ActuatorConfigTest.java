@@ -0,0 +1,60 @@
+package com.finance_control.unit.shared.config;
+
+import com.finance_control.dashboard.cache.DashboardCacheStore;
+import com.finance_control.dashboard.cache.TieredDashboardCache;
+import com.finance_control.shared.config.ActuatorConfig;
+import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.monitoring.MonitoredCaches;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the cache metrics bound by ActuatorConfig.
+ */
+@ExtendWith(MockitoExtension.class)
+class ActuatorConfigTest {
+
+    @Mock
+    private AppProperties appProperties;
+
+    @Mock
+    private DashboardCacheStore dashboardCacheStore;
+
+    @Test
+    void caffeineCacheMetrics_ShouldScrapeOwnedAndManagedCachesUnderTheSameTags() {
+        // Given a cache owned by a MonitoredCaches bean and a tiered cache of a cache manager
+        Cache<String, String> tokens = Caffeine.newBuilder().recordStats().build();
+        MonitoredCaches owner = () -> Map.of("verified-tokens", tokens);
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new TieredDashboardCache(
+                new CaffeineCache("dashboard", Caffeine.newBuilder().recordStats().build()), dashboardCacheStore)));
+        cacheManager.afterPropertiesSet();
+
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        // When
+        new ActuatorConfig(appProperties)
+                .caffeineCacheMetrics(Map.of("verifiedTokenCache", owner), Map.of("cacheManager", cacheManager))
+                .bindTo(registry);
+        String scrape = registry.scrape();
+
+        // Then both caches are exported, each tagged with its owner
+        assertThat(scrape)
+                .contains("cache_gets_total{cache=\"verified-tokens\",cache_manager=\"verifiedTokenCache\",result=\"hit\"}")
+                .contains("cache_gets_total{cache=\"dashboard\",cache_manager=\"cacheManager\",result=\"miss\"}");
+    }
+}
@@ -11,11 +11,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -157,4 +163,32 @@ class DataExportControllerTest {
 
         verify(dataExportService, times(1)).exportFinancialGoalsAsCsv();
     }
+
+    @Test
+    void streamAllDataAsCsv_WithGzip_ShouldStreamCompressedAttachment() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("id,name,amount\n1,Transaction 1,100.00".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(dataExportService).streamUserDataAsCsv(any(), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/export/stream/all/csv")
+                .param("gzip", "true")
+                .with(user(testUserDetails)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.containsString(".csv.gz")))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("id,name,amount\n1,Transaction 1,100.00");
+        }
+    }
 }
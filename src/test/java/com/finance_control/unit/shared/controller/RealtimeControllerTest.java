@@ -1,7 +1,9 @@
 package com.finance_control.unit.shared.controller;
 
+import com.finance_control.shared.context.UserContext;
 import com.finance_control.shared.controller.RealtimeController;
 import com.finance_control.shared.service.SupabaseRealtimeService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,11 +12,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +35,15 @@ class RealtimeControllerTest {
 
     @BeforeEach
     void setUp() {
+        UserContext.setCurrentUserId(1L);
         lenient().when(realtimeService.getSubscriptionCounts()).thenReturn(new HashMap<>());
     }
 
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
     @Test
     void getStatus_WhenConnected_ShouldReturnOk() {
         when(realtimeService.isConnected()).thenReturn(true);
@@ -61,7 +73,7 @@ class RealtimeControllerTest {
         when(realtimeService.isConnected()).thenReturn(true);
         doNothing().when(realtimeService).subscribeToChannel(anyString(), anyLong());
 
-        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -71,11 +83,20 @@ class RealtimeControllerTest {
         verify(realtimeService).subscribeToChannel("transactions", 1L);
     }
 
+    @Test
+    void subscribeToChannel_WithoutUserContext_ShouldThrow() {
+        UserContext.clear();
+
+        assertThatThrownBy(() -> controller.subscribeToChannel("transactions"))
+                .isInstanceOf(IllegalStateException.class);
+        verify(realtimeService, never()).subscribeToChannel(anyString(), anyLong());
+    }
+
     @Test
     void subscribeToChannel_WhenNotConnected_ShouldReturnServiceUnavailable() {
         when(realtimeService.isConnected()).thenReturn(false);
 
-        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isNotNull();
@@ -89,7 +110,7 @@ class RealtimeControllerTest {
         doThrow(new IllegalArgumentException("Invalid channel")).when(realtimeService)
                 .subscribeToChannel(anyString(), anyLong());
 
-        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("invalid", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("invalid");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(response.getBody()).isNotNull();
@@ -102,7 +123,7 @@ class RealtimeControllerTest {
         doThrow(new RuntimeException("Unexpected error")).when(realtimeService)
                 .subscribeToChannel(anyString(), anyLong());
 
-        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.subscribeToChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).isNotNull();
@@ -114,7 +135,7 @@ class RealtimeControllerTest {
         when(realtimeService.isConnected()).thenReturn(true);
         doNothing().when(realtimeService).unsubscribeFromChannel(anyString(), anyLong());
 
-        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -128,7 +149,7 @@ class RealtimeControllerTest {
     void unsubscribeFromChannel_WhenNotConnected_ShouldReturnServiceUnavailable() {
         when(realtimeService.isConnected()).thenReturn(false);
 
-        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isNotNull();
@@ -142,7 +163,7 @@ class RealtimeControllerTest {
         doThrow(new RuntimeException("Unexpected error")).when(realtimeService)
                 .unsubscribeFromChannel(anyString(), anyLong());
 
-        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions", 1L);
+        ResponseEntity<Map<String, Object>> response = controller.unsubscribeFromChannel("transactions");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).isNotNull();
@@ -201,7 +222,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> transactionData = Map.of("id", 1L, "amount", 100.0);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(1L, transactionData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(transactionData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -217,7 +238,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> transactionData = Map.of("id", 1L);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(1L, transactionData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(transactionData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isNotNull();
@@ -233,7 +254,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> transactionData = Map.of("id", 1L);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(1L, transactionData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyTransactionUpdate(transactionData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).isNotNull();
@@ -247,7 +268,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> dashboardData = Map.of("summary", "test");
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(1L, dashboardData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(dashboardData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -263,7 +284,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> dashboardData = Map.of("summary", "test");
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(1L, dashboardData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(dashboardData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isNotNull();
@@ -279,7 +300,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> dashboardData = Map.of("summary", "test");
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(1L, dashboardData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyDashboardUpdate(dashboardData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).isNotNull();
@@ -293,7 +314,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> goalData = Map.of("id", 1L, "progress", 50.0);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(1L, goalData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(goalData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -309,7 +330,7 @@ class RealtimeControllerTest {
 
         Map<String, Object> goalData = Map.of("id", 1L);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(1L, goalData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(goalData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         assertThat(response.getBody()).isNotNull();
@@ -325,10 +346,23 @@ class RealtimeControllerTest {
 
         Map<String, Object> goalData = Map.of("id", 1L);
 
-        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(1L, goalData);
+        ResponseEntity<Map<String, Object>> response = controller.notifyGoalUpdate(goalData);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().get("error")).isEqualTo("Failed to send notification");
     }
+
+    @Test
+    void broadcastAndNotifyEndpoints_ShouldBeRestrictedToAdministrators() throws NoSuchMethodException {
+        for (Method method : List.of(
+                RealtimeController.class.getMethod("broadcastToChannel", String.class, Map.class),
+                RealtimeController.class.getMethod("notifyTransactionUpdate", Map.class),
+                RealtimeController.class.getMethod("notifyDashboardUpdate", Map.class),
+                RealtimeController.class.getMethod("notifyGoalUpdate", Map.class))) {
+            PreAuthorize preAuthorize = method.getAnnotation(PreAuthorize.class);
+            assertThat(preAuthorize).as(method.getName()).isNotNull();
+            assertThat(preAuthorize.value()).isEqualTo("hasAuthority('ADMIN')");
+        }
+    }
 }
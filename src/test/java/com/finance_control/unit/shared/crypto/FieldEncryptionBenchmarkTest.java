@@ -0,0 +1,145 @@
+package com.finance_control.unit.shared.crypto;
+
+import com.finance_control.shared.crypto.BlindIndex;
+import com.finance_control.shared.crypto.FieldCipher;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures email encryption, decryption and indexing throughput per core, comparing the former
+ * per-call {@code Cipher.getInstance}/{@code MessageDigest.getInstance} path with the per-thread
+ * instances of {@link FieldCipher} and {@link BlindIndex}. Each scenario runs on one thread and on
+ * one thread per available core.
+ * Run with {@code RUN_BENCHMARKS=true ./gradlew test --tests '*FieldEncryptionBenchmarkTest'}.
+ */
+@Slf4j
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class FieldEncryptionBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+    private static final String EMAIL = "benchmark.user+finance@example.com";
+
+    private SecretKey key;
+    private FieldCipher fieldCipher;
+    private BlindIndex blindIndex;
+    private String ciphertext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyGenerator generator = KeyGenerator.getInstance("AES");
+        generator.init(256);
+        key = generator.generateKey();
+        fieldCipher = new FieldCipher(key);
+        blindIndex = BlindIndex.keyed(new byte[32]);
+        ciphertext = fieldCipher.encrypt(EMAIL);
+    }
+
+    @Test
+    void compareEncryptionThroughput() throws Exception {
+        SecureRandom random = new SecureRandom();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int threads : new int[] {1, cores}) {
+            double perCallEncrypt = measure(threads, i -> perCallEncrypt(random));
+            double pooledEncrypt = measure(threads, i -> fieldCipher.encrypt(EMAIL));
+            double perCallDecrypt = measure(threads, i -> perCallDecrypt());
+            double pooledDecrypt = measure(threads, i -> fieldCipher.decrypt(ciphertext));
+            double perCallHash = measure(threads, i -> perCallHash());
+            double pooledHmac = measure(threads, i -> blindIndex.compute(EMAIL));
+
+            log.info("Field encryption ({} thread(s), ops/s per core): encrypt {} -> {}, decrypt {} -> {}, index {} (SHA-256) -> {} (HMAC)",
+                    threads, perCore(perCallEncrypt, threads), perCore(pooledEncrypt, threads),
+                    perCore(perCallDecrypt, threads), perCore(pooledDecrypt, threads),
+                    perCore(perCallHash, threads), perCore(pooledHmac, threads));
+        }
+
+        assertThat(fieldCipher.decrypt(fieldCipher.encrypt(EMAIL))).isEqualTo(EMAIL);
+    }
+
+    private double measure(int threads, IntConsumer operation) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.accept(i);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        operation.accept(i);
+                    }
+                    return null;
+                });
+            }
+            long start = System.nanoTime();
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) ITERATIONS * threads * 1_000_000_000L / elapsed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long perCore(double opsPerSecond, int threads) {
+        return Math.round(opsPerSecond / threads);
+    }
+
+    private void perCallEncrypt(SecureRandom random) {
+        try {
+            byte[] iv = new byte[12];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(128, iv));
+            byte[] encrypted = cipher.doFinal(EMAIL.getBytes(StandardCharsets.UTF_8));
+            Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + encrypted.length)
+                    .put(iv).put(encrypted).array());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void perCallDecrypt() {
+        try {
+            byte[] input = Base64.getDecoder().decode(ciphertext);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(128, input, 0, 12));
+            cipher.doFinal(input, 12, input.length - 12);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void perCallHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Base64.getEncoder().encodeToString(digest.digest(EMAIL.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
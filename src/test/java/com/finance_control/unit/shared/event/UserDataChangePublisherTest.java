@@ -0,0 +1,55 @@
+package com.finance_control.unit.shared.event;
+
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class UserDataChangePublisherTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserDataChangePublisher changePublisher;
+
+    @Test
+    void publish_ShouldPublishEventForUser() {
+        changePublisher.publish(1L, UserDataChangedEvent.Source.GOAL);
+
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(1L, UserDataChangedEvent.Source.GOAL));
+    }
+
+    @Test
+    void publish_WithoutUser_ShouldDoNothing() {
+        changePublisher.publish(null, UserDataChangedEvent.Source.GOAL);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void coalesce_ShouldPublishOneEventPerUserAfterTheWork() {
+        String result = changePublisher.coalesce(UserDataChangedEvent.Source.IMPORT, () -> {
+            changePublisher.publish(1L, UserDataChangedEvent.Source.TRANSACTION);
+            changePublisher.publish(1L, UserDataChangedEvent.Source.TRANSACTION);
+            changePublisher.publish(2L, UserDataChangedEvent.Source.TRANSACTION);
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(1L, UserDataChangedEvent.Source.IMPORT));
+        verify(eventPublisher).publishEvent(new UserDataChangedEvent(2L, UserDataChangedEvent.Source.IMPORT));
+    }
+}
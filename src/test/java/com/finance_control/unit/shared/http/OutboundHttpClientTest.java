@@ -0,0 +1,200 @@
+package com.finance_control.unit.shared.http;
+
+import com.finance_control.shared.http.CircuitBreaker;
+import com.finance_control.shared.http.CircuitBreakerOpenException;
+import com.finance_control.shared.http.OutboundHttpClient;
+import com.finance_control.shared.http.OutboundHttpClients;
+import com.finance_control.shared.monitoring.MetricsService;
+import com.finance_control.shared.monitoring.SentryService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the shared outbound HTTP layer against a local stub server standing in for an upstream provider.
+ */
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private OutboundHttpClients httpClients;
+    private SimpleMeterRegistry meterRegistry;
+    private final ConcurrentLinkedQueue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private volatile StubResponse fallback = new StubResponse(200, "{\"ok\":true}", 0);
+
+    private record StubResponse(int status, String body, long delayMs) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        // 300ms per attempt, 2 retries 10ms apart, circuit opens after 2 failed calls for 200ms
+        meterRegistry = new SimpleMeterRegistry();
+        httpClients = new OutboundHttpClients(new MetricsService(mock(SentryService.class), meterRegistry),
+                4, 1000, 1000, 1000, 300, 2, 10, 2, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClients.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void get_WithTransientServerError_ShouldRetryAndReturnBody() {
+        // Given
+        responses.add(new StubResponse(503, "unavailable", 0));
+        OutboundHttpClient client = httpClients.forProvider("retry", baseUrl());
+
+        // When
+        String body = client.get("/quotes", String.class).block();
+
+        // Then
+        assertThat(body).isEqualTo("{\"ok\":true}");
+        assertThat(hits.get()).isEqualTo(2);
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(outboundCalls("retry", "success")).isEqualTo(1);
+    }
+
+    @Test
+    void get_WithClientError_ShouldNotRetryNorTripCircuit() {
+        // Given
+        fallback = new StubResponse(404, "not found", 0);
+        OutboundHttpClient client = httpClients.forProvider("client-error", baseUrl());
+
+        // When / Then
+        for (int call = 0; call < 3; call++) {
+            assertThatThrownBy(() -> client.get("/quotes", String.class).block())
+                    .isInstanceOf(WebClientResponseException.NotFound.class);
+        }
+        assertThat(hits.get()).isEqualTo(3);
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void get_WithSlowUpstream_ShouldTimeOutEachAttempt() {
+        // Given
+        fallback = new StubResponse(200, "{\"ok\":true}", 1000);
+        OutboundHttpClient client = httpClients.forProvider("slow", baseUrl());
+
+        // When / Then
+        assertThatThrownBy(() -> client.get("/quotes", String.class).block())
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(hits.get()).isEqualTo(3);
+    }
+
+    @Test
+    void get_AfterRepeatedFailures_ShouldOpenCircuitAndRejectWithoutCallingUpstream() {
+        // Given
+        fallback = new StubResponse(500, "boom", 0);
+        OutboundHttpClient client = httpClients.forProvider("failing", baseUrl());
+        for (int call = 0; call < 2; call++) {
+            assertThatThrownBy(() -> client.get("/quotes", String.class).block())
+                    .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        }
+        int hitsWhenOpened = hits.get();
+
+        // When / Then
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> client.get("/quotes", String.class).block())
+                .isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(hits.get()).isEqualTo(hitsWhenOpened);
+        assertThat(outboundCalls("failing", "failure")).isEqualTo(2);
+        assertThat(outboundCalls("failing", "circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void get_AfterOpenDuration_ShouldLetTrialCallThroughAndCloseCircuit() throws InterruptedException {
+        // Given
+        fallback = new StubResponse(500, "boom", 0);
+        OutboundHttpClient client = httpClients.forProvider("recovering", baseUrl());
+        for (int call = 0; call < 2; call++) {
+            assertThatThrownBy(() -> client.get("/quotes", String.class).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+        fallback = new StubResponse(200, "{\"ok\":true}", 0);
+        Thread.sleep(250);
+
+        // When
+        String body = client.get("/quotes", String.class).block();
+
+        // Then
+        assertThat(body).isEqualTo("{\"ok\":true}");
+        assertThat(client.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void forProvider_ShouldReuseClientAndCircuitPerProvider() {
+        // When
+        OutboundHttpClient first = httpClients.forProvider("brapi", baseUrl());
+        OutboundHttpClient second = httpClients.forProvider("brapi", baseUrl());
+        OutboundHttpClient other = httpClients.forProvider("yahoo-finance", baseUrl());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(other.getCircuitBreaker()).isNotSameAs(first.getCircuitBreaker());
+    }
+
+    private long outboundCalls(String provider, String outcome) {
+        return meterRegistry.get("finance.outbound.requests")
+                .tags("provider", provider, "outcome", outcome)
+                .timer()
+                .count();
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        StubResponse response = responses.poll();
+        if (response == null) {
+            response = fallback;
+        }
+        if (response.delayMs() > 0) {
+            try {
+                Thread.sleep(response.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } catch (IOException e) {
+            // The client gave up on a slow response and closed the connection
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.finance_control.unit.shared.monitoring;
 
 import com.finance_control.shared.monitoring.MetricsService;
 import com.finance_control.shared.monitoring.SentryService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,7 +14,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -23,11 +29,106 @@ class MetricsServiceTest {
     @Mock
     private SentryService sentryService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private MetricsService metricsService;
 
     @BeforeEach
     void setUp() {
-        metricsService = new MetricsService(sentryService);
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new MetricsService(sentryService, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should export counters through the meter registry")
+    void incrementTransactionCreated_ShouldIncrementRegisteredCounter() {
+        // When
+        metricsService.incrementTransactionCreated();
+        metricsService.incrementTransactionCreated();
+
+        // Then
+        assertThat(meterRegistry.get("finance.transactions.created").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should record dashboard generation into a timer with SLO buckets")
+    void recordDashboardGenerationTime_ShouldRecordTimerWithServiceLevelBuckets() {
+        // Given
+        Instant startTime = Instant.now().minus(Duration.ofMillis(300));
+
+        // When
+        metricsService.recordDashboardGenerationTime(startTime);
+
+        // Then
+        Timer timer = meterRegistry.get("finance.dashboard.generation").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(300.0);
+        assertThat(Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .map(bucket -> bucket.bucket(TimeUnit.MILLISECONDS)))
+                .contains(250.0, 500.0, 1000.0, 2000.0);
+        CountAtBucket halfSecond = Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .filter(bucket -> bucket.bucket(TimeUnit.MILLISECONDS) == 500.0)
+                .findFirst()
+                .orElseThrow();
+        assertThat(halfSecond.count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should tag market data fetch timers by provider")
+    void recordMarketDataFetchTime_WithProvider_ShouldTagTimer() {
+        // Given
+        Instant startTime = Instant.now();
+
+        // When
+        metricsService.recordMarketDataFetchTime(startTime, "brapi");
+        metricsService.recordMarketDataFetchTime(startTime, "brapi");
+        metricsService.recordMarketDataFetchTime(startTime, "yahoo-finance");
+
+        // Then
+        assertThat(meterRegistry.get("finance.market.fetch").tag("provider", "brapi").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("finance.market.fetch").tag("provider", "yahoo-finance").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should tag Open Finance account syncs by institution and outcome")
+    void recordOpenFinanceAccountSync_ShouldTagTimerByInstitutionAndOutcome() {
+        // When
+        metricsService.recordOpenFinanceAccountSync("TRANSACTIONS", 7L, true, Duration.ofMillis(800));
+        metricsService.recordOpenFinanceAccountSync("TRANSACTIONS", 7L, false, Duration.ofMillis(200));
+
+        // Then
+        assertThat(meterRegistry.get("finance.open_finance.account.sync")
+                .tags("institution", "7", "outcome", "success", "sync_type", "TRANSACTIONS")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("finance.open_finance.account.sync")
+                .tags("institution", "7", "outcome", "failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count rate limit decisions per tier and decision")
+    void recordRateLimitDecision_ShouldCountPerTierAndDecision() {
+        // When
+        metricsService.recordRateLimitDecision("user", true, 1);
+        metricsService.recordRateLimitDecision("user", false, 1);
+
+        // Then
+        assertThat(meterRegistry.get("finance.rate_limit.decisions").tags("tier", "user", "decision", "allowed")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("finance.rate_limit.decisions").tags("tier", "user", "decision", "rejected")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("finance.rate_limit.exceeded").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should expose gauges through the meter registry")
+    void setActiveUsers_ShouldUpdateRegisteredGauge() {
+        // When
+        metricsService.setActiveUsers(150L);
+
+        // Then
+        assertThat(meterRegistry.get("finance.users.active").gauge().value()).isEqualTo(150.0);
     }
 
     @Test
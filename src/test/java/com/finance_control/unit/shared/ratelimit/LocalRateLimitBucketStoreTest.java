@@ -0,0 +1,41 @@
+package com.finance_control.unit.shared.ratelimit;
+
+import com.finance_control.shared.ratelimit.LocalRateLimitBucketStore;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.BucketConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimitBucketStoreTest {
+
+    private static final BucketConfiguration CONFIGURATION = BucketConfiguration.builder()
+            .addLimit(Bandwidth.builder().capacity(5).refillIntervally(5, Duration.ofMinutes(1)).build())
+            .build();
+
+    private LocalRateLimitBucketStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalRateLimitBucketStore(100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void tryConsume_ShouldKeepSeparateBucketsPerKey() {
+        assertThat(store.tryConsume("user:1", CONFIGURATION, 5).isConsumed()).isTrue();
+        assertThat(store.tryConsume("user:1", CONFIGURATION, 1).isConsumed()).isFalse();
+
+        assertThat(store.tryConsume("user:2", CONFIGURATION, 1).isConsumed()).isTrue();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void tryConsume_WithWeightedCost_ShouldDrainBucketFaster() {
+        assertThat(store.tryConsume("ip:10.0.0.1", CONFIGURATION, 3).getRemainingTokens()).isEqualTo(2);
+        assertThat(store.tryConsume("ip:10.0.0.1", CONFIGURATION, 3).isConsumed()).isFalse();
+        assertThat(store.tryConsume("ip:10.0.0.1", CONFIGURATION, 2).isConsumed()).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.finance_control.unit.shared.ratelimit;
+
+import com.finance_control.shared.config.AppProperties;
+import com.finance_control.shared.config.properties.RateLimitProperties;
+import com.finance_control.shared.config.properties.SecurityProperties;
+import com.finance_control.shared.ratelimit.RateLimitPolicy;
+import com.finance_control.shared.ratelimit.RateLimitTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitPolicyTest {
+
+    @Mock
+    private AppProperties appProperties;
+
+    private RateLimitPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        when(appProperties.rateLimit()).thenReturn(new RateLimitProperties(true, 100, 200, 60));
+        when(appProperties.security()).thenReturn(new SecurityProperties(
+                new SecurityProperties.JwtProperties("secret", 86400000L, 604800000L, "test", "test"),
+                new SecurityProperties.CorsProperties(List.of(), List.of(), List.of(), false, 0),
+                List.of("/api/auth/**", "/actuator/health"),
+                new SecurityProperties.EncryptionProperties()));
+        policy = new RateLimitPolicy(appProperties, 30, 60, 10, 15, 20, 25);
+    }
+
+    @Test
+    void isExempt_ShouldMatchPublicEndpointPatterns() {
+        assertThat(policy.isExempt("/api/auth/login")).isTrue();
+        assertThat(policy.isExempt("/actuator/health")).isTrue();
+        assertThat(policy.isExempt("/api/transactions")).isFalse();
+        assertThat(policy.isExempt("/actuator/metrics")).isFalse();
+    }
+
+    @Test
+    void costOf_ShouldWeighExpensiveEndpoints() {
+        assertThat(policy.costOf("POST", "/transactions/import")).isEqualTo(10);
+        assertThat(policy.costOf("GET", "/export/all/csv")).isEqualTo(15);
+        assertThat(policy.costOf("GET", "/export/api/data-export/transactions/csv")).isEqualTo(15);
+        assertThat(policy.costOf("GET", "/export/stream/transactions/csv")).isEqualTo(15);
+        assertThat(policy.costOf("POST", "/api/jobs")).isEqualTo(15);
+        assertThat(policy.costOf("POST", "/dashboard/predictions")).isEqualTo(20);
+        assertThat(policy.costOf("POST", "/api/open-finance/accounts/7/sync-balance")).isEqualTo(25);
+    }
+
+    @Test
+    void costOf_ShouldChargeOneTokenForOtherRequests() {
+        assertThat(policy.costOf("GET", "/transactions")).isEqualTo(1);
+        assertThat(policy.costOf("GET", "/transactions/import")).isEqualTo(1);
+        assertThat(policy.costOf("GET", "/api/jobs")).isEqualTo(1);
+    }
+
+    @Test
+    void configurationFor_ShouldSizeBucketsPerTier() {
+        assertThat(policy.configurationFor(RateLimitTier.USER).getBandwidths()[0].getCapacity()).isEqualTo(200);
+        assertThat(policy.configurationFor(RateLimitTier.ANONYMOUS).getBandwidths()[0].getCapacity()).isEqualTo(60);
+    }
+}
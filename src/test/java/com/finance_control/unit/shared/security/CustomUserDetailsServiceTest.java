@@ -50,8 +50,8 @@ class CustomUserDetailsServiceTest {
         assertThat(result).isNotNull();
         assertThat(result).isInstanceOf(CustomUserDetails.class);
         CustomUserDetails customUserDetails = (CustomUserDetails) result;
-        assertThat(customUserDetails.getUser().getId()).isEqualTo(1L);
-        assertThat(customUserDetails.getUser().getEmail()).isEqualTo("test@example.com");
+        assertThat(customUserDetails.getUserId()).isEqualTo(1L);
+        assertThat(customUserDetails.getEmail()).isEqualTo("test@example.com");
 
         verify(userRepository).findById(1L);
     }
@@ -1,5 +1,7 @@
 package com.finance_control.unit.shared.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.finance_control.goals.model.FinancialGoal;
 import com.finance_control.goals.repository.FinancialGoalRepository;
 import com.finance_control.shared.context.UserContext;
@@ -9,6 +11,7 @@ import com.finance_control.shared.enums.GoalType;
 import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.transactions.model.Transaction;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionExportRow;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -20,11 +23,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -241,4 +248,69 @@ class DataExportServiceTest {
             verify(userRepository).findById(1L);
         }
     }
+
+    @Test
+    @DisplayName("streamTransactionsAsCsv_ShouldReadTransactionsInKeysetChunks")
+    void streamTransactionsAsCsv_ShouldReadTransactionsInKeysetChunks() throws Exception {
+        List<TransactionExportRow> firstChunk = LongStream.rangeClosed(1, 500)
+                .mapToObj(this::exportRow)
+                .toList();
+        when(transactionRepository.findExportChunk(eq(1L), eq(0L), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(firstChunk);
+        when(transactionRepository.findExportChunk(eq(1L), eq(500L), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(exportRow(501L)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        dataExportService.streamTransactionsAsCsv(1L, null, null, null, null, outputStream);
+
+        String csvContent = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(csvContent).contains("Transaction Export");
+        assertThat(csvContent).contains("501,\"Row 501\",10.00,EXPENSE");
+        assertThat(csvContent.lines().filter(line -> line.contains("\"Row ")).count()).isEqualTo(501);
+        verify(transactionRepository, times(2)).findExportChunk(eq(1L), anyLong(), isNull(), isNull(), isNull(), isNull(), any(Pageable.class));
+        verify(transactionRepository, never()).findByUserIdWithResponsibilities(anyLong());
+    }
+
+    @Test
+    @DisplayName("streamTransactionsAsCsv_WithFilters_ShouldPushDateTypeAndCategoryToQuery")
+    void streamTransactionsAsCsv_WithFilters_ShouldPushDateTypeAndCategoryToQuery() throws Exception {
+        when(transactionRepository.findExportChunk(eq(1L), eq(0L),
+                eq(LocalDateTime.of(2024, 1, 1, 0, 0)), eq(LocalDateTime.of(2024, 2, 1, 0, 0)),
+                eq(TransactionType.EXPENSE), eq("food"), any(Pageable.class)))
+                .thenReturn(List.of(exportRow(1L)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        dataExportService.streamTransactionsAsCsv(1L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                "expense", "food", outputStream);
+
+        String csvContent = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(csvContent).contains("Type: expense");
+        assertThat(csvContent).contains("Category: food");
+        assertThat(csvContent).contains("1,\"Row 1\",10.00,EXPENSE");
+    }
+
+    @Test
+    @DisplayName("streamUserDataAsJson_ShouldWriteValidJson")
+    void streamUserDataAsJson_ShouldWriteValidJson() throws Exception {
+        setUpTestData();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(transactionRepository.findExportChunk(eq(1L), eq(0L), isNull(), isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(List.of(exportRow(7L)));
+        when(financialGoalRepository.findByUserIdOrderByCreatedAtDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testFinancialGoal)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        dataExportService.streamUserDataAsJson(1L, outputStream);
+
+        JsonNode root = new ObjectMapper().readTree(outputStream.toByteArray());
+        assertThat(root.path("exportInfo").path("userId").asLong()).isEqualTo(1L);
+        assertThat(root.path("transactions")).hasSize(1);
+        assertThat(root.path("transactions").get(0).path("description").asText()).isEqualTo("Row 7");
+        assertThat(root.path("financialGoals")).hasSize(1);
+    }
+
+    private TransactionExportRow exportRow(long id) {
+        return new TransactionExportRow(id, "Row " + id, new BigDecimal("10.00"), TransactionType.EXPENSE,
+                LocalDateTime.of(2024, 1, 15, 10, 0), "Food", null, null, false, LocalDateTime.of(2024, 1, 15, 10, 0));
+    }
 }
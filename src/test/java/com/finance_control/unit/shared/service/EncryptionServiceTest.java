@@ -11,6 +11,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
@@ -248,4 +252,72 @@ class EncryptionServiceTest {
         // Then
         assertThat(decrypted).isEqualTo(plaintext);
     }
+
+    @Test
+    void encryptAllDecryptAll_ShouldRoundTripInOrder() {
+        // Given
+        List<String> plaintexts = Arrays.asList("a@example.com", null, "b@example.com");
+
+        // When
+        List<String> encrypted = encryptionService.encryptAll(plaintexts);
+        List<String> decrypted = encryptionService.decryptAll(encrypted);
+
+        // Then
+        assertThat(encrypted.get(0)).isNotEqualTo("a@example.com");
+        assertThat(encrypted.get(1)).isNull();
+        assertThat(decrypted).containsExactly("a@example.com", null, "b@example.com");
+    }
+
+    @Test
+    void decryptAll_WithInvalidCiphertext_ShouldThrowException() {
+        // Given
+        List<String> ciphertexts = List.of(encryptionService.encrypt("a@example.com"), "invalid_base64_string");
+
+        // When/Then
+        assertThatThrownBy(() -> encryptionService.decryptAll(ciphertexts))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Decryption failed");
+    }
+
+    @Test
+    void hashEmail_WithoutConfiguredKey_ShouldUseUnkeyedHash() {
+        // Then
+        assertThat(encryptionService.isEmailIndexKeyed()).isFalse();
+        assertThat(encryptionService.hashEmail("test@example.com"))
+                .isEqualTo(encryptionService.legacyHashEmail("test@example.com"));
+    }
+
+    @Test
+    void hashEmail_WithBlindIndexKey_ShouldUseKeyedHash() {
+        // Given
+        when(encryption.blindIndexKey()).thenReturn(Base64.getEncoder().encodeToString(new byte[32]));
+        EncryptionService keyed = new EncryptionService(appProperties);
+        keyed.initialize();
+
+        // When
+        String hash = keyed.hashEmail("Test@Example.com ");
+
+        // Then
+        assertThat(keyed.isEmailIndexKeyed()).isTrue();
+        assertThat(hash).isEqualTo(keyed.hashEmail("test@example.com"));
+        assertThat(hash).isNotEqualTo(keyed.legacyHashEmail("test@example.com"));
+    }
+
+    @Test
+    void hashEmail_WithDifferentKeys_ShouldReturnDifferentHashes() {
+        // Given
+        when(encryption.key()).thenReturn(Base64.getEncoder().encodeToString(new byte[32]));
+        EncryptionService first = new EncryptionService(appProperties);
+        first.initialize();
+
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        when(encryption.key()).thenReturn(Base64.getEncoder().encodeToString(otherKey));
+        EncryptionService second = new EncryptionService(appProperties);
+        second.initialize();
+
+        // Then
+        assertThat(first.isEmailIndexKeyed()).isTrue();
+        assertThat(first.hashEmail("test@example.com")).isNotEqualTo(second.hashEmail("test@example.com"));
+    }
 }
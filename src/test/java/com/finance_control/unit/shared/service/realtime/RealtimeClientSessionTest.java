@@ -0,0 +1,93 @@
+package com.finance_control.unit.shared.service.realtime;
+
+import com.finance_control.shared.service.realtime.RealtimeClientSession;
+import com.finance_control.shared.service.realtime.RealtimeOutboundMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class RealtimeClientSessionTest {
+
+    @Mock
+    private WebSocketSession socket;
+
+    private AtomicLong queuedTotal;
+    private RealtimeClientSession session;
+
+    @BeforeEach
+    void setUp() {
+        queuedTotal = new AtomicLong();
+        session = new RealtimeClientSession(socket, 1L, 2, queuedTotal);
+    }
+
+    @Test
+    void offer_WhenQueueFull_ShouldDropOldestAndCountIt() {
+        session.offer(message("transactions", "transaction_update", "1"));
+        session.offer(message("transactions", "transaction_update", "2"));
+
+        RealtimeClientSession.OfferResult result = session.offer(message("transactions", "transaction_update", "3"));
+
+        assertThat(result).isEqualTo(RealtimeClientSession.OfferResult.DROPPED_OLDEST);
+        assertThat(session.getQueueSize()).isEqualTo(2);
+        assertThat(queuedTotal.get()).isEqualTo(2);
+        assertThat(session.claimDrain()).isTrue();
+        assertThat(session.poll().payload().getPayload()).isEqualTo("2");
+        assertThat(session.takeDroppedCount()).isEqualTo(1);
+        assertThat(session.takeDroppedCount()).isZero();
+    }
+
+    @Test
+    void offerCoalesced_ShouldKeepOnlyLatestMessagePerKey() {
+        assertThat(session.offerCoalesced(message("dashboard", "dashboard_update", "1")))
+                .isEqualTo(RealtimeClientSession.OfferResult.DEFERRED);
+        assertThat(session.offerCoalesced(message("dashboard", "dashboard_update", "2")))
+                .isEqualTo(RealtimeClientSession.OfferResult.COALESCED);
+        assertThat(session.getQueueSize()).isZero();
+
+        session.flushCoalesced("dashboard:dashboard_update");
+
+        assertThat(session.claimDrain()).isTrue();
+        assertThat(session.poll().payload().getPayload()).isEqualTo("2");
+        assertThat(session.poll()).isNull();
+        assertThat(queuedTotal.get()).isZero();
+    }
+
+    @Test
+    void claimDrain_ShouldAllowSingleDrainerUntilQueueIsEmpty() {
+        session.offer(message("goals", "goal_update", "1"));
+
+        assertThat(session.claimDrain()).isTrue();
+        assertThat(session.claimDrain()).isFalse();
+
+        session.poll();
+        assertThat(session.poll()).isNull();
+        session.offer(message("goals", "goal_update", "2"));
+
+        assertThat(session.claimDrain()).isTrue();
+    }
+
+    @Test
+    void close_ShouldDiscardQueuedAndHeldMessages() {
+        session.offer(message("goals", "goal_update", "1"));
+        session.offerCoalesced(message("dashboard", "dashboard_update", "2"));
+
+        session.close();
+
+        assertThat(queuedTotal.get()).isZero();
+        assertThat(session.getQueueSize()).isZero();
+        assertThat(session.claimDrain()).isFalse();
+    }
+
+    private RealtimeOutboundMessage message(String channel, String type, String payload) {
+        return new RealtimeOutboundMessage(channel, type, new TextMessage(payload), System.nanoTime());
+    }
+}
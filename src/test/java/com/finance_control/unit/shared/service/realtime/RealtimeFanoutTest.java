@@ -0,0 +1,119 @@
+package com.finance_control.unit.shared.service.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finance_control.shared.monitoring.MetricsService;
+import com.finance_control.shared.service.realtime.RealtimeFanout;
+import com.finance_control.shared.service.realtime.RealtimeSessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RealtimeFanoutTest {
+
+    private static final long COALESCE_WINDOW_MS = 50;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private ObjectMapper objectMapper;
+    private RealtimeSessionRegistry registry;
+    private RealtimeFanout fanout;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = spy(new ObjectMapper());
+        registry = new RealtimeSessionRegistry();
+        fanout = new RealtimeFanout(registry, objectMapper, metricsService, 16, COALESCE_WINDOW_MS,
+                List.of("dashboard_update"), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(fanout, "shutdown");
+    }
+
+    @Test
+    void sendToUser_WithoutConnectedSessions_ShouldNotSerialize() throws Exception {
+        int queued = fanout.sendToUser("transactions", 1L, Map.of("type", "transaction_update"));
+
+        assertThat(queued).isZero();
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+
+    @Test
+    void sendToUsers_ShouldSerializeOnceAndDeliverSameFrameToEverySession() throws Exception {
+        WebSocketSession first = mock(WebSocketSession.class);
+        WebSocketSession second = mock(WebSocketSession.class);
+        WebSocketSession third = mock(WebSocketSession.class);
+        fanout.openSession(first, 1L);
+        fanout.openSession(second, 1L);
+        fanout.openSession(third, 2L);
+
+        int queued = fanout.sendToUsers("goals", List.of(1L, 2L, 3L), Map.of("type", "goal_update"));
+
+        assertThat(queued).isEqualTo(3);
+        verify(objectMapper, times(1)).writeValueAsString(any());
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(first, timeout(1000)).sendMessage(frame.capture());
+        verify(second, timeout(1000)).sendMessage(frame.getValue());
+        verify(third, timeout(1000)).sendMessage(frame.getValue());
+        assertThat(frame.getValue().getPayload()).contains("\"channel\":\"goals\"", "\"goal_update\"");
+        verify(metricsService, timeout(1000).times(3)).recordRealtimeSendLatency(any());
+    }
+
+    @Test
+    void sendToUser_WithBurstOfDashboardUpdates_ShouldDeliverOnlyLatest() throws Exception {
+        WebSocketSession socket = mock(WebSocketSession.class);
+        fanout.openSession(socket, 1L);
+
+        for (int i = 1; i <= 5; i++) {
+            fanout.sendToUser("dashboard", 1L, Map.of("type", "dashboard_update", "version", i));
+        }
+
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(socket, timeout(1000)).sendMessage(frame.capture());
+        Thread.sleep(COALESCE_WINDOW_MS * 3);
+        verify(socket, times(1)).sendMessage(any());
+        assertThat(frame.getValue().getPayload()).contains("\"version\":5");
+        verify(metricsService, times(4)).incrementRealtimeMessageDropped("coalesced");
+    }
+
+    @Test
+    void send_WhenSocketFails_ShouldUnregisterSession() throws Exception {
+        WebSocketSession socket = mock(WebSocketSession.class);
+        doThrow(new IOException("broken pipe")).when(socket).sendMessage(any());
+        fanout.openSession(socket, 1L);
+
+        fanout.sendToUser("transactions", 1L, Map.of("type", "transaction_update"));
+
+        verify(socket, timeout(1000)).sendMessage(any());
+        for (int attempt = 0; attempt < 50 && registry.hasSessions(1L); attempt++) {
+            Thread.sleep(20);
+        }
+        assertThat(registry.hasSessions(1L)).isFalse();
+        verify(metricsService, never()).incrementRealtimeMessageDropped(anyString());
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance_control.unit.shared.util;
+
+import com.finance_control.shared.dto.CursorPage;
+import com.finance_control.shared.util.KeysetPagination;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    private record Row(LocalDateTime timestamp, Long id) {
+    }
+
+    @Test
+    void cursor_ShouldRoundTripThroughOpaqueToken() {
+        KeysetPagination.Cursor cursor = new KeysetPagination.Cursor(BASE.withNano(123456000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("|", "=", "+", "/");
+        assertThat(KeysetPagination.Cursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_WithNullOrBlank_ShouldReturnNull() {
+        assertThat(KeysetPagination.Cursor.decode(null)).isNull();
+        assertThat(KeysetPagination.Cursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void decode_WithMalformedToken_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> KeysetPagination.Cursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        String withoutId = Base64.getUrlEncoder().encodeToString("2024-03-01T10:00|abc".getBytes());
+        assertThatThrownBy(() -> KeysetPagination.Cursor.decode(withoutId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void normalizeSize_ShouldClampToBounds() {
+        assertThat(KeysetPagination.normalizeSize(null)).isEqualTo(KeysetPagination.DEFAULT_SIZE);
+        assertThat(KeysetPagination.normalizeSize(0)).isEqualTo(1);
+        assertThat(KeysetPagination.normalizeSize(500)).isEqualTo(KeysetPagination.MAX_SIZE);
+        assertThat(KeysetPagination.normalizeSize(30)).isEqualTo(30);
+    }
+
+    @Test
+    void limit_ShouldFetchOneExtraRow() {
+        assertThat(KeysetPagination.limit(20)).isEqualTo(PageRequest.of(0, 21));
+    }
+
+    @Test
+    void toPage_WithExtraRow_ShouldTrimAndPointCursorAtLastReturnedRow() {
+        List<Row> rows = List.of(new Row(BASE, 3L), new Row(BASE, 2L), new Row(BASE.minusDays(1), 1L));
+
+        CursorPage<Long> page = KeysetPagination.toPage(rows, 2,
+                row -> new KeysetPagination.Cursor(row.timestamp(), row.id()), Row::id, null);
+
+        assertThat(page.getContent()).containsExactly(3L, 2L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(KeysetPagination.Cursor.decode(page.getNextCursor()))
+                .isEqualTo(new KeysetPagination.Cursor(BASE, 2L));
+    }
+
+    @Test
+    void toPage_WithoutExtraRow_ShouldBeLastPage() {
+        List<Row> rows = List.of(new Row(BASE, 1L));
+
+        CursorPage<Long> page = KeysetPagination.toPage(rows, 2,
+                row -> new KeysetPagination.Cursor(row.timestamp(), row.id()), Row::id, 1L);
+
+        assertThat(page.getContent()).containsExactly(1L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotalElements()).isEqualTo(1L);
+    }
+}
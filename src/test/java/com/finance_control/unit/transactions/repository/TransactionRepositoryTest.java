@@ -627,4 +627,38 @@ class TransactionRepositoryTest {
         // Then
         assertThat(results.getContent()).hasSize(1);
     }
+
+    @Test
+    void shouldPageTransactionsByKeysetNewestFirstWithTiesBrokenById() {
+        // Given - two more transactions, one sharing the same date as the other
+        LocalDateTime sameDate = testTransaction.getDate().minusDays(1);
+        Transaction tiedLow = persistTransaction("Tied low", sameDate);
+        Transaction tiedHigh = persistTransaction("Tied high", sameDate);
+
+        // When
+        List<Transaction> firstPage = transactionRepository.findKeysetFirstPage(testUser.getId(), PageRequest.of(0, 2));
+        Transaction last = firstPage.get(firstPage.size() - 1);
+        List<Transaction> secondPage = transactionRepository.findKeysetPageAfter(
+                testUser.getId(), last.getDate(), last.getId(), PageRequest.of(0, 2));
+
+        // Then
+        assertThat(firstPage).extracting(Transaction::getId).containsExactly(testTransaction.getId(), tiedHigh.getId());
+        assertThat(secondPage).extracting(Transaction::getId).containsExactly(tiedLow.getId());
+        assertThat(transactionRepository.countKeysetByUserId(testUser.getId())).isEqualTo(3L);
+    }
+
+    private Transaction persistTransaction(String description, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setDescription(description);
+        transaction.setAmount(BigDecimal.valueOf(10.00));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setSubtype(TransactionSubtype.FIXED);
+        transaction.setSource(TransactionSource.CASH);
+        transaction.setUser(testUser);
+        transaction.setCategory(testCategory);
+        transaction.setDate(date);
+        transaction.setCreatedAt(LocalDateTime.now());
+        transaction.setUpdatedAt(LocalDateTime.now());
+        return entityManager.persistAndFlush(transaction);
+    }
 }
@@ -2,23 +2,29 @@ package com.finance_control.unit.transactions.service;
 
 import com.finance_control.shared.enums.TransactionSource;
 import com.finance_control.shared.enums.TransactionSubtype;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.monitoring.MetricsService;
 import com.finance_control.transactions.dto.TransactionDTO;
 import com.finance_control.transactions.dto.importer.TransactionImportRequest;
 import com.finance_control.transactions.dto.importer.TransactionImportResponse;
 import com.finance_control.transactions.importer.DuplicateHandlingStrategy;
 import com.finance_control.transactions.importer.StatementImportFormat;
-import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.importer.TransactionImportIssueType;
+import com.finance_control.transactions.importer.parser.CsvTransactionParser;
+import com.finance_control.transactions.importer.parser.OfxTransactionParser;
 import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionFingerprint;
 import com.finance_control.transactions.service.TransactionImportService;
 import com.finance_control.transactions.service.TransactionService;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateDetector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -26,10 +32,10 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -43,14 +49,26 @@ class TransactionImportServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @InjectMocks
+    @Mock
+    private UserDataChangePublisher changePublisher;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private TransactionImportService transactionImportService;
 
     private TransactionImportRequest request;
-    private Transaction existingTransaction;
+    private TransactionFingerprint existingTransaction;
 
     @BeforeEach
     void setUp() {
+        transactionImportService = newService(500);
+        lenient().when(changePublisher.coalesce(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
         request = TransactionImportRequest.builder()
                 .userId(1L)
                 .defaultCategoryId(1L)
@@ -74,11 +92,8 @@ class TransactionImportServiceTest {
                         .build())
                 .build();
 
-        existingTransaction = new Transaction();
-        existingTransaction.setId(1L);
-        existingTransaction.setDescription("Existing Transaction");
-        existingTransaction.setAmount(BigDecimal.valueOf(100.00));
-        existingTransaction.setDate(LocalDateTime.of(2024, 1, 5, 0, 0));
+        existingTransaction = new TransactionFingerprint(new BigDecimal("100.00"), "EXISTING TRANSACTION",
+                LocalDateTime.of(2024, 1, 5, 14, 30));
     }
 
     @Test
@@ -95,9 +110,9 @@ class TransactionImportServiceTest {
                 "text/csv",
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
-        when(transactionRepository.findPotentialDuplicates(any(), any(), anyString(), any(), any()))
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
                 .thenReturn(new ArrayList<>());
-        when(transactionService.create(any(TransactionDTO.class))).thenReturn(new TransactionDTO());
+        stubCreateAll();
 
         TransactionImportResponse response = transactionImportService.importStatements(file, request);
 
@@ -105,7 +120,7 @@ class TransactionImportServiceTest {
         assertThat(response.getTotalEntries()).isEqualTo(1);
         assertThat(response.getCreatedTransactions()).isEqualTo(1);
         assertThat(response.getDuplicateEntries()).isEqualTo(0);
-        verify(transactionService, times(1)).create(any(TransactionDTO.class));
+        verify(transactionService, times(1)).createAll(anyList());
     }
 
     @Test
@@ -122,8 +137,7 @@ class TransactionImportServiceTest {
                 "text/csv",
                 csvContent.getBytes(StandardCharsets.UTF_8));
 
-        when(transactionRepository.findPotentialDuplicates(eq(1L), eq(BigDecimal.valueOf(100.00)),
-                eq("Existing Transaction"), any(), any()))
+        when(transactionRepository.findFingerprints(eq(1L), any(), any(), any()))
                 .thenReturn(List.of(existingTransaction));
 
         TransactionImportResponse response = transactionImportService.importStatements(file, request);
@@ -132,7 +146,7 @@ class TransactionImportServiceTest {
         assertThat(response.getTotalEntries()).isEqualTo(1);
         assertThat(response.getCreatedTransactions()).isEqualTo(0);
         assertThat(response.getDuplicateEntries()).isGreaterThanOrEqualTo(0);
-        verify(transactionService, never()).create(any(TransactionDTO.class));
+        verify(transactionService, never()).createAll(anyList());
     }
 
     @Test
@@ -151,7 +165,7 @@ class TransactionImportServiceTest {
 
         request.setDryRun(true);
 
-        when(transactionRepository.findPotentialDuplicates(any(), any(), anyString(), any(), any()))
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
                 .thenReturn(new ArrayList<>());
 
         TransactionImportResponse response = transactionImportService.importStatements(file, request);
@@ -160,7 +174,35 @@ class TransactionImportServiceTest {
         assertThat(response.isDryRun()).isTrue();
         assertThat(response.getTotalEntries()).isEqualTo(1);
         assertThat(response.getCreatedTransactions()).isEqualTo(0);
-        verify(transactionService, never()).create(any(TransactionDTO.class));
+        verify(transactionService, never()).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("importStatements_WithDryRun_ShouldReportRepeatedEntriesAsDuplicates")
+    void importStatements_WithDryRun_ShouldReportRepeatedEntriesAsDuplicates() {
+        String csvContent = """
+                date;description;amount
+                2024-01-05;Test Transaction;100.00
+                2024-01-05;Test Transaction;100.00
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "statement.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8));
+
+        request.setDryRun(true);
+
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+
+        TransactionImportResponse response = transactionImportService.importStatements(file, request);
+
+        assertThat(response.isDryRun()).isTrue();
+        assertThat(response.getTotalEntries()).isEqualTo(2);
+        assertThat(response.getDuplicateEntries()).isEqualTo(1);
+        verify(transactionService, never()).createAll(anyList());
     }
 
     @Test
@@ -182,7 +224,7 @@ class TransactionImportServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.getTotalEntries()).isGreaterThanOrEqualTo(0);
         assertThat(response.getCreatedTransactions()).isEqualTo(0);
-        verify(transactionService, never()).create(any(TransactionDTO.class));
+        verify(transactionService, never()).createAll(anyList());
     }
 
     @Test
@@ -207,7 +249,7 @@ class TransactionImportServiceTest {
         assertThat(response.getTotalEntries()).isEqualTo(1);
         assertThat(response.getCreatedTransactions()).isEqualTo(0);
         assertThat(response.getIssues()).isNotEmpty();
-        verify(transactionService, never()).create(any(TransactionDTO.class));
+        verify(transactionService, never()).createAll(anyList());
     }
 
     @Test
@@ -226,14 +268,126 @@ class TransactionImportServiceTest {
 
         request.setFormat(StatementImportFormat.AUTO);
 
-        when(transactionRepository.findPotentialDuplicates(any(), any(), anyString(), any(), any()))
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
                 .thenReturn(new ArrayList<>());
-        when(transactionService.create(any(TransactionDTO.class))).thenReturn(new TransactionDTO());
+        stubCreateAll();
 
         TransactionImportResponse response = transactionImportService.importStatements(file, request);
 
         assertThat(response).isNotNull();
         assertThat(response.getCreatedTransactions()).isEqualTo(1);
-        verify(transactionService, times(1)).create(any(TransactionDTO.class));
+        verify(transactionService, times(1)).createAll(anyList());
+    }
+
+    @Test
+    @DisplayName("importStatements_WithMoreEntriesThanChunkSize_ShouldCommitOneTransactionPerChunk")
+    void importStatements_WithMoreEntriesThanChunkSize_ShouldCommitOneTransactionPerChunk() {
+        String csvContent = """
+                date;description;amount
+                2024-01-01;Entry 1;10.00
+                2024-01-02;Entry 2;20.00
+                2024-01-03;Entry 3;30.00
+                2024-01-04;Entry 4;40.00
+                2024-01-05;Entry 5;50.00
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "statement.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8));
+
+        transactionImportService = newService(2);
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        stubCreateAll();
+
+        TransactionImportResponse response = transactionImportService.importStatements(file, request);
+
+        assertThat(response.getTotalEntries()).isEqualTo(5);
+        assertThat(response.getCreatedTransactions()).isEqualTo(5);
+        verify(transactionRepository, times(3)).findFingerprints(eq(1L), any(), any(), any());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(metricsService).recordImportStage(eq("insert"), eq(5L), any());
+    }
+
+    @Test
+    @DisplayName("importStatements_WhenChunkInsertFails_ShouldRetryEntriesIndividually")
+    void importStatements_WhenChunkInsertFails_ShouldRetryEntriesIndividually() {
+        String csvContent = """
+                date;description;amount
+                2024-01-05;Good Entry;100.00
+                2024-01-06;Broken Entry;50.00
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "statement.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8));
+
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        when(transactionService.createAll(anyList())).thenThrow(new IllegalArgumentException("Category not found"));
+        when(transactionService.create(any(TransactionDTO.class))).thenAnswer(invocation -> {
+            TransactionDTO dto = invocation.getArgument(0);
+            if ("Broken Entry".equals(dto.getDescription())) {
+                throw new IllegalArgumentException("Category not found");
+            }
+            return new TransactionDTO();
+        });
+
+        TransactionImportResponse response = transactionImportService.importStatements(file, request);
+
+        assertThat(response.getCreatedTransactions()).isEqualTo(1);
+        assertThat(response.getIssues())
+                .anySatisfy(issue -> {
+                    assertThat(issue.getLineNumber()).isEqualTo(2);
+                    assertThat(issue.getType()).isEqualTo(TransactionImportIssueType.PARSING_ERROR);
+                    assertThat(issue.getMessage()).isEqualTo("Category not found");
+                });
+        verify(transactionManager).rollback(any());
+        verify(transactionService, times(2)).create(any(TransactionDTO.class));
+    }
+
+    @Test
+    @DisplayName("importStatements_WithRepeatedEntryInFile_ShouldSkipSecondOccurrence")
+    void importStatements_WithRepeatedEntryInFile_ShouldSkipSecondOccurrence() {
+        String csvContent = """
+                date;description;amount
+                2024-01-05;Coffee;5.00
+                2024-01-05;coffee;5.0
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "statement.csv",
+                "text/csv",
+                csvContent.getBytes(StandardCharsets.UTF_8));
+
+        when(transactionRepository.findFingerprints(any(), any(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        stubCreateAll();
+
+        TransactionImportResponse response = transactionImportService.importStatements(file, request);
+
+        assertThat(response.getCreatedTransactions()).isEqualTo(1);
+        assertThat(response.getDuplicateEntries()).isEqualTo(1);
+        verify(transactionService, times(1)).createAll(anyList());
+    }
+
+    private void stubCreateAll() {
+        when(transactionService.createAll(anyList())).thenAnswer(invocation -> {
+            List<TransactionDTO> dtos = invocation.getArgument(0);
+            return dtos.stream().map(dto -> new TransactionDTO()).toList();
+        });
+    }
+
+    private TransactionImportService newService(int chunkSize) {
+        return new TransactionImportService(transactionService,
+                new TransactionDuplicateDetector(transactionRepository),
+                new CsvTransactionParser(), new OfxTransactionParser(), changePublisher,
+                metricsService, transactionManager, chunkSize, 2);
     }
 }
@@ -0,0 +1,97 @@
+package com.finance_control.unit.transactions.service;
+
+import com.finance_control.shared.monitoring.SentryService;
+import com.finance_control.shared.service.SupabaseRealtimeService;
+import com.finance_control.transactions.dto.TransactionDTO;
+import com.finance_control.transactions.service.TransactionNotificationHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionNotificationHelperTest {
+
+    @Mock
+    private SentryService sentryService;
+
+    @Mock
+    private SupabaseRealtimeService realtimeService;
+
+    private TransactionNotificationHelper notificationHelper;
+
+    @BeforeEach
+    void setUp() {
+        notificationHelper = new TransactionNotificationHelper(sentryService);
+        ReflectionTestUtils.setField(notificationHelper, "realtimeService", realtimeService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void notifyTransactionsCreated_OutsideTransaction_ShouldNotifyImmediately() {
+        // Given
+        TransactionDTO transaction = transaction(10L);
+
+        // When
+        notificationHelper.notifyTransactionsCreated(List.of(transaction));
+
+        // Then
+        verify(realtimeService).notifyTransactionUpdate(1L, transaction);
+    }
+
+    @Test
+    void notifyTransactionsCreated_InsideTransaction_ShouldNotifyOnlyAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionDTO transaction = transaction(10L);
+
+        // When
+        notificationHelper.notifyTransactionsCreated(List.of(transaction));
+
+        // Then nothing is sent before the commit
+        verify(realtimeService, never()).notifyTransactionUpdate(anyLong(), any());
+
+        // And the notification goes out once the transaction commits
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(realtimeService).notifyTransactionUpdate(1L, transaction);
+    }
+
+    @Test
+    void notifyTransactionChange_WhenTransactionRollsBack_ShouldNotNotify() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        notificationHelper.notifyTransactionChange(transaction(10L), "creation");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(realtimeService, never()).notifyTransactionUpdate(anyLong(), any());
+    }
+
+    private static TransactionDTO transaction(Long id) {
+        TransactionDTO transaction = new TransactionDTO();
+        transaction.setId(id);
+        transaction.setUserId(1L);
+        return transaction;
+    }
+}
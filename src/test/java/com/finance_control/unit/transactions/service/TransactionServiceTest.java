@@ -1,12 +1,17 @@
 package com.finance_control.unit.transactions.service;
 
 import com.finance_control.shared.context.UserContext;
+import com.finance_control.shared.dto.CursorPage;
+import com.finance_control.shared.event.UserDataChangePublisher;
+import com.finance_control.shared.event.UserDataChangedEvent;
 import com.finance_control.shared.exception.EntityNotFoundException;
+import com.finance_control.shared.util.KeysetPagination;
 import com.finance_control.shared.enums.TransactionType;
 import com.finance_control.shared.enums.TransactionSubtype;
 import com.finance_control.shared.enums.TransactionSource;
 import com.finance_control.shared.monitoring.MetricsService;
 import com.finance_control.transactions.dto.TransactionDTO;
+import com.finance_control.transactions.dto.TransactionInstallmentRequest;
 import com.finance_control.transactions.dto.TransactionReconciliationRequest;
 import com.finance_control.transactions.dto.responsibles.TransactionResponsiblesDTO;
 import com.finance_control.transactions.model.Transaction;
@@ -14,12 +19,15 @@ import com.finance_control.transactions.model.category.TransactionCategory;
 import com.finance_control.transactions.model.responsibles.TransactionResponsibles;
 import com.finance_control.transactions.model.source.TransactionSourceEntity;
 import com.finance_control.transactions.model.subcategory.TransactionSubcategory;
+import com.finance_control.transactions.repository.TransactionBatchWriter;
 import com.finance_control.transactions.repository.TransactionRepository;
 import com.finance_control.transactions.repository.category.TransactionCategoryRepository;
 import com.finance_control.transactions.repository.responsibles.TransactionResponsiblesRepository;
 import com.finance_control.transactions.repository.source.TransactionSourceRepository;
 import com.finance_control.transactions.repository.subcategory.TransactionSubcategoryRepository;
 import com.finance_control.transactions.service.TransactionService;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import com.finance_control.transactions.service.search.TransactionSearchService;
 import com.finance_control.users.model.User;
 import com.finance_control.users.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -36,6 +44,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -106,6 +115,18 @@ class TransactionServiceTest {
     @Mock
     private com.finance_control.transactions.service.TransactionQueryHelper queryHelper;
 
+    @Mock
+    private UserMonthlyRollupService rollupService;
+
+    @Mock
+    private UserDataChangePublisher changePublisher;
+
+    @Mock
+    private TransactionBatchWriter batchWriter;
+
+    @Mock
+    private TransactionSearchService searchService;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -366,6 +387,8 @@ class TransactionServiceTest {
         verify(entityLookupHelper).getResponsibleById(1L);
         verify(transactionRepository).save(any(Transaction.class));
         verify(transactionMapper).mapToResponseDTO(any(Transaction.class));
+        verify(rollupService).recordCreated(any(Transaction.class));
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.TRANSACTION);
     }
 
     @Test
@@ -626,6 +649,130 @@ class TransactionServiceTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    void createAll_WithValidData_ShouldBatchInsertAndNotifyOnce() {
+        // Given
+        TransactionDTO first = createDTO("Groceries", BigDecimal.valueOf(40.00));
+        TransactionDTO second = createDTO("Fuel", BigDecimal.valueOf(60.00));
+        when(entityLookupHelper.prefetch(List.of(first, second), 1L)).thenReturn(entityLookupHelper);
+        doAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            long id = 10L;
+            for (Transaction transaction : transactions) {
+                transaction.setId(id++);
+            }
+            return null;
+        }).when(batchWriter).insertAll(any());
+
+        // When
+        List<TransactionDTO> result = transactionService.createAll(List.of(first, second));
+
+        // Then
+        assertThat(result).extracting(TransactionDTO::getId).containsExactly(10L, 11L);
+        assertThat(result).extracting(TransactionDTO::getDescription).containsExactly("Groceries", "Fuel");
+        verify(batchWriter).insertAll(argThat(transactions -> transactions.size() == 2
+                && transactions.get(0).getUser() == testUser
+                && transactions.get(0).getResponsibilities().size() == 1));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(rollupService).recordCreated(any(List.class));
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.TRANSACTION);
+        verify(metricsService).recordTransactionBulkInsert(eq(2L), any());
+        verify(notificationHelper).notifyTransactionsCreated(result);
+    }
+
+    @Test
+    void createAll_WithInvalidEntry_ShouldNotWriteAnything() {
+        // Given
+        TransactionDTO valid = createDTO("Groceries", BigDecimal.valueOf(40.00));
+        TransactionDTO invalid = createDTO("Broken", BigDecimal.valueOf(10.00));
+        invalid.setCategoryId(null);
+
+        // When / Then
+        assertThatThrownBy(() -> transactionService.createAll(List.of(valid, invalid)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(batchWriter, never()).insertAll(any());
+        verify(changePublisher, never()).publish(anyLong(), any());
+    }
+
+    @Test
+    void createAll_WithEntryForAnotherUser_ShouldRejectBatch() {
+        // Given
+        TransactionDTO own = createDTO("Groceries", BigDecimal.valueOf(40.00));
+        TransactionDTO foreign = createDTO("Fuel", BigDecimal.valueOf(60.00));
+        foreign.setUserId(2L);
+
+        // When / Then
+        assertThatThrownBy(() -> transactionService.createAll(List.of(own, foreign)))
+                .isInstanceOf(SecurityException.class)
+                .hasMessageContaining("does not belong to current user");
+        verify(batchWriter, never()).insertAll(any());
+        verify(changePublisher, never()).publish(anyLong(), any());
+    }
+
+    @Test
+    void createInstallments_ShouldBatchInsertInstallmentsForCurrentUser() {
+        // Given
+        TransactionInstallmentRequest request = createInstallmentRequest();
+        when(entityLookupHelper.prefetch(any(), eq(1L))).thenReturn(entityLookupHelper);
+
+        // When
+        List<TransactionDTO> result = transactionService.createInstallments(request);
+
+        // Then
+        assertThat(result).extracting(TransactionDTO::getDescription)
+                .containsExactly("Laptop (1/3)", "Laptop (2/3)", "Laptop (3/3)");
+        verify(batchWriter).insertAll(argThat(transactions -> transactions.size() == 3
+                && transactions.stream().allMatch(transaction -> transaction.getUser() == testUser
+                        && transaction.getTotalInstallments() == 3
+                        && new BigDecimal("100.00").equals(transaction.getInstallmentAmount())
+                        && transaction.getInstallmentGroupId().equals(transactions.get(0).getInstallmentGroupId()))
+                && transactions.get(2).getInstallmentNumber() == 3));
+        verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.TRANSACTION);
+        verify(notificationHelper).notifyTransactionsCreated(result);
+    }
+
+    @Test
+    void createInstallments_ForAnotherUser_ShouldThrow() {
+        // Given
+        TransactionInstallmentRequest request = createInstallmentRequest();
+        request.setUserId(2L);
+
+        // When / Then
+        assertThatThrownBy(() -> transactionService.createInstallments(request))
+                .isInstanceOf(SecurityException.class);
+        verify(batchWriter, never()).insertAll(any());
+    }
+
+    private TransactionInstallmentRequest createInstallmentRequest() {
+        TransactionInstallmentRequest request = new TransactionInstallmentRequest();
+        request.setDescription("Laptop");
+        request.setTotalAmount(new BigDecimal("300.00"));
+        request.setInstallmentCount(3);
+        request.setFirstInstallmentDate(LocalDate.of(2024, 1, 10));
+        request.setCategoryId(1L);
+        request.setSource(TransactionSource.CREDIT_CARD.name());
+        request.setType(TransactionType.EXPENSE.name());
+        request.setSubtype(TransactionSubtype.VARIABLE.name());
+        return request;
+    }
+
+    private TransactionDTO createDTO(String description, BigDecimal amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(amount);
+        dto.setType(TransactionType.EXPENSE);
+        dto.setSubtype(TransactionSubtype.VARIABLE);
+        dto.setSource(TransactionSource.CASH);
+        dto.setCategoryId(1L);
+        dto.setUserId(1L);
+        TransactionResponsiblesDTO responsible = new TransactionResponsiblesDTO();
+        responsible.setResponsibleId(1L);
+        responsible.setPercentage(new BigDecimal("100.00"));
+        dto.setResponsibilities(new ArrayList<>(List.of(responsible)));
+        return dto;
+    }
+
     @Test
     void findById_WithExistingId_ShouldReturnTransaction() {
         // Given
@@ -968,6 +1115,8 @@ class TransactionServiceTest {
 
         // Then
         verify(transactionRepository).findById(1L);
+        verify(rollupService).recordDeleted(testTransaction);
+        verify(changePublisher).publish(1L, UserDataChangedEvent.Source.TRANSACTION);
         verify(transactionRepository).deleteById(1L);
     }
 
@@ -1019,7 +1168,7 @@ class TransactionServiceTest {
         List<Transaction> transactions = List.of(testTransaction);
         Page<Transaction> page = new PageImpl<>(transactions, PageRequest.of(0, 10), 1);
 
-        when(transactionRepository.findAll(eq((String) null), any(Pageable.class))).thenReturn(page);
+        when(transactionRepository.findAll(eq((String) null), eq(1L), any(Pageable.class))).thenReturn(page);
 
         // When
         Page<TransactionDTO> result = transactionService.findAll(null, null, null, null, PageRequest.of(0, 10));
@@ -1029,7 +1178,7 @@ class TransactionServiceTest {
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getId()).isEqualTo(1L);
 
-        verify(transactionRepository).findAll(eq((String) null), any(Pageable.class));
+        verify(transactionRepository).findAll(eq((String) null), eq(1L), any(Pageable.class));
     }
 
     @Test
@@ -1038,7 +1187,7 @@ class TransactionServiceTest {
         List<Transaction> transactions = List.of(testTransaction);
         Page<Transaction> page = new PageImpl<>(transactions, PageRequest.of(0, 10), 1);
 
-        when(transactionRepository.findAll(eq("test"), any(Pageable.class))).thenReturn(page);
+        when(transactionRepository.findAll(eq("test"), eq(1L), any(Pageable.class))).thenReturn(page);
 
         // When
         Page<TransactionDTO> result = transactionService.findAll("test", null, null, null, PageRequest.of(0, 10));
@@ -1047,7 +1196,73 @@ class TransactionServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
 
-        verify(transactionRepository).findAll(eq("test"), any(Pageable.class));
+        verify(transactionRepository).findAll(eq("test"), eq(1L), any(Pageable.class));
+    }
+
+    @Test
+    void findAll_WhenRankedSearchSupported_ShouldUseSearchService() {
+        // Given
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("type", TransactionType.EXPENSE);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(searchService.supports("mercado", filters, null)).thenReturn(true);
+        when(searchService.search(1L, "mercado", filters, pageable))
+                .thenReturn(new PageImpl<>(List.of(testTransaction), pageable, 1));
+
+        // When
+        Page<TransactionDTO> result = transactionService.findAll("mercado", filters, null, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        verify(transactionRepository, never()).findAll((Specification<Transaction>) any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void findByCursor_WithoutCursor_ShouldReturnFirstPageWithNextCursorAndNoTotal() {
+        // Given
+        Transaction older = createFreshTransaction();
+        older.setId(2L);
+        older.setDate(testTransaction.getDate().minusDays(1));
+        when(transactionRepository.findKeysetFirstPage(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(testTransaction, older));
+
+        // When
+        CursorPage<TransactionDTO> result = transactionService.findByCursor(null, 1, false);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getTotalElements()).isNull();
+        assertThat(KeysetPagination.Cursor.decode(result.getNextCursor()))
+                .isEqualTo(new KeysetPagination.Cursor(testTransaction.getDate(), 1L));
+        verify(transactionRepository).findKeysetFirstPage(1L, PageRequest.of(0, 2));
+        verify(transactionRepository, never()).countKeysetByUserId(anyLong());
+    }
+
+    @Test
+    void findByCursor_WithCursor_ShouldSeekPastItAndCountWhenRequested() {
+        // Given
+        LocalDateTime position = LocalDateTime.of(2024, 5, 10, 12, 30, 15, 123456000);
+        String cursor = new KeysetPagination.Cursor(position, 42L).encode();
+        when(transactionRepository.findKeysetPageAfter(eq(1L), eq(position), eq(42L), any(Pageable.class)))
+                .thenReturn(List.of(testTransaction));
+        when(transactionRepository.countKeysetByUserId(1L)).thenReturn(7L);
+
+        // When
+        CursorPage<TransactionDTO> result = transactionService.findByCursor(cursor, 20, true);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalElements()).isEqualTo(7L);
+    }
+
+    @Test
+    void findByCursor_WithMalformedCursor_ShouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> transactionService.findByCursor("not-a-cursor", 20, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
     }
 
     @Test
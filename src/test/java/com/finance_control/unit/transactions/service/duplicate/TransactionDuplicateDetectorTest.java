@@ -0,0 +1,89 @@
+package com.finance_control.unit.transactions.service.duplicate;
+
+import com.finance_control.transactions.dto.TransactionDTO;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionFingerprint;
+import com.finance_control.transactions.service.duplicate.DuplicateMatch;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateDetector;
+import com.finance_control.transactions.service.duplicate.TransactionDuplicateIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionDuplicateDetectorTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionDuplicateDetector detector;
+
+    @Test
+    void load_ShouldQueryEachBatchOnceAndMatchInMemory() {
+        TransactionDTO stored = candidate("ref-1", "Supermarket", "42.50", LocalDateTime.of(2024, 3, 1, 9, 0));
+        TransactionDTO fresh = candidate("ref-2", "Bakery", "7.00", LocalDateTime.of(2024, 3, 3, 8, 0));
+        when(transactionRepository.findExistingExternalReferences(1L, Set.of("ref-1", "ref-2")))
+                .thenReturn(List.of("ref-1"));
+
+        TransactionDuplicateIndex index = detector.load(1L, List.of(stored, fresh), DuplicateMatch.EXTERNAL_REFERENCE);
+
+        assertThat(index.isDuplicate(stored)).isTrue();
+        assertThat(index.isDuplicate(fresh)).isFalse();
+        verify(transactionRepository, never()).findFingerprints(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void load_WithFingerprints_ShouldMatchAmountNormalizedDescriptionAndDay() {
+        TransactionDTO same = candidate(null, "  Coffee   shop ", "5.0", LocalDateTime.of(2024, 3, 2, 18, 0));
+        TransactionDTO otherDay = candidate(null, "Coffee shop", "5.00", LocalDateTime.of(2024, 3, 3, 8, 0));
+        when(transactionRepository.findFingerprints(eq(1L), any(), eq(LocalDateTime.of(2024, 3, 2, 0, 0)),
+                eq(LocalDateTime.of(2024, 3, 4, 0, 0).minusNanos(1))))
+                .thenReturn(List.of(new TransactionFingerprint(new BigDecimal("5.00"), "COFFEE SHOP",
+                        LocalDateTime.of(2024, 3, 2, 7, 30))));
+
+        TransactionDuplicateIndex index = detector.load(1L, List.of(same, otherDay),
+                DuplicateMatch.EXTERNAL_REFERENCE_OR_FINGERPRINT);
+
+        assertThat(index.isDuplicate(same)).isTrue();
+        assertThat(index.isDuplicate(otherDay)).isFalse();
+        verify(transactionRepository, never()).findExistingExternalReferences(any(), any());
+    }
+
+    @Test
+    void register_ShouldCatchRepeatsWithinTheBatch() {
+        TransactionDTO first = candidate("ref-9", "Rent", "1200.00", LocalDateTime.of(2024, 3, 5, 0, 0));
+        TransactionDTO repeat = candidate("ref-9", "Rent", "1200.00", LocalDateTime.of(2024, 3, 5, 0, 0));
+        when(transactionRepository.findExistingExternalReferences(1L, Set.of("ref-9"))).thenReturn(List.of());
+
+        TransactionDuplicateIndex index = detector.load(1L, List.of(first, repeat), DuplicateMatch.EXTERNAL_REFERENCE);
+
+        assertThat(index.isDuplicate(first)).isFalse();
+        index.register(first);
+        assertThat(index.isDuplicate(repeat)).isTrue();
+    }
+
+    private TransactionDTO candidate(String externalReference, String description, String amount, LocalDateTime date) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setExternalReference(externalReference);
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setDate(date);
+        return dto;
+    }
+}
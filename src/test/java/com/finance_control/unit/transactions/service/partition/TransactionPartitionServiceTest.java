@@ -0,0 +1,113 @@
+package com.finance_control.unit.transactions.service.partition;
+
+import com.finance_control.transactions.repository.partition.TransactionPartitionRepository;
+import com.finance_control.transactions.service.partition.TransactionPartitionService;
+import com.finance_control.transactions.service.partition.TransactionPartitionService.MaintenanceResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionServiceTest {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2024, 11);
+
+    @Mock
+    private TransactionPartitionRepository partitionRepository;
+
+    @Test
+    void maintain_ShouldCreateCurrentAndUpcomingMonths() {
+        // Given
+        TransactionPartitionService service = new TransactionPartitionService(partitionRepository, 2, 0, "archive");
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.createPartition(any())).thenReturn(true);
+
+        // When
+        MaintenanceResult result = service.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(result.created()).containsExactly(
+                YearMonth.of(2024, 11), YearMonth.of(2024, 12), YearMonth.of(2025, 1));
+        assertThat(result.detached()).isEmpty();
+    }
+
+    @Test
+    void maintain_ShouldOnlyReportPartitionsThatWereMissing() {
+        // Given
+        TransactionPartitionService service = new TransactionPartitionService(partitionRepository, 2, 0, "archive");
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.createPartition(YearMonth.of(2024, 11))).thenReturn(false);
+        when(partitionRepository.createPartition(YearMonth.of(2024, 12))).thenReturn(false);
+        when(partitionRepository.createPartition(YearMonth.of(2025, 1))).thenReturn(true);
+
+        // When
+        MaintenanceResult result = service.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(result.created()).containsExactly(YearMonth.of(2025, 1));
+    }
+
+    @Test
+    void maintain_ShouldDetachOnlyPartitionsOlderThanRetention() {
+        // Given
+        TransactionPartitionService service = new TransactionPartitionService(partitionRepository, 0, 12, "archive");
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.createPartition(CURRENT_MONTH)).thenReturn(false);
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(
+                YearMonth.of(2023, 9), YearMonth.of(2023, 10), YearMonth.of(2023, 11), CURRENT_MONTH));
+        when(partitionRepository.detachPartition(any(), anyString())).thenReturn(true);
+
+        // When
+        MaintenanceResult result = service.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(result.detached()).containsExactly(YearMonth.of(2023, 9), YearMonth.of(2023, 10));
+        verify(partitionRepository).detachPartition(YearMonth.of(2023, 9), "archive");
+        verify(partitionRepository).detachPartition(YearMonth.of(2023, 10), "archive");
+        verify(partitionRepository, never()).detachPartition(YearMonth.of(2023, 11), "archive");
+    }
+
+    @Test
+    void maintain_WithoutRetention_ShouldNotDetachAnything() {
+        // Given
+        TransactionPartitionService service = new TransactionPartitionService(partitionRepository, 0, 0, "archive");
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.createPartition(CURRENT_MONTH)).thenReturn(false);
+
+        // When
+        MaintenanceResult result = service.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(result.detached()).isEmpty();
+        verify(partitionRepository, never()).findPartitionMonths();
+        verify(partitionRepository, never()).detachPartition(any(), anyString());
+    }
+
+    @Test
+    void maintain_WhenTableIsNotPartitioned_ShouldDoNothing() {
+        // Given
+        TransactionPartitionService service = new TransactionPartitionService(partitionRepository, 3, 12, "archive");
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        // When
+        MaintenanceResult result = service.maintain(CURRENT_MONTH);
+
+        // Then
+        assertThat(result.created()).isEmpty();
+        assertThat(result.detached()).isEmpty();
+        verify(partitionRepository).isPartitioned();
+        verifyNoMoreInteractions(partitionRepository);
+    }
+}
@@ -0,0 +1,172 @@
+package com.finance_control.unit.transactions.service.rollup;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.model.category.TransactionCategory;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.repository.projection.TransactionMonthlyAggregate;
+import com.finance_control.transactions.repository.rollup.UserMonthlyRollupRepository;
+import com.finance_control.transactions.service.rollup.RollupContribution;
+import com.finance_control.transactions.service.rollup.UserMonthlyRollupService;
+import com.finance_control.users.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserMonthlyRollupServiceTest {
+
+    @Mock
+    private UserMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private UserMonthlyRollupService rollupService;
+
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+
+        TransactionCategory category = new TransactionCategory();
+        category.setId(10L);
+        category.setName("Food");
+
+        transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setCategory(category);
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setAmount(BigDecimal.valueOf(120.00));
+        transaction.setDate(LocalDateTime.of(2024, 3, 15, 10, 0));
+        transaction.setReconciled(false);
+    }
+
+    @Test
+    void recordCreated_ShouldAddTransactionToItsMonthBucketUnderTheUserLock() {
+        rollupService.recordCreated(transaction);
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockUser(1L);
+        inOrder.verify(rollupRepository).applyDelta(1L, LocalDate.of(2024, 3, 1), "EXPENSE", 10L,
+                BigDecimal.valueOf(120.00), 1L, 1L);
+    }
+
+    @Test
+    void recordDeleted_ShouldRetractTransactionFromItsMonthBucket() {
+        transaction.setReconciled(true);
+
+        rollupService.recordDeleted(transaction);
+
+        verify(rollupRepository).applyDelta(1L, LocalDate.of(2024, 3, 1), "EXPENSE", 10L,
+                BigDecimal.valueOf(120.00).negate(), -1L, 0L);
+    }
+
+    @Test
+    void recordUpdated_WhenMonthChanges_ShouldMoveTransactionBetweenBuckets() {
+        RollupContribution before = RollupContribution.of(transaction);
+        transaction.setDate(LocalDateTime.of(2024, 4, 2, 9, 0));
+
+        rollupService.recordUpdated(before, transaction);
+
+        verify(rollupRepository).applyDelta(1L, LocalDate.of(2024, 3, 1), "EXPENSE", 10L,
+                BigDecimal.valueOf(120.00).negate(), -1L, -1L);
+        verify(rollupRepository).applyDelta(1L, LocalDate.of(2024, 4, 1), "EXPENSE", 10L,
+                BigDecimal.valueOf(120.00), 1L, 1L);
+    }
+
+    @Test
+    void recordUpdated_WhenContributionUnchanged_ShouldNotTouchRollup() {
+        RollupContribution before = RollupContribution.of(transaction);
+        transaction.setDescription("Renamed");
+
+        rollupService.recordUpdated(before, transaction);
+
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void recordCreated_WithoutDate_ShouldSkipRollup() {
+        transaction.setDate(null);
+
+        rollupService.recordCreated(transaction);
+
+        verify(rollupRepository, never()).applyDelta(anyLong(), any(), any(), anyLong(), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void isConsistent_WhenRollupMatchesTransactions_ShouldReturnTrue() {
+        when(transactionRepository.aggregateMonthlyByUserId(1L)).thenReturn(List.of(
+                new TransactionMonthlyAggregate(2024, 3, TransactionType.EXPENSE, "Food", 2L, 1L, new BigDecimal("150.00"))));
+        when(rollupRepository.aggregateMonthlyByUserId(1L)).thenReturn(List.of(
+                new TransactionMonthlyAggregate(2024, 3, TransactionType.EXPENSE, "Food", 2L, 1L, new BigDecimal("150.0"))));
+
+        assertThat(rollupService.isConsistent(1L)).isTrue();
+    }
+
+    @Test
+    void isConsistent_WhenRollupDrifted_ShouldReturnFalse() {
+        when(transactionRepository.aggregateMonthlyByUserId(1L)).thenReturn(List.of(
+                new TransactionMonthlyAggregate(2024, 3, TransactionType.EXPENSE, "Food", 2L, 1L, new BigDecimal("150.00"))));
+        when(rollupRepository.aggregateMonthlyByUserId(1L)).thenReturn(List.of(
+                new TransactionMonthlyAggregate(2024, 3, TransactionType.EXPENSE, "Food", 1L, 1L, new BigDecimal("100.00"))));
+
+        assertThat(rollupService.isConsistent(1L)).isFalse();
+    }
+
+    @Test
+    void rebuild_ShouldReplaceUserBucketsFromTransactionsUnderTheUserLock() {
+        when(rollupRepository.rebuildForUser(1L)).thenReturn(4);
+
+        int buckets = rollupService.rebuild(1L);
+
+        assertThat(buckets).isEqualTo(4);
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockUser(1L);
+        inOrder.verify(rollupRepository).deleteByUserId(1L);
+        inOrder.verify(rollupRepository).rebuildForUser(1L);
+    }
+
+    @Test
+    void recordCreated_BatchOfSeveralUsers_ShouldLockEachUserOnceInIdOrder() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        Transaction otherTransaction = new Transaction();
+        otherTransaction.setUser(otherUser);
+        otherTransaction.setCategory(transaction.getCategory());
+        otherTransaction.setType(TransactionType.INCOME);
+        otherTransaction.setAmount(BigDecimal.valueOf(50.00));
+        otherTransaction.setDate(LocalDateTime.of(2024, 3, 20, 10, 0));
+        otherTransaction.setReconciled(true);
+
+        rollupService.recordCreated(List.of(otherTransaction, transaction, transaction));
+
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).lockUser(1L);
+        inOrder.verify(rollupRepository).lockUser(2L);
+        inOrder.verify(rollupRepository, times(2)).applyDelta(anyLong(), any(), any(), any(), any(), anyLong(), anyLong());
+        verify(rollupRepository, times(2)).lockUser(anyLong());
+    }
+}
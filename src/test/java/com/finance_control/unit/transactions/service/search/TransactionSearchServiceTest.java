@@ -0,0 +1,107 @@
+package com.finance_control.unit.transactions.service.search;
+
+import com.finance_control.shared.enums.TransactionType;
+import com.finance_control.transactions.model.Transaction;
+import com.finance_control.transactions.repository.TransactionRepository;
+import com.finance_control.transactions.service.search.TransactionSearchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSearchServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Test
+    void supports_OnH2_ShouldFallBackToSubstringSearch() throws SQLException {
+        TransactionSearchService service = serviceFor("H2");
+
+        assertThat(service.isFullTextAvailable()).isFalse();
+        assertThat(service.supports("mercado", null, null)).isFalse();
+    }
+
+    @Test
+    void supports_OnPostgres_ShouldRequireSearchWithoutSortOrUnsupportedFilters() throws SQLException {
+        TransactionSearchService service = serviceFor("PostgreSQL");
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("userId", 1L);
+        filters.put("type", TransactionType.EXPENSE);
+
+        assertThat(service.supports("mercado", filters, null)).isTrue();
+        assertThat(service.supports(" ", filters, null)).isFalse();
+        assertThat(service.supports("mercado", filters, "amount")).isFalse();
+
+        filters.put("startDate", "2024-01-01");
+        assertThat(service.supports("mercado", filters, null)).isFalse();
+    }
+
+    @Test
+    void search_ShouldReturnTransactionsInRankOrderWithEscapedPattern() throws SQLException {
+        TransactionSearchService service = serviceFor("PostgreSQL");
+        Transaction first = transaction(7L);
+        Transaction second = transaction(3L);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("date"));
+        when(transactionRepository.searchRankedIds(1L, "50% off", "%50\\% off%", "EXPENSE", 10L, null, null,
+                PageRequest.of(0, 20)))
+                .thenReturn(new PageImpl<>(List.of(7L, 3L), PageRequest.of(0, 20), 2));
+        when(transactionRepository.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        var result = service.search(1L, " 50% off ",
+                Map.of("type", TransactionType.EXPENSE, "categoryId", "10"), pageable);
+
+        assertThat(result.getContent()).containsExactly(first, second);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_WithNoMatches_ShouldNotLoadEntities() throws SQLException {
+        TransactionSearchService service = serviceFor("PostgreSQL");
+        when(transactionRepository.searchRankedIds(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(List.of(), PageRequest.of(0, 20), 0));
+
+        var result = service.search(1L, "nada", null, PageRequest.of(0, 20));
+
+        assertThat(result.getContent()).isEmpty();
+        verify(transactionRepository, never()).findAllById(any());
+    }
+
+    private TransactionSearchService serviceFor(String databaseProduct) throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(databaseProduct);
+        return new TransactionSearchService(transactionRepository, dataSource, true);
+    }
+
+    private Transaction transaction(Long id) {
+        Transaction transaction = new Transaction();
+        transaction.setId(id);
+        return transaction;
+    }
+}
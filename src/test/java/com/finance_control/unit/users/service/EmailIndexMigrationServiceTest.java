@@ -0,0 +1,115 @@
+package com.finance_control.unit.users.service;
+
+import com.finance_control.shared.service.EncryptionService;
+import com.finance_control.users.repository.UserRepository;
+import com.finance_control.users.repository.projection.UserEmailIndexRow;
+import com.finance_control.users.service.EmailIndexMigrationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailIndexMigrationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EncryptionService encryptionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailIndexMigrationService migrationService;
+
+    @BeforeEach
+    void setUp() {
+        migrationService = new EmailIndexMigrationService(userRepository, encryptionService, transactionManager, true, 2);
+        lenient().when(encryptionService.legacyHashEmail("a@example.com")).thenReturn("legacy-a");
+        lenient().when(encryptionService.legacyHashEmail("b@example.com")).thenReturn("legacy-b");
+        lenient().when(encryptionService.legacyHashEmail("c@example.com")).thenReturn("legacy-c");
+        lenient().when(encryptionService.hashEmail("a@example.com")).thenReturn("keyed-a");
+        lenient().when(encryptionService.hashEmail("c@example.com")).thenReturn("keyed-c");
+    }
+
+    @Test
+    void migrateLegacyEmailHashes_ShouldReindexOnlyLegacyRowsAcrossBatches() {
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(true);
+        when(userRepository.findEmailIndexRowsAfter(0L, 2)).thenReturn(List.of(
+                row(1L, "enc-a", "legacy-a"), row(2L, "enc-b", "keyed-b")));
+        when(userRepository.findEmailIndexRowsAfter(2L, 2)).thenReturn(List.of(row(3L, "enc-c", "legacy-c")));
+        when(encryptionService.decryptAll(List.of("enc-a", "enc-b"))).thenReturn(List.of("a@example.com", "b@example.com"));
+        when(encryptionService.decryptAll(List.of("enc-c"))).thenReturn(List.of("c@example.com"));
+        when(userRepository.updateEmailHash(1L, "keyed-a")).thenReturn(1);
+        when(userRepository.updateEmailHash(3L, "keyed-c")).thenReturn(1);
+
+        int migrated = migrationService.migrateLegacyEmailHashes();
+
+        assertThat(migrated).isEqualTo(2);
+        verify(userRepository, never()).updateEmailHash(2L, "keyed-b");
+    }
+
+    @Test
+    void migrateLegacyEmailHashes_WhenBatchDecryptFails_ShouldKeepUndecryptableValuesAsStored() {
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(true);
+        when(userRepository.findEmailIndexRowsAfter(0L, 2)).thenReturn(List.of(row(1L, "a@example.com", "legacy-a")));
+        when(encryptionService.decryptAll(anyList())).thenThrow(new RuntimeException("Decryption failed"));
+        when(encryptionService.decrypt("a@example.com")).thenThrow(new RuntimeException("Decryption failed"));
+        when(userRepository.updateEmailHash(1L, "keyed-a")).thenReturn(1);
+
+        assertThat(migrationService.migrateLegacyEmailHashes()).isEqualTo(1);
+    }
+
+    @Test
+    void migrateLegacyEmailHashes_WhenIndexNotKeyed_ShouldDoNothing() {
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(false);
+
+        assertThat(migrationService.migrateLegacyEmailHashes()).isZero();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void migrateOnStartup_WhenDisabled_ShouldNotReadUsers() {
+        migrationService = new EmailIndexMigrationService(userRepository, encryptionService, transactionManager, false, 2);
+
+        migrationService.migrateOnStartup();
+
+        verify(userRepository, never()).findEmailIndexRowsAfter(anyLong(), anyInt());
+        verify(userRepository, never()).updateEmailHash(anyLong(), anyString());
+    }
+
+    private UserEmailIndexRow row(Long id, String email, String emailHash) {
+        return new UserEmailIndexRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public String getEmailHash() {
+                return emailHash;
+            }
+        };
+    }
+}
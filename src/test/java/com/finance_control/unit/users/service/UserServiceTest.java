@@ -12,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -33,6 +34,8 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("unchecked")
@@ -47,6 +50,9 @@ class UserServiceTest {
     @Mock
     private EncryptionService encryptionService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -110,6 +116,38 @@ class UserServiceTest {
         }
     }
 
+    @Test
+    void shouldRejectCreateWhenEmailIsRegisteredUnderLegacyHash() {
+        UserDTO dto = new UserDTO();
+        dto.setEmail("newuser@example.com");
+        dto.setPassword("Password123");
+        dto.setIsActive(true);
+
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(true);
+        when(encryptionService.legacyHashEmail("newuser@example.com")).thenReturn("legacy-newuser-hash");
+        when(userRepository.existsByEmailHash(newUserEmailHash)).thenReturn(false);
+        when(userRepository.existsByEmailHash("legacy-newuser-hash")).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.create(dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already exists");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void shouldFindAndReindexUserStillOnLegacyEmailHash() {
+        when(encryptionService.isEmailIndexKeyed()).thenReturn(true);
+        when(encryptionService.legacyHashEmail("test@example.com")).thenReturn("legacy-test-hash");
+        when(userRepository.findByEmailHash(testEmailHash)).thenReturn(Optional.empty());
+        when(userRepository.findByEmailHash("legacy-test-hash")).thenReturn(Optional.of(testUser));
+
+        Optional<UserDTO> result = userService.findByEmail("test@example.com");
+
+        assertThat(result).isPresent();
+        assertThat(testUser.getEmailHash()).isEqualTo(testEmailHash);
+        verify(userRepository).save(testUser);
+    }
+
     @Test
     void shouldFindUserById() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));